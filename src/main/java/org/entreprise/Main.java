@@ -1,15 +1,41 @@
 package org.entreprise;
 
+import org.entreprise.batch.BatchReport;
+import org.entreprise.batch.BatchRunner;
+import org.entreprise.dao.MatchDAO;
 import org.entreprise.exceptions.DuplicatePlayerException;
 import org.entreprise.exceptions.InvalidMatchException;
 import org.entreprise.exceptions.PlayerNotFoundException;
+import org.entreprise.export.ExportFormat;
+import org.entreprise.export.StreamingExporter;
 import org.entreprise.model.Match;
 import org.entreprise.model.Player;
+import org.entreprise.render.ConsoleRenderer;
+import org.entreprise.service.LoadProgress;
 import org.entreprise.service.MatchService;
 import org.entreprise.service.PlayerService;
+import org.entreprise.stats.LeaderboardCriterion;
+import org.entreprise.stats.PlayerProfile;
+import org.entreprise.stats.PlayerProfiles;
+import org.entreprise.stats.PlayerWindowStats;
+import org.entreprise.stats.RollingLeaderboard;
+import org.entreprise.stats.TimeWindow;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
 
@@ -26,6 +52,12 @@ public class Main {
     // Joseph_com : Scanner global partagé pour toutes les lectures console
     private static final Scanner scanner = new Scanner(System.in);
 
+    // Joseph_com : Nombre de lignes affichées par page dans les listes
+    private static final int PAGE_SIZE = 20;
+
+    // Joseph_com : Rendu bufferisé des listes (joueurs, matchs)
+    private static final ConsoleRenderer renderer = ConsoleRenderer.forStdout();
+
     // ─────────────────────────────────────────────────────────────────────────
     // Joseph_com : Point d'entrée du programme
     // Instancie les services et lance la boucle principale du menu
@@ -33,9 +65,29 @@ public class Main {
     public static void main(String[] args) {
         logger.info("=== Démarrage de l'application Gestionnaire de Tournoi e-Sport ===");
 
-        // Joseph_com : Instanciation des services (le chargement CSV se fait dans le constructeur)
+        // Joseph_com : Mode non interactif : --batch <fichier|-> [--verbose]
+        boolean batch = args.length >= 2 && args[0].equals("--batch");
+
+        // Joseph_com : Instanciation des services : joueurs chargés d'abord, puis les matchs
+        // En interactif, le menu s'affiche sans attendre l'historique (chargé en arrière-plan)
         PlayerService playerService = new PlayerService();
-        MatchService matchService   = new MatchService(playerService);
+        MatchService matchService   = batch ? new MatchService(playerService)
+                                            : MatchService.loadInBackground(playerService);
+
+        if (batch) {
+            boolean verbose = Arrays.asList(args).contains("--verbose");
+            System.exit(runBatch(playerService, matchService, args[1], verbose));
+        }
+
+        // Joseph_com : Classements glissants (jour/semaine/mois) alimentés à chaque match
+        RollingLeaderboard rollingLeaderboard = new RollingLeaderboard();
+        matchService.addListener(rollingLeaderboard);
+
+        // Joseph_com : Profils des joueurs (séries, forme) alimentés à chaque match
+        PlayerProfiles playerProfiles = new PlayerProfiles(matchService);
+
+        // Joseph_com : Export en flux (tampon direct réutilisé d'un export à l'autre)
+        StreamingExporter exporter = new StreamingExporter(matchService, playerService);
 
         printWelcomeBanner();
 
@@ -50,14 +102,15 @@ public class Main {
                 case 2 -> handleDisplayPlayers(playerService);
                 case 3 -> handleCreateMatch(playerService, matchService);
                 case 4 -> handleDisplayMatches(matchService);
-                case 5 -> handleDisplayStatistics(playerService, matchService);
+                case 5 -> handleDisplayStatistics(playerService, matchService, rollingLeaderboard, playerProfiles);
+                case 6 -> handleExport(exporter);
                 case 0 -> {
                     System.out.println("\n👋 Au revoir ! À bientôt dans l'arène !");
                     logger.info("Application fermée par l'utilisateur.");
                     running = false;
                 }
                 default -> {
-                    System.out.println("⚠️  Choix invalide. Veuillez entrer un nombre entre 0 et 5.");
+                    System.out.println("⚠️  Choix invalide. Veuillez entrer un nombre entre 0 et 6.");
                     logger.warn("Choix de menu invalide : {}", choice);
                 }
             }
@@ -66,6 +119,27 @@ public class Main {
         scanner.close();
     }
 
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Exécution d'un script de commandes (fichier, ou entrée standard si "-")
+    // Les résultats sont écrits dans un tampon de 64 Ko, le bilan débit/latences à la fin
+    // ─────────────────────────────────────────────────────────────────────────
+    private static int runBatch(PlayerService playerService, MatchService matchService,
+                                String source, boolean verbose) {
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, System.out.charset()), 1 << 16);
+        try (Reader input = source.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), 1 << 16)
+                : Files.newBufferedReader(Path.of(source), StandardCharsets.UTF_8)) {
+            BatchReport report = new BatchRunner(playerService, matchService, out, verbose).run(input);
+            out.write(report.format());
+            out.flush();
+            return report.errors() == 0 ? 0 : 2;
+        } catch (IOException e) {
+            logger.error("Erreur lors de l'exécution du script '{}' : {}", source, e.getMessage());
+            System.err.println("❌ Script illisible : " + e.getMessage());
+            return 1;
+        }
+    }
+
     // ─────────────────────────────────────────────────────────────────────────
     // Joseph_com : Affiche la bannière de bienvenue au lancement
     // ─────────────────────────────────────────────────────────────────────────
@@ -88,6 +162,7 @@ public class Main {
         System.out.println("│  3.  Créer un match       │");
         System.out.println("│  4.  Afficher les matchs   │");
         System.out.println("│  5.  Statistiques          │");
+        System.out.println("│  6.  Exporter              │");
         System.out.println("│  0.  Quitter               │");
         System.out.println("└─────────────────────────────┘");
     }
@@ -121,27 +196,23 @@ public class Main {
 
     // ─────────────────────────────────────────────────────────────────────────
     // Joseph_com : Gestion de l'affichage des joueurs (option 2)
-    // Affiche tous les joueurs triés par score décroissant
+    // Affiche les joueurs triés par score décroissant, page par page
     // ─────────────────────────────────────────────────────────────────────────
     private static void handleDisplayPlayers(PlayerService playerService) {
         System.out.println("\n--- 👥 LISTE DES JOUEURS (triés par score) ---");
-        List<Player> players = playerService.getAllPlayersSortedByScore();
+        int total = playerService.getPlayerCount();
 
-        if (players.isEmpty()) {
+        if (total == 0) {
             System.out.println("Aucun joueur enregistré pour le moment.");
             return;
         }
 
-        System.out.printf("%-5s %-20s %-8s %-10s %-15s%n",
-                "ID", "Pseudo", "Niveau", "Score", "Score calculé");
-        System.out.println("─".repeat(60));
-
-        // Joseph_com : Affichage de chaque joueur avec son score calculé (via Scorable)
-        for (Player p : players) {
-            System.out.printf("%-5d %-20s %-8d %-10d %-15d%n",
-                    p.getId(), p.getNickname(), p.getLevel(),
-                    p.getScore(), p.calculateScore());
-        }
+        // Joseph_com : Seule la page affichée est demandée au service
+        int page = 0;
+        int shown = 0;
+        do {
+            shown += renderer.renderPlayersPage(playerService, page++, PAGE_SIZE);
+        } while (shown < total && askNextPage(shown, total));
     }
 
     // ─────────────────────────────────────────────────────────────────────────
@@ -178,43 +249,52 @@ public class Main {
 
     // ─────────────────────────────────────────────────────────────────────────
     // Joseph_com : Gestion de l'affichage des matchs (option 4)
+    // Affiche les matchs page par page, gagnant mis en évidence
     // ─────────────────────────────────────────────────────────────────────────
     private static void handleDisplayMatches(MatchService matchService) {
         System.out.println("\n--- 📋 LISTE DES MATCHS ---");
-        List<Match> matches = matchService.getAllMatches();
+        int total = matchService.getMatchCount();
 
-        if (matches.isEmpty()) {
+        if (total == 0) {
             System.out.println("Aucun match enregistré pour le moment.");
             return;
         }
 
-        // Joseph_com : Affichage de chaque match avec gagnant mis en évidence
-        for (Match m : matches) {
-            Player winner = m.getWinner();
-            String winnerDisplay = (winner != null) ? "🏆 " + winner.getNickname() : "🤝 Égalité";
+        int page = 0;
+        int shown = 0;
+        do {
+            shown += renderer.renderMatchesPage(matchService, page++, PAGE_SIZE);
+        } while (shown < total && askNextPage(shown, total));
+    }
 
-            System.out.printf("[Match #%d] %s %d - %d %s | %s | Gagnant : %s%n",
-                    m.getId(),
-                    m.getPlayer1().getNickname(), m.getScorePlayer1(),
-                    m.getScorePlayer2(), m.getPlayer2().getNickname(),
-                    m.getDate(),
-                    winnerDisplay);
-        }
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Demande à l'utilisateur s'il veut voir la page suivante
+    // ─────────────────────────────────────────────────────────────────────────
+    private static boolean askNextPage(int shown, int total) {
+        System.out.printf("-- %d / %d affiché(s) -- Entrée : page suivante, q : retour au menu%n", shown, total);
+        return !scanner.nextLine().trim().equalsIgnoreCase("q");
     }
 
     // ─────────────────────────────────────────────────────────────────────────
     // Joseph_com : Gestion de l'affichage des statistiques (option 5)
     // Affiche le top 3 et les statistiques globales via les streams
     // ─────────────────────────────────────────────────────────────────────────
-    private static void handleDisplayStatistics(PlayerService playerService, MatchService matchService) {
+    private static void handleDisplayStatistics(PlayerService playerService, MatchService matchService,
+                                                RollingLeaderboard rollingLeaderboard,
+                                                PlayerProfiles playerProfiles) {
         System.out.println("\n--- 📊 STATISTIQUES DU TOURNOI ---");
 
         // Joseph_com : Statistiques globales des joueurs
         System.out.println("\n🎯 Statistiques globales :");
-        System.out.println("  Nombre de joueurs    : " + playerService.getAllPlayers().size());
+        System.out.println("  Nombre de joueurs    : " + playerService.getPlayerCount());
         System.out.println("  Score total global   : " + playerService.getTotalScore());
         System.out.printf( "  Score moyen          : %.2f%n", playerService.getAverageScore());
-        System.out.println("  Nombre de matchs     : " + matchService.getAllMatches().size());
+        System.out.println("  Nombre de matchs     : " + matchService.getMatchCount());
+        LoadProgress progress = matchService.getLoadProgress();
+        if (!progress.complete()) {
+            System.out.println("  (historique en cours de chargement : " + progress.loadedMatches()
+                    + " match(s) lu(s), statistiques partielles)");
+        }
         System.out.println("  Points joués (matchs): " + matchService.getTotalPointsPlayed());
 
         // Joseph_com : Top 3 des joueurs triés par score calculé (Scorable)
@@ -232,6 +312,62 @@ public class Main {
             System.out.printf("  %s %s — Score calculé : %d (score: %d × niveau: %d)%n",
                     medals[i], p.getNickname(), p.calculateScore(), p.getScore(), p.getLevel());
         }
+
+        // Joseph_com : Joueurs en forme (points sur les derniers matchs), lus dans les profils tenus à jour
+        System.out.println("\n🔥 Joueurs en forme :");
+        for (PlayerProfile profile : playerProfiles.mostInForm(3)) {
+            String nickname = playerService.findOptionalById(profile.playerId())
+                    .map(Player::getNickname)
+                    .orElse("#" + profile.playerId());
+            System.out.printf("  %s — forme %s, série en cours : %d, victoires : %.0f%%%n",
+                    nickname, profile.form(), profile.currentStreak(), profile.winRate() * 100);
+        }
+
+        // Joseph_com : Top 3 de la semaine, calculé à partir des tranches journalières
+        System.out.println("\n🗓️  TOP 3 de la semaine (victoires) :");
+        List<PlayerWindowStats> weekly = rollingLeaderboard.top(TimeWindow.WEEKLY, LeaderboardCriterion.WINS, 3);
+        if (weekly.isEmpty()) {
+            System.out.println("  Aucun match cette semaine.");
+            return;
+        }
+        for (int i = 0; i < weekly.size(); i++) {
+            PlayerWindowStats stats = weekly.get(i);
+            String nickname = playerService.findOptionalById(stats.playerId())
+                    .map(Player::getNickname)
+                    .orElse("#" + stats.playerId());
+            System.out.printf("  %s %s — %d victoire(s), %d point(s) en %d match(s)%n",
+                    medals[i], nickname, stats.wins(), stats.points(), stats.matches());
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Gestion de l'export (option 6)
+    // Classement ou historique, écrit dans data/ (export-classement.csv, export-matchs.jsonl...)
+    // ─────────────────────────────────────────────────────────────────────────
+    private static void handleExport(StreamingExporter exporter) {
+        System.out.println("\n--- 💾 EXPORTER ---");
+        int what = readIntInput("Données (1 = classement, 2 = historique des matchs) : ");
+        if (what != 1 && what != 2) {
+            System.out.println("⚠️  Choix invalide.");
+            return;
+        }
+        int formatChoice = readIntInput("Format (1 = CSV, 2 = JSON lines, 3 = binaire) : ");
+        if (formatChoice < 1 || formatChoice > ExportFormat.values().length) {
+            System.out.println("⚠️  Choix invalide.");
+            return;
+        }
+        ExportFormat format = ExportFormat.values()[formatChoice - 1];
+        Path file = MatchDAO.DEFAULT_DATA_DIR.resolve(
+                (what == 1 ? "export-classement." : "export-matchs.") + format.getExtension());
+
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long bytes = what == 1 ? exporter.exportStandings(format, channel) : exporter.exportMatches(format, channel);
+            System.out.printf("✅ %,d octet(s) exporté(s) dans '%s'.%n", bytes, file);
+        } catch (IOException e) {
+            logger.error("Erreur lors de l'export vers '{}' : {}", file, e.getMessage());
+            System.out.println("❌ Export impossible : " + e.getMessage());
+        }
     }
 
     // ─────────────────────────────────────────────────────────────────────────
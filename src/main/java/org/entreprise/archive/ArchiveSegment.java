@@ -0,0 +1,365 @@
+package org.entreprise.archive;
+
+import org.entreprise.model.Match;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Joseph_com : Segment d'archive immuable : des matchs triés par ID, compressés par blocs (Deflate).
+ * Format du fichier :
+ *   MAGIC, VERSION
+ *   blocs compressés : par match 6 entiers (id, joueur 1, joueur 2, score 1, score 2, jour epoch)
+ *   pied : index des blocs (premier/dernier ID, dates min/max, nombre, position, taille),
+ *          agrégats du segment (matchs, points) et par joueur (matchs, victoires, blocs où il apparaît)
+ *   position du pied (8 derniers octets)
+ * L'ouverture ne lit que le pied : les agrégats sont disponibles sans rien décompresser,
+ * et une lecture ne décompresse que les blocs concernés (voir MatchArchive et BlockCache).
+ */
+public final class ArchiveSegment {
+
+    // Joseph_com : Signature "TMSG" et version du format
+    private static final int MAGIC = 0x544D5347;
+    private static final int VERSION = 1;
+
+    // Joseph_com : Entiers par match dans un bloc décompressé : id, player1Id, player2Id, scorePlayer1, scorePlayer2, jour epoch
+    public static final int FIELDS = 6;
+
+    // Joseph_com : Fichier du segment
+    private final Path file;
+
+    // Joseph_com : Index des blocs (une case par bloc)
+    private final int[] blockFirstId;
+    private final int[] blockLastId;
+    private final int[] blockMinDay;
+    private final int[] blockMaxDay;
+    private final int[] blockCount;
+    private final long[] blockOffset;
+    private final int[] blockLength;
+
+    // Joseph_com : Agrégats du segment
+    private final int matchCount;
+    private final long totalPoints;
+
+    // Joseph_com : Agrégats par joueur (ID -> [matchs, victoires]) et blocs où chaque joueur apparaît
+    private final TreeMap<Integer, int[]> playerStats;
+    private final TreeMap<Integer, int[]> playerBlocks;
+
+    private ArchiveSegment(Path file, int blocks, int matchCount, long totalPoints) {
+        this.file = file;
+        this.blockFirstId = new int[blocks];
+        this.blockLastId = new int[blocks];
+        this.blockMinDay = new int[blocks];
+        this.blockMaxDay = new int[blocks];
+        this.blockCount = new int[blocks];
+        this.blockOffset = new long[blocks];
+        this.blockLength = new int[blocks];
+        this.matchCount = matchCount;
+        this.totalPoints = totalPoints;
+        this.playerStats = new TreeMap<>();
+        this.playerBlocks = new TreeMap<>();
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Écriture d'un segment (fichier temporaire puis renommage : jamais de segment à moitié écrit)
+    // ─────────────────────────────────────────────
+    /**
+     * @param file      fichier du segment (ne doit pas exister)
+     * @param matches   matchs à archiver, triés par ID
+     * @param blockSize nombre de matchs par bloc compressé
+     * @return le segment ouvert
+     * @throws IOException si l'écriture échoue
+     */
+    static ArchiveSegment write(Path file, List<Match> matches, int blockSize) throws IOException {
+        int blocks = (matches.size() + blockSize - 1) / blockSize;
+        long points = 0;
+        for (Match match : matches) {
+            points += match.getScorePlayer1() + match.getScorePlayer2();
+        }
+        ArchiveSegment segment = new ArchiveSegment(file, blocks, matches.size(), points);
+        TreeMap<Integer, BlockList> blockLists = new TreeMap<>();
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            long offset = 8;
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            ByteBuffer raw = ByteBuffer.allocate(blockSize * FIELDS * Integer.BYTES);
+            byte[] compressed = new byte[raw.capacity() + 64];
+            try {
+                for (int block = 0; block < blocks; block++) {
+                    List<Match> slice = matches.subList(block * blockSize,
+                            Math.min(matches.size(), (block + 1) * blockSize));
+                    raw.clear();
+                    int minDay = Integer.MAX_VALUE;
+                    int maxDay = Integer.MIN_VALUE;
+                    for (Match match : slice) {
+                        int day = (int) match.getDate().toEpochDay();
+                        raw.putInt(match.getId()).putInt(match.getPlayer1().getId()).putInt(match.getPlayer2().getId())
+                                .putInt(match.getScorePlayer1()).putInt(match.getScorePlayer2()).putInt(day);
+                        minDay = Math.min(minDay, day);
+                        maxDay = Math.max(maxDay, day);
+                        segment.record(match);
+                        blockLists.computeIfAbsent(match.getPlayer1().getId(), id -> new BlockList()).add(block);
+                        blockLists.computeIfAbsent(match.getPlayer2().getId(), id -> new BlockList()).add(block);
+                    }
+
+                    deflater.reset();
+                    deflater.setInput(raw.array(), 0, raw.position());
+                    deflater.finish();
+                    int length = 0;
+                    while (!deflater.finished()) {
+                        if (length == compressed.length) compressed = Arrays.copyOf(compressed, length * 2);
+                        length += deflater.deflate(compressed, length, compressed.length - length);
+                    }
+                    out.write(compressed, 0, length);
+
+                    segment.blockFirstId[block] = slice.get(0).getId();
+                    segment.blockLastId[block] = slice.get(slice.size() - 1).getId();
+                    segment.blockMinDay[block] = minDay;
+                    segment.blockMaxDay[block] = maxDay;
+                    segment.blockCount[block] = slice.size();
+                    segment.blockOffset[block] = offset;
+                    segment.blockLength[block] = length;
+                    offset += length;
+                }
+            } finally {
+                deflater.end();
+            }
+            blockLists.forEach((playerId, list) -> segment.playerBlocks.put(playerId, list.toArray()));
+            segment.writeFooter(out, offset);
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+        return segment;
+    }
+
+    // Joseph_com : Agrégats d'un match (à l'écriture)
+    private void record(Match match) {
+        int[] stats1 = playerStats.computeIfAbsent(match.getPlayer1().getId(), id -> new int[2]);
+        int[] stats2 = playerStats.computeIfAbsent(match.getPlayer2().getId(), id -> new int[2]);
+        stats1[0]++;
+        stats2[0]++;
+        if (match.getScorePlayer1() > match.getScorePlayer2()) stats1[1]++;
+        else if (match.getScorePlayer2() > match.getScorePlayer1()) stats2[1]++;
+    }
+
+    private void writeFooter(DataOutputStream out, long footerOffset) throws IOException {
+        out.writeInt(blockCount.length);
+        for (int block = 0; block < blockCount.length; block++) {
+            out.writeInt(blockFirstId[block]);
+            out.writeInt(blockLastId[block]);
+            out.writeInt(blockMinDay[block]);
+            out.writeInt(blockMaxDay[block]);
+            out.writeInt(blockCount[block]);
+            out.writeLong(blockOffset[block]);
+            out.writeInt(blockLength[block]);
+        }
+        out.writeInt(matchCount);
+        out.writeLong(totalPoints);
+        out.writeInt(playerStats.size());
+        for (var entry : playerStats.entrySet()) {
+            int[] blocks = playerBlocks.get(entry.getKey());
+            out.writeInt(entry.getKey());
+            out.writeInt(entry.getValue()[0]);
+            out.writeInt(entry.getValue()[1]);
+            out.writeInt(blocks.length);
+            for (int block : blocks) {
+                out.writeInt(block);
+            }
+        }
+        out.writeLong(footerOffset);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Ouverture d'un segment existant : lecture du pied seulement
+    // ─────────────────────────────────────────────
+    /**
+     * @throws IOException si le fichier est illisible ou n'est pas un segment
+     */
+    static ArchiveSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = readFully(channel, 0, 8);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Segment d'archive invalide : " + file);
+            }
+            long size = channel.size();
+            long footerOffset = readFully(channel, size - 8, 8).getLong();
+            ByteBuffer footer = readFully(channel, footerOffset, (int) (size - 8 - footerOffset));
+
+            int blocks = footer.getInt();
+            int[] firstId = new int[blocks];
+            int[] lastId = new int[blocks];
+            int[] minDay = new int[blocks];
+            int[] maxDay = new int[blocks];
+            int[] count = new int[blocks];
+            long[] offset = new long[blocks];
+            int[] length = new int[blocks];
+            for (int block = 0; block < blocks; block++) {
+                firstId[block] = footer.getInt();
+                lastId[block] = footer.getInt();
+                minDay[block] = footer.getInt();
+                maxDay[block] = footer.getInt();
+                count[block] = footer.getInt();
+                offset[block] = footer.getLong();
+                length[block] = footer.getInt();
+            }
+            ArchiveSegment segment = new ArchiveSegment(file, blocks, footer.getInt(), footer.getLong());
+            System.arraycopy(firstId, 0, segment.blockFirstId, 0, blocks);
+            System.arraycopy(lastId, 0, segment.blockLastId, 0, blocks);
+            System.arraycopy(minDay, 0, segment.blockMinDay, 0, blocks);
+            System.arraycopy(maxDay, 0, segment.blockMaxDay, 0, blocks);
+            System.arraycopy(count, 0, segment.blockCount, 0, blocks);
+            System.arraycopy(offset, 0, segment.blockOffset, 0, blocks);
+            System.arraycopy(length, 0, segment.blockLength, 0, blocks);
+
+            int players = footer.getInt();
+            for (int i = 0; i < players; i++) {
+                int playerId = footer.getInt();
+                segment.playerStats.put(playerId, new int[]{footer.getInt(), footer.getInt()});
+                int[] playerBlocks = new int[footer.getInt()];
+                for (int b = 0; b < playerBlocks.length; b++) {
+                    playerBlocks[b] = footer.getInt();
+                }
+                segment.playerBlocks.put(playerId, playerBlocks);
+            }
+            return segment;
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Décompression d'un bloc : 6 entiers par match (voir FIELDS)
+    // ─────────────────────────────────────────────
+    int[] readBlock(int block) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer compressed = readFully(channel, blockOffset[block], blockLength[block]);
+            byte[] raw = new byte[blockCount[block] * FIELDS * Integer.BYTES];
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(compressed.array());
+                int read = 0;
+                while (read < raw.length && !inflater.finished()) {
+                    read += inflater.inflate(raw, read, raw.length - read);
+                }
+                if (read != raw.length) {
+                    throw new IOException("Bloc " + block + " tronqué dans " + file);
+                }
+            } finally {
+                inflater.end();
+            }
+            int[] fields = new int[blockCount[block] * FIELDS];
+            ByteBuffer.wrap(raw).asIntBuffer().get(fields);
+            return fields;
+        } catch (IOException | DataFormatException e) {
+            throw new UncheckedIOException(e instanceof IOException io ? io : new IOException(e));
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Fin de fichier inattendue");
+            }
+        }
+        return buffer.flip();
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Index (lecture seule, aucune décompression)
+    // ─────────────────────────────────────────────
+    public Path getFile() {
+        return file;
+    }
+
+    public int getBlockCount() {
+        return blockCount.length;
+    }
+
+    public int getMatchCount() {
+        return matchCount;
+    }
+
+    public long getTotalPoints() {
+        return totalPoints;
+    }
+
+    public int getFirstId() {
+        return blockFirstId.length == 0 ? 0 : blockFirstId[0];
+    }
+
+    public int getLastId() {
+        return blockLastId.length == 0 ? 0 : blockLastId[blockLastId.length - 1];
+    }
+
+    public LocalDate getFromDate() {
+        return LocalDate.ofEpochDay(Arrays.stream(blockMinDay).min().orElse(0));
+    }
+
+    public LocalDate getToDate() {
+        return LocalDate.ofEpochDay(Arrays.stream(blockMaxDay).max().orElse(0));
+    }
+
+    public int countMatches(int playerId) {
+        int[] stats = playerStats.get(playerId);
+        return stats == null ? 0 : stats[0];
+    }
+
+    public int countWins(int playerId) {
+        int[] stats = playerStats.get(playerId);
+        return stats == null ? 0 : stats[1];
+    }
+
+    // Joseph_com : Bloc pouvant contenir un ID (recherche dichotomique sur le dernier ID), -1 si hors segment
+    int blockOf(int matchId) {
+        int low = 0;
+        int high = blockLastId.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (blockLastId[middle] < matchId) low = middle + 1;
+            else high = middle - 1;
+        }
+        return low < blockFirstId.length && blockFirstId[low] <= matchId ? low : -1;
+    }
+
+    // Joseph_com : Blocs où un joueur apparaît (tableau vide si aucun)
+    int[] blocksOf(int playerId) {
+        return playerBlocks.getOrDefault(playerId, new int[0]);
+    }
+
+    // Joseph_com : Le bloc contient-il au moins un match de la plage de jours [fromDay, toDay] ?
+    boolean blockOverlaps(int block, long fromDay, long toDay) {
+        return blockMaxDay[block] >= fromDay && blockMinDay[block] <= toDay;
+    }
+
+    // Joseph_com : Liste de blocs sans doublon (les matchs arrivent bloc par bloc, dans l'ordre)
+    private static final class BlockList {
+        private int[] blocks = new int[4];
+        private int size;
+
+        void add(int block) {
+            if (size > 0 && blocks[size - 1] == block) return;
+            if (size == blocks.length) blocks = Arrays.copyOf(blocks, size * 2);
+            blocks[size++] = block;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(blocks, size);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package org.entreprise.archive;
+
+import org.entreprise.stats.CacheStats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Joseph_com : Cache LRU des blocs d'archive décompressés, partagé par tous les segments d'une archive.
+ * Clé = (numéro de segment, numéro de bloc) encodée sur un long ; valeur = 6 entiers par match.
+ * La capacité est en blocs : la mémoire reste bornée quelle que soit la taille de l'archive.
+ */
+public class BlockCache {
+
+    // Joseph_com : Capacité par défaut (blocs décompressés gardés en mémoire)
+    public static final int DEFAULT_CAPACITY = 64;
+
+    // Joseph_com : Cache LRU (ordre d'accès), protégé par son propre verrou
+    private final LinkedHashMap<Long, int[]> blocks;
+
+    // Joseph_com : Compteurs d'utilisation (protégés par le verrou du cache)
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param capacity nombre maximum de blocs gardés en cache (>= 1)
+     */
+    public BlockCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("La capacité du cache doit être d'au moins 1.");
+        }
+        this.blocks = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, int[]> eldest) {
+                if (size() > capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Bloc en cache, ou décompressé puis mis en cache
+    // La décompression se fait hors du verrou (deux lecteurs du même bloc absent peuvent le décompresser tous deux)
+    // ─────────────────────────────────────────────
+    int[] get(int segment, int block, Supplier<int[]> loader) {
+        long key = ((long) segment << 32) | block;
+        synchronized (blocks) {
+            int[] cached = blocks.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+        int[] loaded = loader.get();
+        synchronized (blocks) {
+            blocks.put(key, loaded);
+        }
+        return loaded;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Statistiques du cache (succès, échecs, évictions)
+    // ─────────────────────────────────────────────
+    public CacheStats getStats() {
+        synchronized (blocks) {
+            return new CacheStats(hits, misses, evictions, blocks.size());
+        }
+    }
+}
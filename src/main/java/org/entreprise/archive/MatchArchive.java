@@ -0,0 +1,287 @@
+package org.entreprise.archive;
+
+import org.entreprise.model.Match;
+import org.entreprise.model.Player;
+import org.entreprise.stats.CacheStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Joseph_com : Archive des matchs froids (saisons passées) : une suite de segments immuables dans un dossier.
+ * - roll() écrit un nouveau segment (segment-000001.seg, segment-000002.seg...) ; un segment n'est jamais réécrit.
+ * - Les agrégats (matchs, points, victoires par joueur) sont précalculés par segment : aucune décompression.
+ * - Les lectures (par ID, par joueur, par dates) ne décompressent que les blocs concernés, via un BlockCache.
+ * Les joueurs des matchs relus sont résolus par ID par l'appelant (ceux du PlayerService en cours) ;
+ * un match dont un joueur n'existe plus est ignoré, comme au chargement du CSV.
+ * Instance utilisable depuis plusieurs threads (les écritures sont sérialisées).
+ */
+public class MatchArchive {
+
+    // Joseph_com : Logger pour tracer l'ouverture et l'écriture des segments
+    private static final Logger logger = LoggerFactory.getLogger(MatchArchive.class);
+
+    // Joseph_com : Nombre de matchs par bloc compressé par défaut (~6 Ko décompressé)
+    public static final int DEFAULT_BLOCK_SIZE = 256;
+
+    // Joseph_com : Préfixe et extension des fichiers de segment
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    // Joseph_com : Dossier de l'archive
+    private final Path directory;
+
+    // Joseph_com : Nombre de matchs par bloc des nouveaux segments
+    private final int blockSize;
+
+    // Joseph_com : Segments, dans l'ordre d'écriture (l'index dans la liste sert de clé au cache)
+    private final List<ArchiveSegment> segments = new CopyOnWriteArrayList<>();
+
+    // Joseph_com : Cache des blocs décompressés
+    private final BlockCache cache;
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Ouverture avec les paramètres par défaut
+    // ─────────────────────────────────────────────
+    public static MatchArchive open(Path directory) throws IOException {
+        return open(directory, DEFAULT_BLOCK_SIZE, BlockCache.DEFAULT_CAPACITY);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Ouverture d'une archive (dossier créé s'il n'existe pas) : seuls les pieds des segments sont lus
+    // ─────────────────────────────────────────────
+    /**
+     * @param directory     dossier de l'archive
+     * @param blockSize     nombre de matchs par bloc des nouveaux segments (>= 1)
+     * @param cacheCapacity nombre de blocs décompressés gardés en cache (>= 1)
+     * @throws IOException si le dossier ou un segment est illisible
+     */
+    public static MatchArchive open(Path directory, int blockSize, int cacheCapacity) throws IOException {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("La taille d'un bloc doit être d'au moins 1 match : " + blockSize);
+        }
+        Files.createDirectories(directory);
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(Comparator.comparing(Path::getFileName));
+
+        MatchArchive archive = new MatchArchive(directory, blockSize, new BlockCache(cacheCapacity));
+        for (Path file : files) {
+            archive.segments.add(ArchiveSegment.open(file));
+        }
+        logger.info("Archive '{}' ouverte : {} segment(s), {} match(s).",
+                directory, archive.segments.size(), archive.getMatchCount());
+        return archive;
+    }
+
+    private MatchArchive(Path directory, int blockSize, BlockCache cache) {
+        this.directory = directory;
+        this.blockSize = blockSize;
+        this.cache = cache;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Écrit un nouveau segment immuable avec ces matchs
+    // ─────────────────────────────────────────────
+    /**
+     * @param matches matchs à archiver (au moins un ; triés par ID ici)
+     * @return le segment écrit
+     * @throws UncheckedIOException si l'écriture échoue (l'archive reste inchangée)
+     */
+    public synchronized ArchiveSegment roll(List<Match> matches) {
+        if (matches.isEmpty()) {
+            throw new IllegalArgumentException("Un segment doit contenir au moins un match.");
+        }
+        List<Match> sorted = new ArrayList<>(matches);
+        sorted.sort(Comparator.comparingInt(Match::getId));
+        Path file = directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, segments.size() + 1, SEGMENT_SUFFIX));
+        try {
+            ArchiveSegment segment = ArchiveSegment.write(file, sorted, blockSize);
+            segments.add(segment);
+            logger.info("Segment '{}' écrit : {} match(s), {} bloc(s), {} octet(s).",
+                    file.getFileName(), segment.getMatchCount(), segment.getBlockCount(), Files.size(file));
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Écriture du segment " + file + " impossible", e);
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Agrégats précalculés (aucune décompression)
+    // ─────────────────────────────────────────────
+    public List<ArchiveSegment> getSegments() {
+        return List.copyOf(segments);
+    }
+
+    public int getMatchCount() {
+        int count = 0;
+        for (ArchiveSegment segment : segments) {
+            count += segment.getMatchCount();
+        }
+        return count;
+    }
+
+    public long getTotalPoints() {
+        long total = 0;
+        for (ArchiveSegment segment : segments) {
+            total += segment.getTotalPoints();
+        }
+        return total;
+    }
+
+    public int countWins(int playerId) {
+        int wins = 0;
+        for (ArchiveSegment segment : segments) {
+            wins += segment.countWins(playerId);
+        }
+        return wins;
+    }
+
+    public int countMatches(int playerId) {
+        int count = 0;
+        for (ArchiveSegment segment : segments) {
+            count += segment.countMatches(playerId);
+        }
+        return count;
+    }
+
+    // Joseph_com : Plus grand ID archivé (0 si l'archive est vide) : les nouveaux matchs ne doivent pas le réutiliser
+    public int getMaxId() {
+        int max = 0;
+        for (ArchiveSegment segment : segments) {
+            max = Math.max(max, segment.getLastId());
+        }
+        return max;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Lectures froides (blocs décompressés à la demande, via le cache)
+    // ─────────────────────────────────────────────
+    /**
+     * @param matchId ID du match
+     * @param players résolution des joueurs par ID (null si inconnu)
+     * @return le match archivé, s'il existe
+     */
+    public Optional<Match> get(int matchId, IntFunction<Player> players) {
+        for (int s = 0; s < segments.size(); s++) {
+            ArchiveSegment segment = segments.get(s);
+            int block = segment.blockOf(matchId);
+            if (block < 0) continue;
+            int[] fields = block(s, block);
+            for (int i = 0; i < fields.length; i += ArchiveSegment.FIELDS) {
+                if (fields[i] == matchId) {
+                    return Optional.ofNullable(toMatch(fields, i, players));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Joseph_com : ID archivé ? (même recherche que get, sans résoudre les joueurs)
+    public boolean contains(int matchId) {
+        for (int s = 0; s < segments.size(); s++) {
+            int block = segments.get(s).blockOf(matchId);
+            if (block < 0) continue;
+            int[] fields = block(s, block);
+            for (int i = 0; i < fields.length; i += ArchiveSegment.FIELDS) {
+                if (fields[i] == matchId) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return matchs archivés d'un joueur, par segment puis par ID (seuls ses blocs sont décompressés)
+     */
+    public List<Match> matchesOf(int playerId, IntFunction<Player> players) {
+        List<Match> result = new ArrayList<>();
+        for (int s = 0; s < segments.size(); s++) {
+            for (int block : segments.get(s).blocksOf(playerId)) {
+                int[] fields = block(s, block);
+                for (int i = 0; i < fields.length; i += ArchiveSegment.FIELDS) {
+                    if (fields[i + 1] == playerId || fields[i + 2] == playerId) {
+                        addIfResolved(result, fields, i, players);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return matchs archivés joués entre deux dates incluses (seuls les blocs qui chevauchent sont décompressés)
+     */
+    public List<Match> matchesBetween(LocalDate from, LocalDate to, IntFunction<Player> players) {
+        long fromDay = from.toEpochDay();
+        long toDay = to.toEpochDay();
+        List<Match> result = new ArrayList<>();
+        for (int s = 0; s < segments.size(); s++) {
+            ArchiveSegment segment = segments.get(s);
+            for (int block = 0; block < segment.getBlockCount(); block++) {
+                if (!segment.blockOverlaps(block, fromDay, toDay)) continue;
+                int[] fields = block(s, block);
+                for (int i = 0; i < fields.length; i += ArchiveSegment.FIELDS) {
+                    int day = fields[i + 5];
+                    if (day >= fromDay && day <= toDay) {
+                        addIfResolved(result, fields, i, players);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Parcours complet, bloc par bloc (export) : un seul bloc décompressé à la fois
+    // Les blocs lus ne passent pas par le cache pour ne pas en évincer les blocs chauds
+    // ─────────────────────────────────────────────
+    /**
+     * @param sink reçoit chaque bloc décompressé (ArchiveSegment.FIELDS entiers par match), segment par segment
+     */
+    public void forEachBlock(Consumer<int[]> sink) {
+        for (ArchiveSegment segment : segments) {
+            for (int block = 0; block < segment.getBlockCount(); block++) {
+                sink.accept(segment.readBlock(block));
+            }
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Statistiques du cache de blocs
+    // ─────────────────────────────────────────────
+    public CacheStats getCacheStats() {
+        return cache.getStats();
+    }
+
+    private int[] block(int segmentIndex, int block) {
+        ArchiveSegment segment = segments.get(segmentIndex);
+        return cache.get(segmentIndex, block, () -> segment.readBlock(block));
+    }
+
+    private static void addIfResolved(List<Match> result, int[] fields, int i, IntFunction<Player> players) {
+        Match match = toMatch(fields, i, players);
+        if (match != null) result.add(match);
+    }
+
+    private static Match toMatch(int[] fields, int i, IntFunction<Player> players) {
+        Player player1 = players.apply(fields[i + 1]);
+        Player player2 = players.apply(fields[i + 2]);
+        if (player1 == null || player2 == null) return null;
+        return new Match(fields[i], player1, player2, fields[i + 3], fields[i + 4], LocalDate.ofEpochDay(fields[i + 5]));
+    }
+}
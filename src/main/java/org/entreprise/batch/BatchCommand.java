@@ -0,0 +1,48 @@
+package org.entreprise.batch;
+
+/**
+ * Joseph_com : Commandes acceptées par le mode batch (une commande par ligne, arguments séparés par des espaces).
+ */
+public enum BatchCommand {
+    // Joseph_com : add-player <pseudo> <niveau> <score>
+    ADD_PLAYER("add-player", 3),
+    // Joseph_com : create-match <idJoueur1> <idJoueur2> <score1> <score2>
+    CREATE_MATCH("create-match", 4),
+    // Joseph_com : update-score <idJoueur> <score>
+    UPDATE_SCORE("update-score", 2),
+    // Joseph_com : find <idJoueur>
+    FIND("find", 1),
+    // Joseph_com : wins <idJoueur>
+    WINS("wins", 1),
+    // Joseph_com : matches-of <idJoueur>
+    MATCHES_OF("matches-of", 1),
+    // Joseph_com : top3
+    TOP3("top3", 0),
+    // Joseph_com : stats
+    STATS("stats", 0);
+
+    // Joseph_com : Mot-clé dans le script
+    private final String keyword;
+
+    // Joseph_com : Nombre d'arguments attendus
+    private final int arity;
+
+    BatchCommand(String keyword, int arity) {
+        this.keyword = keyword;
+        this.arity = arity;
+    }
+
+    public String getKeyword() { return keyword; }
+
+    public int getArity() { return arity; }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Recherche d'une commande par mot-clé (null si inconnue)
+    // ─────────────────────────────────────────────
+    public static BatchCommand fromKeyword(String keyword) {
+        for (BatchCommand command : values()) {
+            if (command.keyword.equals(keyword)) return command;
+        }
+        return null;
+    }
+}
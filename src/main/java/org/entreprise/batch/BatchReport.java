@@ -0,0 +1,38 @@
+package org.entreprise.batch;
+
+import java.util.Map;
+
+/**
+ * Joseph_com : Bilan d'exécution d'un script batch : débit global et latences par commande.
+ *
+ * @param commands     nombre de commandes exécutées (erreurs comprises)
+ * @param errors       nombre de commandes en erreur
+ * @param elapsedNanos durée totale d'exécution
+ * @param latencies    histogramme de latence par type de commande
+ */
+public record BatchReport(long commands, long errors, long elapsedNanos, Map<BatchCommand, LatencyHistogram> latencies) {
+
+    // Joseph_com : Débit en commandes par seconde
+    public double throughput() {
+        return elapsedNanos == 0 ? 0.0 : commands * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Rapport lisible pour la console
+    // ─────────────────────────────────────────────
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Commandes : %d (%d erreur(s)) en %.3f s — %.0f commande(s)/s%n",
+                commands, errors, elapsedNanos / 1e9, throughput()));
+        sb.append(String.format("%-14s %10s %12s %12s %12s %12s%n",
+                "Commande", "Nombre", "Moyenne µs", "p50 µs", "p99 µs", "Max µs"));
+        for (Map.Entry<BatchCommand, LatencyHistogram> entry : latencies.entrySet()) {
+            LatencyHistogram h = entry.getValue();
+            if (h.getCount() == 0) continue;
+            sb.append(String.format("%-14s %10d %12.1f %12.1f %12.1f %12.1f%n",
+                    entry.getKey().getKeyword(), h.getCount(), h.getMeanNanos() / 1e3,
+                    h.percentile(50) / 1e3, h.percentile(99) / 1e3, h.getMaxNanos() / 1e3));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,221 @@
+package org.entreprise.batch;
+
+import org.entreprise.exceptions.DuplicatePlayerException;
+import org.entreprise.exceptions.InvalidMatchException;
+import org.entreprise.exceptions.PlayerNotFoundException;
+import org.entreprise.model.Match;
+import org.entreprise.model.Player;
+import org.entreprise.service.MatchService;
+import org.entreprise.service.PlayerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Joseph_com : Mode non interactif : exécute un script de commandes (fichier ou entrée standard).
+ * - Lecture en flux, une commande par ligne (lignes vides et commentaires "#" ignorés).
+ * - Les services passent en sauvegarde différée : un seul flush des CSV à la fin du script.
+ * - Les sorties passent par un Writer bufferisé fourni par l'appelant (jamais de println par commande).
+ * - Chaque commande est chronométrée ; un bilan débit/latences est produit à la fin.
+ */
+public class BatchRunner {
+
+    // Joseph_com : Logger pour tracer le début et la fin d'un script
+    private static final Logger logger = LoggerFactory.getLogger(BatchRunner.class);
+
+    // Joseph_com : Nombre maximum de mots sur une ligne (commande + arguments)
+    private static final int MAX_TOKENS = 8;
+
+    private final PlayerService playerService;
+    private final MatchService matchService;
+
+    // Joseph_com : Sortie bufferisée des résultats et des erreurs
+    private final Writer out;
+
+    // Joseph_com : true = une ligne de résultat par commande, false = erreurs et bilan uniquement
+    private final boolean verbose;
+
+    // Joseph_com : Tableau de mots réutilisé pour chaque ligne
+    private final String[] tokens = new String[MAX_TOKENS];
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Constructeur
+    // ─────────────────────────────────────────────
+    /**
+     * @param playerService service des joueurs
+     * @param matchService  service des matchs
+     * @param out           sortie des résultats (bufferisée par l'appelant)
+     * @param verbose       afficher le résultat de chaque commande
+     */
+    public BatchRunner(PlayerService playerService, MatchService matchService, Writer out, boolean verbose) {
+        this.playerService = playerService;
+        this.matchService = matchService;
+        this.out = out;
+        this.verbose = verbose;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Exécute toutes les commandes du flux puis sauvegarde une seule fois
+    // ─────────────────────────────────────────────
+    /**
+     * @param input script de commandes
+     * @return bilan d'exécution
+     * @throws IOException en cas d'erreur de lecture du script ou d'écriture des résultats
+     */
+    public BatchReport run(Reader input) throws IOException {
+        Map<BatchCommand, LatencyHistogram> latencies = new EnumMap<>(BatchCommand.class);
+        for (BatchCommand command : BatchCommand.values()) {
+            latencies.put(command, new LatencyHistogram());
+        }
+
+        BufferedReader reader = (input instanceof BufferedReader br) ? br : new BufferedReader(input, 1 << 16);
+        long commands = 0;
+        long errors = 0;
+        int lineNumber = 0;
+
+        logger.info("Début d'exécution du script batch.");
+        playerService.setAutoSave(false);
+        matchService.setAutoSave(false);
+        long start = System.nanoTime();
+
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                int count = tokenize(line);
+                if (count == 0 || tokens[0].startsWith("#")) continue;
+
+                BatchCommand command = BatchCommand.fromKeyword(tokens[0]);
+                commands++;
+                long begin = System.nanoTime();
+                try {
+                    if (count < 0) {
+                        throw new IllegalArgumentException("Trop d'arguments sur la ligne");
+                    }
+                    if (command == null) {
+                        throw new IllegalArgumentException("Commande inconnue : " + tokens[0]);
+                    }
+                    if (count - 1 != command.getArity()) {
+                        throw new IllegalArgumentException(command.getKeyword() + " attend "
+                                + command.getArity() + " argument(s)");
+                    }
+                    execute(command);
+                } catch (DuplicatePlayerException | PlayerNotFoundException | InvalidMatchException
+                         | IllegalArgumentException e) {
+                    errors++;
+                    out.append("ERREUR ligne ").append(Integer.toString(lineNumber)).append(" : ")
+                            .append(e.getMessage()).append(System.lineSeparator());
+                } finally {
+                    if (command != null) {
+                        latencies.get(command).record(System.nanoTime() - begin);
+                    }
+                }
+            }
+        } finally {
+            // Joseph_com : Une seule réécriture des fichiers CSV pour tout le script
+            playerService.setAutoSave(true);
+            matchService.setAutoSave(true);
+            out.flush();
+        }
+
+        BatchReport report = new BatchReport(commands, errors, System.nanoTime() - start, latencies);
+        logger.info("Script batch terminé : {} commande(s), {} erreur(s), {} commande(s)/s",
+                commands, errors, Math.round(report.throughput()));
+        return report;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Exécution d'une commande à partir des mots de la ligne
+    // ─────────────────────────────────────────────
+    private void execute(BatchCommand command)
+            throws IOException, DuplicatePlayerException, PlayerNotFoundException, InvalidMatchException {
+        switch (command) {
+            case ADD_PLAYER -> {
+                Player player = playerService.addPlayer(tokens[1], parseInt(tokens[2]), parseInt(tokens[3]));
+                if (verbose) result("add-player id=", player.getId());
+            }
+            case CREATE_MATCH -> {
+                Match match = matchService.createMatch(parseInt(tokens[1]), parseInt(tokens[2]),
+                        parseInt(tokens[3]), parseInt(tokens[4]));
+                if (verbose) result("create-match id=", match.getId());
+            }
+            case UPDATE_SCORE -> {
+                Player player = playerService.updateScore(parseInt(tokens[1]), parseInt(tokens[2]));
+                if (verbose) result("update-score score=", player.getScore());
+            }
+            case FIND -> {
+                Player player = playerService.findById(parseInt(tokens[1]));
+                if (verbose) out.append(player.toString()).append(System.lineSeparator());
+            }
+            case WINS -> {
+                long wins = matchService.countWins(parseInt(tokens[1]));
+                if (verbose) result("wins=", wins);
+            }
+            case MATCHES_OF -> {
+                int matches = matchService.getMatchesByPlayer(parseInt(tokens[1])).size();
+                if (verbose) result("matches=", matches);
+            }
+            case TOP3 -> {
+                List<Player> top3 = playerService.getTop3Players();
+                if (verbose) {
+                    for (Player player : top3) {
+                        out.append(player.getNickname()).append(' ')
+                                .append(Integer.toString(player.calculateScore())).append(System.lineSeparator());
+                    }
+                }
+            }
+            case STATS -> {
+                int players = playerService.getPlayerCount();
+                int totalScore = playerService.getTotalScore();
+                int matches = matchService.getMatchCount();
+                long points = matchService.getTotalPointsPlayed();
+                if (verbose) {
+                    out.append("joueurs=").append(Integer.toString(players))
+                            .append(" scoreTotal=").append(Integer.toString(totalScore))
+                            .append(" matchs=").append(Integer.toString(matches))
+                            .append(" points=").append(Long.toString(points))
+                            .append(System.lineSeparator());
+                }
+            }
+        }
+    }
+
+    private void result(String label, long value) throws IOException {
+        out.append(label).append(Long.toString(value)).append(System.lineSeparator());
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Découpe une ligne sur les espaces dans le tableau réutilisé
+    // Retourne le nombre de mots, ou -1 si la ligne en contient trop
+    // ─────────────────────────────────────────────
+    private int tokenize(String line) {
+        int count = 0;
+        int length = line.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && Character.isWhitespace(line.charAt(i))) i++;
+            if (i == length) break;
+            int start = i;
+            while (i < length && !Character.isWhitespace(line.charAt(i))) i++;
+            if (count == MAX_TOKENS) return -1;
+            tokens[count++] = line.substring(start, i);
+        }
+        return count;
+    }
+
+    // Joseph_com : Conversion d'un argument numérique avec message explicite
+    private static int parseInt(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Nombre entier attendu : " + value);
+        }
+    }
+}
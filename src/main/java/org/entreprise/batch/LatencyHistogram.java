@@ -0,0 +1,57 @@
+package org.entreprise.batch;
+
+/**
+ * Joseph_com : Histogramme de latences à tranches logarithmiques (puissances de 2 en nanosecondes).
+ * Enregistrer une mesure coûte une incrémentation de tableau : aucune allocation,
+ * ce qui permet de mesurer chaque commande d'un script d'un million de lignes.
+ * Les percentiles sont approchés par la borne haute de leur tranche (précision x2).
+ * Non thread-safe : un histogramme par thread d'exécution.
+ */
+public class LatencyHistogram {
+
+    // Joseph_com : Une tranche par puissance de 2 (2^0 ns à 2^63 ns)
+    private final long[] buckets = new long[64];
+
+    private long count;
+    private long totalNanos;
+    private long maxNanos;
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Enregistre une mesure
+    // ─────────────────────────────────────────────
+    public void record(long nanos) {
+        long value = Math.max(1, nanos);
+        buckets[63 - Long.numberOfLeadingZeros(value)]++;
+        count++;
+        totalNanos += value;
+        maxNanos = Math.max(maxNanos, value);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Percentile approché (borne haute de la tranche)
+    // ─────────────────────────────────────────────
+    /**
+     * @param percentile valeur entre 0 et 100
+     * @return latence en nanosecondes sous laquelle se trouvent percentile % des mesures
+     */
+    public long percentile(double percentile) {
+        if (count == 0) return 0;
+        long rank = (long) Math.ceil(count * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= Math.max(1, rank)) {
+                return Math.min(maxNanos, (i == 63) ? Long.MAX_VALUE : (1L << (i + 1)) - 1);
+            }
+        }
+        return maxNanos;
+    }
+
+    public long getCount() { return count; }
+
+    public long getMaxNanos() { return maxNanos; }
+
+    public double getMeanNanos() {
+        return count == 0 ? 0.0 : (double) totalNanos / count;
+    }
+}
@@ -0,0 +1,69 @@
+package org.entreprise.dao;
+
+import org.entreprise.model.Match;
+import org.entreprise.model.Player;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Joseph_com : Import unique des fichiers CSV d'un tournoi (players.csv, matches.csv + journal) dans la base H2.
+ * Joueurs, matchs et plus grand ID de match sont écrits dans une seule transaction : une migration interrompue
+ * ne laisse rien dans la base. Elle est ignorée si la base contient déjà des joueurs ou des matchs :
+ * la relancer au démarrage est sans effet.
+ * Les fichiers CSV ne sont pas modifiés (retour arrière possible).
+ */
+public final class CsvMigrator {
+
+    // Joseph_com : Logger pour tracer la migration
+    private static final Logger logger = LoggerFactory.getLogger(CsvMigrator.class);
+
+    private CsvMigrator() {
+    }
+
+    // Joseph_com : Résultat d'une migration
+    public record Result(int players, int matches, boolean skipped) {
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Copie les joueurs puis les matchs (relus par les DAO CSV, journal appliqué)
+    // ─────────────────────────────────────────────
+    /**
+     * @param csvDir   dossier contenant players.csv et matches.csv
+     * @param database base de destination
+     * @return nombre de lignes importées, ou skipped si la base était déjà remplie
+     * @throws IllegalStateException si la base ne peut pas être lue ou si l'écriture échoue (base inchangée)
+     */
+    public static Result migrate(Path csvDir, JdbcDatabase database) {
+        JdbcPlayerRepository playerRepository = new JdbcPlayerRepository(database);
+        JdbcMatchRepository matchRepository = new JdbcMatchRepository(database);
+        try {
+            if (!database.isEmpty("players") || !database.isEmpty("matches")) {
+                logger.info("Base déjà remplie : migration depuis '{}' ignorée.", csvDir);
+                return new Result(0, 0, true);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Lecture de la base impossible avant migration : " + e.getMessage(), e);
+        }
+
+        List<Player> players = new PlayerDAO(csvDir).loadAll();
+        MatchDAO matchDao = new MatchDAO(csvDir);
+        List<Match> matches = matchDao.loadAll(players);
+        int highWaterMark = matchDao.loadHighWaterMark();
+        boolean committed = database.inTransaction("migration depuis " + csvDir, () -> {
+            playerRepository.replaceAll(players);
+            matchRepository.replaceAll(matches);
+            if (highWaterMark > 0) {
+                matchRepository.writeHighWaterMark(highWaterMark);
+            }
+        });
+        if (!committed) {
+            throw new IllegalStateException("Migration de '" + csvDir + "' annulée : la base est inchangée.");
+        }
+        logger.info("Migration de '{}' terminée : {} joueur(s), {} match(s).", csvDir, players.size(), matches.size());
+        return new Result(players.size(), matches.size(), false);
+    }
+}
@@ -0,0 +1,108 @@
+package org.entreprise.dao;
+
+import org.entreprise.interfaces.MatchRepository;
+import org.entreprise.model.Match;
+import org.entreprise.model.Player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Joseph_com : Stockage des matchs en mémoire seulement (tournois éphémères, tests).
+ * Aucune entrée/sortie : une sauvegarde garde une copie de la liste (triée par ID), un match créé
+ * y est ajouté en fin de liste, une correction y remplace le match en O(log n) et une suppression l'en retire.
+ */
+public class InMemoryMatchRepository implements MatchRepository {
+
+    // Joseph_com : Dernière liste sauvegardée, triée par ID (protégée par this)
+    private final List<Match> matches = new ArrayList<>();
+
+    // Joseph_com : Plus grand ID attribué enregistré (protégé par this)
+    private int highWaterMark;
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Chargement : les joueurs sont reliés par ID à ceux du service (comme pour le CSV)
+    // Un match dont un joueur est inconnu est ignoré
+    // ─────────────────────────────────────────────
+    @Override
+    public synchronized List<Match> loadAll(List<Player> availablePlayers) {
+        Map<Integer, Player> playersById = new HashMap<>();
+        availablePlayers.forEach(p -> playersById.put(p.getId(), p));
+
+        List<Match> loaded = new ArrayList<>(matches.size());
+        for (Match match : matches) {
+            Player player1 = playersById.get(match.getPlayer1().getId());
+            Player player2 = playersById.get(match.getPlayer2().getId());
+            if (player1 == null || player2 == null) continue;
+            loaded.add(player1 == match.getPlayer1() && player2 == match.getPlayer2() ? match
+                    : new Match(match.getId(), player1, player2,
+                    match.getScorePlayer1(), match.getScorePlayer2(), match.getDate()));
+        }
+        return loaded;
+    }
+
+    @Override
+    public synchronized void saveAll(List<Match> matches) {
+        this.matches.clear();
+        this.matches.addAll(matches);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Matchs créés : ajout en fin de liste (IDs croissants) au lieu d'une copie complète
+    // Si un ID créé n'est pas au-delà du dernier sauvegardé, on retombe sur la copie complète
+    // ─────────────────────────────────────────────
+    @Override
+    public synchronized void saveCreated(List<Match> created, List<Match> all) {
+        int lastId = matches.isEmpty() ? Integer.MIN_VALUE : matches.get(matches.size() - 1).getId();
+        for (Match match : created) {
+            if (match.getId() <= lastId) {
+                saveAll(all);
+                return;
+            }
+            lastId = match.getId();
+        }
+        matches.addAll(created);
+    }
+
+    @Override
+    public synchronized void appendUpdate(Match match) {
+        int position = positionOf(match.getId());
+        if (position >= 0) {
+            matches.set(position, match);
+        }
+    }
+
+    @Override
+    public synchronized void appendDelete(int matchId) {
+        int position = positionOf(matchId);
+        if (position >= 0) {
+            matches.remove(position);
+        }
+    }
+
+    @Override
+    public synchronized int loadHighWaterMark() {
+        return highWaterMark;
+    }
+
+    @Override
+    public synchronized void saveHighWaterMark(int maxId) {
+        highWaterMark = Math.max(highWaterMark, maxId);
+    }
+
+    // Joseph_com : Recherche dichotomique d'un ID dans la liste triée (-1 si absent)
+    private int positionOf(int matchId) {
+        int low = 0;
+        int high = matches.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int id = matches.get(middle).getId();
+            if (id < matchId) low = middle + 1;
+            else if (id > matchId) high = middle - 1;
+            else return middle;
+        }
+        return -1;
+    }
+}
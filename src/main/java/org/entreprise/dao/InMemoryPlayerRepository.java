@@ -0,0 +1,66 @@
+package org.entreprise.dao;
+
+import org.entreprise.interfaces.PlayerRepository;
+import org.entreprise.model.Player;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Joseph_com : Stockage des joueurs en mémoire seulement (tournois éphémères, tests).
+ * Aucune entrée/sortie : une sauvegarde garde des copies des joueurs, qu'un nouveau service créé
+ * sur le même stockage retrouve au chargement (sous forme de nouvelles copies).
+ * Comme pour un fichier, une modification d'un joueur n'est visible ici qu'une fois sauvegardée.
+ */
+public class InMemoryPlayerRepository implements PlayerRepository {
+
+    // Joseph_com : Copies sauvegardées, par ID, dans l'ordre de sauvegarde (protégées par this)
+    private final Map<Integer, Player> players = new LinkedHashMap<>();
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Constructeur - stockage vide
+    // ─────────────────────────────────────────────
+    public InMemoryPlayerRepository() {
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Constructeur - stockage pré-rempli (ex. effectif d'une exhibition)
+    // ─────────────────────────────────────────────
+    public InMemoryPlayerRepository(List<Player> players) {
+        saveAll(players);
+    }
+
+    @Override
+    public synchronized List<Player> loadAll() {
+        List<Player> loaded = new ArrayList<>(players.size());
+        for (Player player : players.values()) {
+            loaded.add(copyOf(player));
+        }
+        return loaded;
+    }
+
+    @Override
+    public synchronized void saveAll(List<Player> players) {
+        this.players.clear();
+        players.forEach(this::store);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Joueurs créés ou modifiés : seules leurs copies sont remplacées
+    // ─────────────────────────────────────────────
+    @Override
+    public synchronized void saveChanged(List<Player> changed, List<Player> all) {
+        changed.forEach(this::store);
+    }
+
+    private void store(Player player) {
+        players.put(player.getId(), copyOf(player));
+    }
+
+    // Joseph_com : Copie des données sauvegardées (sans la stratégie de score, propre à chaque service)
+    private static Player copyOf(Player player) {
+        return new Player(player.getId(), player.getNickname(), player.getLevel(), player.getScore());
+    }
+}
@@ -0,0 +1,151 @@
+package org.entreprise.dao;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Joseph_com : Base H2 embarquée d'un tournoi (fichier tournament.mv.db dans le dossier de données).
+ * - Une seule connexion, partagée par JdbcPlayerRepository et JdbcMatchRepository :
+ *   tous les accès se font sous le verrou de cet objet.
+ * - Les requêtes préparées sont mises en cache par texte SQL (préparées une fois, réutilisées à chaque écriture).
+ * - Le schéma (tables + index sur les joueurs et la date des matchs, table de métadonnées)
+ *   est créé à l'ouverture s'il manque.
+ */
+public class JdbcDatabase implements AutoCloseable {
+
+    // Joseph_com : Logger pour tracer l'ouverture et les erreurs SQL
+    private static final Logger logger = LoggerFactory.getLogger(JdbcDatabase.class);
+
+    // Joseph_com : Nom de la base dans le dossier de données
+    private static final String DATABASE_NAME = "tournament";
+
+    // Joseph_com : Schéma : les matchs référencent les joueurs par ID (comme dans le CSV)
+    private static final String[] SCHEMA = {
+            "CREATE TABLE IF NOT EXISTS players ("
+                    + "id INT PRIMARY KEY, nickname VARCHAR(255) NOT NULL, level INT NOT NULL, score INT NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS matches ("
+                    + "id INT PRIMARY KEY, player1_id INT NOT NULL, player2_id INT NOT NULL, "
+                    + "score1 INT NOT NULL, score2 INT NOT NULL, match_date DATE NOT NULL)",
+            "CREATE INDEX IF NOT EXISTS idx_matches_player1 ON matches(player1_id)",
+            "CREATE INDEX IF NOT EXISTS idx_matches_player2 ON matches(player2_id)",
+            "CREATE INDEX IF NOT EXISTS idx_matches_date ON matches(match_date)",
+            "CREATE TABLE IF NOT EXISTS metadata (name VARCHAR(64) PRIMARY KEY, int_value INT NOT NULL)"
+    };
+
+    // Joseph_com : Connexion unique de la base
+    private final Connection connection;
+
+    // Joseph_com : Requêtes préparées, par texte SQL (protégé par this)
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Ouverture d'une base fichier dans le dossier de données d'un tournoi
+    // ─────────────────────────────────────────────
+    /**
+     * @param dataDir dossier de données (la base y est créée si elle n'existe pas)
+     * @throws SQLException si la base ne peut pas être ouverte
+     */
+    public static JdbcDatabase open(Path dataDir) throws SQLException {
+        return open("jdbc:h2:" + dataDir.toAbsolutePath().resolve(DATABASE_NAME));
+    }
+
+    /**
+     * @param url URL JDBC (ex. "jdbc:h2:mem:test" pour une base en mémoire)
+     * @throws SQLException si la base ne peut pas être ouverte
+     */
+    public static JdbcDatabase open(String url) throws SQLException {
+        return new JdbcDatabase(DriverManager.getConnection(url));
+    }
+
+    private JdbcDatabase(Connection connection) throws SQLException {
+        this.connection = connection;
+        try (Statement statement = connection.createStatement()) {
+            for (String ddl : SCHEMA) {
+                statement.execute(ddl);
+            }
+        }
+        logger.info("Base '{}' ouverte.", connection.getMetaData().getURL());
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Accès réservés aux dépôts JDBC (appelés sous le verrou de la base)
+    // ─────────────────────────────────────────────
+    Connection connection() {
+        return connection;
+    }
+
+    PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement statement = statements.get(sql);
+        if (statement == null) {
+            statement = connection.prepareStatement(sql);
+            statements.put(sql, statement);
+        }
+        return statement;
+    }
+
+    // Joseph_com : true si la table ne contient aucune ligne (nom de table fixé par les dépôts, jamais saisi)
+    synchronized boolean isEmpty(String table) throws SQLException {
+        try (ResultSet rows = prepare("SELECT 1 FROM " + table + " LIMIT 1").executeQuery()) {
+            return !rows.next();
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Exécute un travail dans une transaction (tout ou rien)
+    // En cas d'erreur, annulation et journalisation : les services n'ont pas d'erreur d'écriture à gérer
+    // (même contrat que les DAO CSV)
+    // ─────────────────────────────────────────────
+    /**
+     * @param description libellé de l'opération pour les logs
+     * @param work        écritures à effectuer
+     * @return true si la transaction a été validée
+     */
+    synchronized boolean inTransaction(String description, SqlWork work) {
+        try {
+            connection.setAutoCommit(false);
+            try {
+                work.run();
+                connection.commit();
+                return true;
+            } catch (SQLException e) {
+                connection.rollback();
+                logger.error("Erreur SQL ({}), transaction annulée : {}", description, e.getMessage());
+                return false;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            logger.error("Erreur SQL ({}) : {}", description, e.getMessage());
+            return false;
+        }
+    }
+
+    // Joseph_com : Travail SQL exécuté dans une transaction
+    @FunctionalInterface
+    interface SqlWork {
+        void run() throws SQLException;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            for (PreparedStatement statement : statements.values()) {
+                statement.close();
+            }
+            statements.clear();
+            connection.close();
+        } catch (SQLException e) {
+            logger.error("Erreur lors de la fermeture de la base : {}", e.getMessage());
+        }
+    }
+}
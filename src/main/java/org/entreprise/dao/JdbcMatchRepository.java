@@ -0,0 +1,268 @@
+package org.entreprise.dao;
+
+import org.entreprise.interfaces.MatchRepository;
+import org.entreprise.model.Match;
+import org.entreprise.model.Player;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+
+/**
+ * Joseph_com : Stockage des matchs dans la base H2 (table matches, index sur les joueurs et la date).
+ * - Création : insertion des seuls nouveaux matchs (un lot par appel, une transaction).
+ * - Correction / suppression : UPDATE / DELETE d'une ligne par sa clé (pas de journal comme en CSV).
+ * - Agrégats calculés par la base (total de points, victoires) sans charger les matchs en mémoire.
+ * - Une erreur SQL au chargement est remontée (IllegalStateException) : un historique partiel n'est jamais rendu.
+ */
+public class JdbcMatchRepository implements MatchRepository {
+
+    // Joseph_com : Logger pour tracer les chargements et les erreurs SQL
+    private static final Logger logger = LoggerFactory.getLogger(JdbcMatchRepository.class);
+
+    private static final String SELECT_ALL =
+            "SELECT id, player1_id, player2_id, score1, score2, match_date FROM matches ORDER BY id";
+    private static final String SELECT_CHUNK = "SELECT id, player1_id, player2_id, score1, score2, match_date"
+            + " FROM matches WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String INSERT =
+            "INSERT INTO matches (id, player1_id, player2_id, score1, score2, match_date) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE =
+            "UPDATE matches SET player1_id = ?, player2_id = ?, score1 = ?, score2 = ?, match_date = ? WHERE id = ?";
+    private static final String DELETE = "DELETE FROM matches WHERE id = ?";
+    private static final String DELETE_ALL = "DELETE FROM matches";
+
+    // Joseph_com : Plus grand ID attribué, ligne de la table des métadonnées
+    private static final String HIGH_WATER_MARK = "match_high_water_mark";
+    private static final String SELECT_METADATA = "SELECT int_value FROM metadata WHERE name = ?";
+    private static final String MERGE_METADATA = "MERGE INTO metadata (name, int_value) KEY (name) VALUES (?, ?)";
+
+    // Joseph_com : Agrégats (les deux sous-requêtes de victoires utilisent chacune un index joueur)
+    private static final String TOTAL_POINTS = "SELECT COALESCE(SUM(score1 + score2), 0) FROM matches";
+    private static final String COUNT_WINS =
+            "SELECT (SELECT COUNT(*) FROM matches WHERE player1_id = ? AND score1 > score2)"
+                    + " + (SELECT COUNT(*) FROM matches WHERE player2_id = ? AND score2 > score1)";
+
+    // Joseph_com : Base partagée avec le dépôt des joueurs du même tournoi
+    private final JdbcDatabase database;
+
+    public JdbcMatchRepository(JdbcDatabase database) {
+        this.database = database;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Chargement : les joueurs sont reliés par ID à ceux du service (comme pour le CSV)
+    // ─────────────────────────────────────────────
+    @Override
+    public List<Match> loadAll(List<Player> availablePlayers) {
+        Map<Integer, Player> playersById = new HashMap<>();
+        availablePlayers.forEach(p -> playersById.put(p.getId(), p));
+
+        List<Match> matches = new ArrayList<>();
+        synchronized (database) {
+            try (ResultSet rows = database.prepare(SELECT_ALL).executeQuery()) {
+                while (rows.next()) {
+                    Match match = toMatch(rows, playersById);
+                    if (match != null) matches.add(match);
+                }
+            } catch (SQLException e) {
+                logger.error("Erreur lors du chargement des matchs : {}", e.getMessage());
+                throw new IllegalStateException("Chargement des matchs impossible : " + e.getMessage(), e);
+            }
+        }
+        logger.info("{} match(s) chargé(s) depuis la base.", matches.size());
+        return matches;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Chargement par lots : une requête par lot (reprise après le dernier ID lu, via la clé primaire)
+    // Le verrou de la base est rendu entre deux lots : le consommateur peut écrire pendant le chargement
+    // ─────────────────────────────────────────────
+    @Override
+    public void loadInChunks(List<Player> availablePlayers, int chunkSize, Consumer<List<Match>> sink) {
+        Map<Integer, Player> playersById = new HashMap<>();
+        availablePlayers.forEach(p -> playersById.put(p.getId(), p));
+
+        int lastId = Integer.MIN_VALUE;
+        int loaded = 0;
+        while (true) {
+            List<Match> chunk = new ArrayList<>(chunkSize);
+            int read = 0;
+            synchronized (database) {
+                try {
+                    PreparedStatement statement = database.prepare(SELECT_CHUNK);
+                    statement.setInt(1, lastId);
+                    statement.setInt(2, chunkSize);
+                    try (ResultSet rows = statement.executeQuery()) {
+                        while (rows.next()) {
+                            read++;
+                            lastId = rows.getInt(1);
+                            Match match = toMatch(rows, playersById);
+                            if (match != null) chunk.add(match);
+                        }
+                    }
+                } catch (SQLException e) {
+                    // Joseph_com : Remonté au MatchService (lecture seule) : un historique partiel ne doit jamais
+                    // être réécrit en base ni servir à calculer le prochain ID
+                    logger.error("Erreur lors du chargement des matchs : {}", e.getMessage());
+                    throw new IllegalStateException("Chargement des matchs interrompu après " + loaded
+                            + " match(s) : " + e.getMessage(), e);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                loaded += chunk.size();
+                sink.accept(chunk);
+            }
+            if (read < chunkSize) break;
+        }
+        logger.info("{} match(s) chargé(s) depuis la base.", loaded);
+    }
+
+    // Joseph_com : Ligne courante -> match (null si un joueur est introuvable)
+    private static Match toMatch(ResultSet rows, Map<Integer, Player> playersById) throws SQLException {
+        Player player1 = playersById.get(rows.getInt(2));
+        Player player2 = playersById.get(rows.getInt(3));
+        if (player1 == null || player2 == null) {
+            logger.error("Match {} ignoré : joueur introuvable ({} / {}).",
+                    rows.getInt(1), rows.getInt(2), rows.getInt(3));
+            return null;
+        }
+        return new Match(rows.getInt(1), player1, player2,
+                rows.getInt(4), rows.getInt(5), rows.getDate(6).toLocalDate());
+    }
+
+    @Override
+    public void saveAll(List<Match> matches) {
+        database.inTransaction("sauvegarde des matchs", () -> replaceAll(matches));
+    }
+
+    // Joseph_com : Remplacement du contenu de la table, dans la transaction de l'appelant (voir CsvMigrator)
+    void replaceAll(List<Match> matches) throws SQLException {
+        database.prepare(DELETE_ALL).executeUpdate();
+        insertBatch(matches);
+    }
+
+    @Override
+    public void saveCreated(List<Match> created, List<Match> all) {
+        database.inTransaction("enregistrement de " + created.size() + " match(s)", () -> insertBatch(created));
+    }
+
+    @Override
+    public void appendUpdate(Match match) {
+        database.inTransaction("correction du match " + match.getId(), () -> {
+            PreparedStatement statement = database.prepare(UPDATE);
+            statement.setInt(1, match.getPlayer1().getId());
+            statement.setInt(2, match.getPlayer2().getId());
+            statement.setInt(3, match.getScorePlayer1());
+            statement.setInt(4, match.getScorePlayer2());
+            statement.setDate(5, Date.valueOf(match.getDate()));
+            statement.setInt(6, match.getId());
+            statement.executeUpdate();
+        });
+    }
+
+    @Override
+    public void appendDelete(int matchId) {
+        database.inTransaction("suppression du match " + matchId, () -> {
+            PreparedStatement statement = database.prepare(DELETE);
+            statement.setInt(1, matchId);
+            statement.executeUpdate();
+        });
+    }
+
+    @Override
+    public int loadHighWaterMark() {
+        synchronized (database) {
+            try {
+                PreparedStatement statement = database.prepare(SELECT_METADATA);
+                statement.setString(1, HIGH_WATER_MARK);
+                try (ResultSet rows = statement.executeQuery()) {
+                    return rows.next() ? rows.getInt(1) : 0;
+                }
+            } catch (SQLException e) {
+                logger.error("Erreur SQL (lecture du plus grand ID de match) : {}", e.getMessage());
+                return 0;
+            }
+        }
+    }
+
+    @Override
+    public void saveHighWaterMark(int maxId) {
+        database.inTransaction("plus grand ID de match", () -> writeHighWaterMark(maxId));
+    }
+
+    // Joseph_com : Écriture du plus grand ID, dans la transaction de l'appelant
+    void writeHighWaterMark(int maxId) throws SQLException {
+        PreparedStatement statement = database.prepare(MERGE_METADATA);
+        statement.setString(1, HIGH_WATER_MARK);
+        statement.setInt(2, maxId);
+        statement.executeUpdate();
+    }
+
+    private void insertBatch(List<Match> matches) throws SQLException {
+        PreparedStatement statement = database.prepare(INSERT);
+        int pending = 0;
+        for (Match match : matches) {
+            statement.setInt(1, match.getId());
+            statement.setInt(2, match.getPlayer1().getId());
+            statement.setInt(3, match.getPlayer2().getId());
+            statement.setInt(4, match.getScorePlayer1());
+            statement.setInt(5, match.getScorePlayer2());
+            statement.setDate(6, Date.valueOf(match.getDate()));
+            statement.addBatch();
+            if (++pending == JdbcPlayerRepository.BATCH_SIZE) {
+                statement.executeBatch();
+                pending = 0;
+            }
+        }
+        if (pending > 0) {
+            statement.executeBatch();
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Agrégats calculés par la base (utilisés par le MatchService pendant le chargement)
+    // ─────────────────────────────────────────────
+    /**
+     * @return somme des scores de tous les matchs (comme MatchService.getTotalPointsPlayed), vide en cas d'erreur
+     */
+    @Override
+    public OptionalLong totalPointsPlayed() {
+        synchronized (database) {
+            try (ResultSet rows = database.prepare(TOTAL_POINTS).executeQuery()) {
+                return OptionalLong.of(rows.next() ? rows.getLong(1) : 0);
+            } catch (SQLException e) {
+                logger.error("Erreur lors du calcul du total de points : {}", e.getMessage());
+                return OptionalLong.empty();
+            }
+        }
+    }
+
+    /**
+     * @return nombre de victoires d'un joueur (un match nul ne compte pas), vide en cas d'erreur
+     */
+    @Override
+    public OptionalLong countWins(int playerId) {
+        synchronized (database) {
+            try {
+                PreparedStatement statement = database.prepare(COUNT_WINS);
+                statement.setInt(1, playerId);
+                statement.setInt(2, playerId);
+                try (ResultSet rows = statement.executeQuery()) {
+                    return OptionalLong.of(rows.next() ? rows.getLong(1) : 0);
+                }
+            } catch (SQLException e) {
+                logger.error("Erreur lors du comptage des victoires du joueur {} : {}", playerId, e.getMessage());
+                return OptionalLong.empty();
+            }
+        }
+    }
+}
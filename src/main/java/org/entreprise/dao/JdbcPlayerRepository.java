@@ -0,0 +1,92 @@
+package org.entreprise.dao;
+
+import org.entreprise.interfaces.PlayerRepository;
+import org.entreprise.model.Player;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Joseph_com : Stockage des joueurs dans la base H2 (table players).
+ * - Sauvegarde immédiate : seuls les joueurs créés ou modifiés sont écrits (MERGE par lot, une transaction).
+ * - Sauvegarde complète (mode différé, flush) : la table est remplacée, insertions par lots.
+ */
+public class JdbcPlayerRepository implements PlayerRepository {
+
+    // Joseph_com : Logger pour tracer les chargements
+    private static final Logger logger = LoggerFactory.getLogger(JdbcPlayerRepository.class);
+
+    private static final String SELECT_ALL = "SELECT id, nickname, level, score FROM players ORDER BY id";
+    private static final String MERGE = "MERGE INTO players (id, nickname, level, score) KEY (id) VALUES (?, ?, ?, ?)";
+    private static final String INSERT = "INSERT INTO players (id, nickname, level, score) VALUES (?, ?, ?, ?)";
+    private static final String DELETE_ALL = "DELETE FROM players";
+
+    // Joseph_com : Nombre de lignes par envoi de lot
+    static final int BATCH_SIZE = 1000;
+
+    // Joseph_com : Base partagée avec le dépôt des matchs du même tournoi
+    private final JdbcDatabase database;
+
+    public JdbcPlayerRepository(JdbcDatabase database) {
+        this.database = database;
+    }
+
+    @Override
+    public List<Player> loadAll() {
+        List<Player> players = new ArrayList<>();
+        synchronized (database) {
+            try (ResultSet rows = database.prepare(SELECT_ALL).executeQuery()) {
+                while (rows.next()) {
+                    players.add(new Player(rows.getInt(1), rows.getString(2), rows.getInt(3), rows.getInt(4)));
+                }
+            } catch (SQLException e) {
+                logger.error("Erreur lors du chargement des joueurs : {}", e.getMessage());
+            }
+        }
+        logger.info("{} joueur(s) chargé(s) depuis la base.", players.size());
+        return players;
+    }
+
+    @Override
+    public void saveAll(List<Player> players) {
+        database.inTransaction("sauvegarde des joueurs", () -> replaceAll(players));
+    }
+
+    // Joseph_com : Remplacement du contenu de la table, dans la transaction de l'appelant (voir CsvMigrator)
+    void replaceAll(List<Player> players) throws SQLException {
+        database.prepare(DELETE_ALL).executeUpdate();
+        writeBatch(database.prepare(INSERT), players);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Écriture des seuls joueurs concernés (création ou mise à jour du score)
+    // ─────────────────────────────────────────────
+    @Override
+    public void saveChanged(List<Player> changed, List<Player> all) {
+        database.inTransaction("enregistrement de " + changed.size() + " joueur(s)",
+                () -> writeBatch(database.prepare(MERGE), changed));
+    }
+
+    private static void writeBatch(PreparedStatement statement, List<Player> players) throws SQLException {
+        int pending = 0;
+        for (Player player : players) {
+            statement.setInt(1, player.getId());
+            statement.setString(2, player.getNickname());
+            statement.setInt(3, player.getLevel());
+            statement.setInt(4, player.getScore());
+            statement.addBatch();
+            if (++pending == BATCH_SIZE) {
+                statement.executeBatch();
+                pending = 0;
+            }
+        }
+        if (pending > 0) {
+            statement.executeBatch();
+        }
+    }
+}
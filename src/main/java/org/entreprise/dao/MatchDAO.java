@@ -1,49 +1,102 @@
 package org.entreprise.dao;
 
+import org.entreprise.interfaces.MatchRepository;
 import org.entreprise.model.Match;
 import org.entreprise.model.Player;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Joseph_com : DAO (Data Access Object) pour la gestion des matchs.
  * Responsable de la lecture et de l'écriture des matchs dans le fichier CSV.
  * Format CSV : id,player1Id,player2Id,scorePlayer1,scorePlayer2,date
+ * Les corrections et suppressions sont ajoutées à un journal (matches.journal) au lieu de réécrire le CSV :
+ *   U,id,player1Id,player2Id,scorePlayer1,scorePlayer2,date  (match corrigé)
+ *   D,id                                                      (match supprimé)
+ * Le journal est rejoué au chargement et vidé à chaque sauvegarde complète.
+ * Le plus grand ID attribué est conservé à part (matches.maxid) quand le match qui le porte est supprimé.
+ * Une ligne invalide est ignorée, mais un fichier illisible fait échouer le chargement (UncheckedIOException).
  */
-public class MatchDAO {
+public class MatchDAO implements MatchRepository {
 
     // Joseph_com : Logger dédié à cette classe pour tracer les opérations fichier
     private static final Logger logger = LoggerFactory.getLogger(MatchDAO.class);
 
-    // Joseph_com : Chemin vers le fichier CSV des matchs
-    private static final String FILE_PATH = "data/matches.csv";
+    // Joseph_com : Dossier de données par défaut (tournoi unique)
+    public static final Path DEFAULT_DATA_DIR = Path.of("data");
+
+    // Joseph_com : Nom du fichier CSV dans le dossier de données
+    private static final String FILE_NAME = "matches.csv";
+
+    // Joseph_com : Nom du journal des corrections et suppressions
+    private static final String JOURNAL_NAME = "matches.journal";
+
+    // Joseph_com : Nom du fichier du plus grand ID attribué
+    private static final String HIGH_WATER_MARK_NAME = "matches.maxid";
+
+    // Joseph_com : Dossier de données de ce DAO (un dossier par tournoi)
+    private final File dataDir;
+
+    // Joseph_com : Chemin vers le fichier CSV dans le dossier de données
+    private final String filePath;
+
+    // Joseph_com : Chemin vers le journal des corrections
+    private final String journalPath;
+
+    // Joseph_com : Chemin vers le fichier du plus grand ID attribué
+    private final String highWaterMarkPath;
+
+    // Joseph_com : Le CSV est la copie exacte des matchs en mémoire : vrai seulement après une sauvegarde complète
+    // réussie de ce DAO, faux dès qu'une correction part au journal ou qu'une lecture ignore une ligne
+    private volatile boolean csvMatchesMemory;
 
     // Joseph_com : En-tête du fichier CSV
-    private static final String CSV_HEADER = "id,player1Id,player2Id,scorePlayer1,scorePlayer2,date";
+    public static final String CSV_HEADER = "id,player1Id,player2Id,scorePlayer1,scorePlayer2,date";
 
     // ─────────────────────────────────────────────
-    // Joseph_com : Constructeur - s'assure que le dossier data/ existe
+    // Joseph_com : Constructeur par défaut - dossier data/ du répertoire courant
     // ─────────────────────────────────────────────
     public MatchDAO() {
+        this(DEFAULT_DATA_DIR);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Constructeur - s'assure que le dossier de données existe
+    // ─────────────────────────────────────────────
+    /**
+     * @param dataDir dossier contenant le fichier matches.csv
+     */
+    public MatchDAO(Path dataDir) {
+        this.dataDir = dataDir.toFile();
+        this.filePath = dataDir.resolve(FILE_NAME).toString();
+        this.journalPath = dataDir.resolve(JOURNAL_NAME).toString();
+        this.highWaterMarkPath = dataDir.resolve(HIGH_WATER_MARK_NAME).toString();
         createDataDirectoryIfNeeded();
     }
 
     // ─────────────────────────────────────────────
-    // Joseph_com : Crée le répertoire data/ s'il n'existe pas encore
+    // Joseph_com : Crée le répertoire de données s'il n'existe pas encore
     // ─────────────────────────────────────────────
     private void createDataDirectoryIfNeeded() {
-        File dir = new File("data");
-        if (!dir.exists()) {
-            boolean created = dir.mkdirs();
+        if (!dataDir.exists()) {
+            boolean created = dataDir.mkdirs();
             if (created) {
-                logger.info("Dossier 'data/' créé avec succès.");
+                logger.info("Dossier '{}' créé avec succès.", dataDir);
             } else {
-                logger.warn("Impossible de créer le dossier 'data/'.");
+                logger.warn("Impossible de créer le dossier '{}'.", dataDir);
             }
         }
     }
@@ -51,28 +104,97 @@ public class MatchDAO {
     // ─────────────────────────────────────────────
     // Joseph_com : Sauvegarde la liste complète des matchs dans le fichier CSV
     // On stocke les IDs des joueurs (pas les objets entiers) pour éviter la redondance
+    // Écriture dans un fichier temporaire puis renommage : un lecteur qui a ouvert l'ancien fichier
+    // (copie d'export en cours) le lit jusqu'au bout, et un échec laisse l'ancien fichier intact
     // ─────────────────────────────────────────────
     /**
      * @param matches liste de matchs à sauvegarder
      */
+    @Override
     public void saveAll(List<Match> matches) {
-        logger.info("Sauvegarde de {} match(s) dans '{}'", matches.size(), FILE_PATH);
+        logger.info("Sauvegarde de {} match(s) dans '{}'", matches.size(), filePath);
 
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(FILE_PATH))) {
-            // Joseph_com : Écriture de l'en-tête CSV
-            writer.write(CSV_HEADER);
-            writer.newLine();
-
-            // Joseph_com : Écriture de chaque match ligne par ligne
-            for (Match match : matches) {
-                writer.write(matchToCsv(match));
+        Path temp = Path.of(filePath + ".tmp");
+        try {
+            try (BufferedWriter writer = new BufferedWriter(new FileWriter(temp.toFile()))) {
+                // Joseph_com : Écriture de l'en-tête CSV
+                writer.write(CSV_HEADER);
                 writer.newLine();
+
+                // Joseph_com : Écriture de chaque match ligne par ligne
+                for (Match match : matches) {
+                    writer.write(matchToCsv(match));
+                    writer.newLine();
+                }
             }
+            Files.move(temp, Path.of(filePath), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
 
             logger.info("Sauvegarde CSV des matchs réussie.");
 
         } catch (IOException e) {
             logger.error("Erreur lors de la sauvegarde des matchs : {}", e.getMessage());
+            csvMatchesMemory = false;
+            return;
+        }
+        csvMatchesMemory = true;
+
+        // Joseph_com : Le CSV contient désormais toutes les corrections : le journal repart à vide
+        File journal = new File(journalPath);
+        if (journal.exists() && !journal.delete()) {
+            logger.warn("Impossible de vider le journal '{}'.", journalPath);
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Ajoute une correction au journal (une ligne, sans réécrire le CSV)
+    // ─────────────────────────────────────────────
+    @Override
+    public void appendUpdate(Match match) {
+        appendToJournal("U," + matchToCsv(match));
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Ajoute une suppression au journal
+    // ─────────────────────────────────────────────
+    @Override
+    public void appendDelete(int matchId) {
+        appendToJournal("D," + matchId);
+    }
+
+    private void appendToJournal(String line) {
+        csvMatchesMemory = false;
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(journalPath, true))) {
+            writer.write(line);
+            writer.newLine();
+            logger.debug("Journal des matchs : {}", line);
+        } catch (IOException e) {
+            logger.error("Erreur lors de l'écriture du journal des matchs : {}", e.getMessage());
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Plus grand ID attribué (une ligne : l'ID)
+    // ─────────────────────────────────────────────
+    @Override
+    public int loadHighWaterMark() {
+        File file = new File(highWaterMarkPath);
+        if (!file.exists()) return 0;
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line = reader.readLine();
+            return line == null ? 0 : Integer.parseInt(line.trim());
+        } catch (IOException | NumberFormatException e) {
+            logger.error("Lecture du plus grand ID de match impossible : {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    @Override
+    public void saveHighWaterMark(int maxId) {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(highWaterMarkPath))) {
+            writer.write(Integer.toString(maxId));
+            writer.newLine();
+        } catch (IOException e) {
+            logger.error("Erreur lors de l'enregistrement du plus grand ID de match : {}", e.getMessage());
         }
     }
 
@@ -84,21 +206,63 @@ public class MatchDAO {
      * @param availablePlayers liste des joueurs déjà chargés (pour relier les IDs)
      * @return liste de tous les matchs chargés depuis le CSV
      */
+    @Override
     public List<Match> loadAll(List<Player> availablePlayers) {
         List<Match> matches = new ArrayList<>();
-        File file = new File(FILE_PATH);
+        Map<Integer, Player> playersById = indexPlayers(availablePlayers);
+        readCsv(playersById, Integer.MAX_VALUE, matches::addAll);
+        return replayJournal(matches, playersById);
+    }
 
-        // Joseph_com : Si le fichier n'existe pas, on retourne une liste vide
+    // ─────────────────────────────────────────────
+    // Joseph_com : Chargement par lots au fil de la lecture du CSV
+    // Avec un journal en attente, les corrections peuvent viser n'importe quelle ligne : chargement complet
+    // ─────────────────────────────────────────────
+    @Override
+    public void loadInChunks(List<Player> availablePlayers, int chunkSize, Consumer<List<Match>> sink) {
+        if (new File(journalPath).exists()) {
+            sink.accept(loadAll(availablePlayers));
+            return;
+        }
+        readCsv(indexPlayers(availablePlayers), chunkSize, sink);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Le CSV n'est proposé que s'il a été écrit par ce DAO depuis le dernier changement :
+    // un fichier seulement relu peut différer de la mémoire (lignes ignorées, autre fin de ligne)
+    // ─────────────────────────────────────────────
+    @Override
+    public Optional<Path> csvSnapshot() {
+        if (!csvMatchesMemory || !new File(filePath).exists()) return Optional.empty();
+        return Optional.of(Path.of(filePath));
+    }
+
+    // Joseph_com : Index des joueurs par ID construit une fois (évite une recherche linéaire par ligne)
+    private static Map<Integer, Player> indexPlayers(List<Player> availablePlayers) {
+        Map<Integer, Player> playersById = new HashMap<>();
+        availablePlayers.forEach(p -> playersById.put(p.getId(), p));
+        return playersById;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Lecture du CSV, livrée par lots de chunkSize matchs
+    // ─────────────────────────────────────────────
+    private void readCsv(Map<Integer, Player> playersById, int chunkSize, Consumer<List<Match>> sink) {
+        File file = new File(filePath);
+
+        // Joseph_com : Si le fichier n'existe pas, aucun match à livrer
         if (!file.exists()) {
-            logger.warn("Fichier '{}' introuvable. Démarrage avec une liste de matchs vide.", FILE_PATH);
-            return matches;
+            logger.warn("Fichier '{}' introuvable. Démarrage avec une liste de matchs vide.", filePath);
+            return;
         }
 
-        logger.info("Chargement des matchs depuis '{}'", FILE_PATH);
+        logger.info("Chargement des matchs depuis '{}'", filePath);
+        int loaded = 0;
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(FILE_PATH))) {
+        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
             String line;
             boolean isHeader = true;
+            List<Match> chunk = new ArrayList<>();
 
             while ((line = reader.readLine()) != null) {
                 // Joseph_com : Ignorer la première ligne (en-tête CSV)
@@ -111,20 +275,66 @@ public class MatchDAO {
                 if (line.trim().isEmpty()) continue;
 
                 try {
-                    Match match = csvToMatch(line, availablePlayers);
-                    matches.add(match);
+                    chunk.add(csvToMatch(line, playersById));
                 } catch (Exception e) {
                     logger.error("Ligne CSV de match invalide ignorée : '{}' - Erreur : {}", line, e.getMessage());
+                    csvMatchesMemory = false;
+                }
+                if (chunk.size() == chunkSize) {
+                    loaded += chunk.size();
+                    sink.accept(chunk);
+                    chunk = new ArrayList<>();
                 }
             }
+            if (!chunk.isEmpty()) {
+                loaded += chunk.size();
+                sink.accept(chunk);
+            }
 
-            logger.info("{} match(s) chargé(s) avec succès.", matches.size());
+            logger.info("{} match(s) chargé(s) avec succès.", loaded);
 
         } catch (IOException e) {
+            // Joseph_com : Historique illisible : remonté, jamais pris pour un historique plus court (qu'une
+            // sauvegarde suivante écrirait par-dessus le fichier)
             logger.error("Erreur lors du chargement des matchs : {}", e.getMessage());
+            throw new UncheckedIOException("Lecture de '" + filePath + "' impossible après " + loaded + " match(s).", e);
         }
+    }
 
-        return matches;
+    // ─────────────────────────────────────────────
+    // Joseph_com : Rejoue le journal des corrections sur les matchs lus dans le CSV
+    // ─────────────────────────────────────────────
+    private List<Match> replayJournal(List<Match> matches, Map<Integer, Player> playersById) {
+        File journal = new File(journalPath);
+        if (!journal.exists()) return matches;
+
+        Map<Integer, Match> byId = new LinkedHashMap<>();
+        matches.forEach(m -> byId.put(m.getId(), m));
+        int applied = 0;
+        try (BufferedReader reader = new BufferedReader(new FileReader(journal))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) continue;
+                try {
+                    if (line.startsWith("U,")) {
+                        Match match = csvToMatch(line.substring(2), playersById);
+                        byId.put(match.getId(), match);
+                    } else if (line.startsWith("D,")) {
+                        byId.remove(Integer.parseInt(line.substring(2).trim()));
+                    } else {
+                        throw new IllegalArgumentException("Type de ligne inconnu");
+                    }
+                    applied++;
+                } catch (Exception e) {
+                    logger.error("Ligne de journal invalide ignorée : '{}' - Erreur : {}", line, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Erreur lors de la lecture du journal des matchs : {}", e.getMessage());
+            throw new UncheckedIOException("Lecture du journal '" + journalPath + "' impossible.", e);
+        }
+        logger.info("{} correction(s) du journal appliquée(s).", applied);
+        return new ArrayList<>(byId.values());
     }
 
     // ─────────────────────────────────────────────
@@ -142,9 +352,9 @@ public class MatchDAO {
 
     // ─────────────────────────────────────────────
     // Joseph_com : Convertit une ligne CSV en objet Match
-    // Recherche les joueurs correspondants par ID dans la liste fournie
+    // Recherche les joueurs correspondants par ID dans l'index fourni
     // ─────────────────────────────────────────────
-    private Match csvToMatch(String line, List<Player> players) {
+    private Match csvToMatch(String line, Map<Integer, Player> players) {
         String[] parts = line.split(",");
 
         if (parts.length != 6) {
@@ -158,16 +368,16 @@ public class MatchDAO {
         int scorePlayer2  = Integer.parseInt(parts[4].trim());
         LocalDate date    = LocalDate.parse(parts[5].trim());
 
-        // Joseph_com : Recherche des joueurs par leur ID dans la liste en mémoire
-        Player player1 = players.stream()
-                .filter(p -> p.getId() == player1Id)
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Joueur introuvable avec ID : " + player1Id));
+        // Joseph_com : Recherche des joueurs par leur ID dans l'index en mémoire
+        Player player1 = players.get(player1Id);
+        if (player1 == null) {
+            throw new IllegalArgumentException("Joueur introuvable avec ID : " + player1Id);
+        }
 
-        Player player2 = players.stream()
-                .filter(p -> p.getId() == player2Id)
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Joueur introuvable avec ID : " + player2Id));
+        Player player2 = players.get(player2Id);
+        if (player2 == null) {
+            throw new IllegalArgumentException("Joueur introuvable avec ID : " + player2Id);
+        }
 
         return new Match(id, player1, player2, scorePlayer1, scorePlayer2, date);
     }
@@ -1,10 +1,12 @@
 package org.entreprise.dao;
 
+import org.entreprise.interfaces.PlayerRepository;
 import org.entreprise.model.Player;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -13,35 +15,55 @@ import java.util.List;
  * Responsable de la lecture et de l'écriture des joueurs dans le fichier CSV.
  * Format CSV : id,nickname,level,score
  */
-public class PlayerDAO {
+public class PlayerDAO implements PlayerRepository {
 
     // Joseph_com : Logger dédié à cette classe pour tracer les opérations fichier
     private static final Logger logger = LoggerFactory.getLogger(PlayerDAO.class);
 
-    // Joseph_com : Chemin vers le fichier CSV des joueurs
-    private static final String FILE_PATH = "data/players.csv";
+    // Joseph_com : Dossier de données par défaut (tournoi unique)
+    public static final Path DEFAULT_DATA_DIR = Path.of("data");
+
+    // Joseph_com : Nom du fichier CSV dans le dossier de données
+    private static final String FILE_NAME = "players.csv";
+
+    // Joseph_com : Dossier de données de ce DAO (un dossier par tournoi)
+    private final File dataDir;
+
+    // Joseph_com : Chemin vers le fichier CSV dans le dossier de données
+    private final String filePath;
 
     // Joseph_com : En-tête du fichier CSV
     private static final String CSV_HEADER = "id,nickname,level,score";
 
     // ─────────────────────────────────────────────
-    // Joseph_com : Constructeur - s'assure que le dossier data/ existe au démarrage
+    // Joseph_com : Constructeur par défaut - dossier data/ du répertoire courant
     // ─────────────────────────────────────────────
     public PlayerDAO() {
+        this(DEFAULT_DATA_DIR);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Constructeur - s'assure que le dossier de données existe
+    // ─────────────────────────────────────────────
+    /**
+     * @param dataDir dossier contenant le fichier players.csv
+     */
+    public PlayerDAO(Path dataDir) {
+        this.dataDir = dataDir.toFile();
+        this.filePath = dataDir.resolve(FILE_NAME).toString();
         createDataDirectoryIfNeeded();
     }
 
     // ─────────────────────────────────────────────
-    // Joseph_com : Crée le répertoire data/ s'il n'existe pas encore
+    // Joseph_com : Crée le répertoire de données s'il n'existe pas encore
     // ─────────────────────────────────────────────
     private void createDataDirectoryIfNeeded() {
-        File dir = new File("data");
-        if (!dir.exists()) {
-            boolean created = dir.mkdirs();
+        if (!dataDir.exists()) {
+            boolean created = dataDir.mkdirs();
             if (created) {
-                logger.info("Dossier 'data/' créé avec succès.");
+                logger.info("Dossier '{}' créé avec succès.", dataDir);
             } else {
-                logger.warn("Impossible de créer le dossier 'data/'.");
+                logger.warn("Impossible de créer le dossier '{}'.", dataDir);
             }
         }
     }
@@ -53,10 +75,11 @@ public class PlayerDAO {
     /**
      * @param players liste de joueurs à sauvegarder
      */
+    @Override
     public void saveAll(List<Player> players) {
-        logger.info("Sauvegarde de {} joueur(s) dans '{}'", players.size(), FILE_PATH);
+        logger.info("Sauvegarde de {} joueur(s) dans '{}'", players.size(), filePath);
 
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(FILE_PATH))) {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath))) {
             // Joseph_com : Écriture de l'en-tête CSV
             writer.write(CSV_HEADER);
             writer.newLine();
@@ -81,19 +104,20 @@ public class PlayerDAO {
     /**
      * @return liste de tous les joueurs chargés depuis le CSV
      */
+    @Override
     public List<Player> loadAll() {
         List<Player> players = new ArrayList<>();
-        File file = new File(FILE_PATH);
+        File file = new File(filePath);
 
         // Joseph_com : Si le fichier n'existe pas, on retourne une liste vide
         if (!file.exists()) {
-            logger.warn("Fichier '{}' introuvable. Démarrage avec une liste vide.", FILE_PATH);
+            logger.warn("Fichier '{}' introuvable. Démarrage avec une liste vide.", filePath);
             return players;
         }
 
-        logger.info("Chargement des joueurs depuis '{}'", FILE_PATH);
+        logger.info("Chargement des joueurs depuis '{}'", filePath);
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(FILE_PATH))) {
+        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
             String line;
             boolean isHeader = true;
 
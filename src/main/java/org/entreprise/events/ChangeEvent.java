@@ -0,0 +1,110 @@
+package org.entreprise.events;
+
+import org.entreprise.model.Match;
+import org.entreprise.model.Player;
+
+/**
+ * Joseph_com : Case pré-allouée de l'anneau d'événements.
+ * Les cases sont créées une seule fois par le ChangeEventBus puis réutilisées à chaque tour :
+ * publier un événement ne fait que recopier des valeurs primitives (et une référence de pseudo),
+ * sans aucune allocation. Un consommateur ne doit pas garder de référence vers une case
+ * au-delà de son traitement, elle sera réécrite au tour suivant.
+ */
+public final class ChangeEvent {
+
+    // Joseph_com : Type de l'événement courant
+    private ChangeEventType type;
+
+    // Joseph_com : Champs joueur (PLAYER_ADDED, SCORE_CHANGED)
+    private int playerId;
+    private String nickname;
+    private int level;
+    private int score;
+    private int previousScore;
+
+    // Joseph_com : Champs match (MATCH_CREATED, MATCH_UPDATED, MATCH_DELETED)
+    private int matchId;
+    private int player1Id;
+    private int player2Id;
+    private int scorePlayer1;
+    private int scorePlayer2;
+    private long epochDay;
+
+    // Joseph_com : Les cases ne sont créées que par l'anneau
+    ChangeEvent() {
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Remplissage de la case (appelé par le producteur uniquement)
+    // ─────────────────────────────────────────────
+    void setPlayerAdded(Player player) {
+        type = ChangeEventType.PLAYER_ADDED;
+        copyPlayer(player);
+        previousScore = player.getScore();
+    }
+
+    void setScoreChanged(Player player, int oldScore) {
+        type = ChangeEventType.SCORE_CHANGED;
+        copyPlayer(player);
+        previousScore = oldScore;
+    }
+
+    void setMatchCreated(Match match) {
+        copyMatch(ChangeEventType.MATCH_CREATED, match);
+    }
+
+    void setMatchUpdated(Match match) {
+        copyMatch(ChangeEventType.MATCH_UPDATED, match);
+    }
+
+    void setMatchDeleted(Match match) {
+        copyMatch(ChangeEventType.MATCH_DELETED, match);
+    }
+
+    private void copyMatch(ChangeEventType matchType, Match match) {
+        type = matchType;
+        matchId = match.getId();
+        player1Id = match.getPlayer1().getId();
+        player2Id = match.getPlayer2().getId();
+        scorePlayer1 = match.getScorePlayer1();
+        scorePlayer2 = match.getScorePlayer2();
+        epochDay = match.getDate().toEpochDay();
+    }
+
+    private void copyPlayer(Player player) {
+        playerId = player.getId();
+        nickname = player.getNickname();
+        level = player.getLevel();
+        score = player.getScore();
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Getters
+    // ─────────────────────────────────────────────
+    public ChangeEventType getType() { return type; }
+
+    public int getPlayerId() { return playerId; }
+    public String getNickname() { return nickname; }
+    public int getLevel() { return level; }
+    public int getScore() { return score; }
+    public int getPreviousScore() { return previousScore; }
+
+    public int getMatchId() { return matchId; }
+    public int getPlayer1Id() { return player1Id; }
+    public int getPlayer2Id() { return player2Id; }
+    public int getScorePlayer1() { return scorePlayer1; }
+    public int getScorePlayer2() { return scorePlayer2; }
+    public long getEpochDay() { return epochDay; }
+
+    @Override
+    public String toString() {
+        return switch (type) {
+            case PLAYER_ADDED -> "PlayerAdded{id=" + playerId + ", nickname='" + nickname + "'}";
+            case SCORE_CHANGED -> "ScoreChanged{id=" + playerId + ", " + previousScore + " -> " + score + "}";
+            case MATCH_CREATED -> "MatchCreated{id=" + matchId + ", " + player1Id + " vs " + player2Id
+                    + ", score=" + scorePlayer1 + "-" + scorePlayer2 + "}";
+            case MATCH_UPDATED -> "MatchUpdated{id=" + matchId + ", score=" + scorePlayer1 + "-" + scorePlayer2 + "}";
+            case MATCH_DELETED -> "MatchDeleted{id=" + matchId + "}";
+        };
+    }
+}
@@ -0,0 +1,188 @@
+package org.entreprise.events;
+
+import org.entreprise.model.Match;
+import org.entreprise.model.Player;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Joseph_com : Flux de changements en mémoire, sur le modèle du Disruptor.
+ * - Un anneau de cases pré-allouées (taille puissance de 2) : aucune allocation par événement.
+ * - Plusieurs producteurs (PlayerService, MatchService) réservent une séquence par CAS,
+ *   remplissent la case puis la marquent disponible.
+ * - Chaque consommateur possède son propre curseur et lit par lots tout ce qui est disponible.
+ * - Un producteur attend si l'anneau est plein, c'est-à-dire si le consommateur le plus lent
+ *   n'a pas encore lu la case qu'il doit réécrire.
+ * Attention : un gestionnaire d'événements ne doit pas appeler de méthode de service qui publie
+ * (ou qui attend un producteur bloqué) depuis son thread, sous peine d'interblocage quand l'anneau est plein.
+ */
+public class ChangeEventBus {
+
+    // Joseph_com : Logger pour tracer la création et les abonnements
+    private static final Logger logger = LoggerFactory.getLogger(ChangeEventBus.class);
+
+    // Joseph_com : Taille par défaut de l'anneau
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    // Joseph_com : Cases pré-allouées
+    private final ChangeEvent[] ring;
+
+    // Joseph_com : Masque pour passer d'une séquence à un index (capacity - 1)
+    private final int mask;
+
+    // Joseph_com : Décalage pour calculer le numéro de tour d'une séquence
+    private final int indexShift;
+
+    // Joseph_com : Numéro de tour publié pour chaque case (-1 = jamais publiée)
+    private final AtomicIntegerArray available;
+
+    // Joseph_com : Dernière séquence réservée par un producteur
+    private final AtomicLong claimed = new AtomicLong(-1);
+
+    // Joseph_com : Curseurs des consommateurs (bloquent les producteurs quand l'anneau est plein)
+    private final List<EventCursor> cursors = new CopyOnWriteArrayList<>();
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Constructeur avec capacité par défaut
+    // ─────────────────────────────────────────────
+    public ChangeEventBus() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Constructeur - pré-alloue toutes les cases de l'anneau
+    // ─────────────────────────────────────────────
+    /**
+     * @param capacity nombre de cases (puissance de 2)
+     */
+    public ChangeEventBus(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("La capacité de l'anneau doit être une puissance de 2 : " + capacity);
+        }
+        this.ring = new ChangeEvent[capacity];
+        for (int i = 0; i < capacity; i++) {
+            ring[i] = new ChangeEvent();
+        }
+        this.mask = capacity - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(capacity);
+        this.available = new AtomicIntegerArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            available.set(i, -1);
+        }
+        logger.info("ChangeEventBus initialisé avec un anneau de {} case(s).", capacity);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Publication des événements métier
+    // ─────────────────────────────────────────────
+    public void publishPlayerAdded(Player player) {
+        long sequence = claim();
+        ring[(int) sequence & mask].setPlayerAdded(player);
+        publish(sequence);
+    }
+
+    public void publishMatchCreated(Match match) {
+        long sequence = claim();
+        ring[(int) sequence & mask].setMatchCreated(match);
+        publish(sequence);
+    }
+
+    public void publishMatchUpdated(Match match) {
+        long sequence = claim();
+        ring[(int) sequence & mask].setMatchUpdated(match);
+        publish(sequence);
+    }
+
+    public void publishMatchDeleted(Match match) {
+        long sequence = claim();
+        ring[(int) sequence & mask].setMatchDeleted(match);
+        publish(sequence);
+    }
+
+    public void publishScoreChanged(Player player, int previousScore) {
+        long sequence = claim();
+        ring[(int) sequence & mask].setScoreChanged(player, previousScore);
+        publish(sequence);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Abonnement d'un consommateur
+    // Le curseur démarre après la dernière séquence réservée : seuls les événements futurs sont reçus
+    // ─────────────────────────────────────────────
+    /**
+     * @return curseur indépendant à interroger avec {@link EventCursor#poll}
+     */
+    public EventCursor subscribe() {
+        EventCursor cursor = new EventCursor(this, claimed.get());
+        cursors.add(cursor);
+        logger.debug("Nouveau consommateur abonné ({} au total).", cursors.size());
+        return cursor;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Désabonnement (le curseur ne bloque plus les producteurs)
+    // ─────────────────────────────────────────────
+    public void unsubscribe(EventCursor cursor) {
+        cursors.remove(cursor);
+    }
+
+    /**
+     * @return nombre de cases de l'anneau
+     */
+    public int getCapacity() {
+        return ring.length;
+    }
+
+    /**
+     * @return dernière séquence réservée par un producteur (-1 si aucun événement)
+     */
+    public long getClaimedSequence() {
+        return claimed.get();
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Réserve la séquence suivante et attend que sa case soit libre
+    // La case de la séquence s a été utilisée par s - capacité : tous les curseurs doivent l'avoir dépassée
+    // ─────────────────────────────────────────────
+    private long claim() {
+        long sequence = claimed.incrementAndGet();
+        long wrapPoint = sequence - ring.length;
+        while (wrapPoint > minimumCursor(wrapPoint)) {
+            LockSupport.parkNanos(1_000);
+        }
+        return sequence;
+    }
+
+    // Joseph_com : Marque la case disponible pour les consommateurs (écriture ordonnée)
+    private void publish(long sequence) {
+        available.lazySet((int) sequence & mask, (int) (sequence >>> indexShift));
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Plus petite séquence consommée parmi les curseurs (ou défaut si aucun abonné)
+    // ─────────────────────────────────────────────
+    private long minimumCursor(long defaultValue) {
+        long minimum = Long.MAX_VALUE;
+        for (EventCursor cursor : cursors) {
+            minimum = Math.min(minimum, cursor.getSequence());
+        }
+        return minimum == Long.MAX_VALUE ? defaultValue : minimum;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Accès consommateur (package-private, utilisés par EventCursor)
+    // ─────────────────────────────────────────────
+    boolean isAvailable(long sequence) {
+        return available.get((int) sequence & mask) == (int) (sequence >>> indexShift);
+    }
+
+    ChangeEvent slot(long sequence) {
+        return ring[(int) sequence & mask];
+    }
+}
@@ -0,0 +1,17 @@
+package org.entreprise.events;
+
+/**
+ * Joseph_com : Traitement d'un événement par un consommateur du flux.
+ * Les événements arrivent par lots ; endOfBatch permet de ne faire les mises à jour coûteuses
+ * (rafraîchissement d'un classement, flush d'un export) qu'une fois par lot.
+ */
+@FunctionalInterface
+public interface ChangeEventHandler {
+
+    /**
+     * @param event      case de l'anneau (valide uniquement pendant l'appel)
+     * @param sequence   numéro de séquence de l'événement
+     * @param endOfBatch true pour le dernier événement du lot courant
+     */
+    void onEvent(ChangeEvent event, long sequence, boolean endOfBatch);
+}
@@ -0,0 +1,17 @@
+package org.entreprise.events;
+
+/**
+ * Joseph_com : Types d'événements publiés sur le flux de changements.
+ */
+public enum ChangeEventType {
+    // Joseph_com : Un joueur a été inscrit
+    PLAYER_ADDED,
+    // Joseph_com : Un match a été créé
+    MATCH_CREATED,
+    // Joseph_com : Le score brut d'un joueur a changé
+    SCORE_CHANGED,
+    // Joseph_com : Le résultat d'un match a été corrigé
+    MATCH_UPDATED,
+    // Joseph_com : Un match a été supprimé
+    MATCH_DELETED
+}
@@ -0,0 +1,100 @@
+package org.entreprise.events;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Joseph_com : Curseur d'un consommateur du flux de changements.
+ * Chaque consommateur avance à son rythme ; un curseur ne doit être interrogé que par un seul thread.
+ */
+public class EventCursor {
+
+    // Joseph_com : Taille de lot par défaut pour poll(handler)
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+
+    // Joseph_com : Anneau lu par ce curseur
+    private final ChangeEventBus bus;
+
+    // Joseph_com : Dernière séquence traitée (lue par les producteurs pour savoir si l'anneau est plein)
+    private final AtomicLong sequence;
+
+    // Joseph_com : Créé uniquement par ChangeEventBus.subscribe()
+    EventCursor(ChangeEventBus bus, long initialSequence) {
+        this.bus = bus;
+        this.sequence = new AtomicLong(initialSequence);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Traite le lot d'événements disponibles (taille de lot par défaut)
+    // ─────────────────────────────────────────────
+    public int poll(ChangeEventHandler handler) {
+        return poll(handler, DEFAULT_BATCH_SIZE);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Traite tous les événements contigus disponibles, au plus maxBatch
+    // Le curseur n'est avancé qu'une fois le lot entier traité (libère les cases d'un coup)
+    // Si le traitement échoue, le curseur est avancé jusqu'à l'événement fautif exclu puis l'exception
+    // est relancée : l'événement fautif est getSequence() + 1 (à sauter avec skip(), sinon il sera relivré)
+    // ─────────────────────────────────────────────
+    /**
+     * @param handler  traitement de chaque événement
+     * @param maxBatch nombre maximum d'événements traités par appel
+     * @return nombre d'événements traités (0 si rien de nouveau)
+     * @throws RuntimeException l'exception du handler, les événements précédents du lot étant acquittés
+     */
+    public int poll(ChangeEventHandler handler, int maxBatch) {
+        long current = sequence.get();
+        long limit = Math.min(bus.getClaimedSequence(), current + maxBatch);
+
+        // Joseph_com : Recherche de la dernière séquence contiguë publiée
+        long last = current;
+        while (last < limit && bus.isAvailable(last + 1)) {
+            last++;
+        }
+        if (last == current) return 0;
+
+        long s = current + 1;
+        try {
+            for (; s <= last; s++) {
+                handler.onEvent(bus.slot(s), s, s == last);
+            }
+        } catch (RuntimeException e) {
+            sequence.lazySet(s - 1);
+            throw e;
+        }
+        sequence.lazySet(last);
+        return (int) (last - current);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Saute l'événement suivant sans le traiter (événement fautif après un échec de poll)
+    // ─────────────────────────────────────────────
+    /**
+     * @return séquence de l'événement sauté, ou -1 si aucun événement suivant n'est publié
+     */
+    public long skip() {
+        long next = sequence.get() + 1;
+        if (next > bus.getClaimedSequence() || !bus.isAvailable(next)) return -1;
+        sequence.lazySet(next);
+        return next;
+    }
+
+    // Joseph_com : Événement publié à une séquence pas encore acquittée (accès pour le gestionnaire d'erreurs)
+    ChangeEvent peek(long sequence) {
+        return bus.slot(sequence);
+    }
+
+    /**
+     * @return nombre d'événements publiés ou réservés que ce curseur n'a pas encore traités
+     */
+    public long getLag() {
+        return bus.getClaimedSequence() - sequence.get();
+    }
+
+    /**
+     * @return dernière séquence traitée par ce curseur
+     */
+    public long getSequence() {
+        return sequence.get();
+    }
+}
@@ -0,0 +1,19 @@
+package org.entreprise.events;
+
+/**
+ * Joseph_com : Décision d'un consommateur en tâche de fond quand son handler échoue sur un événement.
+ * Les événements précédents du lot sont déjà acquittés ; l'événement fautif est soit sauté
+ * (le consommateur continue), soit conservé et le consommateur s'arrête (et se désabonne,
+ * pour ne pas bloquer les producteurs une fois l'anneau plein).
+ */
+@FunctionalInterface
+public interface EventErrorHandler {
+
+    /**
+     * @param event    événement fautif (valide uniquement pendant l'appel)
+     * @param sequence séquence de l'événement fautif
+     * @param error    exception levée par le handler
+     * @return true pour sauter l'événement et continuer, false pour arrêter le consommateur
+     */
+    boolean onError(ChangeEvent event, long sequence, RuntimeException error);
+}
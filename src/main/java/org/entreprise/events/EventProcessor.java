@@ -0,0 +1,140 @@
+package org.entreprise.events;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Joseph_com : Consommateur en tâche de fond : un thread dédié qui vide un curseur en boucle.
+ * Pratique pour brancher un classement, des statistiques ou un export sur le flux de changements.
+ */
+public class EventProcessor implements Runnable, AutoCloseable {
+
+    // Joseph_com : Logger pour tracer le démarrage et l'arrêt
+    private static final Logger logger = LoggerFactory.getLogger(EventProcessor.class);
+
+    // Joseph_com : Attente maximale entre deux lectures quand le flux est vide
+    private static final long MAX_IDLE_NANOS = 1_000_000;
+
+    private final ChangeEventBus bus;
+    private final EventCursor cursor;
+    private final ChangeEventHandler handler;
+    private final EventErrorHandler errorHandler;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Constructeur - un événement dont le traitement échoue est journalisé puis sauté
+    // ─────────────────────────────────────────────
+    public EventProcessor(ChangeEventBus bus, ChangeEventHandler handler, String name) {
+        this(bus, handler, name, (event, sequence, error) -> {
+            logger.error("Consommateur '{}' : événement {} ({}) ignoré après une erreur : {}",
+                    name, sequence, event.getType(), error.getMessage());
+            return true;
+        });
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Constructeur - s'abonne au flux et démarre le thread
+    // ─────────────────────────────────────────────
+    /**
+     * @param bus          flux de changements
+     * @param handler      traitement de chaque événement
+     * @param name         nom du thread (pour les logs)
+     * @param errorHandler décision sur un événement dont le traitement échoue (sauter ou arrêter)
+     */
+    public EventProcessor(ChangeEventBus bus, ChangeEventHandler handler, String name, EventErrorHandler errorHandler) {
+        this.bus = bus;
+        this.cursor = bus.subscribe();
+        this.handler = handler;
+        this.errorHandler = errorHandler;
+        this.thread = new Thread(this, name);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Boucle de consommation avec attente progressive quand le flux est vide
+    // ─────────────────────────────────────────────
+    @Override
+    public void run() {
+        logger.info("Consommateur '{}' démarré.", thread.getName());
+        long idleNanos = 1_000;
+        while (running) {
+            int handled = pollOnce();
+            if (handled > 0) {
+                idleNanos = 1_000;
+            } else if (handled == 0) {
+                LockSupport.parkNanos(idleNanos);
+                idleNanos = Math.min(idleNanos * 2, MAX_IDLE_NANOS);
+            } else {
+                stopAfterError();
+                return;
+            }
+        }
+        // Joseph_com : Dernier passage pour ne pas perdre les événements déjà publiés
+        int handled;
+        while ((handled = pollOnce()) > 0) {
+            // Joseph_com : on vide le curseur
+        }
+        if (handled < 0) {
+            stopAfterError();
+            return;
+        }
+        logger.info("Consommateur '{}' arrêté.", thread.getName());
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Un passage sur le curseur ; un échec est confié au gestionnaire d'erreurs
+    // Retourne le nombre d'événements traités (ou 1 si l'événement fautif a été sauté), -1 pour arrêter
+    // ─────────────────────────────────────────────
+    private int pollOnce() {
+        try {
+            return cursor.poll(handler);
+        } catch (RuntimeException e) {
+            long failed = cursor.getSequence() + 1;
+            boolean skip;
+            try {
+                skip = errorHandler.onError(cursor.peek(failed), failed, e);
+            } catch (RuntimeException fatal) {
+                logger.error("Gestionnaire d'erreurs du consommateur '{}' en échec : {}", thread.getName(), fatal.getMessage());
+                skip = false;
+            }
+            if (!skip) return -1;
+            cursor.skip();
+            return 1;
+        }
+    }
+
+    // Joseph_com : Arrêt sur erreur : désabonnement immédiat, sinon les producteurs bloqueraient sur l'anneau plein
+    private void stopAfterError() {
+        running = false;
+        bus.unsubscribe(cursor);
+        logger.error("Consommateur '{}' arrêté sur erreur à la séquence {}.", thread.getName(), cursor.getSequence() + 1);
+    }
+
+    /**
+     * @return true tant que le consommateur n'a été ni fermé ni arrêté par son gestionnaire d'erreurs
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * @return nombre d'événements en attente pour ce consommateur
+     */
+    public long getLag() {
+        return cursor.getLag();
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Arrêt du thread et désabonnement
+    // ─────────────────────────────────────────────
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        thread.join();
+        bus.unsubscribe(cursor);
+    }
+}
@@ -0,0 +1,18 @@
+package org.entreprise.exceptions;
+
+/**
+ * Joseph_com : Exception levée lorsqu'un match recherché est introuvable (ID inconnu ou match supprimé).
+ * Utilisée par le MatchService lors d'une correction ou d'une suppression.
+ */
+public class MatchNotFoundException extends Exception {
+
+    // Joseph_com : Constructeur avec message d'erreur personnalisé
+    public MatchNotFoundException(String message) {
+        super(message);
+    }
+
+    // Joseph_com : Constructeur avec message + cause originale (chaînage d'exceptions)
+    public MatchNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,21 @@
+package org.entreprise.export;
+
+/**
+ * Joseph_com : Formats d'export des classements et de l'historique des matchs.
+ */
+public enum ExportFormat {
+    // Joseph_com : CSV avec en-tête (même format que matches.csv pour l'historique)
+    CSV("csv"),
+    // Joseph_com : Un objet JSON par ligne
+    JSONL("jsonl"),
+    // Joseph_com : Enregistrements PLAYER / MATCH du protocole de réplication (big-endian, préfixés par leur longueur)
+    BINARY("bin");
+
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() { return extension; }
+}
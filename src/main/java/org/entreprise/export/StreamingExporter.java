@@ -0,0 +1,461 @@
+package org.entreprise.export;
+
+import org.entreprise.archive.ArchiveSegment;
+import org.entreprise.archive.MatchArchive;
+import org.entreprise.dao.MatchDAO;
+import org.entreprise.model.Match;
+import org.entreprise.model.Player;
+import org.entreprise.replication.ReplicationProtocol;
+import org.entreprise.service.MatchService;
+import org.entreprise.service.PlayerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Joseph_com : Export en flux des classements et de l'historique des matchs vers un WritableByteChannel.
+ * - Chaque ligne est encodée directement en octets dans un tampon direct réutilisé (aucune String par ligne),
+ *   vidé dans le canal dès qu'il est plein : la mémoire reste constante quelle que soit la taille de l'export.
+ * - Historique : l'archive bloc par bloc, puis les matchs en mémoire page par page (jamais de copie de getAllMatches()).
+ * - Historique en CSV : si le stockage a un fichier CSV identique à la mémoire (matches.csv réécrit par le service,
+ *   sans journal), il est copié tel quel par FileChannel.transferTo, sans passer par la mémoire de l'application.
+ * Les pages sont lues l'une après l'autre : une suppression pendant l'export peut décaler les pages suivantes.
+ * Une instance n'exporte qu'un flux à la fois (tampon partagé) ; le canal, bloquant, n'est jamais fermé ici.
+ */
+public class StreamingExporter {
+
+    // Joseph_com : Logger pour tracer les exports
+    private static final Logger logger = LoggerFactory.getLogger(StreamingExporter.class);
+
+    // Joseph_com : Taille par défaut du tampon direct (un appel système par 64 Ko écrits)
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    // Joseph_com : Taille minimale : une ligne de match complète doit tenir dans le tampon
+    public static final int MIN_BUFFER_SIZE = 256;
+
+    // Joseph_com : Nombre de matchs en mémoire lus par page
+    private static final int PAGE_SIZE = 4096;
+
+    // Joseph_com : Place réservée avant une ligne de match (partie fixe la plus longue : JSON)
+    private static final int MAX_MATCH_LINE = 200;
+
+    // Joseph_com : Place réservée avant chaque champ numérique d'un classement
+    private static final int MAX_FIELD = 48;
+
+    // Joseph_com : En-tête CSV du classement
+    public static final String STANDINGS_HEADER = "rank,id,nickname,level,score,wins";
+
+    // Joseph_com : Fin de ligne du CSV : celle de MatchDAO (BufferedWriter.newLine), pour un export identique au fichier
+    private static final byte[] CSV_NEWLINE = ascii(System.lineSeparator());
+
+    // Joseph_com : Fragments JSON précodés
+    private static final byte[] JSON_MATCH_ID = ascii("{\"id\":");
+    private static final byte[] JSON_PLAYER1 = ascii(",\"player1Id\":");
+    private static final byte[] JSON_PLAYER2 = ascii(",\"player2Id\":");
+    private static final byte[] JSON_SCORE1 = ascii(",\"scorePlayer1\":");
+    private static final byte[] JSON_SCORE2 = ascii(",\"scorePlayer2\":");
+    private static final byte[] JSON_DATE = ascii(",\"date\":\"");
+    private static final byte[] JSON_RANK = ascii("{\"rank\":");
+    private static final byte[] JSON_ID = ascii(",\"id\":");
+    private static final byte[] JSON_NICKNAME = ascii(",\"nickname\":\"");
+    private static final byte[] JSON_LEVEL = ascii("\",\"level\":");
+    private static final byte[] JSON_SCORE = ascii(",\"score\":");
+    private static final byte[] JSON_WINS = ascii(",\"wins\":");
+    private static final byte[] JSON_END = ascii("}\n");
+    private static final byte[] HEX = ascii("0123456789abcdef");
+
+    // Joseph_com : Échappement d'un texte selon le format
+    private enum Escape { NONE, CSV, JSON }
+
+    private final MatchService matchService;
+    private final PlayerService playerService;
+
+    // Joseph_com : Tampon direct réutilisé d'un export à l'autre (écriture sans copie intermédiaire dans le noyau)
+    private final ByteBuffer buffer;
+
+    // Joseph_com : Export en cours (protégés par this)
+    private WritableByteChannel target;
+    private long written;
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Constructeurs
+    // ─────────────────────────────────────────────
+    public StreamingExporter(MatchService matchService, PlayerService playerService) {
+        this(matchService, playerService, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param bufferSize taille du tampon direct (>= MIN_BUFFER_SIZE)
+     */
+    public StreamingExporter(MatchService matchService, PlayerService playerService, int bufferSize) {
+        if (bufferSize < MIN_BUFFER_SIZE) {
+            throw new IllegalArgumentException("Le tampon d'export doit faire au moins " + MIN_BUFFER_SIZE + " octets : " + bufferSize);
+        }
+        this.matchService = Objects.requireNonNull(matchService);
+        this.playerService = Objects.requireNonNull(playerService);
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Historique complet des matchs (archive puis mémoire)
+    // ─────────────────────────────────────────────
+    /**
+     * @param format format d'export
+     * @param target canal de destination bloquant (non fermé)
+     * @return nombre d'octets écrits
+     * @throws IOException si l'historique n'a pas pu être chargé, ou si l'écriture dans le canal
+     *                     (ou la lecture de l'archive) échoue
+     */
+    public synchronized long exportMatches(ExportFormat format, WritableByteChannel target) throws IOException {
+        Objects.requireNonNull(format);
+        awaitHistory();
+
+        if (format == ExportFormat.CSV) {
+            OptionalLong copied = matchService.transferCsvSnapshot(target);
+            if (copied.isPresent()) return copied.getAsLong();
+        }
+
+        long start = System.nanoTime();
+        begin(target);
+        try {
+            if (format == ExportFormat.CSV) {
+                putLine(MatchDAO.CSV_HEADER);
+            }
+            long count = exportArchive(format);
+            int offset = 0;
+            List<Match> page;
+            while (!(page = matchService.getMatchesPage(offset, PAGE_SIZE)).isEmpty()) {
+                for (Match match : page) {
+                    putMatch(format, match.getId(), match.getPlayer1().getId(), match.getPlayer2().getId(),
+                            match.getScorePlayer1(), match.getScorePlayer2(), match.getDate());
+                }
+                offset += page.size();
+            }
+            count += offset;
+            drain();
+            logger.info("Export {} de l'historique : {} match(s), {} octet(s) en {} ms.",
+                    format, count, written, (System.nanoTime() - start) / 1_000_000);
+            return written;
+        } finally {
+            end();
+        }
+    }
+
+    // Joseph_com : Matchs archivés, un bloc décompressé à la fois
+    private long exportArchive(ExportFormat format) throws IOException {
+        MatchArchive archive = matchService.getArchive();
+        if (archive == null) return 0;
+        long[] count = {0};
+        try {
+            archive.forEachBlock(fields -> {
+                try {
+                    for (int i = 0; i < fields.length; i += ArchiveSegment.FIELDS) {
+                        putMatch(format, fields[i], fields[i + 1], fields[i + 2], fields[i + 3], fields[i + 4],
+                                LocalDate.ofEpochDay(fields[i + 5]));
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                count[0] += fields.length / ArchiveSegment.FIELDS;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return count[0];
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Classement par score décroissant, avec le nombre de victoires (archive comprise)
+    // En binaire : un enregistrement PLAYER par joueur, dans l'ordre du classement (rang implicite)
+    // ─────────────────────────────────────────────
+    /**
+     * @param format format d'export
+     * @param target canal de destination bloquant (non fermé)
+     * @return nombre d'octets écrits
+     * @throws IOException si l'historique n'a pas pu être chargé, ou si l'écriture dans le canal échoue
+     */
+    public synchronized long exportStandings(ExportFormat format, WritableByteChannel target) throws IOException {
+        Objects.requireNonNull(format);
+        awaitHistory();
+
+        List<Player> standings = playerService.getAllPlayersSortedByScore();
+        begin(target);
+        try {
+            if (format == ExportFormat.CSV) {
+                putLine(STANDINGS_HEADER);
+            }
+            int rank = 0;
+            for (Player player : standings) {
+                putStanding(format, ++rank, player, format == ExportFormat.BINARY ? 0 : matchService.countWins(player.getId()));
+            }
+            drain();
+            logger.info("Export {} du classement : {} joueur(s), {} octet(s).", format, standings.size(), written);
+            return written;
+        } finally {
+            end();
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Encodage d'un match
+    // ─────────────────────────────────────────────
+    private void putMatch(ExportFormat format, int id, int player1Id, int player2Id,
+                          int scorePlayer1, int scorePlayer2, LocalDate date) throws IOException {
+        reserve(MAX_MATCH_LINE);
+        switch (format) {
+            case CSV -> {
+                putDecimal(id);
+                buffer.put((byte) ',');
+                putDecimal(player1Id);
+                buffer.put((byte) ',');
+                putDecimal(player2Id);
+                buffer.put((byte) ',');
+                putDecimal(scorePlayer1);
+                buffer.put((byte) ',');
+                putDecimal(scorePlayer2);
+                buffer.put((byte) ',');
+                putDate(date);
+                buffer.put(CSV_NEWLINE);
+            }
+            case JSONL -> {
+                buffer.put(JSON_MATCH_ID);
+                putDecimal(id);
+                buffer.put(JSON_PLAYER1);
+                putDecimal(player1Id);
+                buffer.put(JSON_PLAYER2);
+                putDecimal(player2Id);
+                buffer.put(JSON_SCORE1);
+                putDecimal(scorePlayer1);
+                buffer.put(JSON_SCORE2);
+                putDecimal(scorePlayer2);
+                buffer.put(JSON_DATE);
+                putDate(date);
+                buffer.put((byte) '"');
+                buffer.put(JSON_END);
+            }
+            case BINARY -> buffer.putInt(ReplicationProtocol.MATCH_BODY_SIZE).put(ReplicationProtocol.MATCH)
+                    .putInt(id).putInt(player1Id).putInt(player2Id)
+                    .putInt(scorePlayer1).putInt(scorePlayer2)
+                    .putLong(date.toEpochDay());
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Encodage d'une ligne de classement (le pseudo peut dépasser le tampon : écrit caractère par caractère)
+    // ─────────────────────────────────────────────
+    private void putStanding(ExportFormat format, int rank, Player player, long wins) throws IOException {
+        String nickname = player.getNickname();
+        reserve(MAX_FIELD * 2);
+        switch (format) {
+            case CSV -> {
+                putDecimal(rank);
+                buffer.put((byte) ',');
+                putDecimal(player.getId());
+                buffer.put((byte) ',');
+                putText(nickname, Escape.CSV);
+                reserve(MAX_FIELD * 3);
+                buffer.put((byte) ',');
+                putDecimal(player.getLevel());
+                buffer.put((byte) ',');
+                putDecimal(player.getScore());
+                buffer.put((byte) ',');
+                putDecimal(wins);
+                buffer.put(CSV_NEWLINE);
+            }
+            case JSONL -> {
+                buffer.put(JSON_RANK);
+                putDecimal(rank);
+                buffer.put(JSON_ID);
+                putDecimal(player.getId());
+                buffer.put(JSON_NICKNAME);
+                putText(nickname, Escape.JSON);
+                reserve(MAX_FIELD * 3);
+                buffer.put(JSON_LEVEL);
+                putDecimal(player.getLevel());
+                buffer.put(JSON_SCORE);
+                putDecimal(player.getScore());
+                buffer.put(JSON_WINS);
+                putDecimal(wins);
+                buffer.put(JSON_END);
+            }
+            case BINARY -> {
+                // Joseph_com : Même corps que ReplicationLog.appendPlayer : id, level, score, longueur et pseudo UTF-8
+                int length = utf8Length(nickname);
+                buffer.putInt(1 + 4 * Integer.BYTES + length).put(ReplicationProtocol.PLAYER)
+                        .putInt(player.getId()).putInt(player.getLevel()).putInt(player.getScore())
+                        .putInt(length);
+                putText(nickname, Escape.NONE);
+            }
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Primitives d'encodage (sans allocation)
+    // ─────────────────────────────────────────────
+    private void putLine(String ascii) throws IOException {
+        putText(ascii, Escape.NONE);
+        reserve(CSV_NEWLINE.length);
+        buffer.put(CSV_NEWLINE);
+    }
+
+    // Joseph_com : Entier en décimal, chiffres écrits de droite à gauche à leur position finale
+    private void putDecimal(long value) {
+        if (value < 0) {
+            buffer.put((byte) '-');
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value; rest >= 10; rest /= 10) digits++;
+        int end = buffer.position() + digits;
+        for (int i = end - 1; i >= end - digits; i--) {
+            buffer.put(i, (byte) ('0' + value % 10));
+            value /= 10;
+        }
+        buffer.position(end);
+    }
+
+    // Joseph_com : Date ISO (aaaa-mm-jj), comme LocalDate.toString() pour les années 0 à 9999
+    private void putDate(LocalDate date) throws IOException {
+        int year = date.getYear();
+        if (year < 0 || year > 9999) {
+            putText(date.toString(), Escape.NONE);
+            return;
+        }
+        putPadded(year, 4);
+        buffer.put((byte) '-');
+        putPadded(date.getMonthValue(), 2);
+        buffer.put((byte) '-');
+        putPadded(date.getDayOfMonth(), 2);
+    }
+
+    private void putPadded(int value, int width) {
+        int end = buffer.position() + width;
+        for (int i = end - 1; i >= end - width; i--) {
+            buffer.put(i, (byte) ('0' + value % 10));
+            value /= 10;
+        }
+        buffer.position(end);
+    }
+
+    // Joseph_com : Texte en UTF-8 (une surrogate isolée devient '?', comme String.getBytes)
+    private void putText(String text, Escape escape) throws IOException {
+        boolean quoted = escape == Escape.CSV && needsCsvQuotes(text);
+        if (quoted) {
+            reserve(1);
+            buffer.put((byte) '"');
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            reserve(6);
+            if (c < 0x80) {
+                if (escape == Escape.JSON && (c == '"' || c == '\\')) {
+                    buffer.put((byte) '\\').put((byte) c);
+                } else if (escape == Escape.JSON && c < 0x20) {
+                    buffer.put((byte) '\\').put((byte) 'u').put((byte) '0').put((byte) '0')
+                            .put(HEX[c >> 4]).put(HEX[c & 0xF]);
+                } else if (quoted && c == '"') {
+                    buffer.put((byte) '"').put((byte) '"');
+                } else {
+                    buffer.put((byte) c);
+                }
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                buffer.put((byte) (0xF0 | codePoint >> 18)).put((byte) (0x80 | codePoint >> 12 & 0x3F))
+                        .put((byte) (0x80 | codePoint >> 6 & 0x3F)).put((byte) (0x80 | codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buffer.put((byte) '?');
+            } else {
+                buffer.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+            }
+        }
+        if (quoted) {
+            reserve(1);
+            buffer.put((byte) '"');
+        }
+    }
+
+    private static boolean needsCsvQuotes(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') return true;
+        }
+        return false;
+    }
+
+    // Joseph_com : Longueur UTF-8 d'un texte, calculée sans l'encoder (préfixe de longueur du format binaire)
+    private static int utf8Length(String text) {
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) length += 1;
+            else if (c < 0x800) length += 2;
+            else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) length += 1;
+            else length += 3;
+        }
+        return length;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Gestion du tampon : vidé dans le canal quand la place restante ne suffit plus
+    // ─────────────────────────────────────────────
+    // Joseph_com : Historique en cours de chargement : on attend qu'il soit complet ; un chargement échoué
+    // donnerait un export tronqué sans le dire : il est remonté à l'appelant
+    private void awaitHistory() throws IOException {
+        try {
+            matchService.whenHistoryLoaded().join();
+        } catch (CompletionException e) {
+            throw new IOException("Historique des matchs incomplet (chargement échoué) : export refusé.", e.getCause());
+        }
+    }
+
+    // Joseph_com : Un canal non bloquant pourrait n'accepter aucun octet : l'export tournerait à vide
+    private void begin(WritableByteChannel target) {
+        if (target instanceof SelectableChannel selectable && !selectable.isBlocking()) {
+            throw new IllegalArgumentException("Le canal de destination doit être en mode bloquant.");
+        }
+        this.target = Objects.requireNonNull(target);
+        this.written = 0;
+        buffer.clear();
+    }
+
+    private void end() {
+        target = null;
+        buffer.clear();
+    }
+
+    private void reserve(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) drain();
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            int count = target.write(buffer);
+            if (count <= 0) {
+                throw new IOException("Export interrompu : le canal n'accepte plus d'octets après " + written + " octet(s).");
+            }
+            written += count;
+        }
+        buffer.clear();
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
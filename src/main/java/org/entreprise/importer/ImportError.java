@@ -0,0 +1,16 @@
+package org.entreprise.importer;
+
+/**
+ * Joseph_com : Erreur d'import rattachée à une ligne précise.
+ *
+ * @param row   numéro de la ligne concernée (index dans la collection ou numéro de ligne du fichier)
+ * @param input contenu d'origine de la ligne (pour l'affichage)
+ * @param cause exception métier décrivant le problème (InvalidMatchException, PlayerNotFoundException, ...)
+ */
+public record ImportError(int row, String input, Exception cause) {
+
+    // Joseph_com : Message lisible pour la console et les logs
+    public String message() {
+        return "Ligne " + row + " (" + input + ") : " + cause.getMessage();
+    }
+}
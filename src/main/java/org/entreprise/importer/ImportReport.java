@@ -0,0 +1,70 @@
+package org.entreprise.importer;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Joseph_com : Rapport d'un import en masse.
+ * Contient les éléments réellement créés et les erreurs ligne par ligne.
+ *
+ * @param <T> type des éléments importés (Match, Player)
+ */
+public class ImportReport<T> {
+
+    // Joseph_com : Éléments créés et persistés
+    private final List<T> imported;
+
+    // Joseph_com : Lignes rejetées avec leur cause
+    private final List<ImportError> errors;
+
+    // Joseph_com : Erreur qui a interrompu la lecture du lot (null = lot lu jusqu'au bout)
+    private final Exception interruption;
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Constructeur complet
+    // ─────────────────────────────────────────────
+    /**
+     * @param imported éléments créés
+     * @param errors   lignes rejetées
+     */
+    public ImportReport(List<T> imported, List<ImportError> errors) {
+        this(imported, errors, null);
+    }
+
+    /**
+     * @param imported     éléments créés (et persistés, même si le lot a été interrompu)
+     * @param errors       lignes rejetées
+     * @param interruption erreur qui a arrêté la lecture du lot (null si lu en entier)
+     */
+    public ImportReport(List<T> imported, List<ImportError> errors, Exception interruption) {
+        this.imported = Collections.unmodifiableList(imported);
+        this.errors = Collections.unmodifiableList(errors);
+        this.interruption = interruption;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Getters
+    // ─────────────────────────────────────────────
+    public List<T> getImported() { return imported; }
+
+    public List<ImportError> getErrors() { return errors; }
+
+    public int getImportedCount() { return imported.size(); }
+
+    public int getErrorCount() { return errors.size(); }
+
+    public boolean hasErrors() { return !errors.isEmpty(); }
+
+    public Optional<Exception> getInterruption() { return Optional.ofNullable(interruption); }
+
+    public boolean isComplete() { return interruption == null; }
+
+    @Override
+    public String toString() {
+        return interruption == null
+                ? String.format("ImportReport{importés=%d, erreurs=%d}", imported.size(), errors.size())
+                : String.format("ImportReport{importés=%d, erreurs=%d, interrompu=%s}",
+                        imported.size(), errors.size(), interruption.getMessage());
+    }
+}
@@ -0,0 +1,109 @@
+package org.entreprise.importer;
+
+import org.entreprise.exceptions.InvalidMatchException;
+import org.entreprise.model.Match;
+import org.entreprise.model.MatchRequest;
+import org.entreprise.service.MatchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Joseph_com : Import de résultats de matchs depuis un fichier CSV externe (ligue partenaire).
+ * Format attendu : player1Id,player2Id,scorePlayer1,scorePlayer2[,date]
+ * La première ligne est ignorée si elle contient l'en-tête.
+ * Les lignes mal formées sont rapportées comme erreurs, les autres passent par MatchService.createMatches.
+ */
+public class MatchImporter {
+
+    // Joseph_com : Logger pour tracer les imports
+    private static final Logger logger = LoggerFactory.getLogger(MatchImporter.class);
+
+    // Joseph_com : Service cible des matchs importés
+    private final MatchService matchService;
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Constructeur
+    // ─────────────────────────────────────────────
+    public MatchImporter(MatchService matchService) {
+        this.matchService = matchService;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Importe un fichier de résultats
+    // Les numéros de ligne du rapport correspondent aux lignes du fichier (1 = première ligne)
+    // ─────────────────────────────────────────────
+    /**
+     * @param file fichier CSV à importer
+     * @return rapport d'import (matchs créés + erreurs par ligne)
+     * @throws IOException si le fichier ne peut pas être lu
+     */
+    public ImportReport<Match> importFile(Path file) throws IOException {
+        logger.info("Import des matchs depuis '{}'", file);
+
+        List<MatchRequest> requests = new ArrayList<>();
+        List<Integer> lineNumbers = new ArrayList<>();
+        List<String> rawLines = new ArrayList<>();
+        List<ImportError> errors = new ArrayList<>();
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                // Joseph_com : Ignorer les lignes vides et l'en-tête éventuel
+                if (line.trim().isEmpty()) continue;
+                if (lineNumber == 1 && line.startsWith("player1Id")) continue;
+
+                try {
+                    requests.add(parseLine(line));
+                    lineNumbers.add(lineNumber);
+                    rawLines.add(line);
+                } catch (InvalidMatchException e) {
+                    errors.add(new ImportError(lineNumber, line, e));
+                }
+            }
+        }
+
+        // Joseph_com : Validation parallèle + application atomique côté service
+        ImportReport<Match> serviceReport = matchService.createMatches(requests);
+
+        // Joseph_com : Conversion des index de collection en numéros de ligne du fichier
+        for (ImportError error : serviceReport.getErrors()) {
+            errors.add(new ImportError(lineNumbers.get(error.row()), rawLines.get(error.row()), error.cause()));
+        }
+        errors.sort((a, b) -> Integer.compare(a.row(), b.row()));
+
+        ImportReport<Match> report = new ImportReport<>(serviceReport.getImported(), errors);
+        logger.info("Import de '{}' terminé : {}", file, report);
+        return report;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Convertit une ligne CSV en demande de match
+    // ─────────────────────────────────────────────
+    private MatchRequest parseLine(String line) throws InvalidMatchException {
+        String[] parts = line.split(",");
+        if (parts.length != 4 && parts.length != 5) {
+            throw new InvalidMatchException("Format invalide, 4 ou 5 colonnes attendues.");
+        }
+        try {
+            int player1Id    = Integer.parseInt(parts[0].trim());
+            int player2Id    = Integer.parseInt(parts[1].trim());
+            int scorePlayer1 = Integer.parseInt(parts[2].trim());
+            int scorePlayer2 = Integer.parseInt(parts[3].trim());
+            LocalDate date   = (parts.length == 5) ? LocalDate.parse(parts[4].trim()) : null;
+            return new MatchRequest(player1Id, player2Id, scorePlayer1, scorePlayer2, date);
+        } catch (RuntimeException e) {
+            throw new InvalidMatchException("Valeur invalide : " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package org.entreprise.importer;
+
+import org.entreprise.model.Player;
+import org.entreprise.model.PlayerRequest;
+import org.entreprise.service.PlayerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Joseph_com : Import en flux d'une liste de joueurs (CSV ou flux d'entrée).
+ * Format attendu : nickname,level,score (en-tête optionnel).
+ * Les lignes sont lues une par une et transmises directement à PlayerService.addPlayers :
+ * le fichier n'est jamais chargé entièrement en mémoire.
+ */
+public class PlayerImporter {
+
+    // Joseph_com : Logger pour tracer les imports
+    private static final Logger logger = LoggerFactory.getLogger(PlayerImporter.class);
+
+    // Joseph_com : Service cible des joueurs importés
+    private final PlayerService playerService;
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Constructeur
+    // ─────────────────────────────────────────────
+    public PlayerImporter(PlayerService playerService) {
+        this.playerService = playerService;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Importe un fichier CSV de joueurs
+    // ─────────────────────────────────────────────
+    /**
+     * @param file fichier CSV à importer
+     * @return rapport d'import (row = numéro de ligne dans le fichier)
+     * @throws IOException si le fichier ne peut pas être ouvert (une erreur en cours de lecture est rapportée)
+     */
+    public ImportReport<Player> importFile(Path file) throws IOException {
+        logger.info("Import des joueurs depuis '{}'", file);
+        try (InputStream in = Files.newInputStream(file)) {
+            return importStream(in);
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Importe des joueurs depuis un flux d'entrée (UTF-8)
+    // Le flux n'est pas fermé par cette méthode. Une erreur de lecture en cours de flux n'annule pas
+    // les joueurs déjà inscrits (et persistés) : elle est rapportée par getInterruption() (IOException d'origine)
+    // ─────────────────────────────────────────────
+    /**
+     * @param in flux CSV à importer
+     * @return rapport d'import (row = numéro de ligne dans le flux)
+     */
+    public ImportReport<Player> importStream(InputStream in) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+        CsvRequestIterator iterator = new CsvRequestIterator(reader);
+
+        ImportReport<Player> serviceReport = playerService.addPlayers(iterator);
+        Exception interruption = serviceReport.getInterruption()
+                .map(e -> e instanceof UncheckedIOException io ? io.getCause() : e)
+                .orElse(null);
+
+        // Joseph_com : Fusion des erreurs de format et des doublons, en numéros de ligne
+        List<ImportError> errors = new ArrayList<>(iterator.parseErrors);
+        for (ImportError error : serviceReport.getErrors()) {
+            errors.add(new ImportError(iterator.lineOf(error.row()), error.input(), error.cause()));
+        }
+        errors.sort((a, b) -> Integer.compare(a.row(), b.row()));
+
+        ImportReport<Player> report = new ImportReport<>(serviceReport.getImported(), errors, interruption);
+        if (interruption != null) {
+            logger.warn("Import de joueurs interrompu : {}", report);
+        } else {
+            logger.info("Import de joueurs terminé : {}", report);
+        }
+        return report;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Itérateur paresseux sur les lignes CSV
+    // Les lignes mal formées sont écartées et mémorisées comme erreurs d'import ;
+    // seul le numéro de ligne de chaque demande valide est conservé (tableau d'entiers)
+    // ─────────────────────────────────────────────
+    private static final class CsvRequestIterator implements Iterator<PlayerRequest> {
+
+        private final BufferedReader reader;
+        private final List<ImportError> parseErrors = new ArrayList<>();
+        private int[] lineNumbers = new int[1024];
+        private int emitted;
+        private int lineNumber;
+        private PlayerRequest next;
+
+        private CsvRequestIterator(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) return true;
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (line.isBlank()) continue;
+                    if (lineNumber == 1 && line.startsWith("nickname")) continue;
+                    try {
+                        next = parseLine(line);
+                    } catch (IllegalArgumentException e) {
+                        parseErrors.add(new ImportError(lineNumber, line, e));
+                        continue;
+                    }
+                    if (emitted == lineNumbers.length) {
+                        lineNumbers = Arrays.copyOf(lineNumbers, emitted * 2);
+                    }
+                    lineNumbers[emitted++] = lineNumber;
+                    return true;
+                }
+                return false;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public PlayerRequest next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            PlayerRequest current = next;
+            next = null;
+            return current;
+        }
+
+        // Joseph_com : Numéro de ligne du fichier pour le rang d'une demande dans le flux
+        private int lineOf(int row) {
+            return lineNumbers[row];
+        }
+
+        private static PlayerRequest parseLine(String line) {
+            String[] parts = line.split(",");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Format invalide, 3 colonnes attendues (nickname,level,score)");
+            }
+            String nickname = parts[0].trim();
+            if (nickname.isEmpty()) {
+                throw new IllegalArgumentException("Pseudo vide");
+            }
+            return new PlayerRequest(nickname, Integer.parseInt(parts[1].trim()), Integer.parseInt(parts[2].trim()));
+        }
+    }
+}
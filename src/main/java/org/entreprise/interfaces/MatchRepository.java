@@ -0,0 +1,118 @@
+package org.entreprise.interfaces;
+
+import org.entreprise.model.Match;
+import org.entreprise.model.Player;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+
+/**
+ * Joseph_com : Stockage des matchs d'un tournoi, injecté dans le MatchService.
+ * Implémentations : MatchDAO (fichier CSV + journal), JdbcMatchRepository (base H2) et InMemoryMatchRepository (aucune entrée/sortie).
+ */
+public interface MatchRepository {
+
+    /**
+     * @param availablePlayers joueurs déjà chargés (pour relier les IDs des matchs)
+     * @return tous les matchs enregistrés, corrections appliquées
+     */
+    List<Match> loadAll(List<Player> availablePlayers);
+
+    /**
+     * Joseph_com : Chargement par lots, pour un démarrage progressif (voir MatchService.loadInBackground).
+     * Par défaut, un seul lot (loadAll) ; un stockage lu séquentiellement livre les matchs au fil de la lecture.
+     *
+     * @param availablePlayers joueurs déjà chargés (pour relier les IDs des matchs)
+     * @param chunkSize        nombre de matchs par lot (indicatif)
+     * @param sink             reçoit chaque lot, dans l'ordre de lecture
+     */
+    default void loadInChunks(List<Player> availablePlayers, int chunkSize, Consumer<List<Match>> sink) {
+        sink.accept(loadAll(availablePlayers));
+    }
+
+    /**
+     * Joseph_com : Remplace le contenu du stockage par la liste complète des matchs.
+     *
+     * @param matches liste de matchs à sauvegarder (triée par ID)
+     */
+    void saveAll(List<Match> matches);
+
+    /**
+     * Joseph_com : Enregistre des matchs créés (sauvegarde immédiate).
+     * Par défaut, réécriture complète ; un stockage indexé n'insère que les nouvelles lignes.
+     *
+     * @param created matchs créés
+     * @param all     liste complète des matchs, triée par ID (pour les stockages sans écriture partielle)
+     */
+    default void saveCreated(List<Match> created, List<Match> all) {
+        saveAll(all);
+    }
+
+    /**
+     * Joseph_com : Enregistre la correction d'un match déjà sauvegardé.
+     *
+     * @param match le match corrigé (même ID)
+     */
+    void appendUpdate(Match match);
+
+    /**
+     * Joseph_com : Enregistre la suppression d'un match déjà sauvegardé.
+     *
+     * @param matchId ID du match supprimé
+     */
+    void appendDelete(int matchId);
+
+    /**
+     * Joseph_com : Plus grand ID de match jamais attribué, suppressions comprises, pour ne jamais réattribuer
+     * l'ID d'un match supprimé après un redémarrage. Par défaut 0 : seul le dernier match enregistré fait foi.
+     *
+     * @return dernier ID enregistré par {@link #saveHighWaterMark(int)}, 0 si aucun
+     */
+    default int loadHighWaterMark() {
+        return 0;
+    }
+
+    /**
+     * Joseph_com : Enregistre le plus grand ID attribué (appelé quand le match qui le porte est supprimé).
+     * Par défaut rien : le stockage ne conserve pas cette information.
+     *
+     * @param maxId plus grand ID de match attribué
+     */
+    default void saveHighWaterMark(int maxId) {
+    }
+
+    /**
+     * Joseph_com : Total des points de tous les matchs, calculé par le stockage sans charger les matchs
+     * (ex. requête SQL). Utilisé par le MatchService tant que son historique n'est pas entièrement en mémoire.
+     * Par défaut vide : le stockage ne sait pas le calculer.
+     *
+     * @return somme des scores des deux joueurs de chaque match enregistré
+     */
+    default OptionalLong totalPointsPlayed() {
+        return OptionalLong.empty();
+    }
+
+    /**
+     * Joseph_com : Nombre de victoires d'un joueur, calculé par le stockage (voir {@link #totalPointsPlayed()}).
+     *
+     * @param playerId ID du joueur
+     * @return nombre de matchs enregistrés gagnés par ce joueur
+     */
+    default OptionalLong countWins(int playerId) {
+        return OptionalLong.empty();
+    }
+
+    /**
+     * Joseph_com : Fichier au format d'export CSV (voir MatchDAO.CSV_HEADER) identique, octet pour octet, à l'encodage
+     * des matchs sauvegardés, copié tel quel par l'export. Par défaut aucun : le stockage n'a pas de fichier dans ce format.
+     *
+     * @return chemin du fichier, ou vide si le fichier peut différer des matchs (corrections en attente,
+     *         fichier relu mais pas encore réécrit par ce stockage)
+     */
+    default Optional<Path> csvSnapshot() {
+        return Optional.empty();
+    }
+}
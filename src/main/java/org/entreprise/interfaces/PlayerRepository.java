@@ -0,0 +1,35 @@
+package org.entreprise.interfaces;
+
+import org.entreprise.model.Player;
+
+import java.util.List;
+
+/**
+ * Joseph_com : Stockage des joueurs d'un tournoi, injecté dans le PlayerService.
+ * Implémentations : PlayerDAO (fichier CSV), JdbcPlayerRepository (base H2) et InMemoryPlayerRepository (aucune entrée/sortie).
+ */
+public interface PlayerRepository {
+
+    /**
+     * @return tous les joueurs enregistrés (liste modifiable appartenant à l'appelant)
+     */
+    List<Player> loadAll();
+
+    /**
+     * Joseph_com : Remplace le contenu du stockage par la liste complète des joueurs.
+     *
+     * @param players liste de joueurs à sauvegarder
+     */
+    void saveAll(List<Player> players);
+
+    /**
+     * Joseph_com : Enregistre des joueurs créés ou modifiés (sauvegarde immédiate).
+     * Par défaut, réécriture complète ; un stockage indexé n'écrit que les lignes concernées.
+     *
+     * @param changed joueurs créés ou modifiés
+     * @param all     liste complète des joueurs (pour les stockages sans écriture partielle)
+     */
+    default void saveChanged(List<Player> changed, List<Player> all) {
+        saveAll(all);
+    }
+}
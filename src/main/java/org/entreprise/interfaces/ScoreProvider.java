@@ -0,0 +1,17 @@
+package org.entreprise.interfaces;
+
+import org.entreprise.model.Player;
+
+/**
+ * Joseph_com : Fournisseur du score calculé d'un joueur.
+ * Utilisé par {@link Scorable#calculateScore()} côté Player pour déléguer à la stratégie du tournoi.
+ */
+@FunctionalInterface
+public interface ScoreProvider {
+
+    /**
+     * @param player joueur dont on veut le score calculé
+     * @return score calculé du joueur
+     */
+    int scoreOf(Player player);
+}
@@ -0,0 +1,59 @@
+package org.entreprise.interfaces;
+
+import org.entreprise.model.Player;
+import org.entreprise.model.PlayerRecord;
+
+import java.time.LocalDate;
+
+/**
+ * Joseph_com : Stratégie de calcul du score d'un joueur (SPI).
+ * Une stratégie est choisie par tournoi (PlayerService.setScoringStrategy) ;
+ * ses résultats sont mis en cache et recalculés seulement quand leurs entrées changent.
+ * Des stratégies supplémentaires peuvent être fournies par ServiceLoader
+ * (fichier META-INF/services/org.entreprise.interfaces.ScoringStrategy).
+ * Une implémentation doit être sans état mutable : elle est appelée depuis plusieurs threads.
+ */
+public interface ScoringStrategy {
+
+    /**
+     * @return nom unique de la stratégie (ex. "level-x-score")
+     */
+    String name();
+
+    /**
+     * Joseph_com : Calcule le score d'un joueur.
+     *
+     * @param player joueur (niveau, score brut)
+     * @param record historique des matchs du joueur (vide si {@link #usesMatchHistory()} est faux)
+     * @return score calculé
+     */
+    int score(Player player, PlayerRecord record);
+
+    /**
+     * @return true si le score dépend des matchs du joueur (recalcul à chaque nouveau match)
+     */
+    default boolean usesMatchHistory() {
+        return true;
+    }
+
+    /**
+     * @return true si le score dépend des données des adversaires (recalcul à chaque changement de l'effectif)
+     */
+    default boolean usesOpponentData() {
+        return false;
+    }
+
+    /**
+     * @return true si le score dépend de la date du jour (recalcul quand {@link #evaluationDay()} change)
+     */
+    default boolean isTimeDependent() {
+        return false;
+    }
+
+    /**
+     * @return jour (epoch) auquel le score est évalué ; lu seulement si {@link #isTimeDependent()} est vrai
+     */
+    default long evaluationDay() {
+        return LocalDate.now().toEpochDay();
+    }
+}
@@ -0,0 +1,111 @@
+package org.entreprise.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AsyncAppenderBase;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Joseph_com : Appender asynchrone Logback qui compte les événements perdus.
+ * Les événements passent par une file bornée (tableau circulaire) vidée par un thread dédié :
+ * le thread métier ne fait jamais d'écriture console ou fichier lui-même.
+ * Lorsque la file est pleine, l'événement est abandonné (pas de blocage) et comptabilisé.
+ * Le comptage est exact : c'est le résultat de l'offer() sur la file qui décide, pas une lecture
+ * préalable de la place restante (deux threads pourraient voir la même dernière place libre).
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+
+    // Joseph_com : Total des événements abandonnés par toutes les instances (exposé via LoggingMetrics)
+    static final LongAdder TOTAL_DROPPED = new LongAdder();
+
+    // Joseph_com : Événements abandonnés par cette instance
+    private final LongAdder dropped = new LongAdder();
+
+    // Joseph_com : Événements acceptés dans la file par cette instance
+    private final LongAdder accepted = new LongAdder();
+
+    // Joseph_com : File interne de Logback (champ package-private de AsyncAppenderBase, lu une fois au démarrage)
+    private BlockingQueue<ILoggingEvent> queue;
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Démarrage - récupère la file créée par AsyncAppenderBase.start()
+    // ─────────────────────────────────────────────
+    @Override
+    @SuppressWarnings("unchecked")
+    public void start() {
+        super.start();
+        try {
+            Field field = AsyncAppenderBase.class.getDeclaredField("blockingQueue");
+            field.setAccessible(true);
+            queue = (BlockingQueue<ILoggingEvent>) field.get(this);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            addWarn("File interne de l'appender inaccessible, comptage des pertes approximatif : " + e);
+            queue = null;
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Ajout non bloquant d'un événement dans la file
+    // Si la file est pleine, on abandonne l'événement et on incrémente le compteur
+    // ─────────────────────────────────────────────
+    @Override
+    protected void append(ILoggingEvent event) {
+        BlockingQueue<ILoggingEvent> target = queue;
+        if (target == null) {
+            appendWithoutQueue(event);
+            return;
+        }
+        // Joseph_com : Même politique que AsyncAppenderBase.append (seuil de rejet des niveaux TRACE/DEBUG/INFO)
+        int threshold = getDiscardingThreshold();
+        if (threshold > 0 && target.remainingCapacity() < threshold && isDiscardable(event)) {
+            return;
+        }
+        preprocess(event);
+        if (target.offer(event)) {
+            accepted.increment();
+        } else {
+            dropped.increment();
+            TOTAL_DROPPED.increment();
+        }
+    }
+
+    // Joseph_com : Repli sans accès à la file : vérification de la place puis ajout par Logback
+    private void appendWithoutQueue(ILoggingEvent event) {
+        if (getRemainingCapacity() == 0) {
+            dropped.increment();
+            TOTAL_DROPPED.increment();
+            return;
+        }
+        accepted.increment();
+        super.append(event);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Arrêt de l'appender - signale les pertes éventuelles
+    // ─────────────────────────────────────────────
+    @Override
+    public void stop() {
+        long lost = dropped.sum();
+        if (lost > 0) {
+            addWarn(lost + " événement(s) de log abandonné(s) par l'appender '" + getName() + "' (file pleine).");
+        }
+        super.stop();
+    }
+
+    /**
+     * @return nombre d'événements abandonnés par cet appender depuis son démarrage
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return nombre d'événements acceptés dans la file depuis le démarrage
+     */
+    public long getAcceptedCount() {
+        return accepted.sum();
+    }
+}
@@ -0,0 +1,98 @@
+package org.entreprise.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Joseph_com : Limiteur de débit pour les logs émis à chaque appel (chemins de lecture chauds).
+ * Autorise au plus {@code permitsPerPeriod} logs par fenêtre de temps et compte les appels
+ * non journalisés, pour pouvoir les rapporter dans le prochain log autorisé.
+ * Aucun verrou, aucune allocation : un mot atomique (fenêtre, compteur) mis à jour par compareAndSet.
+ */
+public final class LogSampler {
+
+    // Joseph_com : Bits du compteur de logs autorisés dans le mot d'état
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    // Joseph_com : Durée d'une fenêtre en nanosecondes
+    private final long periodNanos;
+
+    // Joseph_com : Nombre de logs autorisés par fenêtre
+    private final int permitsPerPeriod;
+
+    // Joseph_com : Origine des fenêtres (System.nanoTime à la construction)
+    private final long origin;
+
+    // Joseph_com : État de la fenêtre courante en un seul mot : index de fenêtre (bits hauts) | logs autorisés (bits bas)
+    // Un seul compareAndSet change les deux : impossible de réinitialiser deux fois ou de perdre un comptage
+    private final AtomicLong state = new AtomicLong();
+
+    // Joseph_com : Appels non journalisés depuis le dernier log autorisé
+    private final LongAdder suppressed = new LongAdder();
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Constructeur
+    // ─────────────────────────────────────────────
+    /**
+     * @param permitsPerPeriod nombre de logs autorisés par fenêtre (doit être > 0)
+     * @param period           durée de la fenêtre
+     * @param unit             unité de la durée
+     */
+    public LogSampler(int permitsPerPeriod, long period, TimeUnit unit) {
+        if (permitsPerPeriod <= 0 || period <= 0) {
+            throw new IllegalArgumentException("Le débit et la période doivent être strictement positifs.");
+        }
+        if (permitsPerPeriod >= COUNT_MASK) {
+            throw new IllegalArgumentException("Débit trop élevé : " + permitsPerPeriod);
+        }
+        this.permitsPerPeriod = permitsPerPeriod;
+        this.periodNanos = unit.toNanos(period);
+        this.origin = System.nanoTime();
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Fabrique pratique : N logs par seconde au maximum
+    // ─────────────────────────────────────────────
+    public static LogSampler perSecond(int permits) {
+        return new LogSampler(permits, 1, TimeUnit.SECONDS);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Indique si l'appel courant a le droit de journaliser
+    // Si non, l'appel est compté comme supprimé
+    // ─────────────────────────────────────────────
+    /**
+     * @return true si le log peut être émis, false s'il doit être ignoré
+     */
+    public boolean tryAcquire() {
+        long window = (System.nanoTime() - origin) / periodNanos;
+        while (true) {
+            long current = state.get();
+            long currentWindow = current >>> COUNT_BITS;
+            long next;
+            if (currentWindow < window) {
+                // Joseph_com : Fenêtre expirée → nouvelle fenêtre avec ce log comme premier autorisé
+                next = window << COUNT_BITS | 1;
+            } else if ((current & COUNT_MASK) < permitsPerPeriod) {
+                // Joseph_com : Fenêtre courante (ou plus récente, vue par un thread plus rapide) avec une place libre
+                next = current + 1;
+            } else {
+                suppressed.increment();
+                return false;
+            }
+            if (state.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Retourne et remet à zéro le nombre d'appels non journalisés
+    // À inclure dans le prochain message autorisé ("... (N appel(s) non journalisé(s))")
+    // ─────────────────────────────────────────────
+    public long drainSuppressed() {
+        return suppressed.sumThenReset();
+    }
+}
@@ -0,0 +1,19 @@
+package org.entreprise.logging;
+
+/**
+ * Joseph_com : Point d'accès aux métriques du sous-système de logs.
+ * Permet de vérifier (tests, statistiques, benchmarks) si des événements ont été perdus.
+ */
+public final class LoggingMetrics {
+
+    // Joseph_com : Classe utilitaire, pas d'instanciation
+    private LoggingMetrics() {
+    }
+
+    /**
+     * @return nombre total d'événements de log abandonnés par les appenders asynchrones
+     */
+    public static long droppedEvents() {
+        return CountingAsyncAppender.TOTAL_DROPPED.sum();
+    }
+}
@@ -0,0 +1,22 @@
+package org.entreprise.model;
+
+import java.time.LocalDate;
+
+/**
+ * Joseph_com : Demande de création de match (une ligne d'import).
+ * Contient uniquement les IDs des joueurs et les scores : la résolution des joueurs
+ * et la validation sont faites par le MatchService.
+ *
+ * @param player1Id    ID du premier joueur
+ * @param player2Id    ID du second joueur
+ * @param scorePlayer1 score du joueur 1
+ * @param scorePlayer2 score du joueur 2
+ * @param date         date du match (null = date du jour)
+ */
+public record MatchRequest(int player1Id, int player2Id, int scorePlayer1, int scorePlayer2, LocalDate date) {
+
+    // Joseph_com : Constructeur pratique pour un match joué aujourd'hui
+    public MatchRequest(int player1Id, int player2Id, int scorePlayer1, int scorePlayer2) {
+        this(player1Id, player2Id, scorePlayer1, scorePlayer2, null);
+    }
+}
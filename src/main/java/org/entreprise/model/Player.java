@@ -1,4 +1,5 @@
 package org.entreprise.model;
+import org.entreprise.interfaces.ScoreProvider;
 import org.entreprise.interfaces.Scorable;
 
 /**
@@ -19,6 +20,14 @@ public class Player implements Scorable {
     // Joseph_com : Score brut accumulé par le joueur
     private int score;
 
+    // Joseph_com : Version des données de score (incrémentée à chaque changement de niveau ou de score).
+    // Volatile : lue sans verrou par le cache des scores, y compris depuis des flux parallèles ;
+    // les écritures passent par le PlayerService, sous son verrou.
+    private volatile int version;
+
+    // Joseph_com : Stratégie de score du tournoi (null = formule historique score brut * niveau)
+    private volatile ScoreProvider scoreProvider;
+
     // ─────────────────────────────────────────────
     // Joseph_com : Constructeur complet
     // ─────────────────────────────────────────────
@@ -41,10 +50,25 @@ public class Player implements Scorable {
     // ─────────────────────────────────────────────
     @Override
     public int calculateScore() {
+        ScoreProvider provider = scoreProvider;
+        if (provider != null) {
+            // Joseph_com : Score selon la stratégie du tournoi (mis en cache par le fournisseur)
+            return provider.scoreOf(this);
+        }
         // Joseph_com : Formule : score brut * niveau → récompense les joueurs expérimentés
         return this.score * this.level;
     }
 
+    // Joseph_com : Branche le joueur sur la stratégie de score de son tournoi (appelé par PlayerService)
+    public void setScoreProvider(ScoreProvider scoreProvider) {
+        this.scoreProvider = scoreProvider;
+    }
+
+    /**
+     * @return version des données de score, pour invalider les scores mis en cache
+     */
+    public int getVersion() { return version; }
+
     // ─────────────────────────────────────────────
     // Joseph_com : Getters et Setters
     // ─────────────────────────────────────────────
@@ -55,10 +79,10 @@ public class Player implements Scorable {
     public void setNickname(String nickname) { this.nickname = nickname; }
 
     public int getLevel() { return level; }
-    public void setLevel(int level) { this.level = level; }
+    public void setLevel(int level) { this.level = level; version++; }
 
     public int getScore() { return score; }
-    public void setScore(int score) { this.score = score; }
+    public void setScore(int score) { this.score = score; version++; }
 
     // ─────────────────────────────────────────────
     // Joseph_com : Méthode toString pour l'affichage console
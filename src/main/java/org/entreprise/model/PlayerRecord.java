@@ -0,0 +1,38 @@
+package org.entreprise.model;
+
+import java.util.List;
+
+/**
+ * Joseph_com : Historique des matchs d'un joueur, tel que vu par une stratégie de score.
+ *
+ * @param playerId      ID du joueur
+ * @param wins          victoires
+ * @param losses        défaites
+ * @param draws         matchs nuls
+ * @param pointsFor     points marqués
+ * @param pointsAgainst points encaissés
+ * @param matches       matchs du joueur, dans l'ordre de création
+ */
+public record PlayerRecord(int playerId, int wins, int losses, int draws,
+                           long pointsFor, long pointsAgainst, List<Match> matches) {
+
+    // Joseph_com : Historique d'un joueur sans match
+    public static PlayerRecord empty(int playerId) {
+        return new PlayerRecord(playerId, 0, 0, 0, 0, 0, List.of());
+    }
+
+    /**
+     * @return nombre de matchs joués
+     */
+    public int matchCount() {
+        return wins + losses + draws;
+    }
+
+    /**
+     * @return taux de victoire (0 si aucun match)
+     */
+    public double winRate() {
+        int count = matchCount();
+        return count == 0 ? 0 : (double) wins / count;
+    }
+}
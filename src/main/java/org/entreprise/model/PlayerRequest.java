@@ -0,0 +1,12 @@
+package org.entreprise.model;
+
+/**
+ * Joseph_com : Demande d'inscription d'un joueur (une ligne d'import).
+ * L'ID est attribué par le PlayerService au moment de l'import.
+ *
+ * @param nickname pseudo du joueur (doit être unique, insensible à la casse)
+ * @param level    niveau du joueur
+ * @param score    score initial du joueur
+ */
+public record PlayerRequest(String nickname, int level, int score) {
+}
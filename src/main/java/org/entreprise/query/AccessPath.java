@@ -0,0 +1,24 @@
+package org.entreprise.query;
+
+/**
+ * Joseph_com : Chemins d'accès disponibles pour exécuter une requête de matchs.
+ */
+public enum AccessPath {
+    // Joseph_com : Liste des matchs d'un joueur (ordre de création)
+    PLAYER(MatchOrder.CREATION),
+    // Joseph_com : Index trié par date
+    DATE(MatchOrder.DATE),
+    // Joseph_com : Index trié par écart de score (parcouru du plus grand au plus petit)
+    MARGIN(MatchOrder.MARGIN_DESC),
+    // Joseph_com : Tous les matchs (ordre de création)
+    FULL_SCAN(MatchOrder.CREATION);
+
+    // Joseph_com : Ordre dans lequel ce chemin produit les matchs
+    private final MatchOrder order;
+
+    AccessPath(MatchOrder order) {
+        this.order = order;
+    }
+
+    public MatchOrder getOrder() { return order; }
+}
@@ -0,0 +1,312 @@
+package org.entreprise.query;
+
+import org.entreprise.model.Match;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Joseph_com : Index des matchs d'un MatchService et planificateur de requêtes.
+ * - Trois index secondaires : par joueur (ordre de création), par date et par écart de score (triés).
+ * - Le planificateur estime le nombre de matchs à lire sur chaque chemin compatible avec l'ordre
+ *   demandé et retient le plus petit ; les autres critères sont appliqués en filtre.
+ * - Les résultats sont produits en flux paresseux : les candidats sont lus par lots sous le verrou
+ *   du service, filtrés hors verrou ; offset/limit sont appliqués au fil de l'eau.
+ * Chaque groupe de matchs est trié par ID (= ordre de création) : un curseur reprend après le dernier
+ * ID lu, ce qui reste valable quand des matchs sont supprimés ou corrigés entre deux lots.
+ * Les matchs ajoutés derrière le curseur sont vus tant que le flux n'est pas épuisé.
+ * Ajout, retrait et correction coûtent O(log n). Les mutations sont faites par le MatchService, sous son verrou.
+ */
+public final class MatchIndex {
+
+    // Joseph_com : Nombre de candidats lus par prise du verrou
+    private static final int BATCH_SIZE = 256;
+
+    // Joseph_com : Tous les matchs par ID (parcours complet, ordre de création)
+    private final NavigableMap<Integer, Match> byId = new TreeMap<>();
+
+    // Joseph_com : ID du joueur → ses matchs par ID
+    private final Map<Integer, NavigableMap<Integer, Match>> byPlayer = new HashMap<>();
+
+    // Joseph_com : Date → matchs de ce jour par ID
+    private final NavigableMap<LocalDate, NavigableMap<Integer, Match>> byDate = new TreeMap<>();
+
+    // Joseph_com : Écart de score → matchs avec cet écart par ID
+    private final NavigableMap<Integer, NavigableMap<Integer, Match>> byMargin = new TreeMap<>();
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Indexation d'un nouveau match (appelée sous le verrou du service)
+    // ─────────────────────────────────────────────
+    public void add(Match match) {
+        byId.put(match.getId(), match);
+        bucket(byPlayer, match.getPlayer1().getId()).put(match.getId(), match);
+        bucket(byPlayer, match.getPlayer2().getId()).put(match.getId(), match);
+        bucket(byDate, match.getDate()).put(match.getId(), match);
+        bucket(byMargin, MatchQuery.marginOf(match)).put(match.getId(), match);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Retrait d'un match supprimé (les groupes vidés disparaissent)
+    // ─────────────────────────────────────────────
+    public void remove(Match match) {
+        byId.remove(match.getId());
+        unbucket(byPlayer, match.getPlayer1().getId(), match.getId());
+        unbucket(byPlayer, match.getPlayer2().getId(), match.getId());
+        unbucket(byDate, match.getDate(), match.getId());
+        unbucket(byMargin, MatchQuery.marginOf(match), match.getId());
+    }
+
+    // Joseph_com : Correction d'un score : seul l'index par écart change de groupe
+    public void replace(Match previous, Match updated) {
+        remove(previous);
+        add(updated);
+    }
+
+    public boolean contains(int matchId) {
+        return byId.containsKey(matchId);
+    }
+
+    public Match get(int matchId) {
+        return byId.get(matchId);
+    }
+
+    /**
+     * @return matchs du joueur dans l'ordre de création (vue interne : à lire sous le verrou du service)
+     */
+    public Collection<Match> byPlayer(int playerId) {
+        NavigableMap<Integer, Match> matches = byPlayer.get(playerId);
+        return matches == null ? List.of() : matches.values();
+    }
+
+    private static <K> NavigableMap<Integer, Match> bucket(Map<K, NavigableMap<Integer, Match>> index, K key) {
+        return index.computeIfAbsent(key, k -> new TreeMap<>());
+    }
+
+    private static <K> void unbucket(Map<K, NavigableMap<Integer, Match>> index, K key, int matchId) {
+        NavigableMap<Integer, Match> bucket = index.get(key);
+        if (bucket == null) return;
+        bucket.remove(matchId);
+        if (bucket.isEmpty()) index.remove(key);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Choix du chemin d'accès (appelé sous le verrou du service)
+    // À estimation égale, l'ordre de préférence est : joueur, date, écart, parcours complet
+    // ─────────────────────────────────────────────
+    public QueryPlan plan(MatchQuery query) {
+        MatchOrder wanted = query.getOrder();
+        QueryPlan best = null;
+
+        if (wanted == null || wanted == MatchOrder.CREATION) {
+            if (query.getPlayerId() != null || query.getOpponentId() != null) {
+                best = new QueryPlan(AccessPath.PLAYER, playerBucket(query).size());
+            } else {
+                best = new QueryPlan(AccessPath.FULL_SCAN, byId.size());
+            }
+        }
+        if (wanted == MatchOrder.DATE || (wanted == null && query.hasDateRange())) {
+            best = cheaper(best, AccessPath.DATE, dateRange(query));
+        }
+        if (wanted == MatchOrder.MARGIN_DESC || (wanted == null && query.hasMarginRange())) {
+            best = cheaper(best, AccessPath.MARGIN, marginRange(query));
+        }
+        return best;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Exécution paresseuse d'une requête
+    // ─────────────────────────────────────────────
+    /**
+     * @param query requête
+     * @param lock  verrou du service propriétaire (pris pour planifier et pour lire chaque lot)
+     * @return flux ordonné des matchs retenus
+     */
+    public Stream<Match> stream(MatchQuery query, Object lock) {
+        Cursor cursor;
+        synchronized (lock) {
+            QueryPlan plan = plan(query);
+            cursor = switch (plan.path()) {
+                case PLAYER -> new BucketCursor(playerKey(query));
+                case DATE -> new RangeCursor<>(dateRange(query));
+                case MARGIN -> new RangeCursor<>(marginRange(query));
+                case FULL_SCAN -> new BucketCursor(null);
+            };
+        }
+        Iterator<Match> iterator = new QueryIterator(query, cursor, lock);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    // Joseph_com : Joueur dont la liste est la plus courte parmi le joueur et l'adversaire
+    private int playerKey(MatchQuery query) {
+        Integer player = query.getPlayerId();
+        Integer opponent = query.getOpponentId();
+        if (player == null) return opponent;
+        if (opponent == null) return player;
+        return byPlayer(opponent).size() < byPlayer(player).size() ? opponent : player;
+    }
+
+    private Collection<Match> playerBucket(MatchQuery query) {
+        return byPlayer(playerKey(query));
+    }
+
+    private NavigableMap<LocalDate, NavigableMap<Integer, Match>> dateRange(MatchQuery query) {
+        NavigableMap<LocalDate, NavigableMap<Integer, Match>> range = byDate;
+        if (query.getFrom() != null) range = range.tailMap(query.getFrom(), true);
+        if (query.getTo() != null) range = range.headMap(query.getTo(), true);
+        return range;
+    }
+
+    // Joseph_com : Vue descendante : les plus gros écarts d'abord
+    private NavigableMap<Integer, NavigableMap<Integer, Match>> marginRange(MatchQuery query) {
+        NavigableMap<Integer, NavigableMap<Integer, Match>> range = byMargin.tailMap(query.getMinMargin(), true);
+        if (query.getMaxMargin() >= 0) range = range.headMap(query.getMaxMargin(), true);
+        return range.descendingMap();
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Compte les candidats d'une plage triée, en s'arrêtant dès que le meilleur plan est battu
+    // ─────────────────────────────────────────────
+    private static QueryPlan cheaper(QueryPlan best, AccessPath path,
+                                     NavigableMap<?, NavigableMap<Integer, Match>> range) {
+        long bound = best == null ? Long.MAX_VALUE : best.estimatedCandidates();
+        long count = 0;
+        for (NavigableMap<Integer, Match> bucket : range.values()) {
+            count += bucket.size();
+            if (count >= bound) return best;
+        }
+        return new QueryPlan(path, count);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Curseurs sur les chemins d'accès (appelés sous le verrou du service)
+    // La position est le dernier ID lu : la reprise se fait par tailMap, en O(log n)
+    // ─────────────────────────────────────────────
+    private interface Cursor {
+        // Joseph_com : Ajoute au plus max candidats à out, à partir de la position courante
+        void fill(List<Match> out, int max);
+    }
+
+    // Joseph_com : Copie dans out les matchs de bucket d'ID > afterId ; retourne le dernier ID copié
+    private static int fillFrom(NavigableMap<Integer, Match> bucket, int afterId, List<Match> out, int max) {
+        int last = afterId;
+        for (Match match : bucket.tailMap(afterId, false).values()) {
+            if (out.size() == max) break;
+            out.add(match);
+            last = match.getId();
+        }
+        return last;
+    }
+
+    // Joseph_com : Matchs d'un joueur (playerId) ou tous les matchs (null)
+    private final class BucketCursor implements Cursor {
+        private final Integer playerId;
+        private int lastId = Integer.MIN_VALUE;
+
+        BucketCursor(Integer playerId) {
+            this.playerId = playerId;
+        }
+
+        @Override
+        public void fill(List<Match> out, int max) {
+            NavigableMap<Integer, Match> bucket = playerId == null ? byId : byPlayer.get(playerId);
+            if (bucket != null) {
+                lastId = fillFrom(bucket, lastId, out, max);
+            }
+        }
+    }
+
+    private static final class RangeCursor<K> implements Cursor {
+        private final NavigableMap<K, NavigableMap<Integer, Match>> range;
+        private K key;
+        private int lastId;
+
+        RangeCursor(NavigableMap<K, NavigableMap<Integer, Match>> range) {
+            this.range = range;
+        }
+
+        @Override
+        public void fill(List<Match> out, int max) {
+            NavigableMap<K, NavigableMap<Integer, Match>> rest = key == null ? range : range.tailMap(key, true);
+            for (Map.Entry<K, NavigableMap<Integer, Match>> entry : rest.entrySet()) {
+                if (!entry.getKey().equals(key)) {
+                    key = entry.getKey();
+                    lastId = Integer.MIN_VALUE;
+                }
+                lastId = fillFrom(entry.getValue(), lastId, out, max);
+                if (out.size() == max) return;
+            }
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Itérateur de résultats : lecture par lots, filtre, offset et limit
+    // ─────────────────────────────────────────────
+    private static final class QueryIterator implements Iterator<Match> {
+        private final MatchQuery query;
+        private final Cursor cursor;
+        private final Object lock;
+        private final List<Match> batch = new ArrayList<>(BATCH_SIZE);
+        private int batchPosition;
+        private long toSkip;
+        private long remaining;
+        private boolean exhausted;
+        private Match next;
+
+        QueryIterator(MatchQuery query, Cursor cursor, Object lock) {
+            this.query = query;
+            this.cursor = cursor;
+            this.lock = lock;
+            this.toSkip = query.getOffset();
+            this.remaining = query.getLimit();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && remaining > 0) {
+                if (batchPosition == batch.size()) {
+                    if (exhausted || !refill()) return false;
+                }
+                Match candidate = batch.get(batchPosition++);
+                if (!query.matches(candidate)) continue;
+                if (toSkip > 0) {
+                    toSkip--;
+                    continue;
+                }
+                next = candidate;
+            }
+            return next != null;
+        }
+
+        @Override
+        public Match next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            Match result = next;
+            next = null;
+            remaining--;
+            return result;
+        }
+
+        private boolean refill() {
+            batch.clear();
+            batchPosition = 0;
+            synchronized (lock) {
+                cursor.fill(batch, BATCH_SIZE);
+            }
+            exhausted = batch.size() < BATCH_SIZE;
+            return !batch.isEmpty();
+        }
+    }
+}
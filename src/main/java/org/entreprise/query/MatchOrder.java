@@ -0,0 +1,14 @@
+package org.entreprise.query;
+
+/**
+ * Joseph_com : Ordre de parcours des résultats d'une requête de matchs.
+ * Chaque ordre correspond à un chemin d'accès : l'imposer restreint le choix du planificateur.
+ */
+public enum MatchOrder {
+    // Joseph_com : Ordre de création (index par joueur ou parcours complet)
+    CREATION,
+    // Joseph_com : Date croissante, puis ordre de création (index par date)
+    DATE,
+    // Joseph_com : Écart de score décroissant, puis ordre de création (index par écart)
+    MARGIN_DESC
+}
@@ -0,0 +1,242 @@
+package org.entreprise.query;
+
+import org.entreprise.model.Match;
+import org.entreprise.model.Player;
+
+import java.time.LocalDate;
+
+/**
+ * Joseph_com : Requête composable sur les matchs (immuable : chaque méthode retourne une copie).
+ * Exemple : MatchQuery.all().player(3).between(debut, fin).minMargin(10).limit(20)
+ * Les critères se combinent en ET ; le MatchService choisit l'index le plus sélectif
+ * et applique les autres critères en filtre, au fil de la lecture.
+ */
+public final class MatchQuery {
+
+    // Joseph_com : Borne "sans limite" pour les critères numériques
+    private static final int UNBOUNDED = -1;
+
+    private final Integer playerId;
+    private final Integer opponentId;
+    private final Integer winnerId;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final int minMargin;
+    private final int maxMargin;
+    private final int minTotalPoints;
+    private final int maxTotalPoints;
+    private final int minLevel;
+    private final int maxLevel;
+    private final MatchOrder order;
+    private final long offset;
+    private final long limit;
+
+    private MatchQuery(Integer playerId, Integer opponentId, Integer winnerId, LocalDate from, LocalDate to,
+                       int minMargin, int maxMargin, int minTotalPoints, int maxTotalPoints,
+                       int minLevel, int maxLevel, MatchOrder order, long offset, long limit) {
+        this.playerId = playerId;
+        this.opponentId = opponentId;
+        this.winnerId = winnerId;
+        this.from = from;
+        this.to = to;
+        this.minMargin = minMargin;
+        this.maxMargin = maxMargin;
+        this.minTotalPoints = minTotalPoints;
+        this.maxTotalPoints = maxTotalPoints;
+        this.minLevel = minLevel;
+        this.maxLevel = maxLevel;
+        this.order = order;
+        this.offset = offset;
+        this.limit = limit;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Requête sans critère (tous les matchs)
+    // ─────────────────────────────────────────────
+    public static MatchQuery all() {
+        return new MatchQuery(null, null, null, null, null, 0, UNBOUNDED, 0, UNBOUNDED,
+                UNBOUNDED, UNBOUNDED, null, 0, Long.MAX_VALUE);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Critères sur les joueurs
+    // ─────────────────────────────────────────────
+    /**
+     * @param id ID d'un joueur du match (l'un ou l'autre côté)
+     */
+    public MatchQuery player(int id) {
+        return new MatchQuery(id, opponentId, winnerId, from, to, minMargin, maxMargin,
+                minTotalPoints, maxTotalPoints, minLevel, maxLevel, order, offset, limit);
+    }
+
+    /**
+     * @param id ID de l'autre joueur du match (avec player : confrontations directes)
+     */
+    public MatchQuery opponent(int id) {
+        return new MatchQuery(playerId, id, winnerId, from, to, minMargin, maxMargin,
+                minTotalPoints, maxTotalPoints, minLevel, maxLevel, order, offset, limit);
+    }
+
+    /**
+     * @param id ID du vainqueur du match (exclut les égalités)
+     */
+    public MatchQuery wonBy(int id) {
+        return new MatchQuery(playerId, opponentId, id, from, to, minMargin, maxMargin,
+                minTotalPoints, maxTotalPoints, minLevel, maxLevel, order, offset, limit);
+    }
+
+    /**
+     * Joseph_com : Les deux joueurs ont un niveau entre minLevel et maxLevel (niveau actuel).
+     */
+    public MatchQuery levels(int minLevel, int maxLevel) {
+        if (minLevel > maxLevel) {
+            throw new IllegalArgumentException("Niveau minimum supérieur au maximum : " + minLevel + " > " + maxLevel);
+        }
+        return new MatchQuery(playerId, opponentId, winnerId, from, to, minMargin, maxMargin,
+                minTotalPoints, maxTotalPoints, minLevel, maxLevel, order, offset, limit);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Critères sur la date (bornes incluses, null = sans borne)
+    // ─────────────────────────────────────────────
+    public MatchQuery between(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("Date de début postérieure à la date de fin : " + from + " > " + to);
+        }
+        return new MatchQuery(playerId, opponentId, winnerId, from, to, minMargin, maxMargin,
+                minTotalPoints, maxTotalPoints, minLevel, maxLevel, order, offset, limit);
+    }
+
+    public MatchQuery on(LocalDate date) {
+        return between(date, date);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Critères sur le score
+    // Écart = |score 1 - score 2| ; total = score 1 + score 2
+    // ─────────────────────────────────────────────
+    /**
+     * @param margin écart minimum (ex. victoires écrasantes)
+     */
+    public MatchQuery minMargin(int margin) {
+        checkNotNegative(margin, "écart");
+        return new MatchQuery(playerId, opponentId, winnerId, from, to, margin, maxMargin,
+                minTotalPoints, maxTotalPoints, minLevel, maxLevel, order, offset, limit);
+    }
+
+    /**
+     * @param margin écart maximum (0 = égalités)
+     */
+    public MatchQuery maxMargin(int margin) {
+        checkNotNegative(margin, "écart");
+        return new MatchQuery(playerId, opponentId, winnerId, from, to, minMargin, margin,
+                minTotalPoints, maxTotalPoints, minLevel, maxLevel, order, offset, limit);
+    }
+
+    // Joseph_com : Égalités uniquement
+    public MatchQuery draws() {
+        return maxMargin(0);
+    }
+
+    public MatchQuery totalPoints(int min, int max) {
+        checkNotNegative(min, "total de points");
+        if (min > max) {
+            throw new IllegalArgumentException("Total minimum supérieur au maximum : " + min + " > " + max);
+        }
+        return new MatchQuery(playerId, opponentId, winnerId, from, to, minMargin, maxMargin,
+                min, max, minLevel, maxLevel, order, offset, limit);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Ordre et pagination
+    // ─────────────────────────────────────────────
+    /**
+     * @param order ordre imposé (null = ordre du chemin d'accès le plus sélectif)
+     */
+    public MatchQuery orderBy(MatchOrder order) {
+        return new MatchQuery(playerId, opponentId, winnerId, from, to, minMargin, maxMargin,
+                minTotalPoints, maxTotalPoints, minLevel, maxLevel, order, offset, limit);
+    }
+
+    public MatchQuery offset(long offset) {
+        if (offset < 0) throw new IllegalArgumentException("offset doit être positif : " + offset);
+        return new MatchQuery(playerId, opponentId, winnerId, from, to, minMargin, maxMargin,
+                minTotalPoints, maxTotalPoints, minLevel, maxLevel, order, offset, limit);
+    }
+
+    public MatchQuery limit(long limit) {
+        if (limit < 0) throw new IllegalArgumentException("limit doit être positif : " + limit);
+        return new MatchQuery(playerId, opponentId, winnerId, from, to, minMargin, maxMargin,
+                minTotalPoints, maxTotalPoints, minLevel, maxLevel, order, offset, limit);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Évaluation de tous les critères sur un match (filtre résiduel)
+    // ─────────────────────────────────────────────
+    public boolean matches(Match match) {
+        int id1 = match.getPlayer1().getId();
+        int id2 = match.getPlayer2().getId();
+        if (playerId != null && id1 != playerId && id2 != playerId) return false;
+        if (opponentId != null) {
+            if (playerId != null) {
+                int other = (id1 == playerId) ? id2 : id1;
+                if (other != opponentId) return false;
+            } else if (id1 != opponentId && id2 != opponentId) {
+                return false;
+            }
+        }
+        if (winnerId != null) {
+            Player winner = match.getWinner();
+            if (winner == null || winner.getId() != winnerId) return false;
+        }
+        if (from != null && match.getDate().isBefore(from)) return false;
+        if (to != null && match.getDate().isAfter(to)) return false;
+
+        int margin = marginOf(match);
+        if (margin < minMargin || (maxMargin != UNBOUNDED && margin > maxMargin)) return false;
+        int total = match.getScorePlayer1() + match.getScorePlayer2();
+        if (total < minTotalPoints || (maxTotalPoints != UNBOUNDED && total > maxTotalPoints)) return false;
+
+        if (minLevel != UNBOUNDED) {
+            int level1 = match.getPlayer1().getLevel();
+            int level2 = match.getPlayer2().getLevel();
+            if (level1 < minLevel || level1 > maxLevel || level2 < minLevel || level2 > maxLevel) return false;
+        }
+        return true;
+    }
+
+    // Joseph_com : Écart de score d'un match (clé de l'index par écart)
+    public static int marginOf(Match match) {
+        return Math.abs(match.getScorePlayer1() - match.getScorePlayer2());
+    }
+
+    private static void checkNotNegative(int value, String label) {
+        if (value < 0) throw new IllegalArgumentException("Le " + label + " doit être positif : " + value);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Accès en lecture pour le planificateur
+    // ─────────────────────────────────────────────
+    public Integer getPlayerId() { return playerId; }
+    public Integer getOpponentId() { return opponentId; }
+    public LocalDate getFrom() { return from; }
+    public LocalDate getTo() { return to; }
+    public int getMinMargin() { return minMargin; }
+
+    /**
+     * @return écart maximum, ou -1 si non borné
+     */
+    public int getMaxMargin() { return maxMargin; }
+    public MatchOrder getOrder() { return order; }
+    public long getOffset() { return offset; }
+    public long getLimit() { return limit; }
+
+    // Joseph_com : Aucun critère de date ni d'écart : les index triés ne filtrent rien
+    boolean hasDateRange() {
+        return from != null || to != null;
+    }
+
+    boolean hasMarginRange() {
+        return minMargin > 0 || maxMargin != UNBOUNDED;
+    }
+}
@@ -0,0 +1,17 @@
+package org.entreprise.query;
+
+/**
+ * Joseph_com : Plan d'exécution choisi pour une requête (voir MatchService.explain).
+ *
+ * @param path                chemin d'accès retenu
+ * @param estimatedCandidates nombre de matchs lus au plus sur ce chemin (avant filtrage)
+ */
+public record QueryPlan(AccessPath path, long estimatedCandidates) {
+
+    /**
+     * @return ordre des résultats produits par ce plan
+     */
+    public MatchOrder order() {
+        return path.getOrder();
+    }
+}
@@ -0,0 +1,75 @@
+package org.entreprise.ranking;
+
+/**
+ * Joseph_com : Adjacence compressée (CSR) : les voisins du nœud v sont
+ * neighbors[offsets[v]] .. neighbors[offsets[v + 1] - 1].
+ * Construite en O(n + m) par tri comptage, immuable ensuite.
+ * Une arête de retrait (from et to codés ~index, négatifs) annule une arête identique :
+ * le CSR ne contient que le solde (coût O(degré) par retrait, rares par construction).
+ */
+final class CsrGraph {
+
+    final int nodes;
+    final int[] offsets;
+    final int[] neighbors;
+
+    private CsrGraph(int nodes, int[] offsets, int[] neighbors) {
+        this.nodes = nodes;
+        this.offsets = offsets;
+        this.neighbors = neighbors;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Regroupe les arêtes (from[e] → to[e]) par nœud de départ
+    // ─────────────────────────────────────────────
+    static CsrGraph build(int nodes, int[] from, int[] to, int edges) {
+        int[] offsets = new int[nodes + 1];
+        int retractions = 0;
+        for (int e = 0; e < edges; e++) {
+            if (from[e] >= 0) offsets[from[e] + 1]++;
+            else retractions++;
+        }
+        for (int v = 0; v < nodes; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] cursor = new int[nodes];
+        System.arraycopy(offsets, 0, cursor, 0, nodes);
+        int[] neighbors = new int[offsets[nodes]];
+        for (int e = 0; e < edges; e++) {
+            if (from[e] >= 0) neighbors[cursor[from[e]]++] = to[e];
+        }
+        if (retractions == 0) {
+            return new CsrGraph(nodes, offsets, neighbors);
+        }
+
+        // Joseph_com : Retraits : l'arête retirée est remplacée par la dernière du nœud (cursor = fin vivante)
+        for (int e = 0; e < edges; e++) {
+            if (from[e] >= 0) continue;
+            int v = ~from[e];
+            int target = ~to[e];
+            for (int i = offsets[v]; i < cursor[v]; i++) {
+                if (neighbors[i] == target) {
+                    neighbors[i] = neighbors[--cursor[v]];
+                    break;
+                }
+            }
+        }
+        int[] compactOffsets = new int[nodes + 1];
+        for (int v = 0; v < nodes; v++) {
+            compactOffsets[v + 1] = compactOffsets[v] + (cursor[v] - offsets[v]);
+        }
+        int[] compactNeighbors = new int[compactOffsets[nodes]];
+        for (int v = 0; v < nodes; v++) {
+            System.arraycopy(neighbors, offsets[v], compactNeighbors, compactOffsets[v], cursor[v] - offsets[v]);
+        }
+        return new CsrGraph(nodes, compactOffsets, compactNeighbors);
+    }
+
+    int degree(int v) {
+        return v < nodes ? offsets[v + 1] - offsets[v] : 0;
+    }
+
+    int edges() {
+        return neighbors.length;
+    }
+}
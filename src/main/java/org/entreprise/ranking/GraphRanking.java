@@ -0,0 +1,391 @@
+package org.entreprise.ranking;
+
+import org.entreprise.model.Match;
+import org.entreprise.model.Player;
+import org.entreprise.service.MatchListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Joseph_com : Classement par graphe des victoires ("A a battu B").
+ * - Les résultats sont ajoutés à un journal d'arêtes en tableaux primitifs (perdant, gagnant),
+ *   les joueurs reçoivent un index dense à leur première apparition. Les égalités sont ignorées.
+ * - Au calcul, le journal est compacté en deux adjacences CSR : victoires (gagnant → perdants)
+ *   et défaites (perdant → gagnants). Une arête par match : les matchs répétés pèsent plus.
+ * - PageRank : chaque défaite transmet une part du rang du perdant au gagnant ; itérations
+ *   en mode "pull" parallèles sur les joueurs (aucune écriture partagée).
+ * - Bradley-Terry : itération de point fixe de Newman (même solution que l'algorithme MM de Zermelo,
+ *   convergence bien plus rapide), parallèle sur les joueurs, avec une victoire et une défaite
+ *   virtuelles contre un adversaire de force 1 (force > 0 et finie pour tous).
+ * - Incrémental : les nouveaux matchs restent dans un delta appliqué en plus du CSR
+ *   tant qu'il est petit ; le calcul suivant repart des derniers rangs (convergence en quelques itérations).
+ * - Un match supprimé ou corrigé ajoute une arête de retrait (indices codés ~index) : soustraite
+ *   dans le delta, annulée à la reconstruction suivante du CSR.
+ * Les notifications ne font qu'ajouter au journal : un calcul long ne bloque jamais le MatchService.
+ */
+public class GraphRanking implements MatchListener {
+
+    // Joseph_com : Logger pour tracer les reconstructions du CSR et les calculs
+    private static final Logger logger = LoggerFactory.getLogger(GraphRanking.class);
+
+    // Joseph_com : Facteur d'amortissement du PageRank
+    public static final double DAMPING = 0.85;
+
+    // Joseph_com : Critères d'arrêt (écart L1 pour PageRank, écart relatif max pour Bradley-Terry)
+    private static final double PAGE_RANK_TOLERANCE = 1e-10;
+    private static final double BRADLEY_TERRY_TOLERANCE = 1e-9;
+    private static final int MAX_ITERATIONS = 500;
+
+    // Joseph_com : Taille minimale du delta qui déclenche une reconstruction du CSR
+    private static final int MIN_DELTA_FOR_REBUILD = 4096;
+
+    // Joseph_com : Reconstruction quand le delta dépasse cette fraction des arêtes compactées (1/8)
+    private static final int DELTA_REBUILD_SHIFT = 3;
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Journal des arêtes (protégé par this, en ajout seul)
+    // Un agrandissement crée de nouveaux tableaux : un instantané garde les anciens,
+    // dont le préfixe [0, edgeCount) n'est plus jamais modifié.
+    // ─────────────────────────────────────────────
+    private int[] winners = new int[1024];
+    private int[] losers = new int[1024];
+    private int edgeCount;
+
+    // Joseph_com : Nombre d'arêtes de retrait dans le journal
+    private int retractions;
+
+    private final IntIndexMap indexById = new IntIndexMap(256);
+    private int[] playerIds = new int[256];
+    private int nodeCount;
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : État de calcul (protégé par computeLock)
+    // ─────────────────────────────────────────────
+    private final Object computeLock = new Object();
+    private CsrGraph wins;
+    private CsrGraph losses;
+    private int compactedEdges;
+    private double[] lastPageRank = new double[0];
+    private double[] lastStrength = new double[0];
+    private long rebuilds;
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Ingestion
+    // ─────────────────────────────────────────────
+    @Override
+    public void onMatchCreated(Match match) {
+        Player winner = match.getWinner();
+        if (winner == null) return;
+        Player loser = winner == match.getPlayer1() ? match.getPlayer2() : match.getPlayer1();
+        addResult(winner.getId(), loser.getId());
+    }
+
+    // Joseph_com : Match supprimé : retrait de son arête (les égalités n'en avaient pas)
+    @Override
+    public void onMatchRemoved(Match match) {
+        Player winner = match.getWinner();
+        if (winner == null) return;
+        Player loser = winner == match.getPlayer1() ? match.getPlayer2() : match.getPlayer1();
+        removeResult(winner.getId(), loser.getId());
+    }
+
+    // Joseph_com : Lot entier ajouté sous une seule prise du verrou
+    @Override
+    public synchronized void onMatchesCreated(List<Match> matches) {
+        for (Match match : matches) {
+            onMatchCreated(match);
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Ajoute un résultat (winnerId a battu loserId) sans objet Match (import en masse)
+    // ─────────────────────────────────────────────
+    public synchronized void addResult(int winnerId, int loserId) {
+        if (winnerId == loserId) {
+            throw new IllegalArgumentException("Un joueur ne peut pas se battre lui-même : " + winnerId);
+        }
+        append(indexOf(winnerId), indexOf(loserId));
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Retire un résultat enregistré (arête de retrait, ignorée si un joueur est inconnu)
+    // ─────────────────────────────────────────────
+    public synchronized void removeResult(int winnerId, int loserId) {
+        int winner = indexById.get(winnerId);
+        int loser = indexById.get(loserId);
+        if (winner == IntIndexMap.EMPTY || loser == IntIndexMap.EMPTY) return;
+        append(~winner, ~loser);
+        retractions++;
+    }
+
+    private void append(int winner, int loser) {
+        if (edgeCount == winners.length) {
+            int capacity = Math.max(winners.length * 2, 1024);
+            winners = Arrays.copyOf(winners, capacity);
+            losers = Arrays.copyOf(losers, capacity);
+        }
+        winners[edgeCount] = winner;
+        losers[edgeCount] = loser;
+        edgeCount++;
+    }
+
+    private int indexOf(int playerId) {
+        int index = indexById.getOrPut(playerId, nodeCount);
+        if (index < nodeCount) return index;
+        if (nodeCount == playerIds.length) {
+            playerIds = Arrays.copyOf(playerIds, playerIds.length * 2);
+        }
+        playerIds[nodeCount] = playerId;
+        return nodeCount++;
+    }
+
+    /**
+     * @return nombre de résultats décisifs enregistrés (arêtes du graphe, retraits déduits)
+     */
+    public synchronized int getEdgeCount() {
+        return edgeCount - 2 * retractions;
+    }
+
+    /**
+     * @return nombre de joueurs présents dans le graphe
+     */
+    public synchronized int getPlayerCount() {
+        return nodeCount;
+    }
+
+    /**
+     * @return nombre de reconstructions complètes du CSR depuis la création
+     */
+    public long getRebuildCount() {
+        synchronized (computeLock) {
+            return rebuilds;
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : PageRank sur le graphe perdant → gagnant
+    // rang(v) = (1 - d) / n + d * (Σ_{u battu par v} rang(u) / défaites(u) + rangs sans défaite / n)
+    // ─────────────────────────────────────────────
+    /**
+     * @return rangs PageRank (somme = 1)
+     */
+    public RankingResult pageRank() {
+        synchronized (computeLock) {
+            Snapshot snapshot = prepare();
+            int n = snapshot.nodes;
+            if (n == 0) return new RankingResult(new int[0], new double[0], 0, true);
+
+            int[] deltaWinners = snapshot.winners;
+            int[] deltaLosers = snapshot.losers;
+            int deltaFrom = compactedEdges;
+            int deltaTo = snapshot.edges;
+            int[] lossCount = degrees(losses, n, deltaLosers, deltaFrom, deltaTo);
+
+            double[] rank = warmStart(lastPageRank, n, 1.0 / n);
+            normalize(rank);
+            double[] next = new double[n];
+            double[] share = new double[n];
+            CsrGraph in = wins;
+
+            int iteration = 0;
+            boolean converged = false;
+            while (iteration < MAX_ITERATIONS && !converged) {
+                iteration++;
+                final double[] current = rank;
+                double dangling = IntStream.range(0, n).parallel()
+                        .mapToDouble(u -> lossCount[u] == 0 ? current[u] : 0.0).sum();
+                IntStream.range(0, n).parallel()
+                        .forEach(u -> share[u] = lossCount[u] == 0 ? 0.0 : current[u] / lossCount[u]);
+
+                double base = (1.0 - DAMPING) / n + DAMPING * dangling / n;
+                IntStream.range(0, n).parallel().forEach(v -> {
+                    double sum = 0.0;
+                    if (v < in.nodes) {
+                        for (int e = in.offsets[v], end = in.offsets[v + 1]; e < end; e++) {
+                            sum += share[in.neighbors[e]];
+                        }
+                    }
+                    next[v] = base + DAMPING * sum;
+                });
+                // Joseph_com : Delta non compacté, appliqué séquentiellement (petit par construction)
+                for (int e = deltaFrom; e < deltaTo; e++) {
+                    int w = deltaWinners[e];
+                    if (w >= 0) next[w] += DAMPING * share[deltaLosers[e]];
+                    else next[~w] -= DAMPING * share[~deltaLosers[e]];
+                }
+
+                double diff = IntStream.range(0, n).parallel()
+                        .mapToDouble(v -> Math.abs(next[v] - current[v])).sum();
+                System.arraycopy(next, 0, rank, 0, n);
+                converged = diff < PAGE_RANK_TOLERANCE;
+            }
+
+            lastPageRank = rank.clone();
+            logger.debug("PageRank : {} joueur(s), {} arête(s), {} itération(s).", n, deltaTo, iteration);
+            return new RankingResult(Arrays.copyOf(snapshot.playerIds, n), rank, iteration, converged);
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Bradley-Terry, P(i bat j) = p_i / (p_i + p_j)
+    // p_i = (Σ_{j battu par i} p_j / (p_i + p_j) + 1 / (p_i + 1)) / (Σ_{j vainqueur de i} 1 / (p_i + p_j) + 1 / (p_i + 1))
+    // ─────────────────────────────────────────────
+    /**
+     * @return forces Bradley-Terry (échelle fixée par l'adversaire virtuel de force 1)
+     */
+    public RankingResult bradleyTerry() {
+        synchronized (computeLock) {
+            Snapshot snapshot = prepare();
+            int n = snapshot.nodes;
+            if (n == 0) return new RankingResult(new int[0], new double[0], 0, true);
+
+            int[] deltaWinners = snapshot.winners;
+            int[] deltaLosers = snapshot.losers;
+            int deltaFrom = compactedEdges;
+            int deltaTo = snapshot.edges;
+
+            double[] strength = warmStart(lastStrength, n, 1.0);
+            double[] next = new double[n];
+            double[] deltaNumerator = new double[n];
+            double[] deltaDenominator = new double[n];
+            CsrGraph won = wins;
+            CsrGraph lost = losses;
+
+            int iteration = 0;
+            boolean converged = false;
+            while (iteration < MAX_ITERATIONS && !converged) {
+                iteration++;
+                final double[] p = strength;
+                if (deltaTo > deltaFrom) {
+                    Arrays.fill(deltaNumerator, 0.0);
+                    Arrays.fill(deltaDenominator, 0.0);
+                    for (int e = deltaFrom; e < deltaTo; e++) {
+                        int w = deltaWinners[e];
+                        int l = deltaLosers[e];
+                        double sign = 1.0;
+                        if (w < 0) {
+                            w = ~w;
+                            l = ~l;
+                            sign = -1.0;
+                        }
+                        double inverse = 1.0 / (p[w] + p[l]);
+                        deltaNumerator[w] += sign * p[l] * inverse;
+                        deltaDenominator[l] += sign * inverse;
+                    }
+                }
+
+                IntStream.range(0, n).parallel().forEach(i -> {
+                    double pi = p[i];
+                    double virtual = 1.0 / (pi + 1.0);
+                    double numerator = deltaNumerator[i] + virtual;
+                    double denominator = deltaDenominator[i] + virtual;
+                    if (i < won.nodes) {
+                        for (int e = won.offsets[i], end = won.offsets[i + 1]; e < end; e++) {
+                            double pj = p[won.neighbors[e]];
+                            numerator += pj / (pi + pj);
+                        }
+                    }
+                    if (i < lost.nodes) {
+                        for (int e = lost.offsets[i], end = lost.offsets[i + 1]; e < end; e++) {
+                            denominator += 1.0 / (pi + p[lost.neighbors[e]]);
+                        }
+                    }
+                    next[i] = numerator / denominator;
+                });
+                rescaleToVirtualOpponent(next);
+
+                double maxChange = IntStream.range(0, n).parallel()
+                        .mapToDouble(i -> Math.abs(next[i] - p[i]) / next[i]).max().orElse(0.0);
+                System.arraycopy(next, 0, strength, 0, n);
+                converged = maxChange < BRADLEY_TERRY_TOLERANCE;
+            }
+
+            lastStrength = strength.clone();
+            logger.debug("Bradley-Terry : {} joueur(s), {} arête(s), {} itération(s).", n, deltaTo, iteration);
+            return new RankingResult(Arrays.copyOf(snapshot.playerIds, n), strength, iteration, converged);
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Instantané du journal, puis reconstruction du CSR si le delta est devenu trop gros
+    // Appelé sous computeLock
+    // ─────────────────────────────────────────────
+    private Snapshot prepare() {
+        Snapshot snapshot;
+        synchronized (this) {
+            snapshot = new Snapshot(winners, losers, edgeCount, playerIds, nodeCount);
+        }
+        int delta = snapshot.edges - compactedEdges;
+        if (wins == null || delta > Math.max(MIN_DELTA_FOR_REBUILD, compactedEdges >>> DELTA_REBUILD_SHIFT)) {
+            long start = System.nanoTime();
+            wins = CsrGraph.build(snapshot.nodes, snapshot.winners, snapshot.losers, snapshot.edges);
+            losses = CsrGraph.build(snapshot.nodes, snapshot.losers, snapshot.winners, snapshot.edges);
+            compactedEdges = snapshot.edges;
+            rebuilds++;
+            logger.info("Graphe des victoires compacté : {} joueur(s), {} arête(s) en {} ms.",
+                    snapshot.nodes, snapshot.edges, (System.nanoTime() - start) / 1_000_000);
+        }
+        return snapshot;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Accélération Bradley-Terry : l'échelle globale n'est fixée que par les matchs virtuels,
+    // c'est le mode qui converge le plus lentement. À la solution, les victoires virtuelles
+    // compensent exactement les défaites virtuelles : Σ (1 - c·p_i) / (1 + c·p_i) = 0.
+    // Le facteur c est résolu directement (Newton sur log c) à chaque itération.
+    // ─────────────────────────────────────────────
+    private static void rescaleToVirtualOpponent(double[] strength) {
+        int n = strength.length;
+        double logScale = 0.0;
+        for (int step = 0; step < 50; step++) {
+            final double scale = Math.exp(logScale);
+            double residual = IntStream.range(0, n).parallel()
+                    .mapToDouble(i -> (1.0 - scale * strength[i]) / (1.0 + scale * strength[i])).sum();
+            double slope = IntStream.range(0, n).parallel()
+                    .mapToDouble(i -> {
+                        double q = scale * strength[i];
+                        return 2.0 * q / ((1.0 + q) * (1.0 + q));
+                    }).sum();
+            double correction = Math.max(-2.0, Math.min(2.0, residual / slope));
+            logScale += correction;
+            if (Math.abs(correction) < 1e-13) break;
+        }
+        double scale = Math.exp(logScale);
+        IntStream.range(0, n).parallel().forEach(i -> strength[i] *= scale);
+    }
+
+    // Joseph_com : Degré de chaque joueur dans le CSR, plus ses arêtes du delta (moins ses retraits)
+    private static int[] degrees(CsrGraph graph, int n, int[] deltaKeys, int from, int to) {
+        int[] degree = new int[n];
+        IntStream.range(0, n).parallel().forEach(v -> degree[v] = graph.degree(v));
+        for (int e = from; e < to; e++) {
+            int key = deltaKeys[e];
+            if (key >= 0) degree[key]++;
+            else degree[~key]--;
+        }
+        return degree;
+    }
+
+    // Joseph_com : Reprend les derniers scores, les nouveaux joueurs démarrent à la valeur initiale
+    private static double[] warmStart(double[] previous, int n, double initial) {
+        double[] values = Arrays.copyOf(previous, n);
+        if (previous.length < n) {
+            Arrays.fill(values, previous.length, n, initial);
+        }
+        return values;
+    }
+
+    private static void normalize(double[] values) {
+        double sum = 0.0;
+        for (double value : values) sum += value;
+        for (int i = 0; i < values.length; i++) values[i] /= sum;
+    }
+
+    // Joseph_com : Vue figée du journal (tableaux partagés, seul le préfixe est lu)
+    private record Snapshot(int[] winners, int[] losers, int edges, int[] playerIds, int nodes) {
+    }
+}
@@ -0,0 +1,86 @@
+package org.entreprise.ranking;
+
+import java.util.Arrays;
+
+/**
+ * Joseph_com : Table ID joueur → index dense, en adressage ouvert sur des int (sondage linéaire).
+ * Aucune allocation par recherche, contrairement à une HashMap&lt;Integer, Integer&gt;.
+ * Non synchronisée : protégée par le verrou du propriétaire.
+ */
+final class IntIndexMap {
+
+    // Joseph_com : Case vide (les index stockés sont toujours >= 0)
+    static final int EMPTY = -1;
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    IntIndexMap(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1;
+        allocate(capacity);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Index associé à la clé, ou EMPTY
+    // ─────────────────────────────────────────────
+    int get(int key) {
+        int slot = mix(key) & mask;
+        while (values[slot] != EMPTY) {
+            if (keys[slot] == key) return values[slot];
+            slot = (slot + 1) & mask;
+        }
+        return EMPTY;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Index associé à la clé ; sinon associe la clé à candidate et le retourne
+    // ─────────────────────────────────────────────
+    int getOrPut(int key, int candidate) {
+        int slot = mix(key) & mask;
+        while (values[slot] != EMPTY) {
+            if (keys[slot] == key) return values[slot];
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = candidate;
+        // Joseph_com : Taux de remplissage maximal 1/2
+        if (++size > (mask + 1) >>> 1) {
+            grow();
+        }
+        return candidate;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] == EMPTY) continue;
+            int slot = mix(oldKeys[i]) & mask;
+            while (values[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, EMPTY);
+        mask = capacity - 1;
+    }
+
+    // Joseph_com : Mélange des bits (IDs souvent séquentiels : évite les longues grappes)
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,107 @@
+package org.entreprise.ranking;
+
+import java.util.List;
+
+/**
+ * Joseph_com : Résultat d'un calcul de classement sur le graphe des victoires.
+ */
+public final class RankingResult {
+
+    private final int[] playerIds;
+    private final double[] scores;
+    private final int iterations;
+    private final boolean converged;
+
+    RankingResult(int[] playerIds, double[] scores, int iterations, boolean converged) {
+        this.playerIds = playerIds;
+        this.scores = scores;
+        this.iterations = iterations;
+        this.converged = converged;
+    }
+
+    /**
+     * @return score du joueur (NaN s'il n'apparaît dans aucun match décisif)
+     */
+    public double score(int playerId) {
+        for (int i = 0; i < playerIds.length; i++) {
+            if (playerIds[i] == playerId) return scores[i];
+        }
+        return Double.NaN;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : k meilleurs joueurs, score décroissant
+    // ─────────────────────────────────────────────
+    public List<RankedPlayer> top(int k) {
+        int size = Math.min(Math.max(k, 0), scores.length);
+        // Joseph_com : Tas-min d'index de taille k : O(n log k), aucun tri complet
+        int[] heap = new int[size];
+        int filled = 0;
+        for (int i = 0; i < scores.length && size > 0; i++) {
+            if (filled < size) {
+                heap[filled] = i;
+                siftUp(heap, filled++);
+            } else if (scores[i] > scores[heap[0]]) {
+                heap[0] = i;
+                siftDown(heap, size);
+            }
+        }
+
+        RankedPlayer[] ranked = new RankedPlayer[filled];
+        for (int slot = filled - 1; slot >= 0; slot--) {
+            int index = heap[0];
+            ranked[slot] = new RankedPlayer(playerIds[index], scores[index]);
+            heap[0] = heap[slot];
+            siftDown(heap, slot);
+        }
+        return List.of(ranked);
+    }
+
+    private void siftUp(int[] heap, int position) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (scores[heap[parent]] <= scores[heap[position]]) return;
+            swap(heap, parent, position);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int[] heap, int size) {
+        int position = 0;
+        while (true) {
+            int left = 2 * position + 1;
+            if (left >= size) return;
+            int smallest = left + 1 < size && scores[heap[left + 1]] < scores[heap[left]] ? left + 1 : left;
+            if (scores[heap[position]] <= scores[heap[smallest]]) return;
+            swap(heap, position, smallest);
+            position = smallest;
+        }
+    }
+
+    private static void swap(int[] heap, int a, int b) {
+        int tmp = heap[a];
+        heap[a] = heap[b];
+        heap[b] = tmp;
+    }
+
+    public int size() {
+        return playerIds.length;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public boolean isConverged() {
+        return converged;
+    }
+
+    /**
+     * Joseph_com : Joueur classé.
+     *
+     * @param playerId ID du joueur
+     * @param score    score du classement
+     */
+    public record RankedPlayer(int playerId, double score) {
+    }
+}
@@ -0,0 +1,231 @@
+package org.entreprise.render;
+
+import org.entreprise.model.Match;
+import org.entreprise.model.Player;
+import org.entreprise.service.MatchService;
+import org.entreprise.service.PlayerService;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.List;
+
+/**
+ * Joseph_com : Rendu console des listes de joueurs et de matchs.
+ * - Les lignes sont formatées dans un tampon réutilisé (pas de printf ni de String.format par ligne).
+ * - Le tampon est écrit par gros blocs dans un Writer bufferisé, puis vidé une fois par rendu.
+ * - Seule la page demandée est récupérée auprès des services ; le mode flux parcourt
+ *   la liste page par page sans jamais la matérialiser en entier.
+ */
+public class ConsoleRenderer implements Flushable {
+
+    // Joseph_com : Taille du tampon de formatage avant écriture d'un bloc
+    private static final int CHUNK_SIZE = 32 * 1024;
+
+    // Joseph_com : Taille du tampon du Writer sous-jacent
+    private static final int WRITER_BUFFER_SIZE = 64 * 1024;
+
+    // Joseph_com : Largeur du séparateur sous l'en-tête des joueurs
+    private static final String PLAYER_SEPARATOR = "─".repeat(60);
+
+    // Joseph_com : Destination des écritures (jamais fermée par le renderer)
+    private final Writer out;
+
+    // Joseph_com : Tampon de formatage réutilisé d'un rendu à l'autre
+    private final StringBuilder buffer = new StringBuilder(CHUNK_SIZE + 1024);
+
+    // Joseph_com : Tableau de transfert réutilisé entre le tampon et le Writer
+    private char[] chars = new char[CHUNK_SIZE + 1024];
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Constructeur
+    // ─────────────────────────────────────────────
+    /**
+     * @param stream  flux de sortie (console, fichier...)
+     * @param charset encodage des caractères
+     */
+    public ConsoleRenderer(OutputStream stream, Charset charset) {
+        this.out = new BufferedWriter(new OutputStreamWriter(stream, charset), WRITER_BUFFER_SIZE);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Renderer sur la sortie standard, avec l'encodage de la console
+    // ─────────────────────────────────────────────
+    public static ConsoleRenderer forStdout() {
+        return new ConsoleRenderer(System.out, System.out.charset());
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Affiche une page du classement des joueurs (triés par score)
+    // ─────────────────────────────────────────────
+    /**
+     * @param playerService service des joueurs
+     * @param page          numéro de page (0 = première)
+     * @param pageSize      nombre de lignes par page
+     * @return nombre de joueurs affichés
+     */
+    public int renderPlayersPage(PlayerService playerService, int page, int pageSize) {
+        List<Player> players = playerService.getPlayersPageSortedByScore(page * pageSize, pageSize);
+        appendPlayerHeader();
+        for (Player player : players) {
+            appendPlayer(player);
+        }
+        flush();
+        return players.size();
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Affiche une page des matchs (ordre de création)
+    // ─────────────────────────────────────────────
+    /**
+     * @param matchService service des matchs
+     * @param page         numéro de page (0 = première)
+     * @param pageSize     nombre de lignes par page
+     * @return nombre de matchs affichés
+     */
+    public int renderMatchesPage(MatchService matchService, int page, int pageSize) {
+        List<Match> matches = matchService.getMatchesPage(page * pageSize, pageSize);
+        for (Match match : matches) {
+            appendMatch(match);
+        }
+        flush();
+        return matches.size();
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Affiche tous les matchs en flux, page par page (mode non interactif)
+    // La mémoire utilisée reste bornée par la taille d'une page
+    // ─────────────────────────────────────────────
+    /**
+     * @param matchService service des matchs
+     * @param pageSize     nombre de matchs récupérés à la fois
+     * @return nombre total de matchs affichés
+     */
+    public long streamMatches(MatchService matchService, int pageSize) {
+        long total = 0;
+        int offset = 0;
+        List<Match> page;
+        while (!(page = matchService.getMatchesPage(offset, pageSize)).isEmpty()) {
+            for (Match match : page) {
+                appendMatch(match);
+            }
+            offset += page.size();
+            total += page.size();
+        }
+        flush();
+        return total;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Ajoute une ligne de texte libre au tampon
+    // ─────────────────────────────────────────────
+    public void line(String text) {
+        buffer.append(text).append(System.lineSeparator());
+        writeIfFull();
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Écrit le tampon restant et vide le Writer
+    // ─────────────────────────────────────────────
+    @Override
+    public void flush() {
+        try {
+            writeChunk();
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Formatage des lignes (équivalent aux printf de l'ancien affichage)
+    // ─────────────────────────────────────────────
+    private void appendPlayerHeader() {
+        pad("ID", 5).pad("Pseudo", 20).pad("Niveau", 8).pad("Score", 10).pad("Score calculé", 15);
+        endLine();
+        buffer.append(PLAYER_SEPARATOR);
+        endLine();
+    }
+
+    private void appendPlayer(Player player) {
+        pad(player.getId(), 5)
+                .pad(player.getNickname(), 20)
+                .pad(player.getLevel(), 8)
+                .pad(player.getScore(), 10)
+                .pad(player.calculateScore(), 15);
+        endLine();
+    }
+
+    private void appendMatch(Match match) {
+        Player winner = match.getWinner();
+        buffer.append("[Match #").append(match.getId()).append("] ")
+                .append(match.getPlayer1().getNickname()).append(' ')
+                .append(match.getScorePlayer1()).append(" - ")
+                .append(match.getScorePlayer2()).append(' ')
+                .append(match.getPlayer2().getNickname()).append(" | ")
+                .append(match.getDate()).append(" | Gagnant : ");
+        if (winner != null) {
+            buffer.append("🏆 ").append(winner.getNickname());
+        } else {
+            buffer.append("🤝 Égalité");
+        }
+        buffer.append(System.lineSeparator());
+        writeIfFull();
+    }
+
+    // Joseph_com : Colonne alignée à gauche (comme %-Ns), suivie d'un espace séparateur
+    private ConsoleRenderer pad(String value, int width) {
+        int start = buffer.length();
+        buffer.append(value);
+        padFrom(start, width);
+        return this;
+    }
+
+    // Joseph_com : Colonne numérique alignée à gauche (comme %-Nd), sans conversion en String
+    private ConsoleRenderer pad(int value, int width) {
+        int start = buffer.length();
+        buffer.append(value);
+        padFrom(start, width);
+        return this;
+    }
+
+    private void padFrom(int start, int width) {
+        for (int written = buffer.length() - start; written < width; written++) {
+            buffer.append(' ');
+        }
+        buffer.append(' ');
+    }
+
+    // Joseph_com : Fin de ligne (l'espace séparateur de la dernière colonne est retiré)
+    private void endLine() {
+        buffer.setLength(buffer.length() - 1);
+        buffer.append(System.lineSeparator());
+        writeIfFull();
+    }
+
+    private void writeIfFull() {
+        if (buffer.length() >= CHUNK_SIZE) {
+            try {
+                writeChunk();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void writeChunk() throws IOException {
+        int length = buffer.length();
+        if (length == 0) return;
+        if (chars.length < length) {
+            chars = new char[length];
+        }
+        buffer.getChars(0, length, chars, 0);
+        out.write(chars, 0, length);
+        buffer.setLength(0);
+    }
+}
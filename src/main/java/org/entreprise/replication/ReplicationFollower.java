@@ -0,0 +1,320 @@
+package org.entreprise.replication;
+
+import org.entreprise.exceptions.PlayerNotFoundException;
+import org.entreprise.model.Match;
+import org.entreprise.service.MatchService;
+import org.entreprise.service.PlayerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Joseph_com : Nœud suiveur de la réplication.
+ * - Se connecte au leader, annonce sa position (époque + offset) et reçoit la suite du journal.
+ * - Applique chaque enregistrement à ses propres services (idempotent : rejouer un enregistrement est sans effet).
+ * - Les services passent en sauvegarde différée : un seul flush des CSV par bloc reçu.
+ * - Après chaque bloc sauvegardé, acquitte sa position au leader (qui peut alors tronquer son journal).
+ * - En cas de coupure, se reconnecte et reprend à sa dernière position appliquée.
+ * Les services d'un suiveur ne doivent servir qu'à la lecture : une écriture locale divergerait du leader.
+ */
+public class ReplicationFollower implements Runnable, AutoCloseable {
+
+    // Joseph_com : Logger pour tracer les connexions et les reprises
+    private static final Logger logger = LoggerFactory.getLogger(ReplicationFollower.class);
+
+    // Joseph_com : Taille initiale du tampon de réception
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Joseph_com : Attente maximale entre deux tentatives de reconnexion
+    private static final long MAX_RETRY_MILLIS = 1_000;
+
+    private final PlayerService playerService;
+    private final MatchService matchService;
+    private final InetSocketAddress leaderAddress;
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile SocketChannel channel;
+
+    // Joseph_com : Dernière position appliquée (protégée par le moniteur de l'objet pour awaitOffset)
+    private ReplicationPosition position;
+
+    // Joseph_com : Instantané en cours de réception (thread du suiveur) : octets restants et matchs reçus
+    private long snapshotRemaining;
+    private Set<Integer> snapshotMatchIds;
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Constructeur pour un suiveur vide (synchronisation complète)
+    // ─────────────────────────────────────────────
+    public ReplicationFollower(PlayerService playerService, MatchService matchService,
+                               InetSocketAddress leaderAddress) {
+        this(playerService, matchService, leaderAddress, ReplicationPosition.START);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Constructeur - reprise à une position connue et démarrage du thread
+    // ─────────────────────────────────────────────
+    /**
+     * @param playerService service des joueurs du suiveur
+     * @param matchService  service des matchs du suiveur
+     * @param leaderAddress adresse du leader
+     * @param start         position à partir de laquelle reprendre (voir {@link #getPosition()})
+     */
+    public ReplicationFollower(PlayerService playerService, MatchService matchService,
+                               InetSocketAddress leaderAddress, ReplicationPosition start) {
+        this.playerService = playerService;
+        this.matchService = matchService;
+        this.leaderAddress = leaderAddress;
+        this.position = start;
+        playerService.setAutoSave(false);
+        matchService.setAutoSave(false);
+        this.thread = new Thread(this, "replication-follower");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Boucle de connexion avec reconnexion progressive
+    // ─────────────────────────────────────────────
+    @Override
+    public void run() {
+        long retryMillis = 10;
+        while (running) {
+            try (SocketChannel socket = SocketChannel.open(leaderAddress)) {
+                channel = socket;
+                retryMillis = 10;
+                stream(socket);
+            } catch (IOException e) {
+                if (!running) break;
+                logger.warn("Connexion au leader {} perdue : {}. Nouvelle tentative dans {} ms.",
+                        leaderAddress, e.getMessage(), retryMillis);
+                try {
+                    Thread.sleep(retryMillis);
+                } catch (InterruptedException ie) {
+                    break;
+                }
+                retryMillis = Math.min(retryMillis * 2, MAX_RETRY_MILLIS);
+            }
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Poignée de main puis application du journal reçu, bloc par bloc
+    // ─────────────────────────────────────────────
+    private void stream(SocketChannel socket) throws IOException {
+        ReplicationPosition current = getPosition();
+        ByteBuffer handshake = ByteBuffer.allocate(ReplicationProtocol.HANDSHAKE_SIZE);
+        handshake.putLong(current.epoch()).putLong(current.offset()).flip();
+        while (handshake.hasRemaining()) {
+            socket.write(handshake);
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(ReplicationProtocol.RESPONSE_SIZE);
+        readFully(socket, header);
+        header.flip();
+        long epoch = header.getLong();
+        long offset = header.getLong();
+        // Joseph_com : Octets d'instantané à appliquer avant le journal ; la position n'avance qu'une fois
+        // l'instantané entièrement appliqué (une coupure en cours d'instantané le fera renvoyer)
+        snapshotRemaining = header.getLong();
+        snapshotMatchIds = snapshotRemaining > 0 ? new HashSet<>() : null;
+        if (snapshotRemaining > 0) {
+            logger.info("Instantané de {} octet(s) puis journal depuis l'offset {} (époque du leader {}).",
+                    snapshotRemaining, offset, epoch);
+        } else {
+            if (epoch != current.epoch() || offset != current.offset()) {
+                logger.info("Synchronisation depuis l'offset {} (époque du leader {}).", offset, epoch);
+            }
+            updatePosition(new ReplicationPosition(epoch, offset));
+        }
+
+        ByteBuffer ack = ByteBuffer.allocate(ReplicationProtocol.ACK_SIZE);
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        while (running) {
+            if (socket.read(buffer) < 0) {
+                throw new EOFException("fin de flux");
+            }
+            buffer.flip();
+            long snapshotBefore = snapshotRemaining;
+            long applied = applyRecords(buffer);
+            buffer.compact();
+
+            // Joseph_com : Un enregistrement plus grand que le tampon : on l'agrandit
+            if (!buffer.hasRemaining()) {
+                ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+                buffer.flip();
+                larger.put(buffer);
+                buffer = larger;
+            }
+
+            boolean snapshotDone = snapshotBefore > 0 && snapshotRemaining == 0;
+            if (applied > 0 || snapshotRemaining != snapshotBefore) {
+                // Joseph_com : Une seule réécriture des CSV par bloc reçu
+                playerService.flush();
+                matchService.flush();
+            }
+            if (snapshotDone) {
+                updatePosition(new ReplicationPosition(epoch, offset));
+            }
+            if (applied > 0 || snapshotDone) {
+                long reached = getPosition().offset() + applied;
+                updatePosition(new ReplicationPosition(epoch, reached));
+                ack.clear();
+                ack.putLong(reached).flip();
+                while (ack.hasRemaining()) {
+                    socket.write(ack);
+                }
+            }
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Applique tous les enregistrements complets du tampon
+    // Retourne le nombre d'octets du journal consommés (instantané non compris)
+    // ─────────────────────────────────────────────
+    private long applyRecords(ByteBuffer buffer) throws IOException {
+        long consumed = 0;
+        while (buffer.remaining() >= ReplicationProtocol.LENGTH_PREFIX) {
+            int length = buffer.getInt(buffer.position());
+            if (length <= 0 || length > ReplicationProtocol.MAX_RECORD_SIZE) {
+                throw new IOException("Enregistrement de réplication invalide (longueur " + length + ")");
+            }
+            if (buffer.remaining() < ReplicationProtocol.LENGTH_PREFIX + length) break;
+
+            buffer.position(buffer.position() + ReplicationProtocol.LENGTH_PREFIX);
+            int next = buffer.position() + length;
+            boolean fromSnapshot = snapshotRemaining > 0;
+            if (fromSnapshot && buffer.get(buffer.position()) == ReplicationProtocol.MATCH) {
+                snapshotMatchIds.add(buffer.getInt(buffer.position() + 1));
+            }
+            apply(buffer);
+            buffer.position(next);
+            if (!fromSnapshot) {
+                consumed += ReplicationProtocol.LENGTH_PREFIX + length;
+            } else if ((snapshotRemaining -= ReplicationProtocol.LENGTH_PREFIX + length) == 0) {
+                removeMatchesAbsentFromSnapshot();
+            }
+        }
+        return consumed;
+    }
+
+    // Joseph_com : L'instantané fait foi : les matchs locaux qu'il ne contient pas ont été supprimés
+    // sur le leader pendant la partie tronquée du journal
+    private void removeMatchesAbsentFromSnapshot() {
+        int removed = 0;
+        for (Match match : matchService.getAllMatches()) {
+            if (!snapshotMatchIds.contains(match.getId()) && matchService.applyReplicatedDelete(match.getId())) {
+                removed++;
+            }
+        }
+        snapshotMatchIds = null;
+        if (removed > 0) {
+            logger.info("{} match(s) absent(s) de l'instantané supprimé(s).", removed);
+        }
+    }
+
+    private void apply(ByteBuffer record) throws IOException {
+        byte type = record.get();
+        switch (type) {
+            case ReplicationProtocol.PLAYER -> {
+                int id = record.getInt();
+                int level = record.getInt();
+                int score = record.getInt();
+                byte[] name = new byte[record.getInt()];
+                record.get(name);
+                playerService.applyReplicated(id, new String(name, StandardCharsets.UTF_8), level, score);
+            }
+            case ReplicationProtocol.MATCH -> {
+                int id = record.getInt();
+                int player1Id = record.getInt();
+                int player2Id = record.getInt();
+                int scorePlayer1 = record.getInt();
+                int scorePlayer2 = record.getInt();
+                LocalDate date = LocalDate.ofEpochDay(record.getLong());
+                try {
+                    matchService.applyReplicated(id, player1Id, player2Id, scorePlayer1, scorePlayer2, date);
+                } catch (PlayerNotFoundException e) {
+                    logger.error("Match répliqué {} ignoré : {}", id, e.getMessage());
+                }
+            }
+            case ReplicationProtocol.MATCH_AMENDED -> {
+                int id = record.getInt();
+                record.position(record.position() + 2 * Integer.BYTES);
+                int scorePlayer1 = record.getInt();
+                int scorePlayer2 = record.getInt();
+                matchService.applyReplicatedUpdate(id, scorePlayer1, scorePlayer2);
+            }
+            case ReplicationProtocol.MATCH_DELETED -> matchService.applyReplicatedDelete(record.getInt());
+            default -> throw new IOException("Type d'enregistrement de réplication inconnu : " + type);
+        }
+    }
+
+    private static void readFully(SocketChannel socket, ByteBuffer target) throws IOException {
+        while (target.hasRemaining()) {
+            if (socket.read(target) < 0) {
+                throw new EOFException("fin de flux pendant la poignée de main");
+            }
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Position courante et attente d'une position
+    // ─────────────────────────────────────────────
+    /**
+     * @return dernière position appliquée (à conserver pour reprendre après un redémarrage)
+     */
+    public synchronized ReplicationPosition getPosition() {
+        return position;
+    }
+
+    private synchronized void updatePosition(ReplicationPosition newPosition) {
+        position = newPosition;
+        notifyAll();
+    }
+
+    /**
+     * @param offset  offset du journal à atteindre (par exemple {@link ReplicationLeader#getLogSize()})
+     * @param timeout attente maximale
+     * @return true si l'offset a été atteint à temps
+     * @throws InterruptedException si le thread appelant est interrompu
+     */
+    public synchronized boolean awaitOffset(long offset, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (position.offset() < offset) {
+            long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+            if (remainingMillis <= 0) return false;
+            wait(remainingMillis);
+        }
+        return true;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Arrêt : coupe la connexion, attend le thread puis sauvegarde
+    // ─────────────────────────────────────────────
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        SocketChannel socket = channel;
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // Joseph_com : connexion déjà fermée
+            }
+        }
+        thread.interrupt();
+        thread.join();
+        playerService.setAutoSave(true);
+        matchService.setAutoSave(true);
+        logger.info("Suiveur de réplication arrêté à la position {}.", getPosition());
+    }
+}
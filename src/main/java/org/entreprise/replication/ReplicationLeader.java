@@ -0,0 +1,378 @@
+package org.entreprise.replication;
+
+import org.entreprise.events.ChangeEvent;
+import org.entreprise.events.ChangeEventBus;
+import org.entreprise.events.EventCursor;
+import org.entreprise.model.Match;
+import org.entreprise.model.Player;
+import org.entreprise.service.MatchService;
+import org.entreprise.service.PlayerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Joseph_com : Nœud leader de la réplication.
+ * - Au démarrage, le journal reçoit un instantané des joueurs puis des matchs existants,
+ *   puis chaque changement publié sur le flux (PLAYER_ADDED, SCORE_CHANGED, MATCH_CREATED,
+ *   MATCH_UPDATED, MATCH_DELETED).
+ * - Un seul thread NIO (Selector non bloquant) accepte les suiveurs, alimente le journal
+ *   et envoie à chaque suiveur la suite du journal par gros blocs (plusieurs enregistrements par écriture).
+ * - Un suiveur qui se reconnecte reprend à son offset si l'époque correspond, sinon depuis le début.
+ * - Chaque suiveur acquitte les offsets qu'il a appliqués ; le début du journal acquitté par tous
+ *   les suiveurs connectés est tronqué dès qu'il dépasse un seuil. Un suiveur dont l'offset a été tronqué
+ *   (ou qui arrive après une troncature) reçoit un instantané des données actuelles, puis la suite du journal.
+ */
+public class ReplicationLeader implements Runnable, AutoCloseable {
+
+    // Joseph_com : Logger pour tracer les connexions des suiveurs
+    private static final Logger logger = LoggerFactory.getLogger(ReplicationLeader.class);
+
+    // Joseph_com : Taille maximale d'un bloc envoyé en une écriture
+    private static final int MAX_WRITE_BYTES = 256 * 1024;
+
+    // Joseph_com : Attente maximale du sélecteur entre deux lectures du flux de changements
+    private static final long SELECT_TIMEOUT_MILLIS = 1;
+
+    // Joseph_com : Volume acquitté à partir duquel le début du journal est tronqué
+    static final int DEFAULT_TRUNCATE_BYTES = 4 * 1024 * 1024;
+
+    // Joseph_com : Instantanés préparés hors du thread du leader : celui-ci doit continuer à vider le flux,
+    // sans quoi un service qui publie sous son verrou et l'instantané qui attend ce verrou se bloqueraient
+    private static final Executor SNAPSHOTS = task -> {
+        Thread worker = new Thread(task, "replication-snapshot");
+        worker.setDaemon(true);
+        worker.start();
+    };
+
+    // Joseph_com : Époque de cette exécution du leader (jamais 0, réservé à "inconnue")
+    private final long epoch = ThreadLocalRandom.current().nextLong() | 1;
+
+    private final ReplicationLog log = new ReplicationLog();
+    private final PlayerService playerService;
+    private final MatchService matchService;
+    private final int truncateBytes;
+    private final ChangeEventBus bus;
+    private final EventCursor cursor;
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final List<FollowerSession> sessions = new ArrayList<>();
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile int followerCount;
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Constructeur - instantané des données, ouverture du port et démarrage du thread
+    // ─────────────────────────────────────────────
+    /**
+     * @param playerService service des joueurs à répliquer
+     * @param matchService  service des matchs à répliquer
+     * @param bus           flux de changements sur lequel les deux services publient
+     * @param bindAddress   adresse d'écoute (port 0 = port libre choisi par le système)
+     * @throws IOException si le port ne peut pas être ouvert
+     */
+    public ReplicationLeader(PlayerService playerService, MatchService matchService,
+                             ChangeEventBus bus, InetSocketAddress bindAddress) throws IOException {
+        this(playerService, matchService, bus, bindAddress, DEFAULT_TRUNCATE_BYTES);
+    }
+
+    // Joseph_com : Constructeur avec seuil de troncature (tests)
+    ReplicationLeader(PlayerService playerService, MatchService matchService,
+                      ChangeEventBus bus, InetSocketAddress bindAddress, int truncateBytes) throws IOException {
+        if (truncateBytes < 1) {
+            throw new IllegalArgumentException("Le seuil de troncature doit être strictement positif.");
+        }
+        this.playerService = playerService;
+        this.matchService = matchService;
+        this.truncateBytes = truncateBytes;
+        this.bus = bus;
+        // Joseph_com : Abonnement avant l'instantané : aucun changement ne peut être perdu entre les deux
+        // (les doublons éventuels sont absorbés par l'application idempotente côté suiveur)
+        this.cursor = bus.subscribe();
+        snapshot(log);
+
+        this.selector = Selector.open();
+        this.server = ServerSocketChannel.open();
+        server.bind(bindAddress);
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+
+        this.thread = new Thread(this, "replication-leader");
+        thread.setDaemon(true);
+        thread.start();
+        logger.info("Leader de réplication en écoute sur {} (époque {}, instantané de {} octet(s)).",
+                server.getLocalAddress(), epoch, log.size());
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Boucle du leader : connexions, journal, envois
+    // ─────────────────────────────────────────────
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                selector.select(SELECT_TIMEOUT_MILLIS);
+                for (SelectionKey key : selector.selectedKeys()) {
+                    if (!key.isValid()) continue;
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else if (key.isReadable()) {
+                        ((FollowerSession) key.attachment()).read();
+                    }
+                }
+                selector.selectedKeys().clear();
+
+                while (cursor.poll(this::append) > 0) {
+                    // Joseph_com : on vide le flux de changements dans le journal
+                }
+                for (FollowerSession session : List.copyOf(sessions)) {
+                    session.send();
+                }
+                truncateAcknowledged();
+            } catch (IOException | RuntimeException e) {
+                logger.error("Erreur dans la boucle du leader de réplication : {}", e.getMessage());
+            }
+        }
+    }
+
+    // Joseph_com : Instantané des données actuelles (joueurs puis matchs)
+    private void snapshot(ReplicationLog target) {
+        // Joseph_com : Matchs lus avant les joueurs : tout joueur d'un match est dans l'instantané
+        List<Match> matches = matchService.getAllMatches();
+        for (Player player : playerService.getAllPlayers()) {
+            target.appendPlayer(player.getId(), player.getNickname(), player.getLevel(), player.getScore());
+        }
+        for (Match match : matches) {
+            target.appendMatch(match.getId(), match.getPlayer1().getId(), match.getPlayer2().getId(),
+                    match.getScorePlayer1(), match.getScorePlayer2(), match.getDate().toEpochDay());
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Tronque le début du journal acquitté par tous les suiveurs connectés
+    // (sans suiveur, tout le journal peut l'être : un nouveau suiveur recevra un instantané)
+    // ─────────────────────────────────────────────
+    private void truncateAcknowledged() {
+        long upTo = log.size();
+        for (FollowerSession session : sessions) {
+            if (session.position >= 0) {
+                upTo = Math.min(upTo, session.acknowledged);
+            }
+        }
+        if (upTo - log.baseOffset() >= truncateBytes) {
+            log.truncate(upTo);
+            logger.debug("Journal de réplication tronqué jusqu'à l'offset {}.", upTo);
+        }
+    }
+
+    // Joseph_com : Ajout d'un changement du flux au journal
+    private void append(ChangeEvent event, long sequence, boolean endOfBatch) {
+        switch (event.getType()) {
+            case PLAYER_ADDED, SCORE_CHANGED -> log.appendPlayer(event.getPlayerId(), event.getNickname(),
+                    event.getLevel(), event.getScore());
+            case MATCH_CREATED -> log.appendMatch(event.getMatchId(), event.getPlayer1Id(), event.getPlayer2Id(),
+                    event.getScorePlayer1(), event.getScorePlayer2(), event.getEpochDay());
+            case MATCH_UPDATED -> log.appendMatchAmended(event.getMatchId(), event.getPlayer1Id(),
+                    event.getPlayer2Id(), event.getScorePlayer1(), event.getScorePlayer2(), event.getEpochDay());
+            case MATCH_DELETED -> log.appendMatchDeleted(event.getMatchId());
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel == null) return;
+        channel.configureBlocking(false);
+        FollowerSession session = new FollowerSession(channel);
+        channel.register(selector, SelectionKey.OP_READ, session);
+        sessions.add(session);
+        followerCount = sessions.size();
+        logger.info("Suiveur connecté depuis {}.", channel.getRemoteAddress());
+    }
+
+    /**
+     * @return port d'écoute effectif
+     */
+    public int getPort() {
+        return server.socket().getLocalPort();
+    }
+
+    /**
+     * @return époque de cette exécution du leader
+     */
+    public long getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * @return taille actuelle du journal en octets (offset de fin)
+     */
+    public long getLogSize() {
+        return log.publishedSize();
+    }
+
+    /**
+     * @return octets du journal encore gardés en mémoire (non tronqués)
+     */
+    public long getRetainedLogSize() {
+        return log.publishedRetained();
+    }
+
+    /**
+     * @return nombre de suiveurs connectés
+     */
+    public int getFollowerCount() {
+        return followerCount;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Arrêt du thread, fermeture des connexions et désabonnement du flux
+    // ─────────────────────────────────────────────
+    @Override
+    public void close() throws InterruptedException, IOException {
+        running = false;
+        selector.wakeup();
+        thread.join();
+        for (FollowerSession session : sessions) {
+            session.channel.close();
+        }
+        server.close();
+        selector.close();
+        bus.unsubscribe(cursor);
+        logger.info("Leader de réplication arrêté.");
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Connexion d'un suiveur (utilisée uniquement par le thread du leader)
+    // ─────────────────────────────────────────────
+    private final class FollowerSession {
+
+        private final SocketChannel channel;
+
+        // Joseph_com : Tampon de réception réutilisé : poignée de main puis acquittements
+        private final ByteBuffer inbound = ByteBuffer.allocate(ReplicationProtocol.HANDSHAKE_SIZE);
+        private final ByteBuffer header = ByteBuffer.allocate(ReplicationProtocol.RESPONSE_SIZE);
+
+        // Joseph_com : Instantané en préparation, puis reste à envoyer avant le journal (null si aucun)
+        private CompletableFuture<ReplicationLog> pendingSnapshot;
+        private ByteBuffer snapshot;
+
+        // Joseph_com : Prochain offset du journal à envoyer (-1 tant que la poignée de main n'est pas reçue)
+        private long position = -1;
+
+        // Joseph_com : Dernier offset acquitté par le suiveur
+        private long acknowledged;
+
+        FollowerSession(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        // Joseph_com : Lecture de la poignée de main, puis des acquittements (et détection de la déconnexion)
+        void read() {
+            try {
+                if (channel.read(inbound) < 0) {
+                    disconnect();
+                    return;
+                }
+                inbound.flip();
+                if (position < 0) {
+                    if (inbound.remaining() < ReplicationProtocol.HANDSHAKE_SIZE) {
+                        inbound.compact();
+                        return;
+                    }
+                    handshake(inbound.getLong(), inbound.getLong());
+                }
+                while (inbound.remaining() >= ReplicationProtocol.ACK_SIZE) {
+                    // Joseph_com : Un acquittement ne peut pas dépasser ce qui a été envoyé
+                    acknowledged = Math.max(acknowledged, Math.min(inbound.getLong(), position));
+                }
+                inbound.compact();
+            } catch (IOException e) {
+                disconnect();
+            }
+        }
+
+        // Joseph_com : Choix du point de départ : reprise, journal complet ou instantané si le début est tronqué
+        private void handshake(long followerEpoch, long followerOffset) throws IOException {
+            boolean resume = followerEpoch == epoch
+                    && followerOffset >= log.baseOffset() && followerOffset <= log.size();
+            if (resume || log.baseOffset() == 0) {
+                position = resume ? followerOffset : 0;
+                header.putLong(epoch).putLong(position).putLong(0).flip();
+            } else {
+                // Joseph_com : Journal envoyé à partir de l'offset courant, après l'instantané : les changements
+                // publiés pendant sa préparation y sont rejoués (sans effet s'ils y figurent déjà)
+                position = log.size();
+                pendingSnapshot = CompletableFuture.supplyAsync(() -> {
+                    ReplicationLog current = new ReplicationLog();
+                    snapshot(current);
+                    return current;
+                }, SNAPSHOTS);
+            }
+            acknowledged = position;
+            logger.info("Suiveur {} : reprise à l'offset {}{}.", channel.getRemoteAddress(), position,
+                    resume ? "" : pendingSnapshot == null ? " (synchronisation complète)" : " après un instantané");
+        }
+
+        // Joseph_com : En-tête et instantané prêts à envoyer ; false tant que l'instantané est en préparation
+        private boolean snapshotReady() {
+            if (pendingSnapshot == null) return true;
+            if (!pendingSnapshot.isDone()) return false;
+            ReplicationLog current = pendingSnapshot.join();
+            pendingSnapshot = null;
+            snapshot = current.slice(0, (int) current.size());
+            header.putLong(epoch).putLong(position).putLong(current.size()).flip();
+            return true;
+        }
+
+        // Joseph_com : Envoi de la suite du journal jusqu'à saturation du tampon de la socket
+        void send() {
+            if (position < 0) return;
+            try {
+                if (!snapshotReady()) return;
+                if (header.hasRemaining()) {
+                    channel.write(header);
+                    if (header.hasRemaining()) return;
+                }
+                if (snapshot != null) {
+                    channel.write(snapshot);
+                    if (snapshot.hasRemaining()) return;
+                    snapshot = null;
+                }
+                while (position < log.size()) {
+                    ByteBuffer chunk = log.slice(position, MAX_WRITE_BYTES);
+                    position += channel.write(chunk);
+                    if (chunk.hasRemaining()) return;
+                }
+            } catch (IOException e) {
+                disconnect();
+            } catch (CompletionException e) {
+                logger.error("Instantané de réplication impossible : {}", e.getCause().getMessage());
+                disconnect();
+            }
+        }
+
+        private void disconnect() {
+            sessions.remove(this);
+            followerCount = sessions.size();
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // Joseph_com : connexion déjà perdue
+            }
+            logger.info("Suiveur déconnecté ({} restant(s)).", sessions.size());
+        }
+    }
+}
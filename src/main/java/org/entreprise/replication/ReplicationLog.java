@@ -0,0 +1,132 @@
+package org.entreprise.replication;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Joseph_com : Journal de réplication en mémoire, tenu par le leader.
+ * Les enregistrements sont encodés une seule fois, à l'ajout ; chaque suiveur reçoit ensuite
+ * des tranches brutes du tableau (aucun ré-encodage par suiveur ni par envoi).
+ * Les offsets sont logiques (depuis le début du journal) : le début déjà acquitté par tous les suiveurs
+ * peut être tronqué ({@link #truncate(long)}), seul le reste est gardé en mémoire.
+ * Écrit et lu uniquement par le thread du leader ; seules les tailles sont publiées aux autres threads.
+ */
+final class ReplicationLog {
+
+    // Joseph_com : Capacité initiale du journal
+    private static final int INITIAL_CAPACITY = 64 * 1024;
+
+    private byte[] data = new byte[INITIAL_CAPACITY];
+    private ByteBuffer writer = ByteBuffer.wrap(data);
+
+    // Joseph_com : Offset logique du premier octet conservé (data[0])
+    private long baseOffset;
+
+    // Joseph_com : Tailles visibles depuis les autres threads (supervision, tests)
+    private volatile long publishedSize;
+    private volatile long publishedBaseOffset;
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Ajout d'enregistrements
+    // ─────────────────────────────────────────────
+    void appendPlayer(int id, String nickname, int level, int score) {
+        byte[] name = nickname.getBytes(StandardCharsets.UTF_8);
+        int body = 1 + 4 * Integer.BYTES + name.length;
+        ensureCapacity(ReplicationProtocol.LENGTH_PREFIX + body);
+        writer.putInt(body).put(ReplicationProtocol.PLAYER)
+                .putInt(id).putInt(level).putInt(score)
+                .putInt(name.length).put(name);
+        publishedSize = size();
+    }
+
+    void appendMatch(int id, int player1Id, int player2Id, int scorePlayer1, int scorePlayer2, long epochDay) {
+        appendMatch(ReplicationProtocol.MATCH, id, player1Id, player2Id, scorePlayer1, scorePlayer2, epochDay);
+    }
+
+    void appendMatchAmended(int id, int player1Id, int player2Id, int scorePlayer1, int scorePlayer2, long epochDay) {
+        appendMatch(ReplicationProtocol.MATCH_AMENDED, id, player1Id, player2Id, scorePlayer1, scorePlayer2, epochDay);
+    }
+
+    void appendMatchDeleted(int id) {
+        ensureCapacity(ReplicationProtocol.LENGTH_PREFIX + ReplicationProtocol.DELETION_BODY_SIZE);
+        writer.putInt(ReplicationProtocol.DELETION_BODY_SIZE).put(ReplicationProtocol.MATCH_DELETED).putInt(id);
+        publishedSize = size();
+    }
+
+    private void appendMatch(byte type, int id, int player1Id, int player2Id,
+                             int scorePlayer1, int scorePlayer2, long epochDay) {
+        ensureCapacity(ReplicationProtocol.LENGTH_PREFIX + ReplicationProtocol.MATCH_BODY_SIZE);
+        writer.putInt(ReplicationProtocol.MATCH_BODY_SIZE).put(type)
+                .putInt(id).putInt(player1Id).putInt(player2Id)
+                .putInt(scorePlayer1).putInt(scorePlayer2)
+                .putLong(epochDay);
+        publishedSize = size();
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Tranche du journal à envoyer (vue sans copie, au plus maxBytes)
+    // ─────────────────────────────────────────────
+    ByteBuffer slice(long from, int maxBytes) {
+        int start = (int) (from - baseOffset);
+        int length = Math.min(maxBytes, writer.position() - start);
+        return ByteBuffer.wrap(data, start, length);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Oublie les octets avant upTo (acquittés par tous les suiveurs)
+    // ─────────────────────────────────────────────
+    /**
+     * @param upTo offset logique du premier octet à conserver (début d'enregistrement)
+     */
+    void truncate(long upTo) {
+        if (upTo <= baseOffset) return;
+        if (upTo > size()) {
+            throw new IllegalArgumentException("Troncature au-delà de la fin du journal : " + upTo);
+        }
+        int dropped = (int) (upTo - baseOffset);
+        int retained = writer.position() - dropped;
+        // Joseph_com : Tableau réduit s'il est devenu très grand pour ce qui reste, sinon décalage sur place
+        if (data.length > INITIAL_CAPACITY && retained < data.length / 4) {
+            data = Arrays.copyOfRange(data, dropped, dropped + Math.max(INITIAL_CAPACITY, retained * 2));
+            writer = ByteBuffer.wrap(data);
+        } else {
+            System.arraycopy(data, dropped, data, 0, retained);
+        }
+        writer.position(retained);
+        baseOffset = upTo;
+        publishedBaseOffset = upTo;
+    }
+
+    // Joseph_com : Offset de fin du journal (thread du leader)
+    long size() {
+        return baseOffset + writer.position();
+    }
+
+    // Joseph_com : Offset du premier octet encore disponible (thread du leader)
+    long baseOffset() {
+        return baseOffset;
+    }
+
+    // Joseph_com : Offset de fin du journal (autres threads)
+    long publishedSize() {
+        return publishedSize;
+    }
+
+    // Joseph_com : Octets gardés en mémoire (autres threads)
+    long publishedRetained() {
+        return publishedSize - publishedBaseOffset;
+    }
+
+    private void ensureCapacity(int extra) {
+        int required = writer.position() + extra;
+        if (required < 0) {
+            throw new IllegalStateException("Journal de réplication plein (2 Go).");
+        }
+        if (required <= data.length) return;
+        int position = writer.position();
+        data = Arrays.copyOf(data, Math.max(required, data.length * 2));
+        writer = ByteBuffer.wrap(data);
+        writer.position(position);
+    }
+}
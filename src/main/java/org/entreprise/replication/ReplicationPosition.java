@@ -0,0 +1,15 @@
+package org.entreprise.replication;
+
+/**
+ * Joseph_com : Position d'un suiveur dans le journal de réplication d'un leader.
+ * L'époque identifie une exécution du leader : son journal est reconstruit à chaque démarrage,
+ * un offset n'a donc de sens que pour l'époque qui l'a produit.
+ *
+ * @param epoch  époque du leader (0 = inconnue, synchronisation complète)
+ * @param offset position en octets dans le journal (début du prochain enregistrement à appliquer)
+ */
+public record ReplicationPosition(long epoch, long offset) {
+
+    // Joseph_com : Position initiale d'un suiveur vide
+    public static final ReplicationPosition START = new ReplicationPosition(0, 0);
+}
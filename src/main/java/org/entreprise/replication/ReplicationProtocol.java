@@ -0,0 +1,45 @@
+package org.entreprise.replication;
+
+/**
+ * Joseph_com : Constantes du protocole de réplication (big-endian, comme DataOutputStream).
+ * - Poignée de main suiveur → leader : époque connue (long) + offset à partir duquel reprendre (long).
+ * - Réponse leader → suiveur : époque du leader (long) + offset réel de départ (long)
+ *   + taille d'un instantané (long, 0 sans instantané), puis l'instantané éventuel et enfin
+ *   le journal en flux continu à partir de cet offset.
+ *   Un instantané (joueurs puis matchs actuels) remplace le début du journal quand celui-ci a été tronqué.
+ * - Acquittement suiveur → leader, après chaque bloc appliqué et sauvegardé : offset atteint (long).
+ *   Le leader tronque le début du journal acquitté par tous les suiveurs connectés.
+ * - Enregistrement : longueur du corps (int) + type (byte) + champs.
+ *   PLAYER : id, level, score (int), longueur du pseudo (int), pseudo en UTF-8.
+ *   MATCH  : id, player1Id, player2Id, scorePlayer1, scorePlayer2 (int), date en jour epoch (long).
+ *   MATCH_AMENDED : même corps que MATCH, nouveaux scores d'un match existant.
+ *   MATCH_DELETED : id (int).
+ * Les enregistrements PLAYER et MATCH servent aussi de format binaire d'export (voir export.StreamingExporter).
+ */
+public final class ReplicationProtocol {
+
+    public static final byte PLAYER = 1;
+    public static final byte MATCH = 2;
+    static final byte MATCH_AMENDED = 3;
+    static final byte MATCH_DELETED = 4;
+
+    // Joseph_com : Taille de la poignée de main, de l'en-tête de réponse et d'un acquittement
+    static final int HANDSHAKE_SIZE = 16;
+    static final int RESPONSE_SIZE = 24;
+    static final int ACK_SIZE = Long.BYTES;
+
+    // Joseph_com : Taille du préfixe de longueur d'un enregistrement
+    public static final int LENGTH_PREFIX = 4;
+
+    // Joseph_com : Taille maximale d'un corps d'enregistrement (protection contre un flux corrompu)
+    static final int MAX_RECORD_SIZE = 1 << 20;
+
+    // Joseph_com : Taille du corps d'un match (type + 5 int + 1 long)
+    public static final int MATCH_BODY_SIZE = 1 + 5 * Integer.BYTES + Long.BYTES;
+
+    // Joseph_com : Taille du corps d'une suppression (type + id)
+    static final int DELETION_BODY_SIZE = 1 + Integer.BYTES;
+
+    private ReplicationProtocol() {
+    }
+}
@@ -0,0 +1,31 @@
+package org.entreprise.scheduling;
+
+import org.entreprise.model.MatchRequest;
+
+import java.time.LocalDate;
+
+/**
+ * Joseph_com : Rencontre prévue par le calendrier (pas encore jouée).
+ *
+ * @param round     numéro de journée (0 = première)
+ * @param player1Id ID du joueur 1 (joueur "à domicile", alterné d'une journée à l'autre)
+ * @param player2Id ID du joueur 2
+ */
+public record Fixture(int round, int player1Id, int player2Id) {
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Demande de création du match une fois le résultat connu (import en masse)
+    // ─────────────────────────────────────────────
+    /**
+     * @param scorePlayer1 score du joueur 1
+     * @param scorePlayer2 score du joueur 2
+     * @param date         date du match (null = date du jour)
+     */
+    public MatchRequest toRequest(int scorePlayer1, int scorePlayer2, LocalDate date) {
+        return new MatchRequest(player1Id, player2Id, scorePlayer1, scorePlayer2, date);
+    }
+
+    public MatchRequest toRequest(int scorePlayer1, int scorePlayer2) {
+        return toRequest(scorePlayer1, scorePlayer2, null);
+    }
+}
@@ -0,0 +1,177 @@
+package org.entreprise.scheduling;
+
+import org.entreprise.exceptions.InvalidMatchException;
+import org.entreprise.exceptions.PlayerNotFoundException;
+import org.entreprise.model.Match;
+import org.entreprise.scoring.RosterColumns;
+import org.entreprise.service.MatchService;
+import org.entreprise.service.PlayerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Joseph_com : Calendrier d'une ligue : un round-robin par groupe, joués en parallèle journée par journée.
+ * - Groupes : toute la ligue, ou des tranches de niveau (ex. niveaux 1-3, 4-6...) qui ne se rencontrent pas.
+ * - La journée r de la ligue regroupe la journée r de chaque groupe (un groupe plus petit a fini plus tôt).
+ * - Les rencontres sont générées à la demande (voir RoundRobinSchedule) : mémoire en O(nombre de joueurs).
+ * - partition(w, W) donne au travailleur w une plage contiguë de journées : chaque rencontre
+ *   est attribuée à exactement un travailleur, sans coordination.
+ * Le calendrier est un instantané de l'effectif au moment de sa création.
+ */
+public final class LeagueSchedule {
+
+    // Joseph_com : Logger pour tracer la création des calendriers
+    private static final Logger logger = LoggerFactory.getLogger(LeagueSchedule.class);
+
+    // Joseph_com : Groupes, par tranche de niveau croissante
+    private final List<RoundRobinSchedule> groups;
+
+    private LeagueSchedule(List<RoundRobinSchedule> groups) {
+        this.groups = List.copyOf(groups);
+        logger.info("Calendrier créé : {} groupe(s), {} journée(s), {} rencontre(s).",
+                this.groups.size(), getRoundCount(), getFixtureCount());
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Tous les joueurs du tournoi dans un seul groupe
+    // ─────────────────────────────────────────────
+    public static LeagueSchedule of(PlayerService playerService) {
+        RosterColumns roster = playerService.getRosterColumns();
+        int[] ids = new int[roster.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = roster.idAt(i);
+        }
+        return new LeagueSchedule(List.of(new RoundRobinSchedule(ids)));
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Un groupe par tranche de niveau : niveaux [1, bandWidth], [bandWidth + 1, 2 * bandWidth]...
+    // ─────────────────────────────────────────────
+    /**
+     * @param playerService service des joueurs
+     * @param bandWidth     nombre de niveaux par groupe (>= 1)
+     */
+    public static LeagueSchedule byLevelBands(PlayerService playerService, int bandWidth) {
+        if (bandWidth < 1) {
+            throw new IllegalArgumentException("La largeur d'une tranche de niveau doit être >= 1 : " + bandWidth);
+        }
+        RosterColumns roster = playerService.getRosterColumns();
+        TreeMap<Integer, List<Integer>> bands = new TreeMap<>();
+        for (int i = 0; i < roster.size(); i++) {
+            int band = Math.floorDiv(roster.levelAt(i) - 1, bandWidth);
+            bands.computeIfAbsent(band, b -> new ArrayList<>()).add(roster.idAt(i));
+        }
+
+        List<RoundRobinSchedule> groups = new ArrayList<>(bands.size());
+        for (List<Integer> ids : bands.values()) {
+            groups.add(new RoundRobinSchedule(ids.stream().mapToInt(Integer::intValue).toArray()));
+        }
+        return new LeagueSchedule(groups);
+    }
+
+    public List<RoundRobinSchedule> getGroups() {
+        return groups;
+    }
+
+    /**
+     * @return nombre de journées (celui du plus grand groupe)
+     */
+    public int getRoundCount() {
+        int rounds = 0;
+        for (RoundRobinSchedule group : groups) {
+            rounds = Math.max(rounds, group.getRoundCount());
+        }
+        return rounds;
+    }
+
+    public long getFixtureCount() {
+        long count = 0;
+        for (RoundRobinSchedule group : groups) {
+            count += group.getFixtureCount();
+        }
+        return count;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Flux paresseux des rencontres, journée par journée
+    // ─────────────────────────────────────────────
+    public Stream<Fixture> fixtures() {
+        return rounds(0, getRoundCount());
+    }
+
+    public Stream<Fixture> round(int round) {
+        return rounds(round, round + 1);
+    }
+
+    /**
+     * @param fromRound première journée (incluse)
+     * @param toRound   dernière journée (exclue)
+     */
+    public Stream<Fixture> rounds(int fromRound, int toRound) {
+        if (fromRound < 0 || toRound > getRoundCount() || fromRound > toRound) {
+            throw new IllegalArgumentException("Journées hors calendrier : [" + fromRound + ", " + toRound
+                    + ") sur " + getRoundCount());
+        }
+        if (groups.size() == 1) {
+            return groups.get(0).rounds(fromRound, toRound);
+        }
+        return IntStream.range(fromRound, toRound).boxed()
+                .flatMap(round -> groups.stream()
+                        .filter(group -> round < group.getRoundCount())
+                        .flatMap(group -> group.round(round)));
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Part du calendrier d'un travailleur : plage contiguë de journées
+    // ─────────────────────────────────────────────
+    /**
+     * @param worker  numéro du travailleur (0 <= worker < workers)
+     * @param workers nombre de travailleurs
+     * @return rencontres des journées attribuées à ce travailleur
+     */
+    public Stream<Fixture> partition(int worker, int workers) {
+        if (workers < 1 || worker < 0 || worker >= workers) {
+            throw new IllegalArgumentException("Travailleur invalide : " + worker + " sur " + workers);
+        }
+        long rounds = getRoundCount();
+        return rounds((int) (rounds * worker / workers), (int) (rounds * (worker + 1) / workers));
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Journée prévue pour une rencontre (-1 si elle n'est pas au calendrier)
+    // ─────────────────────────────────────────────
+    public int roundOf(int playerId, int opponentId) {
+        for (RoundRobinSchedule group : groups) {
+            if (group.hasPlayer(playerId)) {
+                return group.roundOf(playerId, opponentId);
+            }
+        }
+        return -1;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Enregistre le résultat d'une rencontre du calendrier dans le MatchService
+    // ─────────────────────────────────────────────
+    /**
+     * @param matchService service des matchs du même tournoi
+     * @param fixture      rencontre jouée
+     * @param scorePlayer1 score du joueur 1 de la rencontre
+     * @param scorePlayer2 score du joueur 2 de la rencontre
+     * @return le match créé
+     * @throws InvalidMatchException   si la rencontre n'est pas au calendrier (ou match invalide)
+     * @throws PlayerNotFoundException si un joueur a été retiré du tournoi
+     */
+    public Match recordResult(MatchService matchService, Fixture fixture, int scorePlayer1, int scorePlayer2)
+            throws InvalidMatchException, PlayerNotFoundException {
+        if (roundOf(fixture.player1Id(), fixture.player2Id()) != fixture.round()) {
+            throw new InvalidMatchException("Rencontre absente du calendrier : " + fixture);
+        }
+        return matchService.createMatch(fixture.player1Id(), fixture.player2Id(), scorePlayer1, scorePlayer2);
+    }
+}
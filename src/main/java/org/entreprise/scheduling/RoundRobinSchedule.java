@@ -0,0 +1,197 @@
+package org.entreprise.scheduling;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Joseph_com : Calendrier round-robin d'un groupe de joueurs, par la méthode du cercle.
+ * - Les joueurs occupent des positions 0..M-1 (M pair ; un exempt fictif est ajouté si le groupe est impair).
+ * - À la journée r, la position 0 est fixe et les autres tournent d'un cran : le slot s (s >= 1)
+ *   contient la position 1 + ((s - 1 + r) mod (M - 1)), et le slot k rencontre le slot M - 1 - k.
+ * - Chaque rencontre est calculée en O(1) à partir de (journée, index dans la journée) :
+ *   rien n'est matérialisé, la mémoire ne dépend pas du nombre de rencontres (N(N-1)/2).
+ * - Le flux est découpable par plages de rencontres : un flux parallèle répartit les journées entre les threads.
+ * Instance immuable, utilisable depuis plusieurs threads.
+ */
+public final class RoundRobinSchedule {
+
+    // Joseph_com : IDs des joueurs triés (position = index)
+    private final int[] playerIds;
+
+    // Joseph_com : Nombre de positions (pair) et nombre de rencontres par journée, exempt compris
+    private final int positions;
+    private final int pairsPerRound;
+
+    // Joseph_com : Position de l'exempt (-1 si le groupe est pair)
+    private final int bye;
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Constructeur
+    // ─────────────────────────────────────────────
+    /**
+     * @param playerIds IDs des joueurs du groupe (distincts, ordre indifférent)
+     */
+    public RoundRobinSchedule(int[] playerIds) {
+        int[] sorted = playerIds.clone();
+        Arrays.sort(sorted);
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] == sorted[i - 1]) {
+                throw new IllegalArgumentException("Joueur en double dans le calendrier : " + sorted[i]);
+            }
+        }
+        this.playerIds = sorted;
+        this.bye = (sorted.length % 2 == 1) ? sorted.length : -1;
+        this.positions = sorted.length + (bye >= 0 ? 1 : 0);
+        this.pairsPerRound = positions / 2;
+    }
+
+    public int getPlayerCount() {
+        return playerIds.length;
+    }
+
+    /**
+     * @return nombre de journées (N - 1 si N est pair, N sinon)
+     */
+    public int getRoundCount() {
+        return positions < 2 ? 0 : positions - 1;
+    }
+
+    /**
+     * @return nombre de rencontres par journée (hors exempt)
+     */
+    public int getFixturesPerRound() {
+        return playerIds.length / 2;
+    }
+
+    /**
+     * @return nombre total de rencontres, N(N-1)/2
+     */
+    public long getFixtureCount() {
+        long n = playerIds.length;
+        return n * (n - 1) / 2;
+    }
+
+    public boolean hasPlayer(int playerId) {
+        return Arrays.binarySearch(playerIds, playerId) >= 0;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Flux des rencontres
+    // ─────────────────────────────────────────────
+    public Stream<Fixture> fixtures() {
+        return rounds(0, getRoundCount());
+    }
+
+    public Stream<Fixture> round(int round) {
+        return rounds(round, round + 1);
+    }
+
+    /**
+     * @param fromRound première journée (incluse)
+     * @param toRound   dernière journée (exclue)
+     * @return rencontres des journées [fromRound, toRound), journée par journée
+     */
+    public Stream<Fixture> rounds(int fromRound, int toRound) {
+        if (fromRound < 0 || toRound > getRoundCount() || fromRound > toRound) {
+            throw new IllegalArgumentException("Journées hors calendrier : [" + fromRound + ", " + toRound
+                    + ") sur " + getRoundCount());
+        }
+        return StreamSupport.stream(new FixtureSpliterator(
+                (long) fromRound * pairsPerRound, (long) toRound * pairsPerRound), false);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Journée où deux joueurs se rencontrent, en O(log N)
+    // Inversion de la rotation : position p (p >= 1) au slot 1 + ((p - 1 - r) mod L), L = M - 1
+    // ─────────────────────────────────────────────
+    /**
+     * @return numéro de journée, ou -1 si l'un des joueurs n'est pas dans ce groupe
+     */
+    public int roundOf(int playerId, int opponentId) {
+        int a = Arrays.binarySearch(playerIds, playerId);
+        int b = Arrays.binarySearch(playerIds, opponentId);
+        if (a < 0 || b < 0 || a == b) return -1;
+        int low = Math.min(a, b);
+        int high = Math.max(a, b);
+        int cycle = positions - 1;
+        if (low == 0) {
+            // Joseph_com : La position fixe rencontre celle qui est au dernier slot
+            return high % cycle;
+        }
+        // Joseph_com : Slots k et M-1-k : (low - 1 - r) + (high - 1 - r) = L - 2 (mod L), L impair donc 2 inversible
+        long twice = (long) (low - 1) + (high - 1) + 2;
+        return (int) Math.floorMod(twice * ((cycle + 1) / 2), (long) cycle);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Rencontre d'index "pair" dans une journée (null si elle implique l'exempt)
+    // ─────────────────────────────────────────────
+    private Fixture fixtureAt(int round, int pair) {
+        int home = positionAtSlot(round, pair);
+        int away = positionAtSlot(round, positions - 1 - pair);
+        if (home == bye || away == bye) return null;
+        // Joseph_com : Alternance domicile / extérieur d'une journée à l'autre
+        if (((round + pair) & 1) == 1) {
+            int swap = home;
+            home = away;
+            away = swap;
+        }
+        return new Fixture(round, playerIds[home], playerIds[away]);
+    }
+
+    private int positionAtSlot(int round, int slot) {
+        if (slot == 0) return 0;
+        return 1 + (slot - 1 + round) % (positions - 1);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Parcours d'une plage d'index globaux (journée * rencontresParJournée + rencontre)
+    // Découpage en deux moitiés pour les flux parallèles
+    // ─────────────────────────────────────────────
+    private final class FixtureSpliterator implements Spliterator<Fixture> {
+        private long index;
+        private final long end;
+
+        FixtureSpliterator(long index, long end) {
+            this.index = index;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Fixture> action) {
+            while (index < end) {
+                long current = index++;
+                Fixture fixture = fixtureAt((int) (current / pairsPerRound), (int) (current % pairsPerRound));
+                if (fixture != null) {
+                    action.accept(fixture);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator<Fixture> trySplit() {
+            long middle = (index + end) >>> 1;
+            if (middle - index < 1024) return null;
+            FixtureSpliterator prefix = new FixtureSpliterator(index, middle);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - index;
+        }
+
+        @Override
+        public int characteristics() {
+            // Joseph_com : Taille exacte seulement sans exempt (sinon une rencontre par journée est sautée)
+            int sized = bye < 0 ? Spliterator.SIZED | Spliterator.SUBSIZED : 0;
+            return Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE | Spliterator.DISTINCT | sized;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package org.entreprise.scoring;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Joseph_com : Calcul des scores par lots et sélection du top N sur tableaux primitifs.
+ * - Le noyau vectoriel est utilisé si le module jdk.incubator.vector est chargé
+ *   (lancer la JVM avec {@code --add-modules jdk.incubator.vector}), sinon repli scalaire.
+ * - Le repli peut être forcé avec {@code -Dtournament.scoring.scalar=true}.
+ */
+public final class BatchScoring {
+
+    // Joseph_com : Logger pour indiquer le noyau retenu au démarrage
+    private static final Logger logger = LoggerFactory.getLogger(BatchScoring.class);
+
+    // Joseph_com : En dessous de cette taille, la boucle scalaire est aussi rapide
+    private static final int VECTOR_THRESHOLD = 64;
+
+    private static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+            && !Boolean.getBoolean("tournament.scoring.scalar");
+
+    static {
+        if (VECTORIZED) {
+            logger.info("Calcul des scores vectorisé ({} int par vecteur).", VectorScoringKernel.laneCount());
+        } else {
+            logger.info("API Vector indisponible : calcul des scores en boucle scalaire.");
+        }
+    }
+
+    private BatchScoring() {
+    }
+
+    /**
+     * @return true si le noyau vectoriel est utilisé
+     */
+    public static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Formule bilinéaire sur tout le lot (blocs vectoriels + reste scalaire)
+    // ─────────────────────────────────────────────
+    static void bilinear(BilinearFormula formula, int[] levels, int[] rawScores, int[] out, int length) {
+        int i = 0;
+        if (VECTORIZED && length >= VECTOR_THRESHOLD) {
+            i = VectorScoringKernel.bilinear(formula, levels, rawScores, out, length);
+        }
+        for (; i < length; i++) {
+            out[i] = formula.score(levels[i], rawScores[i]);
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Index des k meilleures valeurs (décroissant, index croissant en cas d'égalité)
+    // Tas binaire de k index sur tableau primitif : O(n log k), sans objet ni comparateur
+    // ─────────────────────────────────────────────
+    /**
+     * @param values valeurs à classer
+     * @param length nombre de valeurs à considérer
+     * @param k      nombre d'index voulus
+     * @return index des k meilleures valeurs, dans l'ordre du classement
+     */
+    public static int[] topIndices(int[] values, int length, int k) {
+        int size = Math.min(k, length);
+        if (size <= 0) return new int[0];
+
+        // Joseph_com : Tas dont la racine est le moins bon des candidats retenus
+        int[] heap = new int[size];
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            if (count < size) {
+                heap[count] = i;
+                siftUp(heap, count++, values);
+            } else if (better(i, heap[0], values)) {
+                heap[0] = i;
+                siftDown(heap, size, values);
+            }
+        }
+
+        // Joseph_com : Extraction du moins bon au meilleur, rangée depuis la fin
+        int[] ranked = new int[size];
+        for (int n = size; n > 0; n--) {
+            ranked[n - 1] = heap[0];
+            heap[0] = heap[n - 1];
+            siftDown(heap, n - 1, values);
+        }
+        return ranked;
+    }
+
+    // Joseph_com : a est mieux classé que b
+    private static boolean better(int a, int b, int[] values) {
+        return values[a] > values[b] || (values[a] == values[b] && a < b);
+    }
+
+    private static void siftUp(int[] heap, int position, int[] values) {
+        int item = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!better(heap[parent], item, values)) break;
+            heap[position] = heap[parent];
+            position = parent;
+        }
+        heap[position] = item;
+    }
+
+    private static void siftDown(int[] heap, int size, int[] values) {
+        if (size == 0) return;
+        int item = heap[0];
+        int position = 0;
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            int right = child + 1;
+            if (right < size && better(heap[child], heap[right], values)) {
+                child = right;
+            }
+            if (!better(item, heap[child], values)) break;
+            heap[position] = heap[child];
+            position = child;
+        }
+        heap[position] = item;
+    }
+}
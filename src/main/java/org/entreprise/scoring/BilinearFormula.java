@@ -0,0 +1,34 @@
+package org.entreprise.scoring;
+
+/**
+ * Joseph_com : Formule de la forme
+ * {@code product * niveau * scoreBrut + scoreWeight * scoreBrut + levelWeight * niveau + constant}.
+ * Couvre la formule historique (score brut * niveau) et ses variantes pondérées,
+ * et s'applique par lots avec l'API Vector (repli scalaire sinon).
+ * Les calculs débordent comme l'arithmétique int de Java, à l'identique en vectoriel et en scalaire.
+ *
+ * @param product     coefficient du produit niveau * score brut
+ * @param scoreWeight coefficient du score brut
+ * @param levelWeight coefficient du niveau
+ * @param constant    terme constant
+ */
+public record BilinearFormula(int product, int scoreWeight, int levelWeight, int constant) implements ScoringFormula {
+
+    // Joseph_com : Formule de Player.calculateScore() : score brut * niveau
+    public static final BilinearFormula LEVEL_TIMES_SCORE = new BilinearFormula(1, 0, 0, 0);
+
+    @Override
+    public int score(int level, int rawScore) {
+        return product * level * rawScore + scoreWeight * rawScore + levelWeight * level + constant;
+    }
+
+    @Override
+    public void scoreAll(int[] levels, int[] rawScores, int[] out, int length) {
+        BatchScoring.bilinear(this, levels, rawScores, out, length);
+    }
+
+    // Joseph_com : true si la formule se réduit à niveau * score brut (chemin le plus court)
+    boolean isPlainProduct() {
+        return product == 1 && scoreWeight == 0 && levelWeight == 0 && constant == 0;
+    }
+}
@@ -0,0 +1,74 @@
+package org.entreprise.scoring;
+
+import org.entreprise.interfaces.ScoringStrategy;
+import org.entreprise.model.Match;
+import org.entreprise.model.Player;
+import org.entreprise.model.PlayerRecord;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+/**
+ * Joseph_com : Forme récente : résultats des matchs pondérés par leur ancienneté.
+ * Chaque match rapporte 300 (victoire) ou 100 (nul) points, divisés par deux tous les halfLifeDays jours.
+ */
+public class DecayedResultsStrategy implements ScoringStrategy {
+
+    // Joseph_com : Demi-vie par défaut (jours)
+    public static final int DEFAULT_HALF_LIFE_DAYS = 30;
+
+    private final int halfLifeDays;
+    private final Clock clock;
+
+    // Joseph_com : Constructeur sans argument (chargement par ServiceLoader)
+    public DecayedResultsStrategy() {
+        this(DEFAULT_HALF_LIFE_DAYS, Clock.systemDefaultZone());
+    }
+
+    /**
+     * @param halfLifeDays nombre de jours après lesquels un résultat compte pour moitié
+     * @param clock        horloge donnant la date du jour
+     */
+    public DecayedResultsStrategy(int halfLifeDays, Clock clock) {
+        if (halfLifeDays <= 0) {
+            throw new IllegalArgumentException("La demi-vie doit être positive : " + halfLifeDays);
+        }
+        this.halfLifeDays = halfLifeDays;
+        this.clock = clock;
+    }
+
+    @Override
+    public String name() {
+        return "decayed-results";
+    }
+
+    @Override
+    public int score(Player player, PlayerRecord record) {
+        long today = evaluationDay();
+        double total = 0;
+        for (Match match : record.matches()) {
+            int base = resultPoints(match, player.getId());
+            if (base == 0) continue;
+            long age = Math.max(0, today - match.getDate().toEpochDay());
+            total += base * Math.pow(0.5, (double) age / halfLifeDays);
+        }
+        return (int) Math.round(total);
+    }
+
+    // Joseph_com : Le poids des matchs baisse chaque jour : le score en cache ne vaut que pour la journée
+    @Override
+    public boolean isTimeDependent() {
+        return true;
+    }
+
+    @Override
+    public long evaluationDay() {
+        return LocalDate.now(clock).toEpochDay();
+    }
+
+    private static int resultPoints(Match match, int playerId) {
+        Player winner = match.getWinner();
+        if (winner == null) return 100;
+        return winner.getId() == playerId ? 300 : 0;
+    }
+}
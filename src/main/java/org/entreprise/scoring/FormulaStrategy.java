@@ -0,0 +1,29 @@
+package org.entreprise.scoring;
+
+import org.entreprise.interfaces.ScoringStrategy;
+import org.entreprise.model.Player;
+import org.entreprise.model.PlayerRecord;
+
+/**
+ * Joseph_com : Stratégie qui ne dépend que du niveau et du score brut (formule calculable par lots).
+ * Les classements l'appliquent directement sur les colonnes primitives de l'effectif.
+ *
+ * @param name    nom de la stratégie
+ * @param formula formule appliquée
+ */
+public record FormulaStrategy(String name, ScoringFormula formula) implements ScoringStrategy {
+
+    // Joseph_com : Stratégie historique : score brut * niveau
+    public static final FormulaStrategy LEVEL_X_SCORE =
+            new FormulaStrategy("level-x-score", BilinearFormula.LEVEL_TIMES_SCORE);
+
+    @Override
+    public int score(Player player, PlayerRecord record) {
+        return formula.score(player.getLevel(), player.getScore());
+    }
+
+    @Override
+    public boolean usesMatchHistory() {
+        return false;
+    }
+}
@@ -0,0 +1,42 @@
+package org.entreprise.scoring;
+
+import org.entreprise.interfaces.ScoringStrategy;
+import org.entreprise.model.Match;
+import org.entreprise.model.Player;
+import org.entreprise.model.PlayerRecord;
+
+/**
+ * Joseph_com : Classement de performance (formule linéaire des échecs) :
+ * moyenne des cotes des adversaires + 400 * (victoires - défaites) / matchs.
+ * La cote d'un adversaire est dérivée de son niveau (1000 + 100 * niveau) ;
+ * sans match, le joueur garde sa propre cote de niveau.
+ */
+public class PerformanceRatingStrategy implements ScoringStrategy {
+
+    @Override
+    public String name() {
+        return "performance-rating";
+    }
+
+    @Override
+    public int score(Player player, PlayerRecord record) {
+        int count = record.matches().size();
+        if (count == 0) return levelRating(player);
+
+        long opponents = 0;
+        for (Match match : record.matches()) {
+            Player opponent = match.getPlayer1().getId() == player.getId() ? match.getPlayer2() : match.getPlayer1();
+            opponents += levelRating(opponent);
+        }
+        return (int) Math.round((opponents + 400.0 * (record.wins() - record.losses())) / count);
+    }
+
+    @Override
+    public boolean usesOpponentData() {
+        return true;
+    }
+
+    private static int levelRating(Player player) {
+        return 1000 + 100 * player.getLevel();
+    }
+}
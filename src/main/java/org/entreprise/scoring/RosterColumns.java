@@ -0,0 +1,61 @@
+package org.entreprise.scoring;
+
+import org.entreprise.model.Player;
+
+import java.util.List;
+
+/**
+ * Joseph_com : Vue en colonnes d'un effectif (niveaux et scores bruts dans des tableaux primitifs).
+ * L'index d'un joueur dans les colonnes est son index dans la liste d'origine.
+ * Instantané immuable : à reconstruire après une modification de l'effectif.
+ */
+public final class RosterColumns {
+
+    private final int[] ids;
+    private final int[] levels;
+    private final int[] rawScores;
+
+    private RosterColumns(int[] ids, int[] levels, int[] rawScores) {
+        this.ids = ids;
+        this.levels = levels;
+        this.rawScores = rawScores;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Extraction des colonnes en une passe
+    // ─────────────────────────────────────────────
+    public static RosterColumns of(List<Player> players) {
+        int size = players.size();
+        int[] ids = new int[size];
+        int[] levels = new int[size];
+        int[] rawScores = new int[size];
+        for (int i = 0; i < size; i++) {
+            Player player = players.get(i);
+            ids[i] = player.getId();
+            levels[i] = player.getLevel();
+            rawScores[i] = player.getScore();
+        }
+        return new RosterColumns(ids, levels, rawScores);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Scores calculés de tout l'effectif (un seul appel à la formule)
+    // ─────────────────────────────────────────────
+    public int[] score(ScoringFormula formula) {
+        int[] out = new int[ids.length];
+        formula.scoreAll(levels, rawScores, out, ids.length);
+        return out;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public int idAt(int index) {
+        return ids[index];
+    }
+
+    public int levelAt(int index) {
+        return levels[index];
+    }
+}
@@ -0,0 +1,209 @@
+package org.entreprise.scoring;
+
+import org.entreprise.interfaces.ScoreProvider;
+import org.entreprise.interfaces.ScoringStrategy;
+import org.entreprise.model.Match;
+import org.entreprise.model.Player;
+import org.entreprise.model.PlayerRecord;
+import org.entreprise.service.MatchListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Joseph_com : Cache des scores calculés d'un tournoi, selon sa stratégie courante.
+ * - Chaque score est tamponné par les versions de ses entrées : époque de la stratégie,
+ *   version du joueur (niveau/score), version de son historique de matchs
+ *   et, pour les stratégies qui lisent les adversaires, version de l'effectif ;
+ *   pour les stratégies qui dépendent de la date, jour d'évaluation.
+ *   Un tampon différent à la lecture = score périmé, recalculé à la demande.
+ * - L'historique des matchs par joueur est tenu ici (observateur du MatchService) :
+ *   un calcul ne prend jamais le verrou des services.
+ * - Un changement de stratégie recalcule tous les scores en parallèle.
+ */
+public class ScoreCache implements ScoreProvider, MatchListener {
+
+    // Joseph_com : Logger pour tracer les changements de stratégie
+    private static final Logger logger = LoggerFactory.getLogger(ScoreCache.class);
+
+    // Joseph_com : Stratégie courante et son numéro d'époque (publiés ensemble)
+    private record StrategyState(ScoringStrategy strategy, int epoch) {
+    }
+
+    // Joseph_com : Score en cache avec le tampon de ses entrées
+    private record CachedScore(int epoch, int playerVersion, long historyVersion, long rosterVersion, long day,
+                               int value) {
+    }
+
+    // Joseph_com : Historique mutable d'un joueur (protégé par son propre moniteur)
+    private static final class History {
+        private int wins;
+        private int losses;
+        private int draws;
+        private long pointsFor;
+        private long pointsAgainst;
+        // Joseph_com : ID du match → match, dans l'ordre de création (retrait et remplacement en O(1))
+        private final Map<Integer, Match> matches = new LinkedHashMap<>();
+        private volatile long version;
+
+        synchronized void add(Match match, int scored, int conceded) {
+            count(scored, conceded, 1);
+            matches.put(match.getId(), match);
+            version++;
+        }
+
+        synchronized void remove(Match match, int scored, int conceded) {
+            if (matches.remove(match.getId()) == null) return;
+            count(scored, conceded, -1);
+            version++;
+        }
+
+        // Joseph_com : Correction : l'ancien résultat est retiré des compteurs, le match garde sa place
+        synchronized void replace(Match previous, int oldScored, int oldConceded,
+                                  Match updated, int scored, int conceded) {
+            if (!matches.containsKey(previous.getId())) return;
+            count(oldScored, oldConceded, -1);
+            count(scored, conceded, 1);
+            matches.put(updated.getId(), updated);
+            version++;
+        }
+
+        private void count(int scored, int conceded, int sign) {
+            if (scored > conceded) wins += sign;
+            else if (scored < conceded) losses += sign;
+            else draws += sign;
+            pointsFor += sign * (long) scored;
+            pointsAgainst += sign * (long) conceded;
+        }
+
+        synchronized PlayerRecord snapshot(int playerId) {
+            return new PlayerRecord(playerId, wins, losses, draws, pointsFor, pointsAgainst,
+                    List.copyOf(matches.values()));
+        }
+    }
+
+    private volatile StrategyState state;
+    private final Map<Integer, History> histories = new ConcurrentHashMap<>();
+    private final Map<Integer, CachedScore> scores = new ConcurrentHashMap<>();
+    private final AtomicLong rosterVersion = new AtomicLong();
+
+    // Joseph_com : Compteurs de supervision
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Constructeur
+    // ─────────────────────────────────────────────
+    public ScoreCache(ScoringStrategy strategy) {
+        this.state = new StrategyState(strategy, 0);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Score d'un joueur : valeur en cache si son tampon est à jour, sinon recalcul
+    // ─────────────────────────────────────────────
+    @Override
+    public int scoreOf(Player player) {
+        StrategyState current = state;
+        ScoringStrategy strategy = current.strategy();
+        int id = player.getId();
+
+        // Joseph_com : Les versions sont lues AVANT le calcul : un tampon n'est jamais plus récent que ses données
+        int playerVersion = player.getVersion();
+        History history = strategy.usesMatchHistory() ? histories.get(id) : null;
+        long historyVersion = history == null ? 0 : history.version;
+        long roster = strategy.usesOpponentData() ? rosterVersion.get() : 0;
+        long day = strategy.isTimeDependent() ? strategy.evaluationDay() : 0;
+
+        CachedScore cached = scores.get(id);
+        if (cached != null && cached.epoch() == current.epoch() && cached.playerVersion() == playerVersion
+                && cached.historyVersion() == historyVersion && cached.rosterVersion() == roster
+                && cached.day() == day) {
+            hits.incrementAndGet();
+            return cached.value();
+        }
+
+        misses.incrementAndGet();
+        PlayerRecord record = history == null ? PlayerRecord.empty(id) : history.snapshot(id);
+        int value = strategy.score(player, record);
+        scores.put(id, new CachedScore(current.epoch(), playerVersion, historyVersion, roster, day, value));
+        return value;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Change de stratégie et recalcule tous les scores en parallèle
+    // ─────────────────────────────────────────────
+    /**
+     * @param strategy nouvelle stratégie
+     * @param roster   joueurs dont le score doit être recalculé tout de suite
+     */
+    public void setStrategy(ScoringStrategy strategy, Collection<Player> roster) {
+        synchronized (this) {
+            state = new StrategyState(strategy, state.epoch() + 1);
+        }
+        long start = System.nanoTime();
+        roster.parallelStream().forEach(this::scoreOf);
+        logger.info("Stratégie de score '{}' appliquée : {} score(s) recalculé(s) en {} ms.",
+                strategy.name(), roster.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public ScoringStrategy getStrategy() {
+        return state.strategy();
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Un joueur a été ajouté ou modifié : périme les scores qui lisent les adversaires
+    // ─────────────────────────────────────────────
+    public void onRosterChanged() {
+        rosterVersion.incrementAndGet();
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Nouveau match : l'historique des deux joueurs change de version
+    // ─────────────────────────────────────────────
+    @Override
+    public void onMatchCreated(Match match) {
+        history(match.getPlayer1().getId()).add(match, match.getScorePlayer1(), match.getScorePlayer2());
+        history(match.getPlayer2().getId()).add(match, match.getScorePlayer2(), match.getScorePlayer1());
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Match supprimé ou corrigé : delta sur les compteurs des deux joueurs
+    // ─────────────────────────────────────────────
+    @Override
+    public void onMatchRemoved(Match match) {
+        history(match.getPlayer1().getId()).remove(match, match.getScorePlayer1(), match.getScorePlayer2());
+        history(match.getPlayer2().getId()).remove(match, match.getScorePlayer2(), match.getScorePlayer1());
+    }
+
+    @Override
+    public void onMatchUpdated(Match previous, Match updated) {
+        history(updated.getPlayer1().getId()).replace(previous, previous.getScorePlayer1(), previous.getScorePlayer2(),
+                updated, updated.getScorePlayer1(), updated.getScorePlayer2());
+        history(updated.getPlayer2().getId()).replace(previous, previous.getScorePlayer2(), previous.getScorePlayer1(),
+                updated, updated.getScorePlayer2(), updated.getScorePlayer1());
+    }
+
+    /**
+     * @return nombre de lectures servies par le cache
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return nombre de scores (re)calculés
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private History history(int playerId) {
+        return histories.computeIfAbsent(playerId, id -> new History());
+    }
+}
@@ -0,0 +1,33 @@
+package org.entreprise.scoring;
+
+/**
+ * Joseph_com : Formule de score calculable par lots.
+ * Une formule reçoit le niveau et le score brut d'un joueur (les mêmes données que {@code Scorable})
+ * et peut être appliquée d'un coup à des tableaux primitifs couvrant tout l'effectif.
+ * Une formule quelconque (lambda) est appliquée en boucle scalaire ;
+ * {@link BilinearFormula} est vectorisée quand l'API Vector est disponible.
+ */
+@FunctionalInterface
+public interface ScoringFormula {
+
+    /**
+     * @param level    niveau du joueur
+     * @param rawScore score brut du joueur
+     * @return score calculé
+     */
+    int score(int level, int rawScore);
+
+    /**
+     * Joseph_com : Calcule les scores de tout un effectif en une passe.
+     *
+     * @param levels    niveaux des joueurs
+     * @param rawScores scores bruts des joueurs
+     * @param out       scores calculés (même index que les entrées)
+     * @param length    nombre de joueurs à traiter
+     */
+    default void scoreAll(int[] levels, int[] rawScores, int[] out, int length) {
+        for (int i = 0; i < length; i++) {
+            out[i] = score(levels[i], rawScores[i]);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package org.entreprise.scoring;
+
+import org.entreprise.interfaces.ScoringStrategy;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceLoader;
+
+/**
+ * Joseph_com : Catalogue des stratégies de score : stratégies fournies + celles déclarées par ServiceLoader.
+ */
+public final class ScoringStrategies {
+
+    private ScoringStrategies() {
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Recherche d'une stratégie par son nom
+    // ─────────────────────────────────────────────
+    public static Optional<ScoringStrategy> byName(String name) {
+        return Optional.ofNullable(catalog().get(name));
+    }
+
+    /**
+     * @return noms des stratégies disponibles
+     */
+    public static List<String> names() {
+        return List.copyOf(catalog().keySet());
+    }
+
+    // Joseph_com : Les stratégies fournies ne peuvent pas être remplacées par un fournisseur externe
+    private static Map<String, ScoringStrategy> catalog() {
+        Map<String, ScoringStrategy> strategies = new LinkedHashMap<>();
+        for (ScoringStrategy builtIn : List.of(FormulaStrategy.LEVEL_X_SCORE, new WinRateStrategy(),
+                new DecayedResultsStrategy(), new PerformanceRatingStrategy())) {
+            strategies.put(builtIn.name(), builtIn);
+        }
+        for (ScoringStrategy provided : ServiceLoader.load(ScoringStrategy.class)) {
+            strategies.putIfAbsent(provided.name(), provided);
+        }
+        return strategies;
+    }
+}
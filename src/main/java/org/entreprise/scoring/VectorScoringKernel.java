@@ -0,0 +1,49 @@
+package org.entreprise.scoring;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Joseph_com : Noyau vectoriel (API Vector, module jdk.incubator.vector).
+ * Chargée uniquement si le module est présent au démarrage (voir BatchScoring) :
+ * aucune autre classe ne doit la référencer.
+ */
+final class VectorScoringKernel {
+
+    // Joseph_com : Largeur de vecteur préférée du processeur (8 int en AVX2, 16 en AVX-512...)
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    private VectorScoringKernel() {
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Traite les blocs complets ; retourne l'index du premier élément non traité
+    // ─────────────────────────────────────────────
+    static int bilinear(BilinearFormula formula, int[] levels, int[] rawScores, int[] out, int length) {
+        int bound = SPECIES.loopBound(length);
+        int step = SPECIES.length();
+        int i = 0;
+        if (formula.isPlainProduct()) {
+            for (; i < bound; i += step) {
+                IntVector level = IntVector.fromArray(SPECIES, levels, i);
+                IntVector raw = IntVector.fromArray(SPECIES, rawScores, i);
+                level.mul(raw).intoArray(out, i);
+            }
+            return i;
+        }
+        for (; i < bound; i += step) {
+            IntVector level = IntVector.fromArray(SPECIES, levels, i);
+            IntVector raw = IntVector.fromArray(SPECIES, rawScores, i);
+            level.mul(raw).mul(formula.product())
+                    .add(raw.mul(formula.scoreWeight()))
+                    .add(level.mul(formula.levelWeight()))
+                    .add(formula.constant())
+                    .intoArray(out, i);
+        }
+        return i;
+    }
+
+    static int laneCount() {
+        return SPECIES.length();
+    }
+}
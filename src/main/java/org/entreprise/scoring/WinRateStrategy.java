@@ -0,0 +1,23 @@
+package org.entreprise.scoring;
+
+import org.entreprise.interfaces.ScoringStrategy;
+import org.entreprise.model.Player;
+import org.entreprise.model.PlayerRecord;
+
+/**
+ * Joseph_com : Score brut * niveau pondéré par le taux de victoire.
+ * Facteur (0,5 + taux de victoire) : neutre (x1) sans match, x1,5 à 100 % de victoires, x0,5 à 0 %.
+ */
+public class WinRateStrategy implements ScoringStrategy {
+
+    @Override
+    public String name() {
+        return "win-rate";
+    }
+
+    @Override
+    public int score(Player player, PlayerRecord record) {
+        double rate = record.matchCount() == 0 ? 0.5 : record.winRate();
+        return (int) Math.round((long) player.getScore() * player.getLevel() * (0.5 + rate));
+    }
+}
@@ -0,0 +1,94 @@
+package org.entreprise.service;
+
+import java.util.Arrays;
+
+/**
+ * Joseph_com : Positions de la liste des matchs du MatchService, avec leurs pierres tombales.
+ * - ids[slot] : ID du match de la position (la liste est triée par ID, = ordre de création).
+ * - Un arbre de Fenwick compte les positions vivantes : position du k-ième match vivant en O(log n)
+ *   (pagination), marquage d'une suppression en O(log n), ajout en fin en O(log n) amorti.
+ * Non synchronisée : protégée par le verrou du MatchService.
+ */
+final class LiveSlots {
+
+    private int[] ids = new int[16];
+    private int[] tree = new int[17];
+    private int size;
+    private int live;
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Ajout d'une position vivante en fin de liste
+    // Le nœud i de l'arbre couvre (i - lowbit(i), i] : sa valeur se déduit des préfixes existants
+    // ─────────────────────────────────────────────
+    void append(int id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            tree = Arrays.copyOf(tree, size * 2 + 1);
+        }
+        ids[size] = id;
+        int node = size + 1;
+        tree[node] = 1 + prefix(node - 1) - prefix(node - (node & -node));
+        size++;
+        live++;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Position d'un ID par recherche dichotomique (-1 si absent)
+    // ─────────────────────────────────────────────
+    int slotOf(int id) {
+        int slot = Arrays.binarySearch(ids, 0, size, id);
+        return slot >= 0 ? slot : -1;
+    }
+
+    // Joseph_com : Marque une position comme supprimée (à n'appeler qu'une fois par position)
+    void kill(int slot) {
+        for (int node = slot + 1; node <= size; node += node & -node) {
+            tree[node]--;
+        }
+        live--;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Position du k-ième match vivant (k à partir de 0, k < live) : descente dans l'arbre
+    // ─────────────────────────────────────────────
+    int slotOfLive(int k) {
+        int node = 0;
+        int remaining = k + 1;
+        for (int step = Integer.highestOneBit(Math.max(1, size)); step > 0; step >>= 1) {
+            int next = node + step;
+            if (next <= size && tree[next] < remaining) {
+                node = next;
+                remaining -= tree[next];
+            }
+        }
+        return node;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int live() {
+        return live;
+    }
+
+    // Joseph_com : Nombre de pierres tombales (positions supprimées pas encore compactées)
+    int dead() {
+        return size - live;
+    }
+
+    // Joseph_com : Vide la structure (avant reconstruction après compactage)
+    void clear() {
+        size = 0;
+        live = 0;
+        Arrays.fill(tree, 0);
+    }
+
+    private int prefix(int node) {
+        int sum = 0;
+        for (; node > 0; node -= node & -node) {
+            sum += tree[node];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,11 @@
+package org.entreprise.service;
+
+/**
+ * Joseph_com : Avancement du chargement de l'historique des matchs (voir MatchService.loadInBackground).
+ *
+ * @param loadedMatches matchs déjà chargés et interrogeables
+ * @param complete      true une fois tout l'historique chargé
+ * @param elapsedMillis durée du chargement (jusqu'à maintenant, ou totale s'il est terminé)
+ */
+public record LoadProgress(int loadedMatches, boolean complete, long elapsedMillis) {
+}
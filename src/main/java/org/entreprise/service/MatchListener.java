@@ -0,0 +1,71 @@
+package org.entreprise.service;
+
+import org.entreprise.model.Match;
+
+import java.util.List;
+
+/**
+ * Joseph_com : Observateur des matchs du MatchService.
+ * Permet aux structures dérivées (classements, statistiques, index) de se mettre à jour
+ * de façon incrémentale au lieu de reparcourir tout l'historique.
+ * Les notifications sont faites sous le verrou du MatchService, dans l'ordre des modifications.
+ * Corrections et suppressions sont transmises comme des deltas : un observateur retire l'ancienne
+ * contribution du match au lieu de tout recalculer.
+ * Les vues dérivées ne couvrent que les matchs en mémoire : un match archivé leur est retiré
+ * (voir {@link #onMatchesArchived(List)}), comme il le serait au redémarrage suivant.
+ */
+public interface MatchListener {
+
+    /**
+     * Joseph_com : Appelé pour chaque match ajouté (y compris les matchs existants au moment de l'abonnement).
+     *
+     * @param match le match ajouté
+     */
+    void onMatchCreated(Match match);
+
+    /**
+     * Joseph_com : Appelé pour un lot de matchs ajoutés d'un coup (import en masse, rejeu à l'abonnement).
+     * Par défaut, chaque match est transmis à {@link #onMatchCreated(Match)} ;
+     * un observateur peut la redéfinir pour traiter le lot en une seule fois.
+     *
+     * @param matches les matchs ajoutés, dans l'ordre de création
+     */
+    default void onMatchesCreated(List<Match> matches) {
+        for (Match match : matches) {
+            onMatchCreated(match);
+        }
+    }
+
+    /**
+     * Joseph_com : Appelé quand un match est supprimé : sa contribution doit être retirée.
+     *
+     * @param match le match tel qu'il était avant suppression
+     */
+    void onMatchRemoved(Match match);
+
+    /**
+     * Joseph_com : Appelé quand le résultat d'un match est corrigé (même ID, mêmes joueurs).
+     * Par défaut, l'ancien résultat est retiré puis le nouveau ajouté ;
+     * un observateur qui garde l'ordre des matchs peut le redéfinir pour remplacer sur place.
+     *
+     * @param previous le match avant correction
+     * @param updated  le match corrigé
+     */
+    default void onMatchUpdated(Match previous, Match updated) {
+        onMatchRemoved(previous);
+        onMatchCreated(updated);
+    }
+
+    /**
+     * Joseph_com : Appelé quand des matchs quittent la mémoire pour l'archive (voir MatchService.archiveBefore).
+     * Ils ne sont pas supprimés (les agrégats du MatchService les comptent toujours) mais sortent des vues dérivées.
+     * Par défaut, chaque match est transmis à {@link #onMatchRemoved(Match)}.
+     *
+     * @param matches les matchs archivés
+     */
+    default void onMatchesArchived(List<Match> matches) {
+        for (Match match : matches) {
+            onMatchRemoved(match);
+        }
+    }
+}
@@ -1,56 +1,309 @@
 package org.entreprise.service;
 
+import org.entreprise.archive.MatchArchive;
 import org.entreprise.dao.MatchDAO;
+import org.entreprise.events.ChangeEventBus;
 import org.entreprise.exceptions.InvalidMatchException;
+import org.entreprise.exceptions.MatchNotFoundException;
 import org.entreprise.exceptions.PlayerNotFoundException;
+import org.entreprise.importer.ImportError;
+import org.entreprise.importer.ImportReport;
+import org.entreprise.interfaces.MatchRepository;
+import org.entreprise.logging.LogSampler;
 import org.entreprise.model.Match;
+import org.entreprise.model.MatchRequest;
 import org.entreprise.model.Player;
+import org.entreprise.query.MatchIndex;
+import org.entreprise.query.MatchQuery;
+import org.entreprise.query.QueryPlan;
+import org.entreprise.sharding.ShardedMatchIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Joseph_com : Service métier pour la gestion des matchs.
  * Contient toute la logique applicative liée aux matchs :
- * création, validation, affichage, statistiques.
- * Délègue la persistance au MatchDAO.
+ * création, correction, suppression, validation, affichage, statistiques.
+ * Délègue la persistance à un MatchRepository (MatchDAO en CSV par défaut).
+ * Une correction ou une suppression coûte O(log n) : le match est remplacé (ou marqué d'une pierre
+ * tombale) à sa position, les index et les observateurs reçoivent un delta, et en sauvegarde
+ * immédiate seule la correction est transmise au stockage (une ligne de journal pour le CSV). Les pierres tombales sont compactées
+ * par les opérations déjà en O(n) (sauvegarde complète, rejeu, copie de la liste).
+ * Avec une archive attachée, les matchs anciens quittent la mémoire pour des segments compressés
+ * (voir archiveBefore) : ils ne sont plus rechargés au démarrage.
+ * Démarrage progressif (loadInBackground) : le service répond tout de suite à partir des matchs déjà
+ * chargés, l'historique arrivant par lots ; les écritures attendent la fin du chargement.
+ * Si le chargement échoue, le service reste en lecture seule sur l'historique partiel : toute écriture lève
+ * IllegalStateException (elle réécrirait le stockage avec un historique tronqué).
  */
 public class MatchService {
 
     // Joseph_com : Logger pour tracer les actions métier sur les matchs
     private static final Logger logger = LoggerFactory.getLogger(MatchService.class);
 
-    // Joseph_com : DAO pour la persistence des matchs en CSV
-    private final MatchDAO matchDAO;
+    // Joseph_com : Taille des lots du chargement en arrière-plan
+    private static final int HISTORY_CHUNK_SIZE = 4096;
+
+    // Joseph_com : Limiteur de logs pour les statistiques appelées en boucle (1 log/s)
+    private static final LogSampler pointsLogSampler = LogSampler.perSecond(1);
+
+    // Joseph_com : Stockage des matchs (CSV par défaut, voir MatchRepository)
+    private final MatchRepository matchRepository;
 
     // Joseph_com : Service joueurs pour retrouver les joueurs par ID
     private final PlayerService playerService;
 
-    // Joseph_com : Liste en mémoire des matchs (cache applicatif)
-    private List<Match> matches;
+    // Joseph_com : Liste en mémoire des matchs triée par ID (cache applicatif, null = match supprimé)
+    private final List<Match> matches;
+
+    // Joseph_com : IDs des positions de la liste et comptage des positions vivantes (pagination)
+    private final LiveSlots slots = new LiveSlots();
+
+    // Joseph_com : Index des matchs par joueur, par date et par écart de score (requêtes, voir query)
+    private final MatchIndex matchIndex;
 
     // Joseph_com : Compteur auto-incrémenté pour générer les IDs de match uniques
     private int nextId;
 
+    // Joseph_com : Observateurs notifiés à chaque nouveau match (classements, statistiques...)
+    private final List<MatchListener> listeners = new CopyOnWriteArrayList<>();
+
+    // Joseph_com : Sauvegarde immédiate à chaque modification (false = sauvegarde différée, voir flush())
+    private boolean autoSave = true;
+
+    // Joseph_com : Modifications en mémoire non encore écrites sur disque (mode différé)
+    private boolean dirty;
+
+    // Joseph_com : Flux de changements optionnel (null = aucune publication)
+    private volatile ChangeEventBus eventBus;
+
+    // Joseph_com : Index partitionné optionnel (null = agrégats calculés en série sous le verrou)
+    private volatile ShardedMatchIndex shardedIndex;
+
+    // Joseph_com : Archive des matchs froids optionnelle (null = tout l'historique reste en mémoire)
+    private volatile MatchArchive archive;
+
+    // Joseph_com : Historique en cours de chargement (protégé par this ; les écritures attendent, voir awaitHistory)
+    private boolean loading;
+
+    // Joseph_com : Erreur du chargement en arrière-plan (protégée par this ; non nulle = service en lecture seule)
+    private RuntimeException loadFailure;
+
+    // Joseph_com : Avancement du chargement et signal de fin (terminé dès la construction en mode synchrone)
+    private volatile int historyLoadedCount;
+    private final long historyStartNanos = System.nanoTime();
+    private volatile long historyElapsedNanos = -1;
+    private final CompletableFuture<Void> historyLoaded = new CompletableFuture<>();
+
     // ─────────────────────────────────────────────
-    // Joseph_com : Constructeur - initialise le service et charge les données existantes
+    // Joseph_com : Constructeur par défaut - dossier data/ (tournoi unique)
     // ─────────────────────────────────────────────
     public MatchService(PlayerService playerService) {
+        this(playerService, MatchDAO.DEFAULT_DATA_DIR);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Constructeur - initialise le service et charge les données existantes
+    // ─────────────────────────────────────────────
+    /**
+     * @param playerService service des joueurs du même tournoi
+     * @param dataDir       dossier de données du tournoi (contient matches.csv)
+     */
+    public MatchService(PlayerService playerService, Path dataDir) {
+        this(playerService, new MatchDAO(dataDir));
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Constructeur - stockage injecté (ex. InMemoryMatchRepository : aucune entrée/sortie)
+    // ─────────────────────────────────────────────
+    /**
+     * @param playerService   service des joueurs du même tournoi
+     * @param matchRepository stockage des matchs du tournoi
+     */
+    public MatchService(PlayerService playerService, MatchRepository matchRepository) {
+        this(playerService, matchRepository, false);
+    }
+
+    private MatchService(PlayerService playerService, MatchRepository matchRepository, boolean background) {
         this.playerService = playerService;
-        this.matchDAO = new MatchDAO();
+        this.matchRepository = matchRepository;
+        this.matchIndex = new MatchIndex();
+        if (background) {
+            // Joseph_com : Historique vide pour l'instant : il arrive par lots (voir loadHistory)
+            this.matches = new ArrayList<>();
+            this.loading = true;
+            addListener(playerService.getScoreCache());
+            this.nextId = 1;
+            logger.info("MatchService démarré, chargement de l'historique en arrière-plan.");
+            return;
+        }
         // Joseph_com : Chargement des matchs en leur passant la liste des joueurs pour résoudre les IDs
-        this.matches = new ArrayList<>(matchDAO.loadAll(playerService.getAllPlayers()));
-        this.nextId = matches.stream()
-                .mapToInt(Match::getId)
-                .max()
-                .orElse(0) + 1;
+        this.matches = new ArrayList<>(matchRepository.loadAll(playerService.getAllPlayers()));
+        matches.sort(Comparator.comparingInt(Match::getId));
+        for (Match match : matches) {
+            slots.append(match.getId());
+            matchIndex.add(match);
+        }
+        // Joseph_com : Le cache des scores du tournoi suit l'historique des matchs
+        addListener(playerService.getScoreCache());
+        this.nextId = nextIdAfterLoad();
+        historyLoadedCount = matches.size();
+        historyElapsedNanos = System.nanoTime() - historyStartNanos;
+        historyLoaded.complete(null);
         logger.info("MatchService initialisé avec {} match(s). Prochain ID : {}", matches.size(), nextId);
     }
 
+    // ─────────────────────────────────────────────
+    // Joseph_com : Démarrage progressif - le service est utilisable immédiatement
+    // L'historique est lu par lots sur un thread dédié ; chaque lot devient interrogeable dès sa lecture
+    // (pages, requêtes, statistiques répondent sur les données partielles, voir getLoadProgress, sauf le total
+    // des points et les victoires quand le stockage sait les calculer lui-même) et les
+    // observateurs le reçoivent comme un lot de matchs. Les écritures attendent la fin du chargement ;
+    // whenHistoryLoaded() permet d'attendre l'historique complet avant une lecture.
+    // ─────────────────────────────────────────────
+    /**
+     * @param playerService   service des joueurs du même tournoi (déjà chargé)
+     * @param matchRepository stockage des matchs du tournoi
+     * @return le service, dont l'historique se charge en arrière-plan
+     */
+    public static MatchService loadInBackground(PlayerService playerService, MatchRepository matchRepository) {
+        MatchService service = new MatchService(playerService, matchRepository, true);
+        Thread loader = new Thread(service::loadHistory, "match-history-loader");
+        loader.setDaemon(true);
+        loader.start();
+        return service;
+    }
+
+    public static MatchService loadInBackground(PlayerService playerService) {
+        return loadInBackground(playerService, MatchDAO.DEFAULT_DATA_DIR);
+    }
+
+    /**
+     * @param dataDir dossier de données du tournoi (contient matches.csv)
+     */
+    public static MatchService loadInBackground(PlayerService playerService, Path dataDir) {
+        return loadInBackground(playerService, new MatchDAO(dataDir));
+    }
+
+    // Joseph_com : Corps du thread de chargement
+    private void loadHistory() {
+        RuntimeException failure = null;
+        try {
+            matchRepository.loadInChunks(playerService.getAllPlayers(), HISTORY_CHUNK_SIZE, this::acceptHistoryChunk);
+        } catch (RuntimeException e) {
+            logger.error("Chargement de l'historique interrompu après {} match(s) : {} - service en lecture seule.",
+                    historyLoadedCount, e.getMessage());
+            failure = e;
+        }
+        synchronized (this) {
+            loadFailure = failure;
+            // Joseph_com : Lots livrés hors de l'ordre des IDs (fichier retouché à la main) : remise en ordre
+            boolean sorted = true;
+            for (int i = 1; i < matches.size() && sorted; i++) {
+                sorted = matches.get(i - 1).getId() < matches.get(i).getId();
+            }
+            if (!sorted) {
+                matches.sort(Comparator.comparingInt(Match::getId));
+                rebuildSlots();
+            }
+            nextId = nextIdAfterLoad();
+            historyElapsedNanos = System.nanoTime() - historyStartNanos;
+            loading = false;
+            notifyAll();
+        }
+        logger.info("Historique chargé : {} match(s) en {} ms. Prochain ID : {}",
+                historyLoadedCount, historyElapsedNanos / 1_000_000, nextId);
+        if (failure == null) {
+            historyLoaded.complete(null);
+        } else {
+            historyLoaded.completeExceptionally(failure);
+        }
+    }
+
+    // Joseph_com : Prochain ID après le chargement : au-delà du dernier match chargé et du plus grand ID
+    // jamais attribué (un match supprimé ne rend pas son ID)
+    private int nextIdAfterLoad() {
+        int lastLoaded = matches.isEmpty() ? 0 : matches.get(matches.size() - 1).getId();
+        return Math.max(lastLoaded, matchRepository.loadHighWaterMark()) + 1;
+    }
+
+    // Joseph_com : Un lot d'historique : ajouté aux structures puis transmis aux observateurs (pas d'événement :
+    // ce ne sont pas de nouveaux matchs)
+    private synchronized void acceptHistoryChunk(List<Match> chunk) {
+        chunk.forEach(this::append);
+        historyLoadedCount += chunk.size();
+        for (MatchListener listener : listeners) {
+            listener.onMatchesCreated(Collections.unmodifiableList(chunk));
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Les écritures attendent la fin du chargement (IDs et positions dépendent de tout l'historique)
+    // wait() rend le verrou : le thread de chargement continue pendant l'attente
+    // Chargement échoué : refus, l'historique en mémoire est incomplet
+    // ─────────────────────────────────────────────
+    private void awaitHistory() {
+        boolean interrupted = false;
+        while (loading) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (loadFailure != null) {
+            throw new IllegalStateException("Historique des matchs incomplet (chargement échoué) : service en lecture seule.",
+                    loadFailure);
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Avancement du chargement de l'historique
+    // ─────────────────────────────────────────────
+    /**
+     * @return futur terminé une fois l'historique complet chargé (en erreur si le chargement a échoué)
+     */
+    public CompletableFuture<Void> whenHistoryLoaded() {
+        return historyLoaded.copy();
+    }
+
+    public boolean isHistoryLoaded() {
+        return historyLoaded.isDone();
+    }
+
+    public LoadProgress getLoadProgress() {
+        long elapsed = historyElapsedNanos;
+        boolean complete = elapsed >= 0;
+        if (!complete) elapsed = System.nanoTime() - historyStartNanos;
+        return new LoadProgress(historyLoadedCount, complete, elapsed / 1_000_000);
+    }
+
     // ─────────────────────────────────────────────
     // Joseph_com : Crée un nouveau match avec validation des données
     // ─────────────────────────────────────────────
@@ -63,21 +316,18 @@ public class MatchService {
      * @throws PlayerNotFoundException si un des deux joueurs est introuvable
      * @throws InvalidMatchException   si le match est invalide (joueur contre lui-même, score négatif)
      */
-    public Match createMatch(int player1Id, int player2Id, int scorePlayer1, int scorePlayer2)
+    public synchronized Match createMatch(int player1Id, int player2Id, int scorePlayer1, int scorePlayer2)
             throws PlayerNotFoundException, InvalidMatchException {
 
         logger.info("Tentative de création d'un match : Joueur {} vs Joueur {}", player1Id, player2Id);
+        awaitHistory();
 
-        // Joseph_com : Vérification : un joueur ne peut pas jouer contre lui-même
-        if (player1Id == player2Id) {
-            logger.warn("Match invalide : un joueur ne peut pas s'affronter lui-même (ID: {})", player1Id);
-            throw new InvalidMatchException("Un joueur ne peut pas s'affronter lui-même.");
-        }
-
-        // Joseph_com : Vérification : les scores ne peuvent pas être négatifs
-        if (scorePlayer1 < 0 || scorePlayer2 < 0) {
-            logger.warn("Match invalide : les scores ne peuvent pas être négatifs ({}, {})", scorePlayer1, scorePlayer2);
-            throw new InvalidMatchException("Les scores du match ne peuvent pas être négatifs.");
+        // Joseph_com : Vérification des règles (joueur contre lui-même, scores négatifs)
+        try {
+            checkMatchRules(player1Id, player2Id, scorePlayer1, scorePlayer2);
+        } catch (InvalidMatchException e) {
+            logger.warn("Match invalide ({} vs {}) : {}", player1Id, player2Id, e.getMessage());
+            throw e;
         }
 
         // Joseph_com : Récupération des joueurs (lève PlayerNotFoundException si introuvable)
@@ -86,10 +336,11 @@ public class MatchService {
 
         // Joseph_com : Création du match avec la date du jour
         Match newMatch = new Match(nextId++, player1, player2, scorePlayer1, scorePlayer2, LocalDate.now());
-        matches.add(newMatch);
+        append(newMatch);
 
-        // Joseph_com : Persistance immédiate après chaque match créé
-        matchDAO.saveAll(matches);
+        // Joseph_com : Persistance après chaque match créé (immédiate ou différée, voir setAutoSave)
+        persist(List.of(newMatch));
+        notifyCreated(newMatch);
 
         logger.info("Match créé avec succès : {} vs {} (ID: {})",
                 player1.getNickname(), player2.getNickname(), newMatch.getId());
@@ -97,32 +348,532 @@ public class MatchService {
         return newMatch;
     }
 
+    // ─────────────────────────────────────────────
+    // Joseph_com : Création de matchs en masse (import d'une journée de résultats)
+    // 1. Validation de toutes les lignes en parallèle (mêmes règles que createMatch)
+    // 2. Application atomique des lignes valides (sous verrou, IDs consécutifs)
+    // 3. Une seule réécriture du fichier CSV
+    // ─────────────────────────────────────────────
+    /**
+     * @param requests matchs à créer, dans l'ordre d'import
+     * @return rapport contenant les matchs créés et les erreurs (row = index dans la collection)
+     */
+    public ImportReport<Match> createMatches(Collection<MatchRequest> requests) {
+        List<MatchRequest> rows = new ArrayList<>(requests);
+        logger.info("Import en masse de {} match(s)", rows.size());
+
+        // Joseph_com : Validation parallèle sur une copie immuable des joueurs, prise avant la répartition
+        // Chaque ligne produit soit ses deux joueurs, soit une erreur
+        Map<Integer, Player> players = playerService.snapshotById();
+        Resolution[] outcomes = new Resolution[rows.size()];
+        IntStream.range(0, rows.size()).parallel().forEach(i -> outcomes[i] = resolve(rows.get(i), players));
+
+        List<Match> created = new ArrayList<>();
+        List<ImportError> errors = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+
+        // Joseph_com : Application atomique : aucun autre match ne peut s'intercaler pendant l'import
+        synchronized (this) {
+            awaitHistory();
+            for (int i = 0; i < outcomes.length; i++) {
+                MatchRequest request = rows.get(i);
+                Resolution outcome = outcomes[i];
+                if (outcome.error() != null) {
+                    errors.add(new ImportError(i, request.toString(), outcome.error()));
+                    continue;
+                }
+                LocalDate date = (request.date() != null) ? request.date() : today;
+                created.add(new Match(nextId++, outcome.player1(), outcome.player2(),
+                        request.scorePlayer1(), request.scorePlayer2(), date));
+            }
+
+            if (!created.isEmpty()) {
+                created.forEach(this::append);
+                // Joseph_com : Une seule persistance pour tout le lot
+                persist(created);
+                notifyCreated(created);
+            }
+        }
+
+        logger.info("Import terminé : {} match(s) créé(s), {} ligne(s) rejetée(s)", created.size(), errors.size());
+        return new ImportReport<>(created, errors);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Applique un match reçu d'un autre nœud (réplication)
+    // Idempotent : un match dont l'ID est déjà connu est ignoré
+    // ─────────────────────────────────────────────
+    /**
+     * @param id           ID attribué par le leader
+     * @param player1Id    ID du premier joueur (déjà répliqué)
+     * @param player2Id    ID du second joueur (déjà répliqué)
+     * @param scorePlayer1 score du joueur 1
+     * @param scorePlayer2 score du joueur 2
+     * @param date         date du match
+     * @return true si le match a été ajouté, false s'il existait déjà
+     * @throws PlayerNotFoundException si un des joueurs n'a pas encore été répliqué
+     */
+    public synchronized boolean applyReplicated(int id, int player1Id, int player2Id,
+                                                int scorePlayer1, int scorePlayer2, LocalDate date)
+            throws PlayerNotFoundException {
+        awaitHistory();
+        if (matchIndex.contains(id) || isArchived(id)) return false;
+
+        Player player1 = playerService.findById(player1Id);
+        Player player2 = playerService.findById(player2Id);
+        Match match = new Match(id, player1, player2, scorePlayer1, scorePlayer2, date);
+        if (id >= nextId) {
+            append(match);
+        } else {
+            // Joseph_com : ID reçu dans le désordre : insertion à sa place (rare, O(n))
+            compact();
+            int position = -Collections.binarySearch(matches, match, Comparator.comparingInt(Match::getId)) - 1;
+            matches.add(position, match);
+            rebuildSlots();
+            matchIndex.add(match);
+        }
+        nextId = Math.max(nextId, id + 1);
+        persist(List.of(match));
+        notifyCreated(match);
+        return true;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Corrige le score d'un match existant (mêmes joueurs, même date)
+    // ─────────────────────────────────────────────
+    /**
+     * @param matchId      ID du match à corriger
+     * @param scorePlayer1 nouveau score du joueur 1 (doit être >= 0)
+     * @param scorePlayer2 nouveau score du joueur 2 (doit être >= 0)
+     * @return le match corrigé
+     * @throws MatchNotFoundException si aucun match n'a cet ID (ou s'il a été supprimé)
+     * @throws InvalidMatchException  si un score est négatif
+     */
+    public synchronized Match updateMatch(int matchId, int scorePlayer1, int scorePlayer2)
+            throws MatchNotFoundException, InvalidMatchException {
+        logger.info("Tentative de correction du match {} : {}-{}", matchId, scorePlayer1, scorePlayer2);
+        awaitHistory();
+        Match previous = findLive(matchId);
+        try {
+            checkMatchRules(previous.getPlayer1().getId(), previous.getPlayer2().getId(), scorePlayer1, scorePlayer2);
+        } catch (InvalidMatchException e) {
+            logger.warn("Correction invalide du match {} : {}", matchId, e.getMessage());
+            throw e;
+        }
+
+        Match updated = amend(previous, scorePlayer1, scorePlayer2);
+        logger.info("Match {} corrigé : {}-{} → {}-{}", matchId,
+                previous.getScorePlayer1(), previous.getScorePlayer2(), scorePlayer1, scorePlayer2);
+        return updated;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Supprime un match (pierre tombale, compactée plus tard)
+    // ─────────────────────────────────────────────
+    /**
+     * @param matchId ID du match à supprimer
+     * @return le match supprimé
+     * @throws MatchNotFoundException si aucun match n'a cet ID (ou s'il a déjà été supprimé)
+     */
+    public synchronized Match deleteMatch(int matchId) throws MatchNotFoundException {
+        logger.info("Tentative de suppression du match {}", matchId);
+        awaitHistory();
+        Match removed = findLive(matchId);
+        remove(removed);
+        logger.info("Match {} supprimé ({} vs {}).", matchId,
+                removed.getPlayer1().getNickname(), removed.getPlayer2().getNickname());
+        return removed;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Correction et suppression reçues d'un autre nœud (réplication)
+    // Idempotentes : un match inconnu ou déjà supprimé est ignoré
+    // ─────────────────────────────────────────────
+    /**
+     * @return true si le match a été corrigé, false s'il est inconnu ou déjà à ce score
+     */
+    public synchronized boolean applyReplicatedUpdate(int matchId, int scorePlayer1, int scorePlayer2) {
+        awaitHistory();
+        Match previous = matchIndex.get(matchId);
+        if (previous == null) return false;
+        if (previous.getScorePlayer1() == scorePlayer1 && previous.getScorePlayer2() == scorePlayer2) return false;
+        amend(previous, scorePlayer1, scorePlayer2);
+        return true;
+    }
+
+    /**
+     * @return true si le match a été supprimé, false s'il était inconnu
+     */
+    public synchronized boolean applyReplicatedDelete(int matchId) {
+        awaitHistory();
+        Match match = matchIndex.get(matchId);
+        if (match == null) return false;
+        remove(match);
+        return true;
+    }
+
+    // Joseph_com : Match vivant d'un ID, recherché dans l'index (O(log n))
+    private Match findLive(int matchId) throws MatchNotFoundException {
+        Match match = matchIndex.get(matchId);
+        if (match == null) {
+            logger.warn("Match introuvable avec l'ID : {}", matchId);
+            throw new MatchNotFoundException("Aucun match trouvé avec l'ID : " + matchId);
+        }
+        return match;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Mutations de la liste, des positions et de l'index (sous le verrou du service)
+    // ─────────────────────────────────────────────
+    private void append(Match match) {
+        matches.add(match);
+        slots.append(match.getId());
+        matchIndex.add(match);
+    }
+
+    private Match amend(Match previous, int scorePlayer1, int scorePlayer2) {
+        Match updated = new Match(previous.getId(), previous.getPlayer1(), previous.getPlayer2(),
+                scorePlayer1, scorePlayer2, previous.getDate());
+        matches.set(slots.slotOf(previous.getId()), updated);
+        matchIndex.replace(previous, updated);
+        if (autoSave) {
+            matchRepository.appendUpdate(updated);
+        } else {
+            dirty = true;
+        }
+        notifyUpdated(previous, updated);
+        return updated;
+    }
+
+    private void remove(Match match) {
+        int slot = slots.slotOf(match.getId());
+        matches.set(slot, null);
+        slots.kill(slot);
+        matchIndex.remove(match);
+        // Joseph_com : Le plus grand ID attribué disparaît des données : il est enregistré à part, tout de suite
+        // (même en sauvegarde différée) pour qu'un redémarrage ne le réattribue pas
+        if (match.getId() == nextId - 1) {
+            matchRepository.saveHighWaterMark(match.getId());
+        }
+        if (autoSave) {
+            matchRepository.appendDelete(match.getId());
+        } else {
+            dirty = true;
+        }
+        notifyRemoved(match);
+        // Joseph_com : Compactage quand les pierres tombales sont majoritaires (coût amorti O(1))
+        if (slots.dead() > slots.live()) {
+            compact();
+        }
+    }
+
+    // Joseph_com : Retire les pierres tombales de la liste (O(n), appelé par les opérations déjà en O(n))
+    private void compact() {
+        if (slots.dead() == 0) return;
+        matches.removeIf(Objects::isNull);
+        rebuildSlots();
+    }
+
+    private void rebuildSlots() {
+        slots.clear();
+        for (Match match : matches) {
+            slots.append(match.getId());
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Abonne un observateur aux nouveaux matchs
+    // Les matchs déjà chargés lui sont rejoués d'abord (construction en une seule passe)
+    // ─────────────────────────────────────────────
+    /**
+     * @param listener observateur à abonner
+     */
+    public synchronized void addListener(MatchListener listener) {
+        compact();
+        listener.onMatchesCreated(Collections.unmodifiableList(matches));
+        listeners.add(listener);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Lecture cohérente sous le verrou du service : aucun match ne change pendant son exécution
+    // Pour les observateurs qui se recalculent depuis l'index (verrou du service puis le leur, comme les notifications)
+    // ─────────────────────────────────────────────
+    public synchronized void readLocked(Runnable reader) {
+        reader.run();
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Désabonne un observateur
+    // ─────────────────────────────────────────────
+    public void removeListener(MatchListener listener) {
+        listeners.remove(listener);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Active ou désactive la sauvegarde immédiate
+    // En mode différé, les modifications restent en mémoire jusqu'au prochain flush()
+    // (utile pour les traitements par lots : une seule réécriture du CSV à la fin)
+    // ─────────────────────────────────────────────
+    public synchronized void setAutoSave(boolean autoSave) {
+        this.autoSave = autoSave;
+        if (autoSave) flush();
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Écrit sur disque les modifications en attente (mode différé)
+    // ─────────────────────────────────────────────
+    public synchronized void flush() {
+        if (dirty) {
+            awaitHistory();
+            compact();
+            matchRepository.saveAll(matches);
+            dirty = false;
+        }
+    }
+
+    // Joseph_com : Sauvegarde immédiate des matchs créés ou marquage des modifications selon le mode
+    private void persist(List<Match> created) {
+        if (autoSave) {
+            compact();
+            matchRepository.saveCreated(created, matches);
+        } else {
+            dirty = true;
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Branche le service sur un flux de changements (MATCH_CREATED, MATCH_UPDATED, MATCH_DELETED)
+    // ─────────────────────────────────────────────
+    public void setEventBus(ChangeEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    // Joseph_com : Notification des observateurs puis du flux (appelée sous le verrou du service)
+    private void notifyCreated(Match match) {
+        for (MatchListener listener : listeners) {
+            listener.onMatchCreated(match);
+        }
+        ChangeEventBus bus = eventBus;
+        if (bus != null) {
+            bus.publishMatchCreated(match);
+        }
+    }
+
+    private void notifyUpdated(Match previous, Match updated) {
+        for (MatchListener listener : listeners) {
+            listener.onMatchUpdated(previous, updated);
+        }
+        ChangeEventBus bus = eventBus;
+        if (bus != null) {
+            bus.publishMatchUpdated(updated);
+        }
+    }
+
+    private void notifyRemoved(Match match) {
+        for (MatchListener listener : listeners) {
+            listener.onMatchRemoved(match);
+        }
+        ChangeEventBus bus = eventBus;
+        if (bus != null) {
+            bus.publishMatchDeleted(match);
+        }
+    }
+
+    // Joseph_com : Notification d'un lot : un seul appel par observateur, puis un événement par match
+    private void notifyCreated(List<Match> created) {
+        for (MatchListener listener : listeners) {
+            listener.onMatchesCreated(Collections.unmodifiableList(created));
+        }
+        ChangeEventBus bus = eventBus;
+        if (bus != null) {
+            created.forEach(bus::publishMatchCreated);
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Règles métier d'un match, indépendantes de l'existence des joueurs
+    // ─────────────────────────────────────────────
+    private static void checkMatchRules(int player1Id, int player2Id, int scorePlayer1, int scorePlayer2)
+            throws InvalidMatchException {
+        // Joseph_com : Vérification : un joueur ne peut pas jouer contre lui-même
+        if (player1Id == player2Id) {
+            throw new InvalidMatchException("Un joueur ne peut pas s'affronter lui-même.");
+        }
+
+        // Joseph_com : Vérification : les scores ne peuvent pas être négatifs
+        if (scorePlayer1 < 0 || scorePlayer2 < 0) {
+            throw new InvalidMatchException("Les scores du match ne peuvent pas être négatifs.");
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Résultat de la validation d'une ligne d'import : les deux joueurs, ou l'erreur
+    // ─────────────────────────────────────────────
+    private record Resolution(Player player1, Player player2, Exception error) {
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Valide une demande de match et résout ses deux joueurs (sans log, pour l'import)
+    // ─────────────────────────────────────────────
+    private Resolution resolve(MatchRequest request, Map<Integer, Player> players) {
+        try {
+            checkMatchRules(request.player1Id(), request.player2Id(), request.scorePlayer1(), request.scorePlayer2());
+        } catch (InvalidMatchException e) {
+            return new Resolution(null, null, e);
+        }
+        Player player1 = players.get(request.player1Id());
+        if (player1 == null) {
+            return new Resolution(null, null, new PlayerNotFoundException("Aucun joueur trouvé avec l'ID : " + request.player1Id()));
+        }
+        Player player2 = players.get(request.player2Id());
+        if (player2 == null) {
+            return new Resolution(null, null, new PlayerNotFoundException("Aucun joueur trouvé avec l'ID : " + request.player2Id()));
+        }
+        return new Resolution(player1, player2, null);
+    }
+
     // ─────────────────────────────────────────────
     // Joseph_com : Retourne la liste de tous les matchs
     // ─────────────────────────────────────────────
-    public List<Match> getAllMatches() {
+    public synchronized List<Match> getAllMatches() {
+        compact();
         return new ArrayList<>(matches);
     }
 
+    // ─────────────────────────────────────────────
+    // Joseph_com : Retourne une page de matchs (ordre de création) sans copier toute la liste
+    // ─────────────────────────────────────────────
+    /**
+     * @param offset index du premier match de la page (>= 0)
+     * @param limit  taille de la page (>= 0)
+     * @return les matchs de la page (liste vide au-delà de la fin)
+     */
+    public synchronized List<Match> getMatchesPage(int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("offset et limit doivent être positifs.");
+        }
+        if (slots.dead() == 0) {
+            int from = Math.min(offset, matches.size());
+            int to = (int) Math.min((long) from + limit, matches.size());
+            return new ArrayList<>(matches.subList(from, to));
+        }
+        // Joseph_com : Pierres tombales présentes : position du premier match de la page en O(log n), puis parcours
+        List<Match> page = new ArrayList<>(Math.min(limit, Math.max(0, slots.live() - offset)));
+        if (offset >= slots.live()) return page;
+        for (int slot = slots.slotOfLive(offset); slot < matches.size() && page.size() < limit; slot++) {
+            Match match = matches.get(slot);
+            if (match != null) page.add(match);
+        }
+        return page;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Copie du CSV sauvegardé vers un canal, sans relecture en mémoire (FileChannel.transferTo)
+    // Seulement si le fichier est exactement l'historique : rien en attente, aucun journal, aucune archive.
+    // Le verrou n'est tenu que pour ouvrir le fichier : une sauvegarde le remplace par renommage, le canal ouvert
+    // garde donc l'instantané pendant la copie, faite hors verrou (un client lent ne bloque pas les écritures)
+    // ─────────────────────────────────────────────
+    /**
+     * @param target canal de destination bloquant (non fermé)
+     * @return nombre d'octets copiés, ou vide si le stockage n'a pas de copie à jour au format CSV
+     * @throws IllegalArgumentException si le canal est en mode non bloquant
+     * @throws IOException si la lecture du fichier ou l'écriture dans le canal échoue
+     */
+    public OptionalLong transferCsvSnapshot(WritableByteChannel target) throws IOException {
+        if (target instanceof SelectableChannel selectable && !selectable.isBlocking()) {
+            throw new IllegalArgumentException("Le canal de destination doit être en mode bloquant.");
+        }
+        Path path;
+        FileChannel source;
+        synchronized (this) {
+            awaitHistory();
+            if (dirty || archive != null) return OptionalLong.empty();
+            Optional<Path> snapshot = matchRepository.csvSnapshot();
+            if (snapshot.isEmpty()) return OptionalLong.empty();
+            path = snapshot.get();
+            source = FileChannel.open(path, StandardOpenOption.READ);
+        }
+        try (source) {
+            long size = source.size();
+            long position = 0;
+            // Joseph_com : transferTo peut copier moins que demandé (limite du noyau) ; 0 octet = canal bloqué
+            while (position < size) {
+                long copied = source.transferTo(position, size - position, target);
+                if (copied <= 0) {
+                    throw new IOException("Export CSV interrompu : le canal n'accepte plus d'octets après " + position + " octet(s).");
+                }
+                position += copied;
+            }
+            logger.info("Export CSV : {} octet(s) copié(s) depuis '{}'.", size, path);
+            return OptionalLong.of(size);
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Nombre de matchs enregistrés (sans copier la liste)
+    // ─────────────────────────────────────────────
+    public synchronized int getMatchCount() {
+        return slots.live();
+    }
+
     // ─────────────────────────────────────────────
     // Joseph_com : Retourne les matchs d'un joueur spécifique (par ID)
-    // Utilise les streams pour filtrer
+    // Lecture directe de l'index par joueur, sans parcourir tous les matchs
     // ─────────────────────────────────────────────
     public List<Match> getMatchesByPlayer(int playerId) {
-        return matches.stream()
-                .filter(m -> m.getPlayer1().getId() == playerId
-                        || m.getPlayer2().getId() == playerId)
-                .collect(Collectors.toList());
+        ShardedMatchIndex sharded = shardedIndex;
+        if (sharded != null) return sharded.getMatchesByPlayer(playerId);
+        synchronized (this) {
+            return new ArrayList<>(matchIndex.byPlayer(playerId));
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Requête composable sur les matchs (joueur, date, écart, total de points, niveaux)
+    // Le flux est paresseux : les matchs sont lus par lots sur l'index le plus sélectif,
+    // sans jamais construire la liste complète des résultats
+    // ─────────────────────────────────────────────
+    /**
+     * @param query critères, ordre et pagination
+     * @return flux des matchs retenus, dans l'ordre du plan choisi (voir {@link #explain})
+     */
+    public Stream<Match> query(MatchQuery query) {
+        return matchIndex.stream(query, this);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Plan que query() utiliserait pour cette requête (chemin d'accès et estimation)
+    // ─────────────────────────────────────────────
+    public synchronized QueryPlan explain(MatchQuery query) {
+        return matchIndex.plan(query);
     }
 
     // ─────────────────────────────────────────────
     // Joseph_com : Calcule le score total de tous les points joués dans les matchs
+    // Somme sur un long : avec l'archive, l'historique complet peut dépasser Integer.MAX_VALUE points
     // ─────────────────────────────────────────────
-    public int getTotalPointsPlayed() {
-        int total = matches.stream()
-                .mapToInt(m -> m.getScorePlayer1() + m.getScorePlayer2())
-                .sum();
-        logger.info("Total des points joués dans tous les matchs : {}", total);
+    public long getTotalPointsPlayed() {
+        ShardedMatchIndex sharded = shardedIndex;
+        long total;
+        if (sharded != null) {
+            total = sharded.getTotalPointsPlayed();
+        } else {
+            synchronized (this) {
+                // Joseph_com : Historique encore en chargement : total exact calculé par le stockage s'il le sait
+                OptionalLong stored = loading ? matchRepository.totalPointsPlayed() : OptionalLong.empty();
+                total = stored.isPresent() ? stored.getAsLong() : matches.stream()
+                        .filter(Objects::nonNull)
+                        .mapToLong(m -> m.getScorePlayer1() + m.getScorePlayer2())
+                        .sum();
+            }
+        }
+        // Joseph_com : Matchs archivés : total précalculé par segment, sans décompression
+        MatchArchive cold = archive;
+        if (cold != null) total += cold.getTotalPoints();
+        if (logger.isInfoEnabled() && pointsLogSampler.tryAcquire()) {
+            logger.info("Total des points joués dans tous les matchs : {} ({} appel(s) non journalisé(s))",
+                    total, pointsLogSampler.drainSuppressed());
+        }
         return total;
     }
 
@@ -130,11 +881,141 @@ public class MatchService {
     // Joseph_com : Calcule le nombre total de victoires d'un joueur
     // ─────────────────────────────────────────────
     public long countWins(int playerId) {
-        return matches.stream()
-                .filter(m -> {
-                    Player winner = m.getWinner();
-                    return winner != null && winner.getId() == playerId;
-                })
-                .count();
+        MatchArchive cold = archive;
+        long archived = cold == null ? 0 : cold.countWins(playerId);
+        ShardedMatchIndex sharded = shardedIndex;
+        if (sharded != null) return archived + sharded.countWins(playerId);
+        synchronized (this) {
+            // Joseph_com : Historique encore en chargement : décompte exact du stockage s'il sait le calculer
+            OptionalLong stored = loading ? matchRepository.countWins(playerId) : OptionalLong.empty();
+            if (stored.isPresent()) return archived + stored.getAsLong();
+            return archived + matchIndex.byPlayer(playerId).stream()
+                    .filter(m -> {
+                        Player winner = m.getWinner();
+                        return winner != null && winner.getId() == playerId;
+                    })
+                    .count();
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Mode partitionné - les agrégats par joueur sont répartis sur N shards mono-thread
+    // countWins, getMatchesByPlayer et getTotalPointsPlayed sont alors servis par les shards, sans le verrou du service
+    // ─────────────────────────────────────────────
+    /**
+     * @param shardCount nombre de shards (en général le nombre de cœurs)
+     * @return l'index partitionné (requêtes supplémentaires : statsFor, topByWins)
+     */
+    public synchronized ShardedMatchIndex enableSharding(int shardCount) {
+        if (shardedIndex == null) {
+            ShardedMatchIndex index = new ShardedMatchIndex(shardCount);
+            // Joseph_com : Les matchs existants sont rejoués en un seul lot
+            addListener(index);
+            shardedIndex = index;
+        }
+        return shardedIndex;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Retour au mode série (arrête les threads des shards)
+    // ─────────────────────────────────────────────
+    public void disableSharding() {
+        ShardedMatchIndex index;
+        synchronized (this) {
+            index = shardedIndex;
+            if (index == null) return;
+            shardedIndex = null;
+            removeListener(index);
+        }
+        index.close();
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Stockage à deux niveaux - les matchs récents en mémoire, les anciens dans une archive
+    // Les agrégats (getTotalPointsPlayed, countWins) couvrent les deux niveaux. Les listes, pages, requêtes
+    // et observateurs ne voient que les matchs en mémoire (un match archivé leur est retiré, voir
+    // MatchListener.onMatchesArchived) : il est immuable (ni correction ni suppression) et se relit par
+    // getArchivedMatchesByPlayer ou getArchive()
+    // ─────────────────────────────────────────────
+    /**
+     * @param archive archive du tournoi (ses IDs ne seront jamais réattribués)
+     */
+    public synchronized void attachArchive(MatchArchive archive) {
+        awaitHistory();
+        this.archive = archive;
+        nextId = Math.max(nextId, archive.getMaxId() + 1);
+        // Joseph_com : Archivage interrompu avant la sauvegarde des matchs chauds : on retire les doublons
+        compact();
+        List<Match> duplicates = matches.stream().filter(m -> isArchived(m.getId())).toList();
+        if (!duplicates.isEmpty()) {
+            logger.warn("{} match(s) déjà archivé(s) retiré(s) de la mémoire.", duplicates.size());
+            evict(duplicates);
+        }
+    }
+
+    public MatchArchive getArchive() {
+        return archive;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Archive les matchs joués avant une date dans un nouveau segment et les retire de la mémoire
+    // Les observateurs reçoivent onMatchesArchived : leur état dérivé est alors celui d'un redémarrage
+    // (matchs en mémoire seulement) ; le flux de changements n'en est pas informé (ce n'est pas une suppression)
+    // ─────────────────────────────────────────────
+    /**
+     * @param cutoff date de coupure (les matchs strictement antérieurs sont archivés)
+     * @return nombre de matchs archivés
+     * @throws IllegalStateException si aucune archive n'est attachée
+     */
+    public synchronized int archiveBefore(LocalDate cutoff) {
+        awaitHistory();
+        MatchArchive target = archive;
+        if (target == null) {
+            throw new IllegalStateException("Aucune archive attachée (voir attachArchive).");
+        }
+        compact();
+        List<Match> cold = matches.stream().filter(m -> m.getDate().isBefore(cutoff)).toList();
+        if (cold.isEmpty()) return 0;
+        target.roll(cold);
+        evict(cold);
+        logger.info("{} match(s) antérieur(s) au {} archivé(s), {} en mémoire.", cold.size(), cutoff, matches.size());
+        return cold.size();
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Matchs archivés d'un joueur (seuls les blocs où il apparaît sont décompressés)
+    // ─────────────────────────────────────────────
+    public List<Match> getArchivedMatchesByPlayer(int playerId) {
+        MatchArchive cold = archive;
+        if (cold == null) return new ArrayList<>();
+        return cold.matchesOf(playerId, id -> playerService.findOptionalById(id).orElse(null));
+    }
+
+    // Joseph_com : ID présent dans l'archive ? (seuls les IDs dans la plage archivée sont cherchés)
+    private boolean isArchived(int matchId) {
+        MatchArchive cold = archive;
+        return cold != null && matchId <= cold.getMaxId() && cold.contains(matchId);
+    }
+
+    // Joseph_com : Retire des matchs archivés de la mémoire (liste sans pierre tombale, index, observateurs, stockage)
+    private void evict(List<Match> archived) {
+        Set<Integer> ids = new HashSet<>();
+        for (Match match : archived) {
+            ids.add(match.getId());
+            matchIndex.remove(match);
+        }
+        matches.removeIf(m -> ids.contains(m.getId()));
+        rebuildSlots();
+        // Joseph_com : Observateurs notifiés après l'index : un recalcul depuis l'index ne voit plus ces matchs
+        // (les shards ne comptent que la mémoire, l'archive est ajoutée aux agrégats)
+        List<Match> view = Collections.unmodifiableList(archived);
+        for (MatchListener listener : listeners) {
+            listener.onMatchesArchived(view);
+        }
+        if (autoSave) {
+            matchRepository.saveAll(matches);
+        } else {
+            dirty = true;
+        }
     }
 }
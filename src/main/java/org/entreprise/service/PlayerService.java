@@ -1,43 +1,115 @@
 package org.entreprise.service;
 
 import org.entreprise.dao.PlayerDAO;
+import org.entreprise.events.ChangeEventBus;
 import org.entreprise.exceptions.DuplicatePlayerException;
 import org.entreprise.exceptions.PlayerNotFoundException;
+import org.entreprise.importer.ImportError;
+import org.entreprise.importer.ImportReport;
+import org.entreprise.interfaces.PlayerRepository;
+import org.entreprise.logging.LogSampler;
 import org.entreprise.model.Player;
+import org.entreprise.model.PlayerRequest;
+import org.entreprise.interfaces.ScoringStrategy;
+import org.entreprise.scoring.BatchScoring;
+import org.entreprise.scoring.FormulaStrategy;
+import org.entreprise.scoring.RosterColumns;
+import org.entreprise.scoring.ScoreCache;
+import org.entreprise.scoring.ScoringFormula;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
  * Joseph_com : Service métier pour la gestion des joueurs.
  * Contient toute la logique applicative liée aux joueurs :
  * ajout, recherche, tri, statistiques.
- * Délègue la persistance au PlayerDAO.
+ * Délègue la persistance à un PlayerRepository (PlayerDAO en CSV par défaut).
+ * Sûr entre threads (réplication, chargement en arrière-plan) : écritures et lectures de la liste sous le
+ * verrou du service, recherche par ID sans verrou.
  */
 public class PlayerService {
 
     // Joseph_com : Logger pour tracer les actions métier sur les joueurs
     private static final Logger logger = LoggerFactory.getLogger(PlayerService.class);
 
-    // Joseph_com : DAO pour la persistence des joueurs en CSV
-    private final PlayerDAO playerDAO;
+    // Joseph_com : Limiteur de logs pour les lectures appelées en boucle (1 log/s par méthode)
+    private static final LogSampler sortedLogSampler = LogSampler.perSecond(1);
+    private static final LogSampler top3LogSampler   = LogSampler.perSecond(1);
+    private static final LogSampler totalLogSampler  = LogSampler.perSecond(1);
+
+    // Joseph_com : Stockage des joueurs (CSV par défaut, voir PlayerRepository)
+    private final PlayerRepository playerRepository;
 
     // Joseph_com : Liste en mémoire des joueurs (cache applicatif)
     private List<Player> players;
 
+    // Joseph_com : Index des joueurs par ID pour des recherches en O(1)
+    // Modifié sous le verrou du service, lu sans verrou (findById) : la réplication et le chargement en
+    // arrière-plan ajoutent des joueurs depuis leur propre thread
+    private final Map<Integer, Player> playersById = new ConcurrentHashMap<>();
+
+    // Joseph_com : Index des pseudos (en minuscules) pour la détection de doublon en O(1)
+    private final Set<String> nicknames = new HashSet<>();
+
     // Joseph_com : Compteur auto-incrémenté pour générer les IDs uniques
     private int nextId;
 
+    // Joseph_com : Sauvegarde immédiate à chaque modification (false = sauvegarde différée, voir flush())
+    private boolean autoSave = true;
+
+    // Joseph_com : Modifications en mémoire non encore écrites sur disque (mode différé)
+    private boolean dirty;
+
+    // Joseph_com : Flux de changements optionnel (null = aucune publication)
+    private volatile ChangeEventBus eventBus;
+
+    // Joseph_com : Scores calculés selon la stratégie du tournoi (par défaut score brut * niveau)
+    private final ScoreCache scoreCache = new ScoreCache(FormulaStrategy.LEVEL_X_SCORE);
+
+    // Joseph_com : Colonnes primitives de l'effectif, reconstruites après chaque modification
+    private RosterColumns columns;
+
     // ─────────────────────────────────────────────
-    // Joseph_com : Constructeur - initialise le service et charge les données existantes
+    // Joseph_com : Constructeur par défaut - dossier data/ (tournoi unique)
     // ─────────────────────────────────────────────
     public PlayerService() {
-        this.playerDAO = new PlayerDAO();
-        this.players = new ArrayList<>(playerDAO.loadAll());
+        this(PlayerDAO.DEFAULT_DATA_DIR);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Constructeur - initialise le service et charge les données existantes
+    // ─────────────────────────────────────────────
+    /**
+     * @param dataDir dossier de données du tournoi (contient players.csv)
+     */
+    public PlayerService(Path dataDir) {
+        this(new PlayerDAO(dataDir));
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Constructeur - stockage injecté (ex. InMemoryPlayerRepository : aucune entrée/sortie)
+    // ─────────────────────────────────────────────
+    /**
+     * @param playerRepository stockage des joueurs du tournoi
+     */
+    public PlayerService(PlayerRepository playerRepository) {
+        this.playerRepository = playerRepository;
+        this.players = new ArrayList<>(playerRepository.loadAll());
+        players.forEach(this::index);
         // Joseph_com : nextId = max(id existants) + 1 pour éviter les conflits d'ID
         this.nextId = players.stream()
                 .mapToInt(Player::getId)
@@ -56,14 +128,11 @@ public class PlayerService {
      * @return le joueur créé
      * @throws DuplicatePlayerException si le pseudo est déjà utilisé
      */
-    public Player addPlayer(String nickname, int level, int score) throws DuplicatePlayerException {
+    public synchronized Player addPlayer(String nickname, int level, int score) throws DuplicatePlayerException {
         logger.info("Tentative d'ajout du joueur '{}'", nickname);
 
         // Joseph_com : Vérification de doublon par pseudo (insensible à la casse)
-        boolean alreadyExists = players.stream()
-                .anyMatch(p -> p.getNickname().equalsIgnoreCase(nickname));
-
-        if (alreadyExists) {
+        if (nicknames.contains(normalize(nickname))) {
             logger.warn("Doublon détecté : le pseudo '{}' existe déjà.", nickname);
             throw new DuplicatePlayerException("Un joueur avec le pseudo '" + nickname + "' existe déjà.");
         }
@@ -71,14 +140,128 @@ public class PlayerService {
         // Joseph_com : Création du joueur avec un ID auto-généré
         Player newPlayer = new Player(nextId++, nickname, level, score);
         players.add(newPlayer);
+        index(newPlayer);
 
-        // Joseph_com : Persistance immédiate après chaque ajout
-        playerDAO.saveAll(players);
+        // Joseph_com : Persistance après chaque ajout (immédiate ou différée, voir setAutoSave)
+        persist(List.of(newPlayer));
+        publishPlayerAdded(newPlayer);
 
         logger.info("Joueur '{}' ajouté avec succès (ID: {}).", nickname, newPlayer.getId());
         return newPlayer;
     }
 
+    // ─────────────────────────────────────────────
+    // Joseph_com : Inscription en masse d'une communauté de joueurs (flux)
+    // - Dédoublonnage par hachage : pseudos existants + pseudos déjà vus dans le lot
+    // - IDs consécutifs (la méthode est sérialisée par le verrou du service)
+    // - Une seule réécriture du fichier CSV à la fin
+    // - Flux interrompu (erreur de lecture) : les joueurs déjà inscrits sont persistés et l'interruption
+    //   est portée par le rapport, pour ne jamais laisser en mémoire des joueurs absents du stockage
+    // ─────────────────────────────────────────────
+    /**
+     * @param requests flux des joueurs à inscrire (consommé une seule fois, jamais matérialisé)
+     * @return rapport : joueurs créés + doublons (DuplicatePlayerException) avec leur rang dans le flux,
+     *         et l'éventuelle erreur qui a interrompu le flux (voir ImportReport.getInterruption)
+     */
+    public synchronized ImportReport<Player> addPlayers(Iterator<PlayerRequest> requests) {
+        List<Player> created = new ArrayList<>();
+        List<ImportError> errors = new ArrayList<>();
+        RuntimeException interruption = null;
+        int row = 0;
+
+        try {
+            while (requests.hasNext()) {
+                PlayerRequest request = requests.next();
+                String key = normalize(request.nickname());
+
+                // Joseph_com : Pseudo déjà connu (existant ou vu dans le lot : index() l'enregistre à chaque création)
+                if (nicknames.contains(key)) {
+                    errors.add(new ImportError(row++, request.toString(), new DuplicatePlayerException(
+                            "Un joueur avec le pseudo '" + request.nickname() + "' existe déjà.")));
+                    continue;
+                }
+
+                Player player = new Player(nextId++, request.nickname(), request.level(), request.score());
+                players.add(player);
+                index(player);
+                created.add(player);
+                row++;
+            }
+        } catch (RuntimeException e) {
+            interruption = e;
+            logger.error("Import de joueurs interrompu après {} ligne(s) : {}", row, e.getMessage());
+        }
+
+        if (!created.isEmpty()) {
+            persist(created);
+            created.forEach(this::publishPlayerAdded);
+        }
+
+        logger.info("Import de joueurs terminé : {} créé(s), {} doublon(s)", created.size(), errors.size());
+        return new ImportReport<>(created, errors, interruption);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Modifie le score brut d'un joueur (publie un événement SCORE_CHANGED)
+    // ─────────────────────────────────────────────
+    /**
+     * @param playerId ID du joueur
+     * @param newScore nouveau score brut
+     * @return le joueur mis à jour
+     * @throws PlayerNotFoundException si aucun joueur ne correspond à cet ID
+     */
+    public synchronized Player updateScore(int playerId, int newScore) throws PlayerNotFoundException {
+        Player player = findById(playerId);
+        int previousScore = player.getScore();
+        if (previousScore == newScore) return player;
+
+        player.setScore(newScore);
+        persist(List.of(player));
+
+        ChangeEventBus bus = eventBus;
+        if (bus != null) {
+            bus.publishScoreChanged(player, previousScore);
+        }
+        logger.info("Score du joueur '{}' modifié : {} → {}", player.getNickname(), previousScore, newScore);
+        return player;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Applique un joueur reçu d'un autre nœud (réplication)
+    // Idempotent : crée le joueur avec son ID d'origine, ou met à jour niveau et score s'il existe déjà
+    // ─────────────────────────────────────────────
+    /**
+     * @param id       ID attribué par le leader
+     * @param nickname pseudo du joueur
+     * @param level    niveau du joueur
+     * @param score    score brut courant
+     * @return le joueur créé ou mis à jour
+     */
+    public synchronized Player applyReplicated(int id, String nickname, int level, int score) {
+        Player player = playersById.get(id);
+        if (player == null) {
+            player = new Player(id, nickname, level, score);
+            players.add(player);
+            index(player);
+            nextId = Math.max(nextId, id + 1);
+            persist(List.of(player));
+            publishPlayerAdded(player);
+            return player;
+        }
+
+        int previousScore = player.getScore();
+        if (player.getLevel() == level && previousScore == score) return player;
+        player.setLevel(level);
+        player.setScore(score);
+        persist(List.of(player));
+
+        ChangeEventBus bus = eventBus;
+        if (bus != null && previousScore != score) {
+            bus.publishScoreChanged(player, previousScore);
+        }
+        return player;
+    }
+
     // ─────────────────────────────────────────────
     // Joseph_com : Recherche un joueur par son ID
     // ─────────────────────────────────────────────
@@ -88,63 +271,261 @@ public class PlayerService {
      * @throws PlayerNotFoundException si aucun joueur ne correspond à cet ID
      */
     public Player findById(int id) throws PlayerNotFoundException {
-        return players.stream()
-                .filter(p -> p.getId() == id)
-                .findFirst()
-                .orElseThrow(() -> {
-                    logger.warn("Joueur introuvable avec l'ID : {}", id);
-                    return new PlayerNotFoundException("Aucun joueur trouvé avec l'ID : " + id);
-                });
+        Player player = playersById.get(id);
+        if (player == null) {
+            logger.warn("Joueur introuvable avec l'ID : {}", id);
+            throw new PlayerNotFoundException("Aucun joueur trouvé avec l'ID : " + id);
+        }
+        return player;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Recherche silencieuse d'un joueur par ID (sans log ni exception)
+    // Utilisée par les imports en masse qui rapportent eux-mêmes les erreurs ligne par ligne
+    // ─────────────────────────────────────────────
+    public Optional<Player> findOptionalById(int id) {
+        return Optional.ofNullable(playersById.get(id));
     }
 
     // ─────────────────────────────────────────────
     // Joseph_com : Retourne la liste de tous les joueurs triés par score décroissant
     // Utilise l'API Stream de Java pour le tri
     // ─────────────────────────────────────────────
-    public List<Player> getAllPlayersSortedByScore() {
-        logger.info("Récupération de tous les joueurs triés par score.");
+    public synchronized List<Player> getAllPlayersSortedByScore() {
+        if (logger.isInfoEnabled() && sortedLogSampler.tryAcquire()) {
+            logger.info("Récupération de tous les joueurs triés par score ({} appel(s) non journalisé(s)).",
+                    sortedLogSampler.drainSuppressed());
+        }
         return players.stream()
                 .sorted(Comparator.comparingInt(Player::getScore).reversed())
                 .collect(Collectors.toList());
     }
 
+    // ─────────────────────────────────────────────
+    // Joseph_com : Retourne une page du classement par score décroissant
+    // Seuls les (offset + limit) premiers sont sélectionnés, avec un tas borné :
+    // la liste complète n'est jamais triée ni copiée
+    // ─────────────────────────────────────────────
+    /**
+     * @param offset nombre de joueurs à sauter (>= 0)
+     * @param limit  taille de la page (>= 0)
+     * @return les joueurs de la page, triés par score décroissant (puis par ID)
+     */
+    public synchronized List<Player> getPlayersPageSortedByScore(int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("offset et limit doivent être positifs.");
+        }
+        int wanted = (int) Math.min((long) offset + limit, players.size());
+        if (offset >= wanted) return new ArrayList<>();
+
+        // Joseph_com : Ordre du classement (score décroissant, ID croissant en cas d'égalité)
+        Comparator<Player> ranking = Comparator.comparingInt(Player::getScore).reversed()
+                .thenComparingInt(Player::getId);
+
+        // Joseph_com : Tas max inversé : la tête est le moins bon des "wanted" meilleurs
+        PriorityQueue<Player> heap = new PriorityQueue<>(wanted, ranking.reversed());
+        for (Player player : players) {
+            if (heap.size() < wanted) {
+                heap.add(player);
+            } else if (ranking.compare(player, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(player);
+            }
+        }
+
+        List<Player> best = new ArrayList<>(heap);
+        best.sort(ranking);
+        return new ArrayList<>(best.subList(offset, wanted));
+    }
+
     // ─────────────────────────────────────────────
     // Joseph_com : Retourne le top 3 des joueurs selon leur score calculé (via Scorable)
     // ─────────────────────────────────────────────
-    public List<Player> getTop3Players() {
-        logger.info("Calcul du top 3 des joueurs.");
-        return players.stream()
-                .sorted(Comparator.comparingInt(Player::calculateScore).reversed())
-                .limit(3)
-                .collect(Collectors.toList());
+    public synchronized List<Player> getTop3Players() {
+        if (logger.isInfoEnabled() && top3LogSampler.tryAcquire()) {
+            logger.info("Calcul du top 3 des joueurs ({} appel(s) non journalisé(s)).",
+                    top3LogSampler.drainSuppressed());
+        }
+        return getTopPlayersByCalculatedScore(3);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Top N selon le score calculé, en une passe sur les colonnes primitives
+    // (scores calculés par lot, puis sélection par tas d'index : aucun appel virtuel par comparaison)
+    // ─────────────────────────────────────────────
+    /**
+     * @param k nombre de joueurs voulus
+     * @return les k meilleurs joueurs (score calculé décroissant, ordre d'inscription en cas d'égalité)
+     */
+    public synchronized List<Player> getTopPlayersByCalculatedScore(int k) {
+        int[] computed = calculateAllScores();
+        int[] top = BatchScoring.topIndices(computed, computed.length, k);
+        List<Player> result = new ArrayList<>(top.length);
+        for (int index : top) {
+            result.add(players.get(index));
+        }
+        return result;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Scores calculés de tout l'effectif (même ordre que getAllPlayers)
+    // Une stratégie à formule est calculée par lot sur les colonnes ; les autres passent par le cache
+    // ─────────────────────────────────────────────
+    public synchronized int[] calculateAllScores() {
+        if (scoreCache.getStrategy() instanceof FormulaStrategy strategy) {
+            return roster().score(strategy.formula());
+        }
+        int[] computed = new int[players.size()];
+        for (int i = 0; i < computed.length; i++) {
+            computed[i] = scoreCache.scoreOf(players.get(i));
+        }
+        return computed;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Change la stratégie de score du tournoi (tous les scores sont recalculés en parallèle)
+    // ─────────────────────────────────────────────
+    public synchronized void setScoringStrategy(ScoringStrategy strategy) {
+        scoreCache.setStrategy(strategy, players);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Change la formule des scores calculés (stratégie à formule, calculable par lots)
+    // ─────────────────────────────────────────────
+    public void setScoringFormula(ScoringFormula scoringFormula) {
+        setScoringStrategy(new FormulaStrategy("custom-formula", scoringFormula));
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Cache des scores (à abonner aux matchs du tournoi, voir MatchService)
+    // ─────────────────────────────────────────────
+    public ScoreCache getScoreCache() {
+        return scoreCache;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Instantané immuable de l'effectif en colonnes primitives (IDs, niveaux, scores)
+    // Partagé tant que l'effectif ne change pas : aucune copie de la liste des joueurs
+    // ─────────────────────────────────────────────
+    public synchronized RosterColumns getRosterColumns() {
+        return roster();
+    }
+
+    // Joseph_com : Colonnes de l'effectif (extraites une fois par version de l'effectif)
+    private RosterColumns roster() {
+        if (columns == null) {
+            columns = RosterColumns.of(players);
+        }
+        return columns;
     }
 
     // ─────────────────────────────────────────────
     // Joseph_com : Calcule le score total de tous les joueurs (statistique globale)
     // Utilise reduce() via mapToInt pour agréger les valeurs
     // ─────────────────────────────────────────────
-    public int getTotalScore() {
+    public synchronized int getTotalScore() {
         int total = players.stream()
                 .mapToInt(Player::getScore)
                 .sum();
-        logger.info("Score total calculé : {}", total);
+        if (logger.isInfoEnabled() && totalLogSampler.tryAcquire()) {
+            logger.info("Score total calculé : {} ({} appel(s) non journalisé(s))",
+                    total, totalLogSampler.drainSuppressed());
+        }
         return total;
     }
 
     // ─────────────────────────────────────────────
     // Joseph_com : Calcule le score moyen de tous les joueurs
     // ─────────────────────────────────────────────
-    public double getAverageScore() {
+    public synchronized double getAverageScore() {
         return players.stream()
                 .mapToInt(Player::getScore)
                 .average()
                 .orElse(0.0);
     }
 
+    // ─────────────────────────────────────────────
+    // Joseph_com : Nombre de joueurs inscrits (sans copier la liste)
+    // ─────────────────────────────────────────────
+    public synchronized int getPlayerCount() {
+        return players.size();
+    }
+
     // ─────────────────────────────────────────────
     // Joseph_com : Retourne la liste brute de tous les joueurs (non triée)
     // ─────────────────────────────────────────────
-    public List<Player> getAllPlayers() {
+    public synchronized List<Player> getAllPlayers() {
         return new ArrayList<>(players);
     }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Copie immuable de l'index par ID, lisible sans verrou depuis plusieurs threads
+    // (validation parallèle des imports : un instantané cohérent, que les ajouts suivants ne modifient pas)
+    // ─────────────────────────────────────────────
+    public synchronized Map<Integer, Player> snapshotById() {
+        return Map.copyOf(playersById);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Active ou désactive la sauvegarde immédiate
+    // En mode différé, les modifications restent en mémoire jusqu'au prochain flush()
+    // (utile pour les traitements par lots : une seule réécriture du CSV à la fin)
+    // ─────────────────────────────────────────────
+    public synchronized void setAutoSave(boolean autoSave) {
+        this.autoSave = autoSave;
+        if (autoSave) flush();
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Écrit sur disque les modifications en attente (mode différé)
+    // ─────────────────────────────────────────────
+    public synchronized void flush() {
+        if (dirty) {
+            playerRepository.saveAll(players);
+            dirty = false;
+        }
+    }
+
+    // Joseph_com : Sauvegarde immédiate des joueurs modifiés ou marquage des modifications selon le mode
+    private void persist(List<Player> changed) {
+        // Joseph_com : L'effectif a changé : les colonnes seront ré-extraites au prochain calcul
+        columns = null;
+        scoreCache.onRosterChanged();
+        if (autoSave) {
+            playerRepository.saveChanged(changed, players);
+        } else {
+            dirty = true;
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Branche le service sur un flux de changements (PLAYER_ADDED, SCORE_CHANGED)
+    // ─────────────────────────────────────────────
+    public void setEventBus(ChangeEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    // Joseph_com : Publication d'un nouveau joueur si un flux est branché
+    private void publishPlayerAdded(Player player) {
+        ChangeEventBus bus = eventBus;
+        if (bus != null) {
+            bus.publishPlayerAdded(player);
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Ajoute un joueur aux index (ID et pseudo)
+    // ─────────────────────────────────────────────
+    private void index(Player player) {
+        player.setScoreProvider(scoreCache);
+        playersById.put(player.getId(), player);
+        nicknames.add(normalize(player.getNickname()));
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Clé de comparaison des pseudos (insensible à la casse)
+    // ─────────────────────────────────────────────
+    private static String normalize(String nickname) {
+        return nickname.toLowerCase(Locale.ROOT);
+    }
 }
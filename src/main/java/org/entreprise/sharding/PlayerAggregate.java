@@ -0,0 +1,21 @@
+package org.entreprise.sharding;
+
+/**
+ * Joseph_com : Agrégats d'un joueur calculés par son shard.
+ *
+ * @param playerId      ID du joueur
+ * @param wins          victoires
+ * @param losses        défaites
+ * @param draws         matchs nuls
+ * @param pointsFor     points marqués
+ * @param pointsAgainst points encaissés
+ */
+public record PlayerAggregate(int playerId, int wins, int losses, int draws, long pointsFor, long pointsAgainst) {
+
+    /**
+     * @return nombre de matchs joués
+     */
+    public int matches() {
+        return wins + losses + draws;
+    }
+}
@@ -0,0 +1,175 @@
+package org.entreprise.sharding;
+
+import org.entreprise.model.Match;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Joseph_com : Un shard : l'état des joueurs dont l'ID tombe dans ce shard, et le seul thread qui y touche.
+ * Toutes les lectures et écritures passent par la file du thread : aucun verrou sur les données.
+ */
+final class PlayerShard {
+
+    // Joseph_com : État mutable d'un joueur (jamais partagé hors du thread du shard)
+    private static final class PlayerState {
+        int wins;
+        int losses;
+        int draws;
+        long pointsFor;
+        long pointsAgainst;
+        // Joseph_com : ID du match → match, dans l'ordre de création
+        final Map<Integer, Match> matches = new LinkedHashMap<>();
+    }
+
+    private final int index;
+    private final int shardCount;
+    private final ExecutorService executor;
+    private final Map<Integer, PlayerState> players = new HashMap<>();
+
+    PlayerShard(int index, int shardCount) {
+        this.index = index;
+        this.shardCount = shardCount;
+        this.executor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "match-shard-" + index);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Shard propriétaire d'un joueur (hachage mélangé de l'ID)
+    // ─────────────────────────────────────────────
+    static int shardOf(int playerId, int shardCount) {
+        int h = playerId * 0x9E3779B9;
+        return ((h ^ (h >>> 16)) & Integer.MAX_VALUE) % shardCount;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Écriture : applique un lot de matchs (asynchrone, dans l'ordre de la file)
+    // Chaque shard ne met à jour que le côté des joueurs qu'il possède
+    // ─────────────────────────────────────────────
+    void submit(List<Match> matches) {
+        executor.execute(() -> {
+            for (Match match : matches) {
+                apply(match, 1);
+            }
+        });
+    }
+
+    // Joseph_com : Retrait et correction de matchs, dans l'ordre de la file comme les ajouts
+    void submitRemoval(Match match) {
+        executor.execute(() -> apply(match, -1));
+    }
+
+    void submitUpdate(Match previous, Match updated) {
+        executor.execute(() -> {
+            int player1Id = updated.getPlayer1().getId();
+            int player2Id = updated.getPlayer2().getId();
+            if (shardOf(player1Id, shardCount) == index) replace(player1Id, previous, updated, true);
+            if (shardOf(player2Id, shardCount) == index) replace(player2Id, previous, updated, false);
+        });
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Lecture : exécutée dans le thread du shard, après toutes les écritures déjà soumises
+    // ─────────────────────────────────────────────
+    <T> CompletableFuture<T> query(Supplier<T> reader) {
+        return CompletableFuture.supplyAsync(reader, executor);
+    }
+
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Lectures (à appeler uniquement via query)
+    // ─────────────────────────────────────────────
+    PlayerAggregate aggregate(int playerId) {
+        PlayerState state = players.get(playerId);
+        return state == null ? new PlayerAggregate(playerId, 0, 0, 0, 0, 0) : toAggregate(playerId, state);
+    }
+
+    List<Match> matchesOf(int playerId) {
+        PlayerState state = players.get(playerId);
+        return state == null ? List.of() : new ArrayList<>(state.matches.values());
+    }
+
+    long pointsScored() {
+        long total = 0;
+        for (PlayerState state : players.values()) {
+            total += state.pointsFor;
+        }
+        return total;
+    }
+
+    // Joseph_com : k meilleurs joueurs du shard par victoires (tas borné à k)
+    List<PlayerAggregate> topByWins(int k, Comparator<PlayerAggregate> order) {
+        PriorityQueue<PlayerAggregate> heap = new PriorityQueue<>(k + 1, order.reversed());
+        for (Map.Entry<Integer, PlayerState> entry : players.entrySet()) {
+            heap.add(toAggregate(entry.getKey(), entry.getValue()));
+            if (heap.size() > k) heap.poll();
+        }
+        return new ArrayList<>(heap);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Mise à jour des côtés possédés par ce shard (sign = +1 ajout, -1 retrait)
+    // ─────────────────────────────────────────────
+    private void apply(Match match, int sign) {
+        int player1Id = match.getPlayer1().getId();
+        int player2Id = match.getPlayer2().getId();
+        if (shardOf(player1Id, shardCount) == index) {
+            record(player1Id, match, match.getScorePlayer1(), match.getScorePlayer2(), sign);
+        }
+        if (shardOf(player2Id, shardCount) == index) {
+            record(player2Id, match, match.getScorePlayer2(), match.getScorePlayer1(), sign);
+        }
+    }
+
+    private void record(int playerId, Match match, int scored, int conceded, int sign) {
+        PlayerState state = players.computeIfAbsent(playerId, id -> new PlayerState());
+        if (sign > 0) {
+            state.matches.put(match.getId(), match);
+        } else if (state.matches.remove(match.getId()) == null) {
+            return;
+        }
+        count(state, scored, conceded, sign);
+    }
+
+    // Joseph_com : Correction : compteurs ajustés par delta, le match garde sa place dans l'historique
+    private void replace(int playerId, Match previous, Match updated, boolean firstSide) {
+        PlayerState state = players.get(playerId);
+        if (state == null || !state.matches.containsKey(previous.getId())) return;
+        if (firstSide) {
+            count(state, previous.getScorePlayer1(), previous.getScorePlayer2(), -1);
+            count(state, updated.getScorePlayer1(), updated.getScorePlayer2(), 1);
+        } else {
+            count(state, previous.getScorePlayer2(), previous.getScorePlayer1(), -1);
+            count(state, updated.getScorePlayer2(), updated.getScorePlayer1(), 1);
+        }
+        state.matches.put(updated.getId(), updated);
+    }
+
+    private static void count(PlayerState state, int scored, int conceded, int sign) {
+        if (scored > conceded) state.wins += sign;
+        else if (scored < conceded) state.losses += sign;
+        else state.draws += sign;
+        state.pointsFor += sign * (long) scored;
+        state.pointsAgainst += sign * (long) conceded;
+    }
+
+    private static PlayerAggregate toAggregate(int playerId, PlayerState state) {
+        return new PlayerAggregate(playerId, state.wins, state.losses, state.draws,
+                state.pointsFor, state.pointsAgainst);
+    }
+}
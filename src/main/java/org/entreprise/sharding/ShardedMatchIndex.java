@@ -0,0 +1,185 @@
+package org.entreprise.sharding;
+
+import org.entreprise.model.Match;
+import org.entreprise.service.MatchListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Joseph_com : Index des matchs partitionné par hachage de l'ID joueur sur N shards mono-thread.
+ * - Chaque shard possède l'état de ses joueurs (victoires, index des matchs, points) sans verrou.
+ * - Un match entre deux joueurs de shards différents est transmis aux deux shards (passage de relais) :
+ *   le match est immuable, chaque shard ne met à jour que le côté de son joueur.
+ * - Les lots sont découpés par shard avant soumission : une seule tâche par shard et par lot.
+ * - Une lecture passe par la file du shard concerné : elle voit toutes les écritures soumises avant elle.
+ * Les files des shards ne sont pas bornées : l'ingestion ne bloque jamais le MatchService.
+ */
+public class ShardedMatchIndex implements MatchListener, AutoCloseable {
+
+    // Joseph_com : Logger pour tracer la création et l'arrêt des shards
+    private static final Logger logger = LoggerFactory.getLogger(ShardedMatchIndex.class);
+
+    // Joseph_com : Ordre du classement : victoires décroissantes, puis points marqués, puis ID
+    private static final Comparator<PlayerAggregate> BY_WINS = Comparator
+            .comparingInt(PlayerAggregate::wins).reversed()
+            .thenComparing(Comparator.comparingLong(PlayerAggregate::pointsFor).reversed())
+            .thenComparingInt(PlayerAggregate::playerId);
+
+    private final PlayerShard[] shards;
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Constructeur avec un shard par cœur disponible
+    // ─────────────────────────────────────────────
+    public ShardedMatchIndex() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Constructeur - démarre un thread par shard
+    // ─────────────────────────────────────────────
+    /**
+     * @param shardCount nombre de shards (>= 1)
+     */
+    public ShardedMatchIndex(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Le nombre de shards doit être >= 1 : " + shardCount);
+        }
+        this.shards = new PlayerShard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new PlayerShard(i, shardCount);
+        }
+        logger.info("Index des matchs partitionné sur {} shard(s).", shardCount);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Ingestion
+    // ─────────────────────────────────────────────
+    @Override
+    public void onMatchCreated(Match match) {
+        onMatchesCreated(List.of(match));
+    }
+
+    // Joseph_com : Découpe le lot par shard (un match inter-shards va dans les deux) puis une tâche par shard
+    @Override
+    public void onMatchesCreated(List<Match> matches) {
+        if (matches.isEmpty()) return;
+        List<List<Match>> perShard = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            perShard.add(new ArrayList<>());
+        }
+        for (Match match : matches) {
+            int shard1 = PlayerShard.shardOf(match.getPlayer1().getId(), shards.length);
+            int shard2 = PlayerShard.shardOf(match.getPlayer2().getId(), shards.length);
+            perShard.get(shard1).add(match);
+            if (shard2 != shard1) {
+                perShard.get(shard2).add(match);
+            }
+        }
+        for (int i = 0; i < shards.length; i++) {
+            if (!perShard.get(i).isEmpty()) {
+                shards[i].submit(perShard.get(i));
+            }
+        }
+    }
+
+    // Joseph_com : Retrait et correction : transmis au(x) shard(s) des deux joueurs
+    @Override
+    public void onMatchRemoved(Match match) {
+        for (PlayerShard shard : shardsOf(match)) {
+            shard.submitRemoval(match);
+        }
+    }
+
+    @Override
+    public void onMatchUpdated(Match previous, Match updated) {
+        for (PlayerShard shard : shardsOf(updated)) {
+            shard.submitUpdate(previous, updated);
+        }
+    }
+
+    private List<PlayerShard> shardsOf(Match match) {
+        PlayerShard shard1 = shardFor(match.getPlayer1().getId());
+        PlayerShard shard2 = shardFor(match.getPlayer2().getId());
+        return shard1 == shard2 ? List.of(shard1) : List.of(shard1, shard2);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Lectures d'un joueur (un seul shard interrogé)
+    // ─────────────────────────────────────────────
+    public PlayerAggregate statsFor(int playerId) {
+        PlayerShard shard = shardFor(playerId);
+        return shard.query(() -> shard.aggregate(playerId)).join();
+    }
+
+    public long countWins(int playerId) {
+        return statsFor(playerId).wins();
+    }
+
+    public List<Match> getMatchesByPlayer(int playerId) {
+        PlayerShard shard = shardFor(playerId);
+        return shard.query(() -> shard.matchesOf(playerId)).join();
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Agrégats globaux : calcul partiel en parallèle dans chaque shard, puis fusion
+    // ─────────────────────────────────────────────
+    /**
+     * @return total des points joués (chaque côté d'un match est compté par le shard de son joueur)
+     */
+    public long getTotalPointsPlayed() {
+        List<CompletableFuture<Long>> partials = new ArrayList<>(shards.length);
+        for (PlayerShard shard : shards) {
+            partials.add(shard.query(shard::pointsScored));
+        }
+        long total = 0;
+        for (CompletableFuture<Long> partial : partials) {
+            total += partial.join();
+        }
+        return total;
+    }
+
+    /**
+     * @param k nombre de joueurs à retourner
+     * @return les k joueurs ayant le plus de victoires (puis le plus de points marqués)
+     */
+    public List<PlayerAggregate> topByWins(int k) {
+        if (k <= 0) return List.of();
+        List<CompletableFuture<List<PlayerAggregate>>> partials = new ArrayList<>(shards.length);
+        for (PlayerShard shard : shards) {
+            partials.add(shard.query(() -> shard.topByWins(k, BY_WINS)));
+        }
+        List<PlayerAggregate> merged = new ArrayList<>();
+        for (CompletableFuture<List<PlayerAggregate>> partial : partials) {
+            merged.addAll(partial.join());
+        }
+        merged.sort(BY_WINS);
+        return List.copyOf(merged.subList(0, Math.min(k, merged.size())));
+    }
+
+    /**
+     * @return nombre de shards
+     */
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Arrêt des threads (les tâches déjà soumises sont terminées)
+    // ─────────────────────────────────────────────
+    @Override
+    public void close() {
+        for (PlayerShard shard : shards) {
+            shard.shutdown();
+        }
+        logger.info("Index partitionné arrêté.");
+    }
+
+    private PlayerShard shardFor(int playerId) {
+        return shards[PlayerShard.shardOf(playerId, shards.length)];
+    }
+}
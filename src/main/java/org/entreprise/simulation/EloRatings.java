@@ -0,0 +1,45 @@
+package org.entreprise.simulation;
+
+import org.entreprise.model.Match;
+import org.entreprise.model.Player;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Joseph_com : Calcul des cotes Elo en rejouant l'historique des matchs dans l'ordre de création.
+ */
+public final class EloRatings {
+
+    // Joseph_com : Cote de départ et coefficient K
+    public static final double INITIAL_RATING = 1000;
+    public static final double K_FACTOR = 32;
+
+    private EloRatings() {
+    }
+
+    /**
+     * @param players joueurs à coter (cote initiale même sans match)
+     * @param matches historique des matchs, dans l'ordre de création
+     * @return cote de chaque joueur, par ID
+     */
+    public static Map<Integer, Double> compute(List<Player> players, List<Match> matches) {
+        Map<Integer, Double> ratings = new HashMap<>();
+        for (Player player : players) {
+            ratings.put(player.getId(), INITIAL_RATING);
+        }
+        for (Match match : matches) {
+            int a = match.getPlayer1().getId();
+            int b = match.getPlayer2().getId();
+            double ra = ratings.getOrDefault(a, INITIAL_RATING);
+            double rb = ratings.getOrDefault(b, INITIAL_RATING);
+            double expectedA = 1.0 / (1.0 + Math.pow(10, (rb - ra) / 400.0));
+            double actualA = Integer.compare(match.getScorePlayer1(), match.getScorePlayer2()) * 0.5 + 0.5;
+            double delta = K_FACTOR * (actualA - expectedA);
+            ratings.put(a, ra + delta);
+            ratings.put(b, rb - delta);
+        }
+        return ratings;
+    }
+}
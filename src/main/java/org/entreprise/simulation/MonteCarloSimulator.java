@@ -0,0 +1,233 @@
+package org.entreprise.simulation;
+
+import org.entreprise.service.MatchService;
+import org.entreprise.service.PlayerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Joseph_com : Simulateur Monte-Carlo de la suite d'un tournoi (élimination directe ou poule).
+ * - Les probabilités de victoire entre participants sont pré-calculées dans une matrice.
+ * - Les simulations sont réparties par fork-join : chaque découpe reçoit son propre générateur
+ *   (SplittableRandom.split) et ses propres compteurs ; aucun état mutable partagé.
+ * - Les compteurs des sous-tâches sont additionnés au retour (fusion sans verrou).
+ * - À graine égale, le résultat est identique quel que soit le nombre de threads.
+ */
+public class MonteCarloSimulator {
+
+    // Joseph_com : Logger pour tracer la durée des simulations
+    private static final Logger logger = LoggerFactory.getLogger(MonteCarloSimulator.class);
+
+    // Joseph_com : Nombre de simulations sous lequel une tâche n'est plus découpée
+    private static final long LEAF_ITERATIONS = 20_000;
+
+    // Joseph_com : Au-delà, la matrice des probabilités serait trop volumineuse
+    public static final int MAX_PARTICIPANTS = 2048;
+
+    private final StrengthModel model;
+    private final ForkJoinPool pool;
+
+    public MonteCarloSimulator(StrengthModel model) {
+        this(model, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param model modèle de force des joueurs
+     * @param pool  pool fork-join d'exécution
+     */
+    public MonteCarloSimulator(StrengthModel model, ForkJoinPool pool) {
+        this.model = model;
+        this.pool = pool;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Simulateur basé sur les données d'un tournoi
+    // ─────────────────────────────────────────────
+    /**
+     * @param useElo true = cotes Elo de l'historique des matchs, false = scores calculés des joueurs
+     */
+    public static MonteCarloSimulator forTournament(PlayerService playerService, MatchService matchService,
+                                                    boolean useElo) {
+        StrengthModel model = useElo
+                ? StrengthModel.fromEloHistory(playerService.getAllPlayers(), matchService.getAllMatches())
+                : StrengthModel.fromCalculatedScores(playerService.getAllPlayers());
+        return new MonteCarloSimulator(model);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Lance les simulations
+    // ─────────────────────────────────────────────
+    /**
+     * @param format     format de la suite du tournoi
+     * @param iterations nombre de tournois simulés
+     * @param seed       graine (résultats reproductibles)
+     * @return distribution des places de chaque participant
+     */
+    public SimulationResult simulate(TournamentFormat format, long iterations, long seed) {
+        if (iterations <= 0) {
+            throw new IllegalArgumentException("Le nombre de simulations doit être positif : " + iterations);
+        }
+        Compiled compiled = compile(format);
+        long start = System.nanoTime();
+        long[] counts = pool.invoke(new SimulationTask(compiled, iterations, new SplittableRandom(seed)));
+        logger.info("{} simulation(s) sur {} participant(s) en {} ms.", iterations,
+                compiled.playerIds.length, (System.nanoTime() - start) / 1_000_000);
+        return new SimulationResult(iterations, compiled.playerIds, compiled.places, counts);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Préparation : index compacts, matrice des probabilités, données du format
+    // ─────────────────────────────────────────────
+    private Compiled compile(TournamentFormat format) {
+        List<Integer> participants = format.participants();
+        int n = participants.size();
+        if (n > MAX_PARTICIPANTS) {
+            throw new IllegalArgumentException("Trop de participants pour la simulation : " + n);
+        }
+        int[] ids = participants.stream().mapToInt(Integer::intValue).toArray();
+        double[] probabilities = new double[n * n];
+        for (int a = 0; a < n; a++) {
+            for (int b = 0; b < n; b++) {
+                probabilities[a * n + b] = a == b ? 0.5 : model.winProbability(ids[a], ids[b]);
+            }
+        }
+
+        return switch (format) {
+            case TournamentFormat.SingleElimination bracket -> {
+                int size = Integer.highestOneBit(n) == n ? n : Integer.highestOneBit(n) << 1;
+                int[] slots = new int[size];
+                Arrays.fill(slots, -1);
+                for (int i = 0; i < n; i++) slots[i] = i;
+                yield new Compiled(ids, probabilities, Integer.numberOfTrailingZeros(size) + 1,
+                        slots, null, null, null);
+            }
+            case TournamentFormat.RoundRobin roundRobin -> {
+                int[] initial = new int[n];
+                for (int i = 0; i < n; i++) initial[i] = roundRobin.currentPoints().getOrDefault(ids[i], 0);
+                int[] first = new int[roundRobin.remaining().size()];
+                int[] second = new int[first.length];
+                for (int f = 0; f < first.length; f++) {
+                    first[f] = participants.indexOf(roundRobin.remaining().get(f).player1Id());
+                    second[f] = participants.indexOf(roundRobin.remaining().get(f).player2Id());
+                }
+                yield new Compiled(ids, probabilities, n, null, initial, first, second);
+            }
+        };
+    }
+
+    // Joseph_com : Format préparé, immuable, partagé en lecture par toutes les tâches
+    private record Compiled(int[] playerIds, double[] probabilities, int places,
+                            int[] bracketSlots, int[] initialPoints, int[] fixtureFirst, int[] fixtureSecond) {
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Tâche fork-join : découpe les simulations en deux jusqu'à LEAF_ITERATIONS
+    // ─────────────────────────────────────────────
+    private static final class SimulationTask extends RecursiveTask<long[]> {
+
+        private final Compiled compiled;
+        private final long iterations;
+        private final SplittableRandom random;
+
+        SimulationTask(Compiled compiled, long iterations, SplittableRandom random) {
+            this.compiled = compiled;
+            this.iterations = iterations;
+            this.random = random;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (iterations <= LEAF_ITERATIONS) {
+                return runLeaf();
+            }
+            long half = iterations / 2;
+            // Joseph_com : La découpe du générateur ne dépend que de l'arbre des tâches (reproductible)
+            SimulationTask left = new SimulationTask(compiled, half, random.split());
+            SimulationTask right = new SimulationTask(compiled, iterations - half, random);
+            left.fork();
+            long[] counts = right.compute();
+            long[] other = left.join();
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other[i];
+            }
+            return counts;
+        }
+
+        private long[] runLeaf() {
+            int n = compiled.playerIds.length;
+            long[] counts = new long[n * compiled.places];
+            if (compiled.bracketSlots != null) {
+                int[] slots = new int[compiled.bracketSlots.length];
+                for (long i = 0; i < iterations; i++) {
+                    simulateBracket(slots, counts);
+                }
+            } else {
+                int[] points = new int[n];
+                long[] keys = new long[n];
+                for (long i = 0; i < iterations; i++) {
+                    simulateRoundRobin(points, keys, counts);
+                }
+            }
+            return counts;
+        }
+
+        // Joseph_com : Un tableau à élimination directe ; un exempt (-1) qualifie son adversaire
+        private void simulateBracket(int[] slots, long[] counts) {
+            int n = compiled.playerIds.length;
+            int places = compiled.places;
+            System.arraycopy(compiled.bracketSlots, 0, slots, 0, slots.length);
+            int remaining = slots.length;
+            while (remaining > 1) {
+                // Joseph_com : Place d'un éliminé à ce tour : log2(nombre de joueurs restants)
+                int eliminatedPlace = Integer.numberOfTrailingZeros(remaining);
+                for (int i = 0; i < remaining; i += 2) {
+                    int a = slots[i];
+                    int b = slots[i + 1];
+                    int winner;
+                    if (a < 0) {
+                        winner = b;
+                    } else if (b < 0) {
+                        winner = a;
+                    } else {
+                        boolean aWins = random.nextDouble() < compiled.probabilities[a * n + b];
+                        winner = aWins ? a : b;
+                        int loser = aWins ? b : a;
+                        counts[loser * places + eliminatedPlace]++;
+                    }
+                    slots[i >> 1] = winner;
+                }
+                remaining >>= 1;
+            }
+            counts[slots[0] * places]++;
+        }
+
+        // Joseph_com : Une fin de poule ; égalités départagées au hasard (bits de poids faible de la clé)
+        private void simulateRoundRobin(int[] points, long[] keys, long[] counts) {
+            int n = compiled.playerIds.length;
+            System.arraycopy(compiled.initialPoints, 0, points, 0, n);
+            int[] first = compiled.fixtureFirst;
+            int[] second = compiled.fixtureSecond;
+            for (int f = 0; f < first.length; f++) {
+                int a = first[f];
+                int b = second[f];
+                if (random.nextDouble() < compiled.probabilities[a * n + b]) points[a]++;
+                else points[b]++;
+            }
+            // Joseph_com : Clé = points | tirage aléatoire | index : un seul tri primitif
+            for (int i = 0; i < n; i++) {
+                keys[i] = ((long) points[i] << 32) | ((long) random.nextInt(1 << 20) << 11) | i;
+            }
+            Arrays.sort(keys);
+            for (int rank = 0; rank < n; rank++) {
+                int index = (int) (keys[n - 1 - rank] & 0x7FF);
+                counts[index * compiled.places + rank]++;
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.entreprise.simulation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Joseph_com : Distribution des résultats simulés de chaque joueur.
+ * La place 0 est la victoire finale ; pour une élimination directe, la place k signifie
+ * « éliminé quand il restait 2^k joueurs » (1 = finaliste, 2 = demi-finaliste...),
+ * pour une poule c'est le rang final.
+ */
+public final class SimulationResult {
+
+    private final long iterations;
+    private final int[] playerIds;
+    private final int places;
+
+    // Joseph_com : counts[joueur * places + place] = nombre de simulations terminées à cette place
+    private final long[] counts;
+
+    SimulationResult(long iterations, int[] playerIds, int places, long[] counts) {
+        this.iterations = iterations;
+        this.playerIds = playerIds;
+        this.places = places;
+        this.counts = counts;
+    }
+
+    public long getIterations() {
+        return iterations;
+    }
+
+    /**
+     * @return probabilité de remporter le tournoi
+     */
+    public double winProbability(int playerId) {
+        return placeDistribution(playerId)[0];
+    }
+
+    /**
+     * @return probabilité de chaque place (index 0 = victoire finale)
+     */
+    public double[] placeDistribution(int playerId) {
+        int index = indexOf(playerId);
+        double[] distribution = new double[places];
+        for (int place = 0; place < places; place++) {
+            distribution[place] = (double) counts[index * places + place] / iterations;
+        }
+        return distribution;
+    }
+
+    /**
+     * @return place moyenne (0 = victoire finale)
+     */
+    public double expectedPlace(int playerId) {
+        double[] distribution = placeDistribution(playerId);
+        double expected = 0;
+        for (int place = 0; place < places; place++) {
+            expected += place * distribution[place];
+        }
+        return expected;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Participants triés par probabilité de victoire décroissante
+    // ─────────────────────────────────────────────
+    public List<PlayerOutcome> ranked() {
+        List<PlayerOutcome> outcomes = new ArrayList<>(playerIds.length);
+        for (int id : playerIds) {
+            outcomes.add(new PlayerOutcome(id, winProbability(id), expectedPlace(id)));
+        }
+        outcomes.sort(Comparator.comparingDouble(PlayerOutcome::winProbability).reversed()
+                .thenComparingDouble(PlayerOutcome::expectedPlace));
+        return outcomes;
+    }
+
+    private int indexOf(int playerId) {
+        for (int i = 0; i < playerIds.length; i++) {
+            if (playerIds[i] == playerId) return i;
+        }
+        throw new IllegalArgumentException("Joueur absent de la simulation : " + playerId);
+    }
+
+    /**
+     * Joseph_com : Résultat synthétique d'un joueur.
+     *
+     * @param playerId       ID du joueur
+     * @param winProbability probabilité de remporter le tournoi
+     * @param expectedPlace  place moyenne (0 = victoire)
+     */
+    public record PlayerOutcome(int playerId, double winProbability, double expectedPlace) {
+    }
+}
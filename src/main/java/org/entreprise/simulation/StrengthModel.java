@@ -0,0 +1,52 @@
+package org.entreprise.simulation;
+
+import org.entreprise.model.Match;
+import org.entreprise.model.Player;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Joseph_com : Modèle de force des joueurs : probabilité qu'un joueur batte un autre.
+ * Deux modèles fournis :
+ * - fromCalculatedScores : Bradley-Terry sur les scores calculés (stratégie de score du tournoi) ;
+ * - fromEloHistory : cotes Elo obtenues en rejouant l'historique des matchs.
+ */
+@FunctionalInterface
+public interface StrengthModel {
+
+    /**
+     * @param playerA ID du premier joueur
+     * @param playerB ID du second joueur
+     * @return probabilité que playerA batte playerB (entre 0 et 1)
+     */
+    double winProbability(int playerA, int playerB);
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Bradley-Terry : P(A bat B) = forceA / (forceA + forceB), force = score calculé + 1
+    // ─────────────────────────────────────────────
+    static StrengthModel fromCalculatedScores(List<Player> players) {
+        Map<Integer, Double> strength = new HashMap<>();
+        for (Player player : players) {
+            strength.put(player.getId(), Math.max(0, player.calculateScore()) + 1.0);
+        }
+        return (a, b) -> {
+            double sa = strength.getOrDefault(a, 1.0);
+            double sb = strength.getOrDefault(b, 1.0);
+            return sa / (sa + sb);
+        };
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Elo : P(A bat B) = 1 / (1 + 10^((coteB - coteA) / 400))
+    // ─────────────────────────────────────────────
+    static StrengthModel fromEloHistory(List<Player> players, List<Match> matches) {
+        Map<Integer, Double> ratings = EloRatings.compute(players, matches);
+        return (a, b) -> {
+            double ra = ratings.getOrDefault(a, EloRatings.INITIAL_RATING);
+            double rb = ratings.getOrDefault(b, EloRatings.INITIAL_RATING);
+            return 1.0 / (1.0 + Math.pow(10, (rb - ra) / 400.0));
+        };
+    }
+}
@@ -0,0 +1,91 @@
+package org.entreprise.simulation;
+
+import org.entreprise.model.Match;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Joseph_com : Format de la suite d'un tournoi à simuler.
+ */
+public sealed interface TournamentFormat {
+
+    /**
+     * @return IDs des participants
+     */
+    List<Integer> participants();
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Élimination directe : les têtes de série s'affrontent deux à deux dans l'ordre donné
+    // (1 contre 2, 3 contre 4...). Si le nombre n'est pas une puissance de 2, les derniers slots sont des exempts.
+    // ─────────────────────────────────────────────
+    /**
+     * @param participants joueurs dans l'ordre du tableau
+     */
+    record SingleElimination(List<Integer> participants) implements TournamentFormat {
+        public SingleElimination {
+            participants = List.copyOf(participants);
+            requireDistinct(participants);
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Poule (round-robin) : classement aux victoires, matchs restants à simuler
+    // ─────────────────────────────────────────────
+    /**
+     * @param participants  joueurs de la poule
+     * @param remaining     matchs restant à jouer
+     * @param currentPoints victoires déjà acquises par joueur (absent = 0)
+     */
+    record RoundRobin(List<Integer> participants, List<Fixture> remaining, Map<Integer, Integer> currentPoints)
+            implements TournamentFormat {
+        public RoundRobin {
+            participants = List.copyOf(participants);
+            remaining = List.copyOf(remaining);
+            currentPoints = Map.copyOf(currentPoints);
+            requireDistinct(participants);
+            Set<Integer> known = new HashSet<>(participants);
+            for (Fixture fixture : remaining) {
+                if (!known.contains(fixture.player1Id()) || !known.contains(fixture.player2Id())) {
+                    throw new IllegalArgumentException("Match restant hors de la poule : " + fixture);
+                }
+            }
+        }
+
+        // ─────────────────────────────────────────────
+        // Joseph_com : Poule dont les points acquis sont les victoires entre participants dans l'historique
+        // ─────────────────────────────────────────────
+        public static RoundRobin fromHistory(List<Integer> participants, List<Fixture> remaining, List<Match> history) {
+            Set<Integer> members = new HashSet<>(participants);
+            Map<Integer, Integer> points = new HashMap<>();
+            for (Match match : history) {
+                int a = match.getPlayer1().getId();
+                int b = match.getPlayer2().getId();
+                if (!members.contains(a) || !members.contains(b) || match.getWinner() == null) continue;
+                points.merge(match.getWinner().getId(), 1, Integer::sum);
+            }
+            return new RoundRobin(participants, remaining, points);
+        }
+    }
+
+    /**
+     * Joseph_com : Match restant à jouer.
+     *
+     * @param player1Id ID du premier joueur
+     * @param player2Id ID du second joueur
+     */
+    record Fixture(int player1Id, int player2Id) {
+    }
+
+    private static void requireDistinct(List<Integer> participants) {
+        if (participants.size() < 2) {
+            throw new IllegalArgumentException("Il faut au moins deux participants.");
+        }
+        if (new HashSet<>(participants).size() != participants.size()) {
+            throw new IllegalArgumentException("Participant en double : " + participants);
+        }
+    }
+}
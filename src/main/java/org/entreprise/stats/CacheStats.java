@@ -0,0 +1,18 @@
+package org.entreprise.stats;
+
+/**
+ * Joseph_com : Statistiques d'utilisation d'un cache.
+ *
+ * @param hits      lectures servies par le cache
+ * @param misses    lectures ayant nécessité un calcul
+ * @param evictions entrées évincées (LRU)
+ * @param size      nombre d'entrées actuellement en cache
+ */
+public record CacheStats(long hits, long misses, long evictions, int size) {
+
+    // Joseph_com : Taux de succès entre 0 et 1 (0 si aucune lecture)
+    public double hitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,49 @@
+package org.entreprise.stats;
+
+/**
+ * Joseph_com : Bilan des confrontations directes entre deux joueurs, vu du joueur A.
+ *
+ * @param playerAId ID du joueur A
+ * @param playerBId ID du joueur B
+ * @param winsA     victoires de A contre B
+ * @param winsB     victoires de B contre A
+ * @param draws     matchs nuls
+ * @param pointsA   points marqués par A dans ces matchs
+ * @param pointsB   points marqués par B dans ces matchs
+ */
+public record HeadToHeadRecord(int playerAId, int playerBId, int winsA, int winsB, int draws,
+                               long pointsA, long pointsB) {
+
+    // Joseph_com : Nombre total de confrontations
+    public int matches() {
+        return winsA + winsB + draws;
+    }
+
+    // Joseph_com : Différence de points du point de vue de A (positive si A a marqué plus)
+    public long pointDifferential() {
+        return pointsA - pointsB;
+    }
+
+    // Joseph_com : Même bilan vu du joueur B
+    public HeadToHeadRecord reversed() {
+        return new HeadToHeadRecord(playerBId, playerAId, winsB, winsA, draws, pointsB, pointsA);
+    }
+
+    // Joseph_com : Bilan enrichi d'un match (scores donnés du point de vue de A)
+    HeadToHeadRecord plus(int scoreA, int scoreB) {
+        return new HeadToHeadRecord(playerAId, playerBId,
+                winsA + (scoreA > scoreB ? 1 : 0),
+                winsB + (scoreB > scoreA ? 1 : 0),
+                draws + (scoreA == scoreB ? 1 : 0),
+                pointsA + scoreA, pointsB + scoreB);
+    }
+
+    // Joseph_com : Bilan privé d'un match (suppression ou correction, scores du point de vue de A)
+    HeadToHeadRecord minus(int scoreA, int scoreB) {
+        return new HeadToHeadRecord(playerAId, playerBId,
+                winsA - (scoreA > scoreB ? 1 : 0),
+                winsB - (scoreB > scoreA ? 1 : 0),
+                draws - (scoreA == scoreB ? 1 : 0),
+                pointsA - scoreA, pointsB - scoreB);
+    }
+}
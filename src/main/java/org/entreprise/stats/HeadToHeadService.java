@@ -0,0 +1,194 @@
+package org.entreprise.stats;
+
+import org.entreprise.model.Match;
+import org.entreprise.service.MatchListener;
+import org.entreprise.service.MatchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Joseph_com : Service des confrontations directes (victoires, défaites, nuls, différence de points).
+ * Les bilans sont gardés dans un cache LRU borné, indexé par la paire de joueurs.
+ * - Un succès de cache coûte O(1).
+ * - Un échec est calculé à partir de l'index par joueur du MatchService (matchs d'un seul joueur).
+ * - Chaque nouveau match met à jour l'entrée en cache de sa paire (s'il y en a une) ;
+ *   une suppression, une correction ou un archivage y applique le delta inverse.
+ * Comme toutes les vues dérivées, un bilan ne couvre que les matchs en mémoire (archive exclue) :
+ * succès et échec de cache donnent le même résultat.
+ */
+public class HeadToHeadService implements MatchListener {
+
+    // Joseph_com : Logger pour tracer l'initialisation du cache
+    private static final Logger logger = LoggerFactory.getLogger(HeadToHeadService.class);
+
+    // Joseph_com : Capacité par défaut du cache (nombre de paires)
+    public static final int DEFAULT_CAPACITY = 10_000;
+
+    // Joseph_com : Source des matchs pour les calculs en cas d'échec de cache
+    private final MatchService matchService;
+
+    // Joseph_com : Cache LRU (ordre d'accès) clé = paire (min, max) encodée sur un long
+    private final LinkedHashMap<Long, HeadToHeadRecord> cache;
+
+    // Joseph_com : Compteurs d'utilisation (protégés par le verrou du cache)
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    // Joseph_com : Incrémenté à chaque modification de match ; empêche de mettre en cache un calcul devenu obsolète
+    private long generation;
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Constructeur avec capacité par défaut
+    // ─────────────────────────────────────────────
+    public HeadToHeadService(MatchService matchService) {
+        this(matchService, DEFAULT_CAPACITY);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Constructeur complet - s'abonne aux nouveaux matchs du service
+    // ─────────────────────────────────────────────
+    /**
+     * @param matchService service des matchs (source de l'index par joueur)
+     * @param capacity     nombre maximum de paires gardées en cache
+     */
+    public HeadToHeadService(MatchService matchService, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("La capacité du cache doit être d'au moins 1.");
+        }
+        this.matchService = matchService;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, HeadToHeadRecord> eldest) {
+                if (size() > capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+        matchService.addListener(this);
+        logger.info("HeadToHeadService initialisé (capacité du cache : {} paire(s)).", capacity);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Bilan des confrontations entre deux joueurs, vu du joueur A
+    // ─────────────────────────────────────────────
+    /**
+     * @param playerAId ID du joueur A
+     * @param playerBId ID du joueur B
+     * @return bilan de A contre B (vide si les joueurs ne se sont jamais affrontés)
+     */
+    public HeadToHeadRecord get(int playerAId, int playerBId) {
+        long key = key(playerAId, playerBId);
+        long observedGeneration;
+
+        synchronized (cache) {
+            HeadToHeadRecord cached = cache.get(key);
+            if (cached != null) {
+                hits++;
+                return orient(cached, playerAId);
+            }
+            misses++;
+            observedGeneration = generation;
+        }
+
+        // Joseph_com : Calcul hors verrou du cache (le MatchService prend son propre verrou)
+        HeadToHeadRecord computed = compute(Math.min(playerAId, playerBId), Math.max(playerAId, playerBId));
+
+        synchronized (cache) {
+            // Joseph_com : On ne met en cache que si aucun match n'est arrivé pendant le calcul
+            if (generation == observedGeneration) {
+                cache.put(key, computed);
+            }
+        }
+        return orient(computed, playerAId);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Mise à jour incrémentale à chaque nouveau match
+    // Seule l'entrée de la paire concernée est modifiée (si elle est en cache)
+    // ─────────────────────────────────────────────
+    @Override
+    public void onMatchCreated(Match match) {
+        synchronized (cache) {
+            generation++;
+            HeadToHeadRecord cached = cache.get(key(match.getPlayer1().getId(), match.getPlayer2().getId()));
+            if (cached == null) return;
+            store(cached, match, 1);
+        }
+    }
+
+    @Override
+    public void onMatchRemoved(Match match) {
+        synchronized (cache) {
+            generation++;
+            HeadToHeadRecord cached = cache.get(key(match.getPlayer1().getId(), match.getPlayer2().getId()));
+            if (cached == null) return;
+            store(cached, match, -1);
+        }
+    }
+
+    // Joseph_com : Correction : l'ancien score est retiré et le nouveau ajouté en une seule mise à jour
+    @Override
+    public void onMatchUpdated(Match previous, Match updated) {
+        synchronized (cache) {
+            generation++;
+            HeadToHeadRecord cached = cache.get(key(updated.getPlayer1().getId(), updated.getPlayer2().getId()));
+            if (cached == null) return;
+            store(store(cached, previous, -1), updated, 1);
+        }
+    }
+
+    // Joseph_com : Applique un match (sign = +1) ou son retrait (sign = -1) au bilan de sa paire, sous le verrou du cache
+    // Le bilan en cache est stocké du point de vue du plus petit ID
+    private HeadToHeadRecord store(HeadToHeadRecord cached, Match match, int sign) {
+        boolean lowFirst = match.getPlayer1().getId() < match.getPlayer2().getId();
+        int scoreLow = lowFirst ? match.getScorePlayer1() : match.getScorePlayer2();
+        int scoreHigh = lowFirst ? match.getScorePlayer2() : match.getScorePlayer1();
+        HeadToHeadRecord updated = sign > 0 ? cached.plus(scoreLow, scoreHigh) : cached.minus(scoreLow, scoreHigh);
+        cache.put(key(match.getPlayer1().getId(), match.getPlayer2().getId()), updated);
+        return updated;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Statistiques du cache (succès, échecs, évictions)
+    // ─────────────────────────────────────────────
+    public CacheStats getCacheStats() {
+        synchronized (cache) {
+            return new CacheStats(hits, misses, evictions, cache.size());
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Calcul complet d'un bilan à partir des matchs du joueur low
+    // ─────────────────────────────────────────────
+    private HeadToHeadRecord compute(int low, int high) {
+        HeadToHeadRecord record = new HeadToHeadRecord(low, high, 0, 0, 0, 0, 0);
+        List<Match> lowMatches = matchService.getMatchesByPlayer(low);
+        for (Match match : lowMatches) {
+            if (match.getPlayer1().getId() == low && match.getPlayer2().getId() == high) {
+                record = record.plus(match.getScorePlayer1(), match.getScorePlayer2());
+            } else if (match.getPlayer2().getId() == low && match.getPlayer1().getId() == high) {
+                record = record.plus(match.getScorePlayer2(), match.getScorePlayer1());
+            }
+        }
+        return record;
+    }
+
+    // Joseph_com : Présente le bilan du point de vue du joueur demandé
+    private static HeadToHeadRecord orient(HeadToHeadRecord record, int playerAId) {
+        return record.playerAId() == playerAId ? record : record.reversed();
+    }
+
+    // Joseph_com : Clé de cache indépendante de l'ordre des joueurs
+    private static long key(int id1, int id2) {
+        int low = Math.min(id1, id2);
+        int high = Math.max(id1, id2);
+        return ((long) low << 32) | (high & 0xFFFFFFFFL);
+    }
+}
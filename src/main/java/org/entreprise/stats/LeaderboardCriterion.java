@@ -0,0 +1,11 @@
+package org.entreprise.stats;
+
+/**
+ * Joseph_com : Critère de tri d'un classement temporel.
+ */
+public enum LeaderboardCriterion {
+    // Joseph_com : Nombre de victoires, puis points marqués
+    WINS,
+    // Joseph_com : Points marqués, puis nombre de victoires
+    POINTS
+}
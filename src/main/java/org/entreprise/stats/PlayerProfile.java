@@ -0,0 +1,25 @@
+package org.entreprise.stats;
+
+/**
+ * Joseph_com : Profil de performance d'un joueur (instantané, voir PlayerProfiles).
+ *
+ * @param playerId      ID du joueur
+ * @param matches       matchs joués
+ * @param wins          victoires
+ * @param draws         matchs nuls
+ * @param losses        défaites
+ * @param currentStreak victoires consécutives en cours
+ * @param longestStreak plus longue série de victoires
+ * @param form          derniers résultats, du plus ancien au plus récent (V = victoire, N = nul, D = défaite)
+ * @param formPoints    points de forme sur ces résultats (3 par victoire, 1 par nul)
+ * @param averageMargin écart de score moyen (points marqués - points encaissés, par match)
+ */
+public record PlayerProfile(int playerId, int matches, int wins, int draws, int losses,
+                            int currentStreak, int longestStreak, String form, int formPoints,
+                            double averageMargin) {
+
+    // Joseph_com : Taux de victoire entre 0 et 1 (0 si aucun match)
+    public double winRate() {
+        return matches == 0 ? 0.0 : (double) wins / matches;
+    }
+}
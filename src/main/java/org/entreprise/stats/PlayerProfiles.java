@@ -0,0 +1,275 @@
+package org.entreprise.stats;
+
+import org.entreprise.model.Match;
+import org.entreprise.service.MatchListener;
+import org.entreprise.service.MatchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Joseph_com : Profils de performance de tous les joueurs, tenus à jour match par match.
+ * - Construits en une seule passe à l'abonnement (rejeu de l'historique du MatchService).
+ * - Chaque nouveau match coûte O(1) par joueur : compteurs, séries de victoires, et forme
+ *   sur les N derniers résultats (tampon circulaire + somme des points de forme).
+ * - Une suppression ou une correction ajuste les compteurs par delta ; séries et forme dépendant
+ *   de l'ordre des matchs, elles sont recalculées pour les deux joueurs concernés seulement,
+ *   à la lecture suivante (à partir de l'index par joueur du MatchService, sous son verrou : le recalcul
+ *   aboutit toujours, même si des matchs arrivent en continu).
+ */
+public class PlayerProfiles implements MatchListener {
+
+    // Joseph_com : Logger pour tracer l'initialisation
+    private static final Logger logger = LoggerFactory.getLogger(PlayerProfiles.class);
+
+    // Joseph_com : Nombre de derniers résultats retenus pour la forme par défaut
+    public static final int DEFAULT_FORM_LENGTH = 5;
+
+    // Joseph_com : Résultats d'un match du point de vue d'un joueur (valeur = points de forme)
+    private static final byte LOSS = 0;
+    private static final byte DRAW = 1;
+    private static final byte WIN = 3;
+
+    // Joseph_com : Source de l'historique d'un joueur pour les recalculs après suppression ou correction
+    private final MatchService matchService;
+
+    // Joseph_com : Longueur de la forme (N derniers résultats)
+    private final int formLength;
+
+    // Joseph_com : État par joueur (protégé par this)
+    private final Map<Integer, Profile> profiles = new HashMap<>();
+
+    // Joseph_com : Joueurs dont séries et forme sont à recalculer (protégé par this)
+    private final Set<Integer> stale = new HashSet<>();
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Constructeur avec la longueur de forme par défaut
+    // ─────────────────────────────────────────────
+    public PlayerProfiles(MatchService matchService) {
+        this(matchService, DEFAULT_FORM_LENGTH);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Constructeur complet - s'abonne au MatchService (historique rejoué en un lot)
+    // ─────────────────────────────────────────────
+    /**
+     * @param matchService service des matchs
+     * @param formLength   nombre de derniers résultats retenus pour la forme (>= 1)
+     */
+    public PlayerProfiles(MatchService matchService, int formLength) {
+        if (formLength < 1) {
+            throw new IllegalArgumentException("La forme doit porter sur au moins un match : " + formLength);
+        }
+        this.matchService = matchService;
+        this.formLength = formLength;
+        matchService.addListener(this);
+        logger.info("PlayerProfiles initialisé : {} profil(s), forme sur {} match(s).", profiles.size(), formLength);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Mise à jour incrémentale (O(1) par joueur)
+    // ─────────────────────────────────────────────
+    @Override
+    public synchronized void onMatchCreated(Match match) {
+        record(match);
+    }
+
+    // Joseph_com : Lot (rejeu à l'abonnement, import en masse) : un seul passage sous le verrou
+    @Override
+    public synchronized void onMatchesCreated(List<Match> matches) {
+        for (Match match : matches) {
+            record(match);
+        }
+    }
+
+    @Override
+    public synchronized void onMatchRemoved(Match match) {
+        count(match, -1);
+        stale.add(match.getPlayer1().getId());
+        stale.add(match.getPlayer2().getId());
+    }
+
+    @Override
+    public synchronized void onMatchUpdated(Match previous, Match updated) {
+        count(previous, -1);
+        count(updated, 1);
+        stale.add(updated.getPlayer1().getId());
+        stale.add(updated.getPlayer2().getId());
+    }
+
+    private void record(Match match) {
+        count(match, 1);
+        int id1 = match.getPlayer1().getId();
+        int id2 = match.getPlayer2().getId();
+        // Joseph_com : Un joueur en attente de recalcul sera reconstruit depuis l'historique complet
+        if (!stale.contains(id1)) profiles.get(id1).push(resultOf(match.getScorePlayer1(), match.getScorePlayer2()));
+        if (!stale.contains(id2)) profiles.get(id2).push(resultOf(match.getScorePlayer2(), match.getScorePlayer1()));
+    }
+
+    // Joseph_com : Compteurs d'un match (sign = +1) ou de son retrait (sign = -1)
+    private void count(Match match, int sign) {
+        profile(match.getPlayer1().getId())
+                .count(resultOf(match.getScorePlayer1(), match.getScorePlayer2()),
+                        match.getScorePlayer1() - match.getScorePlayer2(), sign);
+        profile(match.getPlayer2().getId())
+                .count(resultOf(match.getScorePlayer2(), match.getScorePlayer1()),
+                        match.getScorePlayer2() - match.getScorePlayer1(), sign);
+    }
+
+    private Profile profile(int playerId) {
+        return profiles.computeIfAbsent(playerId, id -> new Profile(formLength));
+    }
+
+    private static byte resultOf(int scored, int conceded) {
+        return scored > conceded ? WIN : scored == conceded ? DRAW : LOSS;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Lectures
+    // ─────────────────────────────────────────────
+    /**
+     * @return profil du joueur, vide s'il n'a joué aucun match
+     */
+    public Optional<PlayerProfile> get(int playerId) {
+        refreshStale();
+        synchronized (this) {
+            Profile profile = profiles.get(playerId);
+            return profile == null || profile.matches == 0 ? Optional.empty()
+                    : Optional.of(profile.snapshot(playerId));
+        }
+    }
+
+    /**
+     * @return profils de tous les joueurs ayant joué au moins un match (ordre non spécifié)
+     */
+    public List<PlayerProfile> getAll() {
+        refreshStale();
+        synchronized (this) {
+            List<PlayerProfile> all = new ArrayList<>(profiles.size());
+            profiles.forEach((id, profile) -> {
+                if (profile.matches > 0) all.add(profile.snapshot(id));
+            });
+            return all;
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Classement "en forme" : points de forme, puis série en cours, puis taux de victoire
+    // Tas min borné à K éléments (comme RollingLeaderboard.top) : O(n log K)
+    // ─────────────────────────────────────────────
+    public List<PlayerProfile> mostInForm(int k) {
+        Comparator<PlayerProfile> order = Comparator.comparingInt(PlayerProfile::formPoints)
+                .thenComparingInt(PlayerProfile::currentStreak)
+                .thenComparingDouble(PlayerProfile::winRate)
+                .thenComparing(Comparator.comparingInt(PlayerProfile::playerId).reversed());
+        PriorityQueue<PlayerProfile> heap = new PriorityQueue<>(Math.max(1, k), order);
+        for (PlayerProfile profile : getAll()) {
+            if (heap.size() < k) {
+                heap.add(profile);
+            } else if (k > 0 && order.compare(profile, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(profile);
+            }
+        }
+        List<PlayerProfile> result = new ArrayList<>(heap);
+        result.sort(order.reversed());
+        return result;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Recalcul des séries et de la forme des joueurs touchés par une suppression ou une correction
+    // Sous le verrou du MatchService puis le nôtre (l'ordre des notifications) : aucun match ne peut changer
+    // entre la lecture de l'historique et son application
+    // ─────────────────────────────────────────────
+    private void refreshStale() {
+        synchronized (this) {
+            if (stale.isEmpty()) return;
+        }
+        matchService.readLocked(() -> {
+            synchronized (this) {
+                for (int id : stale) {
+                    Profile profile = profile(id);
+                    profile.resetSequence();
+                    for (Match match : matchService.getMatchesByPlayer(id)) {
+                        boolean first = match.getPlayer1().getId() == id;
+                        profile.push(first ? resultOf(match.getScorePlayer1(), match.getScorePlayer2())
+                                : resultOf(match.getScorePlayer2(), match.getScorePlayer1()));
+                    }
+                }
+                stale.clear();
+            }
+        });
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : État mutable d'un joueur
+    // ─────────────────────────────────────────────
+    private static final class Profile {
+        private int matches;
+        private int wins;
+        private int draws;
+        private long marginSum;
+
+        private int currentStreak;
+        private int longestStreak;
+
+        // Joseph_com : Forme : tampon circulaire des derniers résultats et somme de leurs points
+        private final byte[] form;
+        private int formNext;
+        private int formSize;
+        private int formPoints;
+
+        Profile(int formLength) {
+            this.form = new byte[formLength];
+        }
+
+        void count(byte result, int margin, int sign) {
+            matches += sign;
+            if (result == WIN) wins += sign;
+            else if (result == DRAW) draws += sign;
+            marginSum += (long) sign * margin;
+        }
+
+        // Joseph_com : Résultat suivant dans l'ordre des matchs : séries et forme
+        void push(byte result) {
+            currentStreak = result == WIN ? currentStreak + 1 : 0;
+            longestStreak = Math.max(longestStreak, currentStreak);
+            if (formSize == form.length) {
+                formPoints -= form[formNext];
+            } else {
+                formSize++;
+            }
+            form[formNext] = result;
+            formPoints += result;
+            formNext = (formNext + 1) % form.length;
+        }
+
+        void resetSequence() {
+            currentStreak = 0;
+            longestStreak = 0;
+            formNext = 0;
+            formSize = 0;
+            formPoints = 0;
+        }
+
+        PlayerProfile snapshot(int playerId) {
+            StringBuilder letters = new StringBuilder(formSize);
+            for (int i = 0; i < formSize; i++) {
+                byte result = form[Math.floorMod(formNext - formSize + i, form.length)];
+                letters.append(result == WIN ? 'V' : result == DRAW ? 'N' : 'D');
+            }
+            return new PlayerProfile(playerId, matches, wins, draws, matches - wins - draws,
+                    currentStreak, longestStreak, letters.toString(), formPoints,
+                    matches == 0 ? 0.0 : (double) marginSum / matches);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package org.entreprise.stats;
+
+/**
+ * Joseph_com : Statistiques d'un joueur agrégées sur une fenêtre de temps.
+ *
+ * @param playerId ID du joueur
+ * @param wins     victoires sur la fenêtre
+ * @param points   points marqués sur la fenêtre
+ * @param matches  matchs joués sur la fenêtre
+ */
+public record PlayerWindowStats(int playerId, int wins, long points, int matches) {
+}
@@ -0,0 +1,234 @@
+package org.entreprise.stats;
+
+import org.entreprise.model.Match;
+import org.entreprise.model.Player;
+import org.entreprise.service.MatchListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Joseph_com : Moteur d'agrégation par tranches d'un jour pour les classements glissants
+ * ("top de la semaine", "top du mois").
+ * Chaque match alimente la tranche de sa date (victoires, points, matchs par joueur).
+ * Une requête ne fusionne que les tranches de la fenêtre demandée puis garde les K meilleurs
+ * avec un tas borné : coût O(entrées des tranches de la fenêtre + n log K), indépendant
+ * de la taille de l'historique. Une suppression ou une correction retire la contribution
+ * de l'ancien match de sa tranche (delta négatif), sans recalcul. Les tranches plus anciennes que la rétention sont évincées.
+ */
+public class RollingLeaderboard implements MatchListener {
+
+    // Joseph_com : Logger pour tracer les évictions
+    private static final Logger logger = LoggerFactory.getLogger(RollingLeaderboard.class);
+
+    // Joseph_com : Positions des compteurs dans le tableau d'un joueur
+    private static final int WINS = 0;
+    private static final int POINTS = 1;
+    private static final int MATCHES = 2;
+
+    // Joseph_com : Horloge donnant le jour de référence (injectable pour les tests)
+    private final Clock clock;
+
+    // Joseph_com : Nombre de jours conservés (doit couvrir la plus grande fenêtre utilisée)
+    private final int retentionDays;
+
+    // Joseph_com : Tranches par jour (epochDay) → compteurs par joueur
+    private final TreeMap<Long, Map<Integer, long[]>> buckets = new TreeMap<>();
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Constructeur par défaut : horloge système, rétention d'un mois
+    // ─────────────────────────────────────────────
+    public RollingLeaderboard() {
+        this(Clock.systemDefaultZone(), TimeWindow.MONTHLY.getDays());
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Constructeur complet
+    // ─────────────────────────────────────────────
+    /**
+     * @param clock         horloge donnant le jour courant
+     * @param retentionDays nombre de jours de tranches conservés (>= 1)
+     */
+    public RollingLeaderboard(Clock clock, int retentionDays) {
+        if (retentionDays < 1) {
+            throw new IllegalArgumentException("La rétention doit être d'au moins un jour.");
+        }
+        this.clock = clock;
+        this.retentionDays = retentionDays;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Ajout d'un match dans la tranche de sa date
+    // Les matchs plus anciens que la rétention sont ignorés
+    // ─────────────────────────────────────────────
+    @Override
+    public synchronized void onMatchCreated(Match match) {
+        long day = match.getDate().toEpochDay();
+        if (day < horizon()) return;
+
+        Map<Integer, long[]> bucket = buckets.computeIfAbsent(day, d -> new HashMap<>());
+        Player winner = match.getWinner();
+        record(bucket, match.getPlayer1(), match.getScorePlayer1(), winner, 1);
+        record(bucket, match.getPlayer2(), match.getScorePlayer2(), winner, 1);
+
+        evictExpired();
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Retrait d'un match de sa tranche (si elle est encore conservée)
+    // ─────────────────────────────────────────────
+    @Override
+    public synchronized void onMatchRemoved(Match match) {
+        Map<Integer, long[]> bucket = buckets.get(match.getDate().toEpochDay());
+        if (bucket == null) return;
+        Player winner = match.getWinner();
+        record(bucket, match.getPlayer1(), match.getScorePlayer1(), winner, -1);
+        record(bucket, match.getPlayer2(), match.getScorePlayer2(), winner, -1);
+        if (bucket.isEmpty()) {
+            buckets.remove(match.getDate().toEpochDay());
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Classement des K meilleurs joueurs sur une fenêtre glissante
+    // ─────────────────────────────────────────────
+    /**
+     * @param window    fenêtre (jour, semaine, mois) se terminant aujourd'hui
+     * @param criterion critère de tri (victoires ou points)
+     * @param k         nombre de joueurs à retourner
+     * @return les K meilleurs joueurs, du premier au dernier
+     */
+    public synchronized List<PlayerWindowStats> top(TimeWindow window, LeaderboardCriterion criterion, int k) {
+        if (window.getDays() > retentionDays) {
+            throw new IllegalArgumentException("Fenêtre " + window + " plus longue que la rétention ("
+                    + retentionDays + " jours).");
+        }
+        evictExpired();
+
+        Map<Integer, long[]> totals = merge(window);
+        Comparator<PlayerWindowStats> order = comparator(criterion);
+
+        // Joseph_com : Tas min borné à K éléments : le pire des K meilleurs est en tête
+        PriorityQueue<PlayerWindowStats> heap = new PriorityQueue<>(Math.max(1, k), order);
+        for (Map.Entry<Integer, long[]> entry : totals.entrySet()) {
+            PlayerWindowStats stats = toStats(entry.getKey(), entry.getValue());
+            if (heap.size() < k) {
+                heap.add(stats);
+            } else if (k > 0 && order.compare(stats, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(stats);
+            }
+        }
+
+        List<PlayerWindowStats> result = new ArrayList<>(heap);
+        result.sort(order.reversed());
+        return result;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Statistiques d'un joueur sur une fenêtre glissante
+    // ─────────────────────────────────────────────
+    public synchronized PlayerWindowStats statsFor(int playerId, TimeWindow window) {
+        evictExpired();
+        long[] total = new long[3];
+        for (Map<Integer, long[]> bucket : windowBuckets(window).values()) {
+            long[] counters = bucket.get(playerId);
+            if (counters == null) continue;
+            total[WINS] += counters[WINS];
+            total[POINTS] += counters[POINTS];
+            total[MATCHES] += counters[MATCHES];
+        }
+        return toStats(playerId, total);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Nombre de tranches actuellement en mémoire
+    // ─────────────────────────────────────────────
+    public synchronized int getBucketCount() {
+        return buckets.size();
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Met à jour les compteurs d'un joueur dans une tranche
+    // ─────────────────────────────────────────────
+    // sign = +1 pour un ajout, -1 pour un retrait (l'entrée d'un joueur sans match est supprimée)
+    private static void record(Map<Integer, long[]> bucket, Player player, int points, Player winner, int sign) {
+        long[] counters = bucket.computeIfAbsent(player.getId(), id -> new long[3]);
+        counters[POINTS] += sign * (long) points;
+        counters[MATCHES] += sign;
+        if (player.equals(winner)) counters[WINS] += sign;
+        if (counters[MATCHES] == 0) bucket.remove(player.getId());
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Fusion des tranches de la fenêtre en totaux par joueur
+    // ─────────────────────────────────────────────
+    private Map<Integer, long[]> merge(TimeWindow window) {
+        Map<Integer, long[]> totals = new HashMap<>();
+        for (Map<Integer, long[]> bucket : windowBuckets(window).values()) {
+            for (Map.Entry<Integer, long[]> entry : bucket.entrySet()) {
+                long[] total = totals.computeIfAbsent(entry.getKey(), id -> new long[3]);
+                long[] counters = entry.getValue();
+                total[WINS] += counters[WINS];
+                total[POINTS] += counters[POINTS];
+                total[MATCHES] += counters[MATCHES];
+            }
+        }
+        return totals;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Tranches couvertes par la fenêtre (jusqu'à aujourd'hui inclus)
+    // ─────────────────────────────────────────────
+    private NavigableMap<Long, Map<Integer, long[]>> windowBuckets(TimeWindow window) {
+        long today = today();
+        return buckets.subMap(today - window.getDays() + 1, true, today, true);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Éviction des tranches sorties de la rétention
+    // ─────────────────────────────────────────────
+    private void evictExpired() {
+        NavigableMap<Long, Map<Integer, long[]>> expired = buckets.headMap(horizon(), false);
+        if (!expired.isEmpty()) {
+            logger.debug("Éviction de {} tranche(s) expirée(s).", expired.size());
+            expired.clear();
+        }
+    }
+
+    // Joseph_com : Premier jour conservé
+    private long horizon() {
+        return today() - retentionDays + 1;
+    }
+
+    private long today() {
+        return LocalDate.now(clock).toEpochDay();
+    }
+
+    private static PlayerWindowStats toStats(int playerId, long[] counters) {
+        return new PlayerWindowStats(playerId, (int) counters[WINS], counters[POINTS], (int) counters[MATCHES]);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Ordre croissant du critère (le tas garde les plus grands)
+    // L'ID décroissant départage les égalités pour un résultat déterministe
+    // ─────────────────────────────────────────────
+    private static Comparator<PlayerWindowStats> comparator(LeaderboardCriterion criterion) {
+        Comparator<PlayerWindowStats> byWins = Comparator.comparingInt(PlayerWindowStats::wins);
+        Comparator<PlayerWindowStats> byPoints = Comparator.comparingLong(PlayerWindowStats::points);
+        Comparator<PlayerWindowStats> primary = (criterion == LeaderboardCriterion.WINS)
+                ? byWins.thenComparing(byPoints)
+                : byPoints.thenComparing(byWins);
+        return primary.thenComparing(Comparator.comparingInt(PlayerWindowStats::playerId).reversed());
+    }
+}
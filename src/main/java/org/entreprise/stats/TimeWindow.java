@@ -0,0 +1,20 @@
+package org.entreprise.stats;
+
+/**
+ * Joseph_com : Fenêtres glissantes disponibles pour les classements temporels.
+ * La fenêtre inclut le jour de référence et les (days - 1) jours précédents.
+ */
+public enum TimeWindow {
+    DAILY(1),
+    WEEKLY(7),
+    MONTHLY(30);
+
+    // Joseph_com : Nombre de jours couverts par la fenêtre
+    private final int days;
+
+    TimeWindow(int days) {
+        this.days = days;
+    }
+
+    public int getDays() { return days; }
+}
@@ -0,0 +1,165 @@
+package org.entreprise.tenancy;
+
+import org.entreprise.scoring.ScoringStrategies;
+import org.entreprise.service.MatchService;
+import org.entreprise.service.PlayerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Joseph_com : Un tournoi chargé en mémoire : son dossier de données et sa paire de services.
+ * Obtenu uniquement via {@link TournamentRegistry} ; ne pas conserver la référence
+ * au-delà d'un {@link TournamentRegistry#withTournament} (le tournoi peut être déchargé ensuite).
+ */
+public class Tournament {
+
+    // Joseph_com : Logger pour tracer la configuration du tournoi
+    private static final Logger logger = LoggerFactory.getLogger(Tournament.class);
+
+    // Joseph_com : Fichier de configuration optionnel du tournoi (ex. scoring.strategy=win-rate)
+    public static final String CONFIG_FILE = "tournament.properties";
+
+    // Joseph_com : Valeur du compteur d'utilisations une fois le tournoi déchargé
+    private static final int CLOSED = -1;
+
+    private final String name;
+    private final Path dataDir;
+    private final PlayerService playerService;
+    private final MatchService matchService;
+
+    // Joseph_com : Nombre d'utilisations en cours (un tournoi utilisé n'est jamais déchargé)
+    private final AtomicInteger pins = new AtomicInteger();
+
+    // Joseph_com : Ouvert une fois le tournoi fermé, sauvegardé et retiré du registre
+    private final CountDownLatch unloaded = new CountDownLatch(1);
+
+    // Joseph_com : Date du dernier accès (System.nanoTime), pour l'éviction LRU
+    private volatile long lastAccessNanos = System.nanoTime();
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Constructeur - charge les CSV du dossier du tournoi
+    // ─────────────────────────────────────────────
+    Tournament(String name, Path dataDir) {
+        this.name = name;
+        this.dataDir = dataDir;
+        this.playerService = new PlayerService(dataDir);
+        this.matchService = new MatchService(playerService, dataDir);
+        configure();
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Applique la configuration du tournoi (stratégie de score)
+    // ─────────────────────────────────────────────
+    private void configure() {
+        Path config = dataDir.resolve(CONFIG_FILE);
+        if (!Files.exists(config)) return;
+
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(config, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            logger.error("Configuration du tournoi '{}' illisible : {}", name, e.getMessage());
+            return;
+        }
+
+        String strategy = properties.getProperty("scoring.strategy");
+        if (strategy != null) {
+            ScoringStrategies.byName(strategy.trim()).ifPresentOrElse(
+                    playerService::setScoringStrategy,
+                    () -> logger.warn("Stratégie de score inconnue pour '{}' : {} (disponibles : {})",
+                            name, strategy, ScoringStrategies.names()));
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Path getDataDir() {
+        return dataDir;
+    }
+
+    public PlayerService getPlayerService() {
+        return playerService;
+    }
+
+    public MatchService getMatchService() {
+        return matchService;
+    }
+
+    /**
+     * @return poids en mémoire du tournoi (nombre de joueurs + nombre de matchs)
+     */
+    public long weight() {
+        return (long) playerService.getPlayerCount() + matchService.getMatchCount();
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Gestion du cycle de vie (package-private, utilisée par TournamentRegistry)
+    // ─────────────────────────────────────────────
+
+    // Joseph_com : Marque le tournoi utilisé ; false s'il vient d'être déchargé
+    boolean tryPin() {
+        int current;
+        do {
+            current = pins.get();
+            if (current == CLOSED) return false;
+        } while (!pins.compareAndSet(current, current + 1));
+        lastAccessNanos = System.nanoTime();
+        return true;
+    }
+
+    void unpin() {
+        lastAccessNanos = System.nanoTime();
+        pins.decrementAndGet();
+    }
+
+    // Joseph_com : Ferme le tournoi s'il n'est pas utilisé ; plus aucun tryPin ne réussira ensuite
+    boolean tryClose() {
+        return pins.compareAndSet(0, CLOSED);
+    }
+
+    // Joseph_com : Signale la fin du déchargement (appelé par le registre après sauvegarde et retrait)
+    void markUnloaded() {
+        unloaded.countDown();
+    }
+
+    // Joseph_com : Attend la fin du déchargement, pour ne jamais relire le disque avant la sauvegarde
+    void awaitUnloaded() {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                unloaded.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    boolean isIdle() {
+        return pins.get() == 0;
+    }
+
+    long getLastAccessNanos() {
+        return lastAccessNanos;
+    }
+
+    // Joseph_com : Écrit les modifications en attente (services en sauvegarde différée)
+    void flush() {
+        playerService.flush();
+        matchService.flush();
+    }
+}
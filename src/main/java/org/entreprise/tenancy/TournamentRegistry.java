@@ -0,0 +1,279 @@
+package org.entreprise.tenancy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Joseph_com : Registre des tournois hébergés par le processus.
+ * - Chaque tournoi a son propre dossier (racine/nom/players.csv, racine/nom/matches.csv)
+ *   et sa propre paire PlayerService / MatchService : aucune donnée partagée entre tournois.
+ * - Un tournoi n'est chargé qu'au premier accès.
+ * - Au-delà du budget (nombre de tournois chargés et/ou nombre total de joueurs + matchs),
+ *   les tournois inactifs les moins récemment utilisés sont sauvegardés puis déchargés.
+ *   Un tournoi en cours d'utilisation (dans withTournament) n'est jamais déchargé.
+ * - Le chargement se fait hors des verrous de la table : un tournoi lent à lire ne bloque
+ *   pas l'accès aux autres, et les accès concurrents au même tournoi attendent un seul chargement.
+ */
+public class TournamentRegistry implements AutoCloseable {
+
+    // Joseph_com : Logger pour tracer les chargements et déchargements
+    private static final Logger logger = LoggerFactory.getLogger(TournamentRegistry.class);
+
+    // Joseph_com : Noms autorisés (un nom est aussi un nom de dossier : pas de "/" ni de "..")
+    private static final Pattern VALID_NAME = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    // Joseph_com : Budgets par défaut
+    public static final int DEFAULT_MAX_LOADED_TOURNAMENTS = 64;
+    public static final long DEFAULT_MAX_LOADED_ENTITIES = 5_000_000;
+
+    // Joseph_com : Dossier racine contenant un sous-dossier par tournoi
+    private final Path root;
+
+    private final int maxLoadedTournaments;
+    private final long maxLoadedEntities;
+
+    // Joseph_com : Tournois en mémoire ou en cours de chargement (future complétée une fois lu)
+    private final ConcurrentMap<String, CompletableFuture<Tournament>> loaded = new ConcurrentHashMap<>();
+
+    // Joseph_com : Verrou des passes d'éviction (une seule à la fois)
+    private final Object evictionLock = new Object();
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Constructeur avec budgets par défaut
+    // ─────────────────────────────────────────────
+    public TournamentRegistry(Path root) {
+        this(root, DEFAULT_MAX_LOADED_TOURNAMENTS, DEFAULT_MAX_LOADED_ENTITIES);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Constructeur
+    // ─────────────────────────────────────────────
+    /**
+     * @param root                 dossier racine des tournois
+     * @param maxLoadedTournaments nombre maximum de tournois gardés en mémoire
+     * @param maxLoadedEntities    nombre maximum de joueurs + matchs gardés en mémoire (tous tournois)
+     */
+    public TournamentRegistry(Path root, int maxLoadedTournaments, long maxLoadedEntities) {
+        if (maxLoadedTournaments < 1 || maxLoadedEntities < 1) {
+            throw new IllegalArgumentException("Les budgets du registre doivent être strictement positifs.");
+        }
+        this.root = root;
+        this.maxLoadedTournaments = maxLoadedTournaments;
+        this.maxLoadedEntities = maxLoadedEntities;
+        logger.info("Registre de tournois sur '{}' (max {} tournoi(s), {} entité(s)).",
+                root, maxLoadedTournaments, maxLoadedEntities);
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Exécute une action sur un tournoi (chargé si besoin, protégé de l'éviction pendant l'action)
+    // ─────────────────────────────────────────────
+    /**
+     * @param name   nom du tournoi (lettres, chiffres, "_" et "-")
+     * @param action traitement à exécuter sur le tournoi
+     * @return résultat de l'action
+     */
+    public <R> R withTournament(String name, Function<Tournament, R> action) {
+        Tournament tournament = acquire(name);
+        try {
+            return action.apply(tournament);
+        } finally {
+            tournament.unpin();
+            enforceBudget();
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Obtient un tournoi marqué utilisé ; à libérer avec release()
+    // ─────────────────────────────────────────────
+    public Tournament acquire(String name) {
+        validate(name);
+        while (true) {
+            CompletableFuture<Tournament> pending = new CompletableFuture<>();
+            CompletableFuture<Tournament> future = loaded.putIfAbsent(name, pending);
+            if (future == null) {
+                // Joseph_com : Ce thread a réservé l'entrée : il charge hors de la table
+                future = pending;
+                loadInto(name, pending);
+            }
+            Tournament tournament = join(future);
+            if (tournament.tryPin()) {
+                return tournament;
+            }
+            // Joseph_com : Déchargé entre la lecture et le marquage : on attend que la sauvegarde
+            // soit terminée (et le tournoi retiré) avant de recharger depuis le disque
+            tournament.awaitUnloaded();
+            loaded.remove(name, future);
+        }
+    }
+
+    public void release(Tournament tournament) {
+        tournament.unpin();
+        enforceBudget();
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Décharge les tournois inactifs depuis plus de maxIdle
+    // ─────────────────────────────────────────────
+    /**
+     * @param maxIdle durée d'inactivité au-delà de laquelle un tournoi est déchargé
+     * @return nombre de tournois déchargés
+     */
+    public int evictIdle(Duration maxIdle) {
+        long threshold = System.nanoTime() - maxIdle.toNanos();
+        int evicted = 0;
+        synchronized (evictionLock) {
+            for (Tournament tournament : loadedTournaments()) {
+                if (tournament.getLastAccessNanos() - threshold < 0 && evict(tournament)) {
+                    evicted++;
+                }
+            }
+        }
+        return evicted;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Noms des tournois présents sur disque (chargés ou non)
+    // ─────────────────────────────────────────────
+    public List<String> list() {
+        if (!Files.isDirectory(root)) return List.of();
+        try (Stream<Path> dirs = Files.list(root)) {
+            return dirs.filter(Files::isDirectory)
+                    .map(dir -> dir.getFileName().toString())
+                    .filter(name -> VALID_NAME.matcher(name).matches())
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return true si le tournoi est actuellement en mémoire
+     */
+    public boolean isLoaded(String name) {
+        CompletableFuture<Tournament> future = loaded.get(name);
+        return future != null && future.state() == Future.State.SUCCESS;
+    }
+
+    public int getLoadedCount() {
+        return loadedTournaments().size();
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Sauvegarde tous les tournois chargés (arrêt du processus)
+    // ─────────────────────────────────────────────
+    @Override
+    public void close() {
+        List<Tournament> tournaments = loadedTournaments();
+        tournaments.forEach(Tournament::flush);
+        logger.info("Registre fermé : {} tournoi(s) sauvegardé(s).", tournaments.size());
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Chargement d'un tournoi depuis son dossier
+    // ─────────────────────────────────────────────
+    Tournament load(String name) {
+        long start = System.nanoTime();
+        Tournament tournament = new Tournament(name, root.resolve(name));
+        logger.info("Tournoi '{}' chargé en {} ms.", name, (System.nanoTime() - start) / 1_000_000);
+        return tournament;
+    }
+
+    // Joseph_com : Complète la réservation ; en cas d'échec l'entrée est retirée pour qu'un
+    // prochain accès retente le chargement
+    private void loadInto(String name, CompletableFuture<Tournament> pending) {
+        try {
+            pending.complete(load(name));
+        } catch (RuntimeException | Error e) {
+            loaded.remove(name, pending);
+            pending.completeExceptionally(e);
+        }
+    }
+
+    // Joseph_com : Attend la fin du chargement et relance l'erreur d'origine
+    private static Tournament join(CompletableFuture<Tournament> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw e;
+        }
+    }
+
+    // Joseph_com : Tournois entièrement chargés (les chargements en cours sont ignorés)
+    private List<Tournament> loadedTournaments() {
+        List<Tournament> tournaments = new ArrayList<>();
+        for (CompletableFuture<Tournament> future : loaded.values()) {
+            if (future.state() == Future.State.SUCCESS) {
+                tournaments.add(future.resultNow());
+            }
+        }
+        return tournaments;
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Décharge les tournois inactifs les moins récents tant que le budget est dépassé
+    // ─────────────────────────────────────────────
+    private void enforceBudget() {
+        if (loaded.size() <= maxLoadedTournaments && maxLoadedEntities == Long.MAX_VALUE) return;
+        synchronized (evictionLock) {
+            List<Tournament> candidates = loadedTournaments();
+            long totalWeight = 0;
+            for (Tournament tournament : candidates) {
+                totalWeight += tournament.weight();
+            }
+            int count = candidates.size();
+            if (count <= maxLoadedTournaments && totalWeight <= maxLoadedEntities) return;
+
+            candidates.sort(Comparator.comparingLong(Tournament::getLastAccessNanos));
+            for (Tournament tournament : candidates) {
+                if (count <= maxLoadedTournaments && totalWeight <= maxLoadedEntities) break;
+                long weight = tournament.weight();
+                if (evict(tournament)) {
+                    count--;
+                    totalWeight -= weight;
+                }
+            }
+        }
+    }
+
+    // Joseph_com : Ferme, sauvegarde puis retire un tournoi inactif ; false s'il est utilisé.
+    // Le retrait n'a lieu qu'après la sauvegarde : un acquire concurrent attend markUnloaded()
+    // au lieu de recharger des fichiers pas encore à jour.
+    private boolean evict(Tournament tournament) {
+        if (!tournament.tryClose()) return false;
+        try {
+            tournament.flush();
+        } finally {
+            loaded.computeIfPresent(tournament.getName(),
+                    (name, future) -> future.getNow(null) == tournament ? null : future);
+            tournament.markUnloaded();
+        }
+        logger.info("Tournoi '{}' déchargé de la mémoire.", tournament.getName());
+        return true;
+    }
+
+    private static void validate(String name) {
+        if (name == null || !VALID_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Nom de tournoi invalide : " + name);
+        }
+    }
+}
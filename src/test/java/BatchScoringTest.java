@@ -0,0 +1,170 @@
+package org.entreprise.scoring;
+
+import org.entreprise.model.Match;
+import org.entreprise.model.Player;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Joseph_com : Tests du calcul des scores par lots (vectoriel ou scalaire), de la sélection du top N
+ * et du cache des scores par stratégie.
+ */
+class BatchScoringTest {
+
+    private static List<Player> roster(int size) {
+        Random random = new Random(42);
+        List<Player> players = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            // Joseph_com : Peu de valeurs distinctes pour provoquer des égalités
+            players.add(new Player(i + 1, "P" + i, 1 + random.nextInt(10), random.nextInt(50)));
+        }
+        return players;
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Le calcul par lots donne exactement les mêmes scores que Scorable, blocs et reste compris
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Scores par lots - identiques au calcul joueur par joueur")
+    void testBatchScores_ShouldMatchScalarFormula() {
+        List<Player> players = roster(1_003);
+        RosterColumns columns = RosterColumns.of(players);
+
+        int[] product = columns.score(BilinearFormula.LEVEL_TIMES_SCORE);
+        BilinearFormula weighted = new BilinearFormula(3, -2, 7, 11);
+        int[] custom = columns.score(weighted);
+
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            assertEquals(player.calculateScore(), product[i], "index " + i);
+            assertEquals(weighted.score(player.getLevel(), player.getScore()), custom[i], "index " + i);
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Le top N par tas d'index suit le tri stable par score décroissant
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Top N - même ordre qu'un tri stable décroissant")
+    void testTopIndices_ShouldFollowStableDescendingSort() {
+        List<Player> players = roster(500);
+        int[] scores = RosterColumns.of(players).score(BilinearFormula.LEVEL_TIMES_SCORE);
+
+        List<Player> expected = players.stream()
+                .sorted(Comparator.comparingInt(Player::calculateScore).reversed())
+                .limit(25)
+                .toList();
+        int[] top = BatchScoring.topIndices(scores, scores.length, 25);
+
+        assertEquals(25, top.length);
+        for (int i = 0; i < top.length; i++) {
+            assertEquals(expected.get(i), players.get(top[i]), "rang " + i);
+        }
+        assertEquals(0, BatchScoring.topIndices(scores, 0, 3).length);
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Score mis en cache, invalidé par la version du joueur, de son historique ou de la stratégie
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Cache des scores - recalcul uniquement quand une entrée change")
+    void testScoreCache_ShouldRecomputeOnlyWhenInputsChange() {
+        ScoreCache cache = new ScoreCache(FormulaStrategy.LEVEL_X_SCORE);
+        Player alice = new Player(1, "Alice", 2, 10);
+        Player bob = new Player(2, "Bob", 3, 10);
+        alice.setScoreProvider(cache);
+        bob.setScoreProvider(cache);
+
+        assertEquals(20, alice.calculateScore());
+        assertEquals(20, alice.calculateScore());
+        assertEquals(1, cache.getMisses(), "Le second appel doit être servi par le cache");
+
+        alice.setScore(15);
+        assertEquals(30, alice.calculateScore(), "Un changement de score doit invalider le cache");
+
+        // Joseph_com : Changement de stratégie : recalcul immédiat de tout l'effectif
+        cache.setStrategy(new WinRateStrategy(), List.of(alice, bob));
+        long missesAfterSwitch = cache.getMisses();
+        assertEquals(30, alice.calculateScore(), "Sans match, le taux de victoire est neutre");
+        assertEquals(missesAfterSwitch, cache.getMisses(), "Les scores doivent déjà être recalculés");
+
+        // Joseph_com : Un match change l'historique : seul ce changement provoque le recalcul
+        Match match = new Match(1, alice, bob, 3, 1, LocalDate.of(2026, 1, 1));
+        cache.onMatchCreated(match);
+        assertEquals(45, alice.calculateScore());
+        assertEquals(15, bob.calculateScore());
+
+        // Joseph_com : Correction puis suppression : les compteurs sont ajustés par delta
+        Match corrected = new Match(1, alice, bob, 1, 3, match.getDate());
+        cache.onMatchUpdated(match, corrected);
+        assertEquals(15, alice.calculateScore());
+        assertEquals(45, bob.calculateScore());
+        cache.onMatchRemoved(corrected);
+        assertEquals(30, alice.calculateScore(), "Sans match, le taux de victoire redevient neutre");
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Stratégie dépendante de la date : le score en cache ne vaut que pour son jour d'évaluation
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Cache des scores - score pondéré par l'ancienneté recalculé quand le jour change")
+    void testScoreCache_ShouldExpireTimeDependentScoresDaily() {
+        LocalDate today = LocalDate.of(2026, 1, 31);
+        MutableClock clock = new MutableClock(today.atStartOfDay().toInstant(ZoneOffset.UTC));
+        ScoreCache cache = new ScoreCache(new DecayedResultsStrategy(10, clock));
+        Player alice = new Player(1, "Alice", 2, 10);
+        Player bob = new Player(2, "Bob", 3, 10);
+        alice.setScoreProvider(cache);
+        cache.onMatchCreated(new Match(1, alice, bob, 3, 1, today));
+
+        assertEquals(300, alice.calculateScore());
+        assertEquals(300, alice.calculateScore());
+        assertEquals(1, cache.getMisses(), "Le même jour, le score est servi par le cache");
+
+        // Joseph_com : Dix jours plus tard (une demi-vie), la victoire ne compte plus que pour moitié
+        clock.advance(Duration.ofDays(10));
+        assertEquals(150, alice.calculateScore());
+        assertEquals(2, cache.getMisses());
+    }
+
+    // Joseph_com : Horloge réglable pour faire avancer les jours
+    private static final class MutableClock extends Clock {
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package org.entreprise.events;
+
+import org.entreprise.model.Match;
+import org.entreprise.model.Player;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Joseph_com : Tests du flux de changements (anneau pré-alloué, curseurs indépendants).
+ */
+class ChangeEventBusTest {
+
+    private final Player alice = new Player(1, "Alice", 2, 10);
+    private final Player bob   = new Player(2, "Bob", 3, 20);
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Deux consommateurs lisent les mêmes événements à leur rythme
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Curseurs indépendants - chaque consommateur reçoit tous les événements par lots")
+    void testIndependentCursors_ShouldEachReceiveAllEvents() {
+        ChangeEventBus bus = new ChangeEventBus(8);
+        EventCursor fast = bus.subscribe();
+        EventCursor slow = bus.subscribe();
+
+        bus.publishPlayerAdded(alice);
+        bus.publishPlayerAdded(bob);
+        bus.publishMatchCreated(new Match(7, alice, bob, 3, 1, LocalDate.of(2026, 1, 1)));
+
+        List<String> received = new ArrayList<>();
+        List<Boolean> endOfBatch = new ArrayList<>();
+        int count = fast.poll((event, sequence, end) -> {
+            received.add(event.getType() + ":" + (event.getType() == ChangeEventType.MATCH_CREATED
+                    ? event.getMatchId() : event.getPlayerId()));
+            endOfBatch.add(end);
+        });
+
+        assertEquals(3, count);
+        assertEquals(List.of("PLAYER_ADDED:1", "PLAYER_ADDED:2", "MATCH_CREATED:7"), received);
+        assertEquals(List.of(false, false, true), endOfBatch, "Seul le dernier événement termine le lot");
+        assertEquals(0, fast.getLag());
+        assertEquals(3, slow.getLag(), "Le second curseur n'a pas avancé");
+        assertEquals(2, slow.poll((event, sequence, end) -> { }, 2), "La taille de lot doit être respectée");
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : L'anneau fait plusieurs tours sans perte ni désordre
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Anneau plein - le producteur attend le consommateur, aucun événement perdu")
+    void testWrapAround_ShouldNotLoseEvents() throws InterruptedException {
+        ChangeEventBus bus = new ChangeEventBus(4);
+        AtomicLong sum = new AtomicLong();
+        AtomicLong expectedNext = new AtomicLong(0);
+        AtomicLong outOfOrder = new AtomicLong();
+
+        try (EventProcessor processor = new EventProcessor(bus, (event, sequence, end) -> {
+            if (sequence != expectedNext.getAndIncrement()) outOfOrder.incrementAndGet();
+            sum.addAndGet(event.getScore() - event.getPreviousScore());
+        }, "test-consumer")) {
+            for (int i = 1; i <= 1_000; i++) {
+                bus.publishScoreChanged(alice, alice.getScore() - i);
+            }
+            while (processor.getLag() > 0) {
+                Thread.onSpinWait();
+            }
+        }
+
+        assertEquals(1_000L * 1_001 / 2, sum.get(), "Tous les événements doivent être reçus");
+        assertEquals(0, outOfOrder.get(), "Les événements doivent arriver dans l'ordre");
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Un handler qui échoue : événements précédents acquittés, fautif sauté ou consommateur arrêté
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Handler en échec - pas de relivraison en boucle, événement fautif sauté ou consommateur arrêté")
+    void testFailingHandler_ShouldNotRedeliverBatch() throws InterruptedException {
+        // Joseph_com : Curseur seul : l'échec acquitte les événements précédents, skip() écarte le fautif
+        ChangeEventBus bus = new ChangeEventBus(8);
+        EventCursor cursor = bus.subscribe();
+        bus.publishPlayerAdded(alice);
+        bus.publishPlayerAdded(bob);
+        bus.publishScoreChanged(alice, 5);
+        List<Long> seen = new ArrayList<>();
+        ChangeEventHandler failsOnBob = (event, sequence, end) -> {
+            if (event.getType() == ChangeEventType.PLAYER_ADDED && event.getPlayerId() == bob.getId()) {
+                throw new IllegalStateException("poison");
+            }
+            seen.add(sequence);
+        };
+        assertThrows(IllegalStateException.class, () -> cursor.poll(failsOnBob));
+        assertEquals(0, cursor.getSequence(), "Le premier événement doit être acquitté");
+        assertEquals(1, cursor.skip());
+        assertEquals(1, cursor.poll(failsOnBob));
+        assertEquals(List.of(0L, 2L), seen);
+
+        // Joseph_com : Consommateur par défaut : chaque événement sain traité une seule fois, le fautif sauté
+        ChangeEventBus skipping = new ChangeEventBus(4);
+        List<Long> handled = Collections.synchronizedList(new ArrayList<>());
+        try (EventProcessor processor = new EventProcessor(skipping, (event, sequence, end) -> {
+            if (sequence == 3) throw new IllegalStateException("poison");
+            handled.add(sequence);
+        }, "test-skipping")) {
+            for (int i = 0; i < 20; i++) skipping.publishScoreChanged(alice, i);
+            while (processor.getLag() > 0) Thread.onSpinWait();
+            assertTrue(processor.isRunning());
+        }
+        List<Long> expected = new ArrayList<>();
+        for (long s = 0; s < 20; s++) if (s != 3) expected.add(s);
+        assertEquals(expected, handled);
+
+        // Joseph_com : Gestionnaire qui arrête : consommateur désabonné, les producteurs ne bloquent pas sur l'anneau
+        ChangeEventBus stopping = new ChangeEventBus(4);
+        EventProcessor stopped = new EventProcessor(stopping, (event, sequence, end) -> {
+            throw new IllegalStateException("poison");
+        }, "test-stopping", (event, sequence, error) -> false);
+        stopping.publishScoreChanged(alice, 1);
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (stopped.isRunning() && System.nanoTime() < deadline) Thread.onSpinWait();
+        assertFalse(stopped.isRunning());
+        for (int i = 0; i < 40; i++) stopping.publishScoreChanged(alice, i);
+        stopped.close();
+    }
+}
@@ -0,0 +1,134 @@
+package org.entreprise.ranking;
+
+import org.entreprise.model.Match;
+import org.entreprise.model.Player;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Joseph_com : Tests du classement par graphe des victoires (PageRank et Bradley-Terry).
+ */
+class GraphRankingTest {
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Ordre attendu sur un petit graphe, égalités ignorées
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("PageRank et Bradley-Terry - ordre cohérent avec les résultats")
+    void testSmallGraph_ShouldRankDominantPlayerFirst() {
+        Player alice = new Player(1, "Alice", 1, 0);
+        Player bob = new Player(2, "Bob", 1, 0);
+        Player carol = new Player(3, "Carol", 1, 0);
+        LocalDate date = LocalDate.of(2026, 1, 1);
+
+        GraphRanking ranking = new GraphRanking();
+        ranking.onMatchesCreated(List.of(
+                new Match(1, alice, bob, 3, 1, date),
+                new Match(2, bob, carol, 3, 2, date),
+                new Match(3, carol, alice, 0, 3, date),
+                new Match(4, carol, alice, 1, 3, date),
+                new Match(5, bob, carol, 2, 2, date)));
+        assertEquals(4, ranking.getEdgeCount(), "L'égalité n'ajoute pas d'arête");
+
+        RankingResult pageRank = ranking.pageRank();
+        assertTrue(pageRank.isConverged());
+        assertEquals(1.0, pageRank.score(1) + pageRank.score(2) + pageRank.score(3), 1e-9);
+        assertEquals(List.of(1, 2, 3), pageRank.top(3).stream().map(RankingResult.RankedPlayer::playerId).toList());
+
+        RankingResult strength = ranking.bradleyTerry();
+        assertTrue(strength.isConverged());
+        assertEquals(List.of(1, 2, 3), strength.top(5).stream().map(RankingResult.RankedPlayer::playerId).toList());
+        assertTrue(Double.isNaN(strength.score(99)));
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Mise à jour incrémentale (delta + départ à chaud) = calcul complet
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Incrémental - même résultat qu'un graphe construit d'un coup")
+    void testIncrementalUpdates_ShouldMatchFullRebuild() {
+        SplittableRandom random = new SplittableRandom(11);
+        int players = 500;
+        int[][] results = new int[20_000][];
+        for (int i = 0; i < results.length; i++) {
+            int a = random.nextInt(players);
+            int b = random.nextInt(players - 1);
+            if (b >= a) b++;
+            // Joseph_com : Le joueur d'ID le plus petit gagne plus souvent
+            results[i] = (a < b) == (random.nextInt(4) != 0) ? new int[]{a, b} : new int[]{b, a};
+        }
+
+        GraphRanking incremental = new GraphRanking();
+        GraphRanking full = new GraphRanking();
+        for (int i = 0; i < results.length; i++) {
+            incremental.addResult(results[i][0], results[i][1]);
+            full.addResult(results[i][0], results[i][1]);
+            if (i == 17_000) {
+                incremental.pageRank();
+                incremental.bradleyTerry();
+            }
+        }
+        // Joseph_com : 3 000 arêtes en attente, sous le seuil de reconstruction : elles restent dans le delta
+        RankingResult incrementalRank = incremental.pageRank();
+        RankingResult incrementalStrength = incremental.bradleyTerry();
+        assertEquals(1, incremental.getRebuildCount());
+
+        RankingResult fullRank = full.pageRank();
+        RankingResult fullStrength = full.bradleyTerry();
+        assertTrue(incrementalRank.getIterations() < fullRank.getIterations(), "Le départ à chaud converge plus vite");
+        for (int id = 0; id < players; id++) {
+            assertEquals(fullRank.score(id), incrementalRank.score(id), 1e-9);
+            assertEquals(fullStrength.score(id), incrementalStrength.score(id), 1e-6 * fullStrength.score(id));
+        }
+        assertTrue(fullStrength.top(1).get(0).playerId() < 50, "Les petits IDs gagnent plus souvent");
+        assertTrue(fullStrength.score(0) > fullStrength.score(players - 1));
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Retraits : même résultat qu'un graphe sans les matchs supprimés
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Retraits - delta puis compactage identiques à un graphe sans les arêtes retirées")
+    void testRemovedResults_ShouldMatchGraphWithoutThem() {
+        Player alice = new Player(1, "Alice", 1, 0);
+        Player bob = new Player(2, "Bob", 1, 0);
+        Player carol = new Player(3, "Carol", 1, 0);
+        LocalDate date = LocalDate.of(2026, 1, 1);
+        Match upset = new Match(4, carol, alice, 5, 0, date);
+
+        GraphRanking expected = new GraphRanking();
+        expected.onMatchesCreated(List.of(new Match(1, alice, bob, 3, 1, date),
+                new Match(2, bob, carol, 3, 2, date), new Match(3, carol, alice, 0, 3, date)));
+
+        GraphRanking ranking = new GraphRanking();
+        ranking.onMatchesCreated(List.of(new Match(1, alice, bob, 3, 1, date),
+                new Match(2, bob, carol, 3, 2, date), upset));
+        ranking.pageRank();
+        // Joseph_com : Correction du match 4 (Alice gagne en fait) : retrait dans le delta, puis ajout
+        ranking.onMatchUpdated(upset, new Match(4, carol, alice, 0, 3, date));
+        assertEquals(3, ranking.getEdgeCount());
+
+        RankingResult expectedRank = expected.pageRank();
+        RankingResult rank = ranking.pageRank();
+        RankingResult expectedStrength = expected.bradleyTerry();
+        RankingResult strength = ranking.bradleyTerry();
+        for (int id = 1; id <= 3; id++) {
+            assertEquals(expectedRank.score(id), rank.score(id), 1e-9);
+            assertEquals(expectedStrength.score(id), strength.score(id), 1e-6);
+        }
+
+        // Joseph_com : Une fois le delta compacté, le CSR ne contient plus que le solde
+        for (int i = 0; i < 5000; i++) {
+            ranking.addResult(1, 2);
+            ranking.removeResult(1, 2);
+        }
+        assertEquals(expectedRank.score(1), ranking.pageRank().score(1), 1e-9);
+        assertEquals(2, ranking.getRebuildCount());
+    }
+}
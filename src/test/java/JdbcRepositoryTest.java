@@ -0,0 +1,205 @@
+package org.entreprise.dao;
+
+import org.entreprise.model.Match;
+import org.entreprise.model.Player;
+import org.entreprise.service.MatchService;
+import org.entreprise.service.PlayerService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Joseph_com : Tests du stockage JDBC (base H2 embarquée).
+ * Couvre :
+ *  - La migration unique des fichiers CSV vers la base
+ *  - Les écritures incrémentales des services (création, correction, suppression) et le rechargement
+ *  - Les agrégats calculés par la base, identiques à ceux du MatchService et servis pendant le chargement
+ *  - Le chargement sur une connexion perdue : échec remonté, service en lecture seule
+ */
+class JdbcRepositoryTest {
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : TEST 1 - Migration CSV : tout est importé une fois, la seconde passe est ignorée
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Migration des CSV - import unique, journal appliqué")
+    void testMigrate_ShouldImportCsvOnce(@TempDir Path dataDir) throws Exception {
+        // Joseph_com : ARRANGE - tournoi CSV avec une correction et une suppression au journal
+        PlayerService csvPlayers = new PlayerService(dataDir);
+        MatchService csvMatches = new MatchService(csvPlayers, dataDir);
+        Player a = csvPlayers.addPlayer("CsvA", 2, 10);
+        Player b = csvPlayers.addPlayer("CsvB", 3, 20);
+        Match first = csvMatches.createMatch(a.getId(), b.getId(), 3, 1);
+        Match second = csvMatches.createMatch(a.getId(), b.getId(), 2, 0);
+        csvMatches.createMatch(b.getId(), a.getId(), 4, 1);
+        csvMatches.updateMatch(first.getId(), 0, 3);
+        csvMatches.deleteMatch(second.getId());
+
+        try (JdbcDatabase database = JdbcDatabase.open(dataDir)) {
+            // Joseph_com : ACT - deux migrations successives
+            CsvMigrator.Result result = CsvMigrator.migrate(dataDir, database);
+            CsvMigrator.Result again = CsvMigrator.migrate(dataDir, database);
+
+            // Joseph_com : ASSERT - état CSV reproduit à l'identique
+            assertEquals(new CsvMigrator.Result(2, 2, false), result);
+            assertTrue(again.skipped(), "La base déjà remplie ne doit pas être réimportée");
+            PlayerService players = new PlayerService(new JdbcPlayerRepository(database));
+            MatchService matches = new MatchService(players, new JdbcMatchRepository(database));
+            assertEquals(List.of("CsvA", "CsvB"), players.getAllPlayers().stream().map(Player::getNickname).toList());
+            assertEquals(2, matches.getMatchCount());
+            assertEquals(3, matches.getMatchesPage(0, 10).get(0).getScorePlayer2());
+            assertEquals(csvMatches.getTotalPointsPlayed(), matches.getTotalPointsPlayed());
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : TEST 2 - Écritures incrémentales, rechargement et agrégats SQL
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Services sur la base - écritures rechargées, agrégats identiques")
+    void testServicesOnDatabase_ShouldPersistAndAggregate(@TempDir Path dataDir) throws Exception {
+        try (JdbcDatabase database = JdbcDatabase.open(dataDir)) {
+            // Joseph_com : ARRANGE - tournoi sur la base, un import par lot et des matchs unitaires
+            PlayerService players = new PlayerService(new JdbcPlayerRepository(database));
+            MatchService matches = new MatchService(players, new JdbcMatchRepository(database));
+            Player a = players.addPlayer("SqlA", 1, 0);
+            Player b = players.addPlayer("SqlB", 2, 0);
+            Player c = players.addPlayer("SqlC", 3, 0);
+            Match first = matches.createMatch(a.getId(), b.getId(), 5, 2);
+            matches.createMatch(b.getId(), c.getId(), 1, 1);
+            Match third = matches.createMatch(c.getId(), a.getId(), 4, 0);
+            matches.createMatch(b.getId(), a.getId(), 3, 2);
+
+            // Joseph_com : ACT - correction, suppression et mise à jour d'un score de joueur
+            matches.updateMatch(first.getId(), 2, 5);
+            matches.deleteMatch(third.getId());
+            players.updateScore(c.getId(), 42);
+
+            // Joseph_com : ASSERT - agrégats SQL égaux à ceux du service
+            JdbcMatchRepository repository = new JdbcMatchRepository(database);
+            assertEquals(matches.getTotalPointsPlayed(), repository.totalPointsPlayed().orElseThrow());
+            for (Player player : List.of(a, b, c)) {
+                assertEquals(matches.countWins(player.getId()), repository.countWins(player.getId()).orElseThrow());
+            }
+
+            // Joseph_com : ASSERT - un nouveau service relit exactement le même état
+            PlayerService reloadedPlayers = new PlayerService(new JdbcPlayerRepository(database));
+            MatchService reloaded = new MatchService(reloadedPlayers, new JdbcMatchRepository(database));
+            assertEquals(3, reloadedPlayers.getAllPlayers().size());
+            assertEquals(42, reloadedPlayers.findById(c.getId()).getScore());
+            assertEquals(3, reloaded.getMatchCount());
+            assertEquals(matches.getTotalPointsPlayed(), reloaded.getTotalPointsPlayed());
+            assertEquals(5, reloaded.getMatchesPage(0, 10).get(0).getScorePlayer2());
+
+            // Joseph_com : ASSERT - l'ID du dernier match supprimé n'est pas réattribué après rechargement
+            reloaded.deleteMatch(4);
+            MatchService restarted = new MatchService(reloadedPlayers, new JdbcMatchRepository(database));
+            assertEquals(5, restarted.createMatch(a.getId(), b.getId(), 1, 0).getId());
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : TEST 3 - Pendant le chargement progressif, les agrégats viennent de la base
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Chargement progressif sur la base - total et victoires exacts avant la fin du chargement")
+    void testAggregatesDuringLoad_ShouldComeFromDatabase(@TempDir Path dataDir) throws Exception {
+        try (JdbcDatabase database = JdbcDatabase.open(dataDir)) {
+            // Joseph_com : ARRANGE - trois matchs en base, chargement bloqué jusqu'au signal
+            PlayerService players = new PlayerService(new JdbcPlayerRepository(database));
+            MatchService writer = new MatchService(players, new JdbcMatchRepository(database));
+            Player a = players.addPlayer("LoadA", 1, 0);
+            Player b = players.addPlayer("LoadB", 2, 0);
+            writer.createMatch(a.getId(), b.getId(), 5, 2);
+            writer.createMatch(a.getId(), b.getId(), 3, 1);
+            writer.createMatch(b.getId(), a.getId(), 4, 0);
+            CountDownLatch release = new CountDownLatch(1);
+            JdbcMatchRepository blocked = new JdbcMatchRepository(database) {
+                @Override
+                public void loadInChunks(List<Player> availablePlayers, int chunkSize, Consumer<List<Match>> sink) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    super.loadInChunks(availablePlayers, chunkSize, sink);
+                }
+            };
+
+            // Joseph_com : ACT
+            MatchService loading = MatchService.loadInBackground(players, blocked);
+
+            // Joseph_com : ASSERT - aucun match en mémoire, mais les agrégats sont déjà exacts
+            assertEquals(0, loading.getMatchCount());
+            assertEquals(15, loading.getTotalPointsPlayed());
+            assertEquals(2, loading.countWins(a.getId()));
+            release.countDown();
+            loading.whenHistoryLoaded().get(10, TimeUnit.SECONDS);
+            assertEquals(3, loading.getMatchCount());
+            assertEquals(15, loading.getTotalPointsPlayed());
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : TEST 4 - Migration ignorée si la base contient déjà des matchs (même sans joueur)
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Migration des CSV - ignorée dès qu'une des deux tables est remplie")
+    void testMigrate_ShouldSkipWhenMatchesExist(@TempDir Path dataDir) throws Exception {
+        PlayerService csvPlayers = new PlayerService(dataDir);
+        Player a = csvPlayers.addPlayer("OnlyA", 1, 0);
+        Player b = csvPlayers.addPlayer("OnlyB", 1, 0);
+        new MatchService(csvPlayers, dataDir).createMatch(a.getId(), b.getId(), 1, 0);
+
+        try (JdbcDatabase database = JdbcDatabase.open(dataDir)) {
+            new JdbcMatchRepository(database).saveAll(List.of(new Match(7, a, b, 2, 2, LocalDate.now())));
+
+            assertTrue(CsvMigrator.migrate(dataDir, database).skipped());
+            assertTrue(new JdbcPlayerRepository(database).loadAll().isEmpty(), "Aucun joueur ne doit être importé");
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : TEST 5 - Connexion perdue avant le chargement : lecture seule, la base garde tous ses matchs
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Chargement progressif sur une connexion fermée - échec remonté, écritures refusées")
+    void testLoadInBackground_BrokenConnection_ShouldRejectWrites(@TempDir Path dataDir) throws Exception {
+        // Joseph_com : ARRANGE - deux matchs en base, puis connexion fermée
+        JdbcDatabase database = JdbcDatabase.open(dataDir);
+        PlayerService players = new PlayerService(new JdbcPlayerRepository(database));
+        MatchService writer = new MatchService(players, new JdbcMatchRepository(database));
+        Player a = players.addPlayer("LostA", 1, 0);
+        Player b = players.addPlayer("LostB", 1, 0);
+        writer.createMatch(a.getId(), b.getId(), 2, 0);
+        writer.createMatch(b.getId(), a.getId(), 1, 0);
+        database.close();
+
+        // Joseph_com : ACT
+        MatchService loading = MatchService.loadInBackground(players, new JdbcMatchRepository(database));
+        ExecutionException failure = assertThrows(ExecutionException.class,
+                () -> loading.whenHistoryLoaded().get(10, TimeUnit.SECONDS));
+
+        // Joseph_com : ASSERT - erreur SQL en cause, aucune écriture acceptée
+        assertInstanceOf(SQLException.class, failure.getCause().getCause());
+        assertThrows(IllegalStateException.class, () -> loading.createMatch(a.getId(), b.getId(), 1, 0));
+        assertThrows(IllegalStateException.class, () -> loading.deleteMatch(1));
+
+        // Joseph_com : ASSERT - à la réouverture, les deux matchs sont intacts
+        try (JdbcDatabase reopened = JdbcDatabase.open(dataDir)) {
+            PlayerService reloadedPlayers = new PlayerService(new JdbcPlayerRepository(reopened));
+            assertEquals(2, new MatchService(reloadedPlayers, new JdbcMatchRepository(reopened)).getMatchCount());
+        }
+    }
+}
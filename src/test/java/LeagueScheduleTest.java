@@ -0,0 +1,111 @@
+package org.entreprise.scheduling;
+
+import org.entreprise.exceptions.InvalidMatchException;
+import org.entreprise.model.Match;
+import org.entreprise.model.Player;
+import org.entreprise.service.MatchService;
+import org.entreprise.service.PlayerService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Joseph_com : Tests du calendrier round-robin (méthode du cercle) et des calendriers de ligue.
+ */
+class LeagueScheduleTest {
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Chaque paire se rencontre une fois, chaque joueur au plus une fois par journée
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Round-robin - toutes les paires exactement une fois, groupes pairs et impairs")
+    void testRoundRobin_ShouldCoverEveryPairOnce() {
+        for (int n : new int[]{1, 2, 5, 8, 9, 64}) {
+            int[] ids = IntStream.range(0, n).map(i -> 100 + 7 * i).toArray();
+            RoundRobinSchedule schedule = new RoundRobinSchedule(ids);
+
+            Set<Long> pairs = new HashSet<>();
+            for (int round = 0; round < schedule.getRoundCount(); round++) {
+                Set<Integer> busy = new HashSet<>();
+                List<Fixture> fixtures = schedule.round(round).toList();
+                assertEquals(schedule.getFixturesPerRound(), fixtures.size());
+                for (Fixture fixture : fixtures) {
+                    assertEquals(round, fixture.round());
+                    assertTrue(busy.add(fixture.player1Id()) && busy.add(fixture.player2Id()),
+                            "Un joueur ne joue qu'une fois par journée");
+                    int low = Math.min(fixture.player1Id(), fixture.player2Id());
+                    int high = Math.max(fixture.player1Id(), fixture.player2Id());
+                    assertTrue(pairs.add(((long) low << 32) | high), "Paire rencontrée deux fois : " + fixture);
+                    assertEquals(round, schedule.roundOf(fixture.player2Id(), fixture.player1Id()));
+                }
+            }
+            assertEquals(schedule.getFixtureCount(), pairs.size(), "N = " + n);
+            assertEquals(schedule.getFixtureCount(), schedule.fixtures().parallel().count());
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Grande ligue : une journée se génère sans matérialiser le calendrier
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Grande ligue - 20 000 joueurs, journées générées à la demande")
+    void testLargeLeague_ShouldStreamRounds() {
+        RoundRobinSchedule schedule = new RoundRobinSchedule(IntStream.rangeClosed(1, 20_000).toArray());
+        assertEquals(199_990_000L, schedule.getFixtureCount());
+        assertEquals(19_999, schedule.getRoundCount());
+        assertEquals(10_000, schedule.round(12_345).parallel().count());
+        Fixture first = schedule.round(19_998).findFirst().orElseThrow();
+        assertEquals(19_998, schedule.roundOf(first.player1Id(), first.player2Id()));
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Tranches de niveau, partition entre travailleurs et enregistrement des résultats
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Ligue par niveaux - partition complète et résultats enregistrés")
+    void testLevelBands_ShouldPartitionAndRecordResults(@TempDir Path dataDir) throws Exception {
+        PlayerService players = new PlayerService(dataDir);
+        MatchService matches = new MatchService(players, dataDir);
+        for (int i = 0; i < 11; i++) {
+            players.addPlayer("League" + i, 1 + i % 6, 0);
+        }
+
+        // Joseph_com : Niveaux 1-3 (6 joueurs) et 4-6 (5 joueurs) : 15 + 10 rencontres
+        LeagueSchedule league = LeagueSchedule.byLevelBands(players, 3);
+        assertEquals(2, league.getGroups().size());
+        assertEquals(25, league.getFixtureCount());
+        assertEquals(5, league.getRoundCount());
+
+        List<Fixture> all = league.fixtures().toList();
+        List<Fixture> partitioned = IntStream.range(0, 3)
+                .mapToObj(worker -> league.partition(worker, 3))
+                .flatMap(Stream::sequential)
+                .toList();
+        assertEquals(all, partitioned);
+        for (Fixture fixture : all) {
+            int level1 = players.findById(fixture.player1Id()).getLevel();
+            int level2 = players.findById(fixture.player2Id()).getLevel();
+            assertEquals((level1 - 1) / 3, (level2 - 1) / 3, "Pas de rencontre entre deux tranches");
+        }
+
+        Fixture fixture = all.get(0);
+        Match match = league.recordResult(matches, fixture, 3, 1);
+        assertEquals(fixture.player1Id(), match.getPlayer1().getId());
+        assertEquals(1, matches.getMatchCount());
+        Fixture wrongRound = new Fixture(fixture.round() + 1, fixture.player1Id(), fixture.player2Id());
+        assertThrows(InvalidMatchException.class, () -> league.recordResult(matches, wrongRound, 1, 0));
+        Player low = players.findById(all.get(0).player1Id());
+        Player other = players.getAllPlayers().stream()
+                .filter(p -> (p.getLevel() - 1) / 3 != (low.getLevel() - 1) / 3).findFirst().orElseThrow();
+        assertEquals(-1, league.roundOf(low.getId(), other.getId()));
+    }
+}
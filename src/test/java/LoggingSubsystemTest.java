@@ -0,0 +1,139 @@
+package org.entreprise.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Joseph_com : Tests du sous-système de logs (échantillonnage et appender asynchrone).
+ */
+class LoggingSubsystemTest {
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Le limiteur n'autorise que N logs par fenêtre et compte le reste
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("LogSampler - limite le nombre de logs par fenêtre et compte les suppressions")
+    void testSampler_ShouldLimitAndCountSuppressed() {
+        LogSampler sampler = new LogSampler(2, 1, TimeUnit.HOURS);
+
+        int accepted = 0;
+        for (int i = 0; i < 10; i++) {
+            if (sampler.tryAcquire()) accepted++;
+        }
+
+        assertEquals(2, accepted, "Seuls 2 logs doivent passer dans la fenêtre");
+        assertEquals(8, sampler.drainSuppressed(), "8 appels doivent être comptés comme supprimés");
+        assertEquals(0, sampler.drainSuppressed(), "Le compteur doit être remis à zéro après lecture");
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Sous contention, jamais plus de N logs par fenêtre ; chaque refus est compté
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("LogSampler - concurrence : N logs exactement par fenêtre, aucun refus perdu")
+    void testSampler_Concurrent_ShouldNeverExceedPermits() throws InterruptedException {
+        LogSampler sampler = new LogSampler(5, 1, TimeUnit.HOURS);
+        int threads = 8;
+        int callsPerThread = 10_000;
+        AtomicInteger accepted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < callsPerThread; i++) {
+                    if (sampler.tryAcquire()) accepted.incrementAndGet();
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : workers) worker.join();
+
+        assertEquals(5, accepted.get());
+        assertEquals((long) threads * callsPerThread - 5, sampler.drainSuppressed());
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : L'appender asynchrone ne bloque jamais et compte les événements perdus
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("CountingAsyncAppender - file pleine : pas de blocage, pertes comptées")
+    void testAsyncAppender_FullQueue_ShouldDropAndCount() throws InterruptedException {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Joseph_com : Appender lent qui bloque le thread de vidage jusqu'à la fin du test
+        AppenderBase<ILoggingEvent> slow = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        slow.setContext(context);
+        slow.start();
+
+        CountingAsyncAppender async = new CountingAsyncAppender();
+        async.setContext(context);
+        async.setQueueSize(4);
+        async.setDiscardingThreshold(0);
+        async.setNeverBlock(true);
+        async.addAppender(slow);
+        async.start();
+
+        // Joseph_com : Logger isolé (sans additivité) branché uniquement sur l'appender testé
+        Logger logger = context.getLogger("test.async");
+        logger.setAdditive(false);
+        logger.addAppender(async);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 1_000; i++) {
+            logger.info("message {}", i);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Joseph_com : Depuis 3 autres threads en parallèle : chaque événement est soit accepté, soit compté perdu
+        List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < 3; t++) {
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < 1_000; i++) logger.info("concurrent {}", i);
+            });
+            producer.start();
+            producers.add(producer);
+        }
+        for (Thread producer : producers) producer.join();
+
+        assertTrue(async.getDroppedCount() > 900, "La plupart des événements doivent être abandonnés");
+        assertTrue(LoggingMetrics.droppedEvents() >= async.getDroppedCount(),
+                "Le total global doit inclure les pertes de cet appender");
+        assertEquals(4_000, async.getAcceptedCount() + async.getDroppedCount(),
+                "Aucun événement ne doit disparaître sans être compté");
+        assertTrue(elapsedMillis < 1_000, "L'appel de log ne doit jamais bloquer le thread métier");
+
+        release.countDown();
+        logger.detachAppender(async);
+        async.stop();
+    }
+}
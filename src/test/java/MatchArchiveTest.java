@@ -0,0 +1,185 @@
+package org.entreprise.archive;
+
+import org.entreprise.dao.InMemoryMatchRepository;
+import org.entreprise.dao.InMemoryPlayerRepository;
+import org.entreprise.model.Match;
+import org.entreprise.model.Player;
+import org.entreprise.scoring.WinRateStrategy;
+import org.entreprise.service.MatchService;
+import org.entreprise.service.PlayerService;
+import org.entreprise.stats.HeadToHeadRecord;
+import org.entreprise.stats.HeadToHeadService;
+import org.entreprise.stats.PlayerProfiles;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Joseph_com : Tests du stockage à deux niveaux (matchs récents en mémoire, anciens en segments compressés).
+ * Couvre :
+ *  - L'archivage par date : agrégats inchangés, mémoire allégée, rechargement sans les matchs archivés
+ *  - Les lectures froides par joueur, par ID et par dates, limitées aux blocs concernés
+ *  - Les vues dérivées (scores, confrontations, profils) : matchs archivés retirés, comme au redémarrage
+ */
+class MatchArchiveTest {
+
+    // Joseph_com : Début de la saison passée des données de test
+    private static final LocalDate SEASON_START = LocalDate.of(2024, 1, 1);
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : TEST 1 - Archivage d'une saison : agrégats identiques avant, après et au redémarrage
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Archivage par date - agrégats conservés, matchs anciens hors mémoire")
+    void testArchiveBefore_ShouldKeepAggregatesAndUnloadOldMatches(@TempDir Path dataDir) throws Exception {
+        // Joseph_com : ARRANGE - 8 joueurs, 400 matchs répartis sur 200 jours (un ID sur deux par jour)
+        PlayerService players = new PlayerService(dataDir);
+        MatchService matches = new MatchService(players, dataDir);
+        List<Player> roster = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            roster.add(players.addPlayer("Arch" + i, 1 + i % 5, 0));
+        }
+        matches.setAutoSave(false);
+        for (int id = 1; id <= 400; id++) {
+            Player p1 = roster.get(id % 8);
+            Player p2 = roster.get((id * 3 + 1) % 8 == id % 8 ? (id + 1) % 8 : (id * 3 + 1) % 8);
+            matches.applyReplicated(id, p1.getId(), p2.getId(), id % 7, id % 5, SEASON_START.plusDays(id / 2));
+        }
+        matches.setAutoSave(true);
+        long totalBefore = matches.getTotalPointsPlayed();
+        List<Long> winsBefore = roster.stream().map(p -> matches.countWins(p.getId())).toList();
+        LocalDate cutoff = SEASON_START.plusDays(150);
+        List<Match> oldOfFirst = matches.getMatchesByPlayer(roster.get(0).getId()).stream()
+                .filter(m -> m.getDate().isBefore(cutoff)).toList();
+
+        // Joseph_com : ACT - archive à blocs de 16 matchs, puis archivage des 150 premiers jours
+        MatchArchive archive = MatchArchive.open(dataDir.resolve("archive"), 16, 4);
+        matches.attachArchive(archive);
+        int archived = matches.archiveBefore(cutoff);
+
+        // Joseph_com : ASSERT - 299 matchs archivés (IDs 1 à 299), agrégats inchangés
+        assertEquals(299, archived);
+        assertEquals(101, matches.getMatchCount());
+        assertEquals(totalBefore, matches.getTotalPointsPlayed());
+        assertEquals(winsBefore, roster.stream().map(p -> matches.countWins(p.getId())).toList());
+        assertEquals(describe(oldOfFirst), describe(matches.getArchivedMatchesByPlayer(roster.get(0).getId())));
+        assertEquals(0, matches.archiveBefore(cutoff), "Rien de plus à archiver");
+
+        // Joseph_com : ASSERT - au redémarrage, seuls les matchs récents sont chargés ; les IDs ne sont pas réutilisés
+        PlayerService reloadedPlayers = new PlayerService(dataDir);
+        MatchService reloaded = new MatchService(reloadedPlayers, dataDir);
+        assertEquals(101, reloaded.getMatchCount());
+        reloaded.attachArchive(MatchArchive.open(dataDir.resolve("archive")));
+        assertEquals(totalBefore, reloaded.getTotalPointsPlayed());
+        assertEquals(winsBefore, roster.stream().map(p -> reloaded.countWins(p.getId())).toList());
+        Match next = reloaded.createMatch(roster.get(0).getId(), roster.get(1).getId(), 1, 0);
+        assertEquals(401, next.getId());
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : TEST 2 - Lectures froides : seuls les blocs nécessaires sont décompressés
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Lectures d'archive - par ID, par dates, par joueur, via le cache de blocs")
+    void testColdReads_ShouldOnlyDecompressNeededBlocks(@TempDir Path dir) throws Exception {
+        // Joseph_com : ARRANGE - 100 matchs en 10 blocs ; le joueur "rare" n'apparaît que dans le dernier
+        Player a = new Player(1, "ColdA", 1, 0);
+        Player b = new Player(2, "ColdB", 1, 0);
+        Player rare = new Player(3, "ColdRare", 1, 0);
+        List<Match> season = new ArrayList<>();
+        for (int id = 1; id <= 100; id++) {
+            Player opponent = id == 95 ? rare : b;
+            season.add(new Match(id, a, opponent, id % 4, 1, SEASON_START.plusDays(id)));
+        }
+        MatchArchive archive = MatchArchive.open(dir, 10, 2);
+        ArchiveSegment segment = archive.roll(season);
+        List<Player> players = List.of(a, b, rare);
+
+        // Joseph_com : ACT / ASSERT - agrégats sans décompression
+        assertEquals(10, segment.getBlockCount());
+        assertEquals(100, archive.getMatchCount());
+        assertEquals(season.stream().mapToInt(m -> m.getScorePlayer1() + m.getScorePlayer2()).sum(),
+                archive.getTotalPoints());
+        assertEquals(50, archive.countWins(a.getId()));
+        assertEquals(25, archive.countWins(b.getId()));
+        assertEquals(1, archive.countMatches(rare.getId()));
+        assertEquals(0, archive.getCacheStats().misses());
+
+        // Joseph_com : ACT / ASSERT - lecture par joueur : un seul bloc décompressé
+        List<Match> rareMatches = archive.matchesOf(rare.getId(), id -> players.get(id - 1));
+        assertEquals(describe(List.of(season.get(94))), describe(rareMatches));
+        assertEquals(1, archive.getCacheStats().misses());
+
+        // Joseph_com : ACT / ASSERT - lecture par ID dans le même bloc : servie par le cache
+        assertEquals(season.get(90).toString(), archive.get(91, id -> players.get(id - 1)).orElseThrow().toString());
+        assertEquals(1, archive.getCacheStats().hits());
+        assertTrue(archive.get(101, id -> players.get(id - 1)).isEmpty());
+
+        // Joseph_com : ACT / ASSERT - plage de dates sur deux blocs, après réouverture (pied relu seulement)
+        MatchArchive reopened = MatchArchive.open(dir, 10, 2);
+        List<Match> range = reopened.matchesBetween(SEASON_START.plusDays(8), SEASON_START.plusDays(12),
+                id -> players.get(id - 1));
+        assertEquals(describe(season.subList(7, 12)), describe(range));
+        assertEquals(2, reopened.getCacheStats().misses());
+        assertEquals(25, reopened.countWins(b.getId()));
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : TEST 3 - Vues dérivées : un match archivé en sort, comme après un redémarrage
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Archivage - scores, confrontations et profils identiques à ceux d'un redémarrage")
+    void testArchiveBefore_ShouldRemoveArchivedMatchesFromDerivedViews(@TempDir Path dir) throws Exception {
+        // Joseph_com : ARRANGE - A gagne 4 matchs anciens, B gagne les 2 récents ; vues remplies avant l'archivage
+        InMemoryPlayerRepository playerStore = new InMemoryPlayerRepository();
+        InMemoryMatchRepository matchStore = new InMemoryMatchRepository();
+        PlayerService players = new PlayerService(playerStore);
+        players.setScoringStrategy(new WinRateStrategy());
+        MatchService matches = new MatchService(players, matchStore);
+        Player a = players.addPlayer("ViewA", 1, 100);
+        Player b = players.addPlayer("ViewB", 1, 100);
+        for (int id = 1; id <= 6; id++) {
+            boolean old = id <= 4;
+            matches.applyReplicated(id, a.getId(), b.getId(), old ? 3 : 0, old ? 0 : 2, SEASON_START.plusDays(id * 10));
+        }
+        HeadToHeadService headToHead = new HeadToHeadService(matches);
+        PlayerProfiles profiles = new PlayerProfiles(matches);
+        assertEquals(4, headToHead.get(a.getId(), b.getId()).winsA());
+        assertEquals(6, profiles.get(a.getId()).orElseThrow().matches());
+        assertEquals(117, a.calculateScore());
+
+        // Joseph_com : ACT
+        matches.attachArchive(MatchArchive.open(dir, 16, 2));
+        assertEquals(4, matches.archiveBefore(SEASON_START.plusDays(45)));
+
+        // Joseph_com : ASSERT - seuls les 2 matchs en mémoire comptent (succès de cache compris)
+        HeadToHeadRecord cached = headToHead.get(a.getId(), b.getId());
+        assertEquals(0, cached.winsA());
+        assertEquals(2, cached.winsB());
+        assertEquals(2, profiles.get(a.getId()).orElseThrow().matches());
+        assertEquals(50, a.calculateScore());
+        assertEquals(4, matches.countWins(a.getId()), "Les agrégats du service couvrent toujours l'archive");
+
+        // Joseph_com : ASSERT - un redémarrage (échec de cache, profils reconstruits) donne les mêmes vues
+        PlayerService restartedPlayers = new PlayerService(playerStore);
+        restartedPlayers.setScoringStrategy(new WinRateStrategy());
+        MatchService restarted = new MatchService(restartedPlayers, matchStore);
+        HeadToHeadService freshHeadToHead = new HeadToHeadService(restarted);
+        assertEquals(cached, freshHeadToHead.get(a.getId(), b.getId()));
+        assertEquals(0, freshHeadToHead.getCacheStats().hits());
+        assertEquals(profiles.get(a.getId()), new PlayerProfiles(restarted).get(a.getId()));
+        assertEquals(a.calculateScore(), restartedPlayers.findById(a.getId()).calculateScore());
+    }
+
+    // Joseph_com : Les matchs relus de l'archive sont de nouvelles instances : comparaison par contenu
+    private static List<String> describe(List<Match> matches) {
+        return matches.stream().map(Match::toString).toList();
+    }
+}
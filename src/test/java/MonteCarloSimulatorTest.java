@@ -0,0 +1,83 @@
+package org.entreprise.simulation;
+
+import org.entreprise.model.Match;
+import org.entreprise.model.Player;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Joseph_com : Tests du simulateur Monte-Carlo (tableau à élimination directe et poule).
+ */
+class MonteCarloSimulatorTest {
+
+    // Joseph_com : Modèle où tous les matchs sont à pile ou face
+    private static final StrengthModel EVEN = (a, b) -> 0.5;
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Probabilités cohérentes et résultat identique quel que soit le nombre de threads
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Élimination directe - probabilités équilibrées et reproductibles")
+    void testBracket_ShouldBeBalancedAndReproducible() {
+        TournamentFormat bracket = new TournamentFormat.SingleElimination(List.of(1, 2, 3, 4, 5));
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool several = new ForkJoinPool(4);
+        try {
+            SimulationResult a = new MonteCarloSimulator(EVEN, single).simulate(bracket, 200_000, 7);
+            SimulationResult b = new MonteCarloSimulator(EVEN, several).simulate(bracket, 200_000, 7);
+
+            double total = 0;
+            for (int id = 1; id <= 5; id++) {
+                assertEquals(a.winProbability(id), b.winProbability(id), "Même graine, même résultat");
+                total += a.winProbability(id);
+            }
+            assertEquals(1.0, total, 1e-9);
+            // Joseph_com : Le joueur 5 est exempté jusqu'en finale : une seule victoire nécessaire
+            assertEquals(0.5, a.winProbability(5), 0.01);
+            assertEquals(0.125, a.winProbability(1), 0.01);
+            assertEquals(0.5, a.placeDistribution(1)[3], 0.01, "Éliminé au premier tour une fois sur deux");
+        } finally {
+            single.shutdown();
+            several.shutdown();
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Poule : une avance impossible à rattraper donne une victoire certaine
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Poule - avance décisive et force Elo prises en compte")
+    void testRoundRobin_ShouldUseStandingsAndStrength() {
+        Player alice = new Player(1, "Alice", 1, 0);
+        Player bob = new Player(2, "Bob", 1, 0);
+        Player carol = new Player(3, "Carol", 1, 0);
+        List<Match> history = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            history.add(new Match(i, alice, bob, 3, 0, LocalDate.of(2026, 1, 1)));
+            history.add(new Match(100 + i, alice, carol, 3, 0, LocalDate.of(2026, 1, 1)));
+        }
+        StrengthModel elo = StrengthModel.fromEloHistory(List.of(alice, bob, carol), history);
+        assertTrue(elo.winProbability(1, 2) > 0.8, "Alice doit être favorite");
+
+        List<TournamentFormat.Fixture> remaining = List.of(
+                new TournamentFormat.Fixture(1, 2), new TournamentFormat.Fixture(2, 3), new TournamentFormat.Fixture(1, 3));
+        MonteCarloSimulator simulator = new MonteCarloSimulator(elo);
+
+        SimulationResult open = simulator.simulate(
+                new TournamentFormat.RoundRobin(List.of(1, 2, 3), remaining, Map.of()), 100_000, 1);
+        assertTrue(open.winProbability(1) > open.winProbability(2));
+        assertEquals(1, open.ranked().get(0).playerId());
+
+        SimulationResult decided = simulator.simulate(
+                new TournamentFormat.RoundRobin(List.of(1, 2, 3), remaining, Map.of(3, 10)), 50_000, 1);
+        assertEquals(1.0, decided.winProbability(3));
+    }
+}
@@ -0,0 +1,267 @@
+package org.entreprise.service;
+
+import org.entreprise.dao.InMemoryMatchRepository;
+import org.entreprise.dao.InMemoryPlayerRepository;
+import org.entreprise.dao.MatchDAO;
+import org.entreprise.model.MatchRequest;
+import org.entreprise.model.Player;
+import org.entreprise.model.PlayerRequest;
+import org.entreprise.stats.LeaderboardCriterion;
+import org.entreprise.stats.PlayerProfiles;
+import org.entreprise.stats.RollingLeaderboard;
+import org.entreprise.stats.TimeWindow;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.consumer.RecordingStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Joseph_com : Garde-fou contre les régressions de performance des chemins chauds.
+ * Chaque opération mesurée est un événement JFR (durée + octets alloués par le thread), consommé
+ * en flux (RecordingStream) ; les budgets d'allocation par opération et les plafonds de latence (p99)
+ * font échouer le build en cas de dépassement. Les échantillons d'allocation JFR indiquent alors
+ * les classes qui allouent le plus.
+ * Suite exclue du build par défaut (tag "performance") : mvn -B test -Pperf
+ * Les budgets ont une marge large (x3 à x5 des mesures de référence) pour rester stables d'une machine à l'autre.
+ */
+@Tag("performance")
+class PerformanceBudgetTest {
+
+    // Joseph_com : Logger pour tracer les mesures de chaque opération (budgets respectés ou non)
+    private static final Logger logger = LoggerFactory.getLogger(PerformanceBudgetTest.class);
+
+    // Joseph_com : Jeu de données synthétique
+    private static final int PLAYERS = 500;
+    private static final int HISTORY = 50_000;
+
+    // Joseph_com : Itérations d'échauffement (compilation JIT) puis mesurées
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 5_000;
+
+    // Joseph_com : Compteur d'allocation exact du thread courant (n'alloue pas lui-même)
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private PlayerService playerService;
+    private MatchService matchService;
+    private RecordingStream recording;
+    private boolean stopped;
+
+    // Joseph_com : Mesures reçues du flux JFR, par opération
+    private final Map<String, List<OperationSample>> samples = new ConcurrentHashMap<>();
+
+    // Joseph_com : Octets échantillonnés par classe allouée (jdk.ObjectAllocationSample)
+    private final Map<String, Long> allocationsByClass = new ConcurrentHashMap<>();
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Événement JFR d'une opération mesurée
+    // ─────────────────────────────────────────────
+    @Name("org.entreprise.Operation")
+    @Label("Opération mesurée")
+    @Category("Tournoi")
+    static class OperationEvent extends Event {
+        @Label("Opération")
+        String operation;
+
+        @Label("Octets alloués")
+        long allocatedBytes;
+    }
+
+    private record OperationSample(long nanos, long allocatedBytes) {
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Tournoi synthétique en mémoire + enregistrement JFR en flux
+    // ─────────────────────────────────────────────────────────────────────────
+    @BeforeEach
+    void setUp() {
+        playerService = new PlayerService(new InMemoryPlayerRepository());
+        List<PlayerRequest> roster = new ArrayList<>(PLAYERS);
+        for (int i = 0; i < PLAYERS; i++) {
+            roster.add(new PlayerRequest("Perf" + i, 1 + i % 10, i));
+        }
+        playerService.addPlayers(roster.iterator());
+        matchService = new MatchService(playerService, new InMemoryMatchRepository());
+        matchService.createMatches(syntheticHistory(HISTORY));
+
+        recording = new RecordingStream();
+        recording.enable(OperationEvent.class).withoutThreshold();
+        recording.enable("jdk.ObjectAllocationSample").with("throttle", "1000/s");
+        recording.onEvent("org.entreprise.Operation", event -> samples
+                .computeIfAbsent(event.getString("operation"), op -> Collections.synchronizedList(new ArrayList<>()))
+                .add(new OperationSample(event.getDuration().toNanos(), event.getLong("allocatedBytes"))));
+        recording.onEvent("jdk.ObjectAllocationSample", event -> allocationsByClass
+                .merge(event.getClass("objectClass").getName(), event.getLong("weight"), Long::sum));
+        recording.startAsync();
+    }
+
+    @AfterEach
+    void tearDown() {
+        recording.close();
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : createMatch - un match, ses index et ses observateurs
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("createMatch - budget d'allocation et latence")
+    void createMatch_ShouldStayWithinBudget() {
+        int[] next = {0};
+        Runnable create = () -> {
+            int i = next[0]++;
+            int p1 = 1 + i % PLAYERS;
+            int p2 = 1 + (i * 7 + 3) % PLAYERS;
+            try {
+                matchService.createMatch(p1, p2 == p1 ? 1 + p1 % PLAYERS : p2, i % 5, i % 3);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        };
+        measure("createMatch", create);
+        assertWithinBudget("createMatch", 8 * 1024, Duration.ofMillis(2));
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : findById - recherche par table de hachage, ne doit (presque) rien allouer
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("findById - quasiment sans allocation")
+    void findById_ShouldNotAllocate() {
+        int[] next = {0};
+        measure("findById", () -> {
+            try {
+                playerService.findById(1 + next[0]++ % PLAYERS);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertWithinBudget("findById", 64, Duration.ofMillis(1));
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Lectures de classements (top 3, top hebdomadaire, joueurs en forme)
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Classements - budget d'allocation et latence par lecture")
+    void leaderboardReads_ShouldStayWithinBudget() {
+        RollingLeaderboard rolling = new RollingLeaderboard();
+        matchService.addListener(rolling);
+        PlayerProfiles profiles = new PlayerProfiles(matchService);
+
+        measure("getTop3Players", playerService::getTop3Players);
+        measure("rollingTop10", () -> rolling.top(TimeWindow.WEEKLY, LeaderboardCriterion.WINS, 10));
+        measure("mostInForm10", () -> profiles.mostInForm(10));
+
+        assertWithinBudget("getTop3Players", 32 * 1024, Duration.ofMillis(5));
+        assertWithinBudget("rollingTop10", 160 * 1024, Duration.ofMillis(10));
+        assertWithinBudget("mostInForm10", 256 * 1024, Duration.ofMillis(20));
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Chargement DAO - budget par match lu et durée du chargement complet
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Chargement CSV - allocation par match et durée bornées")
+    void daoLoad_ShouldStayWithinBudget(@TempDir Path dataDir) {
+        MatchDAO dao = new MatchDAO(dataDir);
+        dao.saveAll(matchService.getAllMatches());
+        List<Player> players = playerService.getAllPlayers();
+
+        int[] loaded = new int[1];
+        measure("loadAll", 3, 10, () -> loaded[0] = dao.loadAll(players).size());
+
+        assertEquals(HISTORY, loaded[0]);
+        assertWithinBudget("loadAll", (long) HISTORY * 4 * 1024, Duration.ofMillis(1_500));
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Mesure - échauffement hors enregistrement, puis un événement JFR par itération
+    // ─────────────────────────────────────────────────────────────────────────
+    private void measure(String operation, Runnable body) {
+        measure(operation, WARMUP, ITERATIONS, body);
+    }
+
+    private void measure(String operation, int warmup, int iterations, Runnable body) {
+        for (int i = 0; i < warmup; i++) {
+            body.run();
+        }
+        for (int i = 0; i < iterations; i++) {
+            OperationEvent event = new OperationEvent();
+            event.operation = operation;
+            event.begin();
+            long before = THREADS.getCurrentThreadAllocatedBytes();
+            body.run();
+            event.allocatedBytes = THREADS.getCurrentThreadAllocatedBytes() - before;
+            event.commit();
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Joseph_com : Vérification des budgets : moyenne des octets alloués et latence p99
+    // ─────────────────────────────────────────────
+    private void assertWithinBudget(String operation, long maxBytesPerOp, Duration maxP99) {
+        // Joseph_com : stop() vide les tampons JFR et attend la livraison des événements en attente
+        if (!stopped) {
+            recording.stop();
+            stopped = true;
+        }
+        List<OperationSample> measured = new ArrayList<>(samples.getOrDefault(operation, List.of()));
+        assertFalse(measured.isEmpty(), "Aucun événement JFR reçu pour " + operation);
+
+        long bytesPerOp = Math.round(measured.stream().mapToLong(OperationSample::allocatedBytes).average().orElse(0));
+        long[] nanos = measured.stream().mapToLong(OperationSample::nanos).sorted().toArray();
+        Duration p99 = Duration.ofNanos(nanos[(int) Math.min(nanos.length - 1, Math.ceil(nanos.length * 0.99) - 1)]);
+        logger.info("{} : {} op(s), {} o/op (budget {}), p99 {} µs (plafond {})",
+                operation, measured.size(), bytesPerOp, maxBytesPerOp, p99.toNanos() / 1_000, maxP99.toNanos() / 1_000);
+
+        assertTrue(bytesPerOp <= maxBytesPerOp, () -> String.format(
+                "%s alloue %,d octets/op (budget %,d). Classes les plus allouées : %s",
+                operation, bytesPerOp, maxBytesPerOp, topAllocations()));
+        assertTrue(p99.compareTo(maxP99) <= 0, () -> String.format(
+                "%s : p99 = %d µs (plafond %d µs)", operation, p99.toNanos() / 1_000, maxP99.toNanos() / 1_000));
+    }
+
+    private String topAllocations() {
+        return allocationsByClass.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(5)
+                .map(e -> e.getKey() + "=" + e.getValue() / 1024 + " Ko")
+                .collect(Collectors.joining(", "));
+    }
+
+    // Joseph_com : Historique synthétique : paires variées, dates sur les 60 derniers jours
+    private static List<MatchRequest> syntheticHistory(int count) {
+        List<MatchRequest> requests = new ArrayList<>(count);
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < count; i++) {
+            int p1 = 1 + i % PLAYERS;
+            int p2 = 1 + (i * 31 + 17) % PLAYERS;
+            if (p2 == p1) p2 = 1 + p1 % PLAYERS;
+            requests.add(new MatchRequest(p1, p2, i % 7, i % 4, today.minusDays(i % 60)));
+        }
+        return requests;
+    }
+}
@@ -0,0 +1,151 @@
+package org.entreprise.stats;
+
+import org.entreprise.dao.InMemoryMatchRepository;
+import org.entreprise.dao.InMemoryPlayerRepository;
+import org.entreprise.model.Match;
+import org.entreprise.model.Player;
+import org.entreprise.service.MatchService;
+import org.entreprise.service.PlayerService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Joseph_com : Tests des profils de performance (séries, forme, taux de victoire, écart moyen).
+ */
+class PlayerProfilesTest {
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Construction en une passe puis mises à jour incrémentales
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Profils - séries, forme et classement en forme")
+    void testProfiles_ShouldTrackStreaksAndForm() throws Exception {
+        // Joseph_com : ARRANGE - historique existant avant l'abonnement
+        PlayerService players = new PlayerService(new InMemoryPlayerRepository());
+        MatchService matches = new MatchService(players, new InMemoryMatchRepository());
+        Player alice = players.addPlayer("Alice", 1, 0);
+        Player bob = players.addPlayer("Bob", 1, 0);
+        Player carol = players.addPlayer("Carol", 1, 0);
+        matches.createMatch(alice.getId(), bob.getId(), 3, 1);
+        matches.createMatch(bob.getId(), alice.getId(), 2, 0);
+        matches.createMatch(alice.getId(), carol.getId(), 4, 0);
+        PlayerProfiles profiles = new PlayerProfiles(matches, 3);
+
+        // Joseph_com : ACT - nouveaux matchs après l'abonnement
+        matches.createMatch(alice.getId(), bob.getId(), 1, 0);
+        matches.createMatch(carol.getId(), alice.getId(), 2, 3);
+        matches.createMatch(bob.getId(), carol.getId(), 1, 1);
+
+        // Joseph_com : ASSERT - Alice : V D V V V ; forme sur 3 = VVV
+        PlayerProfile a = profiles.get(alice.getId()).orElseThrow();
+        assertEquals(new PlayerProfile(alice.getId(), 5, 4, 0, 1, 3, 3, "VVV", 9, 6.0 / 5), a);
+        assertEquals(0.8, a.winRate());
+        PlayerProfile b = profiles.get(bob.getId()).orElseThrow();
+        assertEquals("VDN", b.form());
+        assertEquals(0, b.currentStreak());
+        assertEquals(1, b.longestStreak());
+        assertEquals(4, b.formPoints());
+        assertEquals(List.of(alice.getId(), bob.getId()),
+                profiles.mostInForm(2).stream().map(PlayerProfile::playerId).toList());
+        assertEquals(3, profiles.getAll().size());
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Correction et suppression - compteurs ajustés, séries et forme recalculées
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Profils - cohérents après correction et suppression")
+    void testProfiles_ShouldFollowCorrections() throws Exception {
+        // Joseph_com : ARRANGE - Alice gagne 4 fois de suite contre Bob
+        PlayerService players = new PlayerService(new InMemoryPlayerRepository());
+        MatchService matches = new MatchService(players, new InMemoryMatchRepository());
+        Player alice = players.addPlayer("Alice", 1, 0);
+        Player bob = players.addPlayer("Bob", 1, 0);
+        PlayerProfiles profiles = new PlayerProfiles(matches);
+        Match[] played = new Match[4];
+        for (int i = 0; i < played.length; i++) {
+            played[i] = matches.createMatch(alice.getId(), bob.getId(), 2, 1);
+        }
+
+        // Joseph_com : ACT - le 2e match était une défaite, le 4e n'a pas eu lieu, puis un nouveau match
+        matches.updateMatch(played[1].getId(), 0, 2);
+        matches.deleteMatch(played[3].getId());
+        matches.createMatch(alice.getId(), bob.getId(), 5, 0);
+
+        // Joseph_com : ASSERT - V D V V : série en cours 2, plus longue 2
+        PlayerProfile a = profiles.get(alice.getId()).orElseThrow();
+        assertEquals(4, a.matches());
+        assertEquals(3, a.wins());
+        assertEquals(1, a.losses());
+        assertEquals(2, a.currentStreak());
+        assertEquals(2, a.longestStreak());
+        assertEquals("VDVV", a.form());
+        assertEquals((1 - 2 + 1 + 5) / 4.0, a.averageMargin());
+        assertEquals("DVDD", profiles.get(bob.getId()).orElseThrow().form());
+
+        // Joseph_com : ASSERT - un abonnement neuf (une seule passe) donne les mêmes profils
+        PlayerProfiles rebuilt = new PlayerProfiles(matches);
+        assertEquals(a, rebuilt.get(alice.getId()).orElseThrow());
+        assertTrue(profiles.get(999).isEmpty());
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Recalcul après suppression pendant un flux continu de matchs : il aboutit toujours
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Profils - recalcul après suppression malgré des matchs arrivant pendant la lecture")
+    void testProfiles_RefreshDuringIngestion_ShouldComplete() throws Exception {
+        // Joseph_com : ARRANGE - chaque lecture d'historique déclenche un nouveau match (autres joueurs)
+        PlayerService players = new PlayerService(new InMemoryPlayerRepository());
+        Player alice = players.addPlayer("Alice", 1, 0);
+        Player bob = players.addPlayer("Bob", 1, 0);
+        Player carol = players.addPlayer("Carol", 1, 0);
+        Player dave = players.addPlayer("Dave", 1, 0);
+        ExecutorService ingestion = Executors.newSingleThreadExecutor();
+        AtomicBoolean ingesting = new AtomicBoolean();
+        MatchService matches = new MatchService(players, new InMemoryMatchRepository()) {
+            @Override
+            public List<Match> getMatchesByPlayer(int playerId) {
+                if (ingesting.get()) {
+                    Future<Match> arriving = ingestion.submit(() -> createMatch(carol.getId(), dave.getId(), 1, 0));
+                    try {
+                        arriving.get(100, TimeUnit.MILLISECONDS);
+                    } catch (TimeoutException e) {
+                        // Joseph_com : Match en attente du verrou du service : il sera appliqué après le recalcul
+                    } catch (InterruptedException | ExecutionException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+                return super.getMatchesByPlayer(playerId);
+            }
+        };
+        PlayerProfiles profiles = new PlayerProfiles(matches, 3);
+        matches.createMatch(alice.getId(), bob.getId(), 2, 0);
+        matches.createMatch(alice.getId(), bob.getId(), 2, 1);
+        Match loss = matches.createMatch(bob.getId(), alice.getId(), 3, 0);
+        matches.createMatch(alice.getId(), bob.getId(), 1, 0);
+
+        // Joseph_com : ACT - suppression de la seule défaite, lecture pendant le flux
+        matches.deleteMatch(loss.getId());
+        ingesting.set(true);
+        PlayerProfile a = profiles.get(alice.getId()).orElseThrow();
+        ingesting.set(false);
+        ingestion.shutdown();
+        assertTrue(ingestion.awaitTermination(5, TimeUnit.SECONDS));
+
+        // Joseph_com : ASSERT - Alice : V V V (la défaite a disparu de la série et de la forme)
+        assertEquals(new PlayerProfile(alice.getId(), 3, 3, 0, 0, 3, 3, "VVV", 9, 4.0 / 3), a);
+        assertEquals(2, profiles.get(carol.getId()).orElseThrow().wins(), "Un match du flux par historique relu (Alice, Bob)");
+    }
+}
@@ -0,0 +1,156 @@
+package org.entreprise.replication;
+
+import org.entreprise.events.ChangeEventBus;
+import org.entreprise.service.MatchService;
+import org.entreprise.service.PlayerService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Joseph_com : Tests de la réplication leader/suiveur sur la boucle locale (nœuds dans le même processus).
+ */
+class ReplicationTest {
+
+    @TempDir
+    Path root;
+
+    // Joseph_com : Attente active bornée (les changements traversent le flux puis la socket)
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Réplication non terminée dans le délai imparti");
+            Thread.sleep(5);
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Instantané initial, flux continu, puis reprise d'un suiveur à son offset
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Réplication - instantané, flux continu et reprise à partir d'un offset")
+    void testFollower_ShouldReplicateAndCatchUpFromOffset() throws Exception {
+        ChangeEventBus bus = new ChangeEventBus(64);
+        PlayerService leaderPlayers = new PlayerService(root.resolve("leader"));
+        MatchService leaderMatches = new MatchService(leaderPlayers, root.resolve("leader"));
+        leaderPlayers.setEventBus(bus);
+        leaderMatches.setEventBus(bus);
+
+        int alice = leaderPlayers.addPlayer("Alice", 2, 10).getId();
+        int bob = leaderPlayers.addPlayer("Bob", 3, 20).getId();
+        leaderMatches.createMatch(alice, bob, 3, 1);
+
+        InetSocketAddress loopback = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+        try (ReplicationLeader leader = new ReplicationLeader(leaderPlayers, leaderMatches, bus, loopback)) {
+            InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), leader.getPort());
+            Path followerDir = root.resolve("follower");
+
+            // Joseph_com : Premier suiveur : instantané puis changements en direct
+            PlayerService followerPlayers = new PlayerService(followerDir);
+            MatchService followerMatches = new MatchService(followerPlayers, followerDir);
+            ReplicationPosition saved;
+            try (ReplicationFollower follower = new ReplicationFollower(followerPlayers, followerMatches, address)) {
+                await(() -> followerMatches.getMatchCount() == 1);
+                int carol = leaderPlayers.addPlayer("Carol", 1, 5).getId();
+                leaderMatches.createMatch(carol, alice, 2, 2);
+                leaderPlayers.updateScore(bob, 42);
+
+                await(() -> follower.getPosition().offset() == leader.getLogSize()
+                        && followerMatches.getMatchCount() == 2
+                        && followerPlayers.findOptionalById(bob).map(p -> p.getScore() == 42).orElse(false));
+                assertEquals(3, followerPlayers.getPlayerCount());
+                assertEquals(1, followerMatches.countWins(alice));
+                saved = follower.getPosition();
+            }
+
+            // Joseph_com : Pendant la coupure, le leader continue d'avancer
+            leaderMatches.createMatch(bob, alice, 5, 0);
+            await(() -> leader.getLogSize() > saved.offset());
+
+            // Joseph_com : Redémarrage du suiveur depuis ses CSV et sa position : seule la suite est envoyée
+            PlayerService restartedPlayers = new PlayerService(followerDir);
+            MatchService restartedMatches = new MatchService(restartedPlayers, followerDir);
+            assertEquals(2, restartedMatches.getMatchCount(), "Les CSV du suiveur doivent avoir été sauvegardés");
+            try (ReplicationFollower follower =
+                         new ReplicationFollower(restartedPlayers, restartedMatches, address, saved)) {
+                await(() -> restartedMatches.getMatchCount() == 3);
+                assertTrue(follower.awaitOffset(leader.getLogSize(), Duration.ofSeconds(10)));
+                assertEquals(saved.epoch(), follower.getPosition().epoch());
+                assertEquals(1, restartedMatches.countWins(bob));
+            }
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Journal tronqué après acquittement, puis rattrapage par instantané
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Réplication - troncature du journal acquitté et rattrapage par instantané")
+    void testTruncatedLog_ShouldResyncFollowerFromSnapshot() throws Exception {
+        ChangeEventBus bus = new ChangeEventBus(64);
+        PlayerService leaderPlayers = new PlayerService(root.resolve("leader"));
+        MatchService leaderMatches = new MatchService(leaderPlayers, root.resolve("leader"));
+        leaderPlayers.setEventBus(bus);
+        leaderMatches.setEventBus(bus);
+        int alice = leaderPlayers.addPlayer("Alice", 2, 10).getId();
+        int bob = leaderPlayers.addPlayer("Bob", 3, 20).getId();
+        leaderMatches.setAutoSave(false);
+
+        InetSocketAddress loopback = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+        try (ReplicationLeader leader = new ReplicationLeader(leaderPlayers, leaderMatches, bus, loopback, 512)) {
+            InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), leader.getPort());
+            Path followerDir = root.resolve("follower");
+
+            // Joseph_com : Le journal acquitté par le suiveur connecté ne reste pas en mémoire
+            PlayerService followerPlayers = new PlayerService(followerDir);
+            MatchService followerMatches = new MatchService(followerPlayers, followerDir);
+            ReplicationPosition saved;
+            try (ReplicationFollower follower = new ReplicationFollower(followerPlayers, followerMatches, address)) {
+                for (int i = 0; i < 200; i++) {
+                    leaderMatches.createMatch(alice, bob, i % 5, i % 3);
+                }
+                await(() -> follower.getPosition().offset() == leader.getLogSize()
+                        && leader.getRetainedLogSize() < 512);
+                assertEquals(200, followerMatches.getMatchCount());
+                saved = follower.getPosition();
+            }
+
+            // Joseph_com : Sans suiveur, le journal est tronqué au-delà de la position sauvegardée
+            for (int i = 0; i < 50; i++) {
+                leaderMatches.createMatch(bob, alice, 2, 1);
+            }
+            leaderMatches.deleteMatch(1);
+            await(() -> leader.getLogSize() - leader.getRetainedLogSize() > saved.offset());
+
+            // Joseph_com : Le suiveur redémarré reçoit un instantané puis la suite du journal
+            PlayerService restartedPlayers = new PlayerService(followerDir);
+            MatchService restartedMatches = new MatchService(restartedPlayers, followerDir);
+            try (ReplicationFollower follower =
+                         new ReplicationFollower(restartedPlayers, restartedMatches, address, saved)) {
+                assertTrue(follower.awaitOffset(leader.getLogSize(), Duration.ofSeconds(10)));
+                // Joseph_com : Le match supprimé pendant la partie tronquée disparaît aussi du suiveur
+                assertEquals(249, restartedMatches.getMatchCount());
+                assertTrue(restartedMatches.getAllMatches().stream().noneMatch(m -> m.getId() == 1));
+                leaderMatches.createMatch(alice, bob, 4, 0);
+                await(() -> restartedMatches.getMatchCount() == 250);
+                assertEquals(leaderMatches.countWins(bob), restartedMatches.countWins(bob));
+            }
+
+            // Joseph_com : Un nouveau suiveur vide est synchronisé par instantané
+            PlayerService freshPlayers = new PlayerService(root.resolve("fresh"));
+            MatchService freshMatches = new MatchService(freshPlayers, root.resolve("fresh"));
+            try (ReplicationFollower follower = new ReplicationFollower(freshPlayers, freshMatches, address)) {
+                await(() -> freshMatches.getMatchCount() == 250 && freshPlayers.getPlayerCount() == 2);
+                assertEquals(leaderMatches.countWins(alice), freshMatches.countWins(alice));
+            }
+        }
+    }
+}
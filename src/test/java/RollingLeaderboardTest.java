@@ -0,0 +1,68 @@
+package org.entreprise.stats;
+
+import org.entreprise.model.Match;
+import org.entreprise.model.Player;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Joseph_com : Tests des classements glissants par tranches journalières.
+ */
+class RollingLeaderboardTest {
+
+    // Joseph_com : Jour de référence fixe pour des tests reproductibles
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 15);
+
+    private final Player alice = new Player(1, "Alice", 1, 0);
+    private final Player bob   = new Player(2, "Bob", 1, 0);
+    private final Player carol = new Player(3, "Carol", 1, 0);
+
+    private RollingLeaderboard newLeaderboard() {
+        Clock clock = Clock.fixed(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        return new RollingLeaderboard(clock, 30);
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Seuls les matchs de la fenêtre comptent dans le classement
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Classement hebdomadaire - ignore les matchs hors fenêtre")
+    void testWeeklyTop_ShouldOnlyCountMatchesInWindow() {
+        RollingLeaderboard leaderboard = newLeaderboard();
+        leaderboard.onMatchCreated(new Match(1, alice, bob, 3, 1, TODAY));
+        leaderboard.onMatchCreated(new Match(2, alice, carol, 2, 0, TODAY.minusDays(3)));
+        leaderboard.onMatchCreated(new Match(3, bob, carol, 5, 0, TODAY.minusDays(10)));
+        leaderboard.onMatchCreated(new Match(4, bob, carol, 5, 0, TODAY.minusDays(11)));
+
+        List<PlayerWindowStats> weekly = leaderboard.top(TimeWindow.WEEKLY, LeaderboardCriterion.WINS, 2);
+        List<PlayerWindowStats> monthly = leaderboard.top(TimeWindow.MONTHLY, LeaderboardCriterion.WINS, 1);
+
+        assertEquals(1, weekly.get(0).playerId(), "Alice doit mener la semaine (2 victoires)");
+        assertEquals(2, weekly.get(0).wins());
+        assertEquals(2, weekly.size());
+        assertEquals(2, monthly.get(0).playerId(), "Bob doit mener le mois (2 victoires, plus de points)");
+        assertEquals(new PlayerWindowStats(3, 0, 0, 3), leaderboard.statsFor(3, TimeWindow.MONTHLY));
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Les tranches plus anciennes que la rétention ne sont pas conservées
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Rétention - les tranches expirées sont évincées")
+    void testRetention_ShouldEvictExpiredBuckets() {
+        RollingLeaderboard leaderboard = newLeaderboard();
+        leaderboard.onMatchCreated(new Match(1, alice, bob, 1, 0, TODAY.minusDays(45)));
+        leaderboard.onMatchCreated(new Match(2, alice, bob, 1, 0, TODAY.minusDays(29)));
+        leaderboard.onMatchCreated(new Match(3, alice, bob, 1, 0, TODAY));
+
+        assertEquals(2, leaderboard.getBucketCount(), "Le match d'il y a 45 jours ne doit pas être conservé");
+        assertEquals(2, leaderboard.statsFor(1, TimeWindow.MONTHLY).wins());
+    }
+}
@@ -0,0 +1,306 @@
+package org.entreprise.export;
+
+import org.entreprise.archive.MatchArchive;
+import org.entreprise.dao.InMemoryMatchRepository;
+import org.entreprise.dao.InMemoryPlayerRepository;
+import org.entreprise.dao.MatchDAO;
+import org.entreprise.model.Match;
+import org.entreprise.model.Player;
+import org.entreprise.replication.ReplicationProtocol;
+import org.entreprise.service.MatchService;
+import org.entreprise.service.PlayerService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Joseph_com : Tests de l'export en flux (classement et historique, CSV / JSON lines / binaire).
+ * Couvre :
+ *  - La copie directe du CSV sauvegardé et l'encodage ligne à ligne, qui doivent produire les mêmes octets
+ *  - L'échappement des pseudos (CSV, JSON, UTF-8)
+ *  - L'historique binaire avec archive, à travers un tampon minimal vidé de nombreuses fois
+ *  - Un CSV relu mais différent de la mémoire (lignes ignorées) : jamais copié tel quel
+ *  - La copie vers un client lent, faite hors verrou, et le refus des canaux non bloquants
+ *  - Le refus d'exporter un historique dont le chargement a échoué
+ */
+class StreamingExporterTest {
+
+    // Joseph_com : Date du premier match des données de test
+    private static final LocalDate START = LocalDate.of(2025, 3, 1);
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : TEST 1 - CSV : copie du fichier (transferTo) et encodage en flux identiques
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Historique CSV - copie du fichier et encodage en flux identiques au matches.csv")
+    void testExportMatchesCsv_ShouldMatchSavedFile(@TempDir Path dataDir) throws Exception {
+        // Joseph_com : ARRANGE - même historique sur un stockage CSV et sur un stockage en mémoire
+        PlayerService csvPlayers = new PlayerService(dataDir);
+        MatchService csvMatches = new MatchService(csvPlayers, dataDir);
+        PlayerService memoryPlayers = new PlayerService(new InMemoryPlayerRepository());
+        MatchService memoryMatches = new MatchService(memoryPlayers, new InMemoryMatchRepository());
+        fill(csvPlayers, csvMatches, 6, 500);
+        fill(memoryPlayers, memoryMatches, 6, 500);
+
+        // Joseph_com : ACT
+        byte[] copied = export(new StreamingExporter(csvMatches, csvPlayers), ExportFormat.CSV, true);
+        byte[] encoded = export(new StreamingExporter(memoryMatches, memoryPlayers), ExportFormat.CSV, true);
+
+        // Joseph_com : ASSERT - les deux chemins produisent exactement le fichier sauvegardé
+        assertArrayEquals(Files.readAllBytes(dataDir.resolve("matches.csv")), copied);
+        assertArrayEquals(copied, encoded);
+
+        // Joseph_com : ASSERT - une correction en attente dans le journal force l'encodage, qui la reflète
+        csvMatches.updateMatch(1, 9, 0);
+        String afterUpdate = new String(export(new StreamingExporter(csvMatches, csvPlayers), ExportFormat.CSV, true),
+                StandardCharsets.UTF_8);
+        assertTrue(afterUpdate.lines().skip(1).findFirst().orElseThrow().startsWith("1,1,2,9,0,"));
+        assertEquals(501, afterUpdate.lines().count());
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : TEST 2 - Classement : ordre, victoires et échappement des pseudos
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Classement CSV et JSON lines - pseudos échappés, victoires comptées")
+    void testExportStandings_ShouldEscapeNicknames() throws Exception {
+        // Joseph_com : ARRANGE
+        PlayerService players = new PlayerService(new InMemoryPlayerRepository());
+        MatchService matches = new MatchService(players, new InMemoryMatchRepository());
+        Player zoe = players.addPlayer("Zoé \"Le Roc\", 2", 3, 1500);
+        Player max = players.addPlayer("Max\\Power", 2, 900);
+        matches.createMatch(zoe.getId(), max.getId(), 3, 1);
+        matches.createMatch(zoe.getId(), max.getId(), 0, 2);
+        matches.createMatch(max.getId(), zoe.getId(), 0, 5);
+        StreamingExporter exporter = new StreamingExporter(matches, players);
+
+        // Joseph_com : ACT
+        List<String> csv = new String(export(exporter, ExportFormat.CSV, false), StandardCharsets.UTF_8).lines().toList();
+        List<String> jsonl = new String(export(exporter, ExportFormat.JSONL, false), StandardCharsets.UTF_8).lines().toList();
+
+        // Joseph_com : ASSERT
+        assertEquals(List.of(
+                StreamingExporter.STANDINGS_HEADER,
+                "1,1,\"Zoé \"\"Le Roc\"\", 2\",3,1500,2",
+                "2,2,Max\\Power,2,900,1"), csv);
+        assertEquals(List.of(
+                "{\"rank\":1,\"id\":1,\"nickname\":\"Zoé \\\"Le Roc\\\", 2\",\"level\":3,\"score\":1500,\"wins\":2}",
+                "{\"rank\":2,\"id\":2,\"nickname\":\"Max\\\\Power\",\"level\":2,\"score\":900,\"wins\":1}"), jsonl);
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : TEST 3 - Binaire : archive puis mémoire, tampon minimal
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Historique binaire - archive comprise, enregistrements MATCH relisibles")
+    void testExportMatchesBinary_ShouldIncludeArchive(@TempDir Path dataDir) throws Exception {
+        // Joseph_com : ARRANGE - 300 matchs, dont ceux des 100 premiers jours archivés
+        PlayerService players = new PlayerService(new InMemoryPlayerRepository());
+        MatchService matches = new MatchService(players, new InMemoryMatchRepository());
+        fill(players, matches, 5, 300);
+        matches.attachArchive(MatchArchive.open(dataDir.resolve("archive"), 32, 2));
+        int archived = matches.archiveBefore(START.plusDays(100));
+        assertTrue(archived > 0);
+        StreamingExporter exporter = new StreamingExporter(matches, players, StreamingExporter.MIN_BUFFER_SIZE);
+
+        // Joseph_com : ACT
+        ByteBuffer records = ByteBuffer.wrap(export(exporter, ExportFormat.BINARY, true));
+
+        // Joseph_com : ASSERT - 300 enregistrements MATCH, tous les IDs présents, scores et dates conservés
+        TreeSet<Integer> ids = new TreeSet<>();
+        while (records.hasRemaining()) {
+            assertEquals(ReplicationProtocol.MATCH_BODY_SIZE, records.getInt());
+            assertEquals(ReplicationProtocol.MATCH, records.get());
+            int id = records.getInt();
+            records.getInt();
+            records.getInt();
+            assertEquals(id % 7, records.getInt());
+            assertEquals(id % 4, records.getInt());
+            assertEquals(START.plusDays(id / 3), LocalDate.ofEpochDay(records.getLong()));
+            ids.add(id);
+        }
+        assertEquals(300, ids.size());
+        assertEquals(1, ids.first());
+        assertEquals(300, ids.last());
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : TEST 4 - CSV relu mais jamais réécrit : encodé depuis la mémoire, pas copié
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Historique CSV - fichier avec lignes ignorées non copié tel quel")
+    void testExportMatchesCsv_ForeignFile_ShouldEncodeFromMemory(@TempDir Path dataDir) throws Exception {
+        // Joseph_com : ARRANGE - matches.csv écrit à la main : une ligne invalide, un joueur inconnu, fins de ligne CRLF
+        PlayerService players = new PlayerService(dataDir);
+        players.addPlayer("Foreign1", 1, 0);
+        players.addPlayer("Foreign2", 1, 0);
+        Files.writeString(dataDir.resolve("matches.csv"), String.join("\r\n",
+                "id,player1Id,player2Id,scorePlayer1,scorePlayer2,date",
+                "1,1,2,3,0,2025-03-01",
+                "2,1,2,pas-un-score,0,2025-03-01",
+                "3,1,99,1,0,2025-03-02",
+                "4,2,1,2,2,2025-03-03") + "\r\n");
+        MatchService matches = new MatchService(players, dataDir);
+
+        // Joseph_com : ACT
+        String exported = new String(export(new StreamingExporter(matches, players), ExportFormat.CSV, true),
+                StandardCharsets.UTF_8);
+
+        // Joseph_com : ASSERT - seuls les matchs chargés, avec la fin de ligne du service
+        String newline = System.lineSeparator();
+        assertEquals(MatchDAO.CSV_HEADER + newline + "1,1,2,3,0,2025-03-01" + newline + "4,2,1,2,2,2025-03-03" + newline,
+                exported);
+
+        // Joseph_com : ASSERT - une fois réécrit par le service, le fichier est de nouveau copié tel quel
+        matches.createMatch(1, 2, 1, 1);
+        assertArrayEquals(Files.readAllBytes(dataDir.resolve("matches.csv")),
+                export(new StreamingExporter(matches, players), ExportFormat.CSV, true));
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : TEST 5 - Copie CSV vers un client lent : les écritures ne l'attendent pas
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Historique CSV - copie hors verrou vers un canal lent, canal non bloquant refusé")
+    void testExportMatchesCsv_SlowChannel_ShouldNotBlockWrites(@TempDir Path dataDir) throws Exception {
+        // Joseph_com : ARRANGE - canal dont la première écriture attend le feu vert du test
+        PlayerService players = new PlayerService(dataDir);
+        MatchService matches = new MatchService(players, dataDir);
+        fill(players, matches, 4, 300);
+        byte[] saved = Files.readAllBytes(dataDir.resolve("matches.csv"));
+        CountDownLatch copying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        WritableByteChannel sink = Channels.newChannel(out);
+        WritableByteChannel slow = new WritableByteChannel() {
+            @Override
+            public int write(ByteBuffer src) throws IOException {
+                copying.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+                return sink.write(src);
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        StreamingExporter exporter = new StreamingExporter(matches, players);
+
+        // Joseph_com : ACT - export bloqué dans le canal, puis un nouveau match (réécriture du CSV)
+        CompletableFuture<Long> export = CompletableFuture.supplyAsync(() -> {
+            try {
+                return exporter.exportMatches(ExportFormat.CSV, slow);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        assertTrue(copying.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Match> write = CompletableFuture.supplyAsync(() -> {
+            try {
+                return matches.createMatch(1, 2, 1, 0);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Match created = write.get(5, TimeUnit.SECONDS);
+        release.countDown();
+
+        // Joseph_com : ASSERT - la copie livre l'instantané pris avant le nouveau match
+        assertEquals(301, created.getId());
+        assertEquals(saved.length, export.get(5, TimeUnit.SECONDS));
+        assertArrayEquals(saved, out.toByteArray());
+
+        // Joseph_com : ASSERT - un canal non bloquant pourrait n'accepter aucun octet : refusé
+        Pipe pipe = Pipe.open();
+        try (Pipe.SinkChannel nonBlocking = pipe.sink(); Pipe.SourceChannel ignored = pipe.source()) {
+            nonBlocking.configureBlocking(false);
+            assertThrows(IllegalArgumentException.class, () -> exporter.exportMatches(ExportFormat.CSV, nonBlocking));
+            assertThrows(IllegalArgumentException.class, () -> exporter.exportStandings(ExportFormat.JSONL, nonBlocking));
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : TEST 6 - Chargement de l'historique en échec : export refusé, jamais tronqué
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Export après un chargement échoué - IOException, rien d'écrit")
+    void testExport_FailedHistoryLoad_ShouldThrow() throws Exception {
+        // Joseph_com : ARRANGE - stockage qui échoue après avoir livré un seul match
+        PlayerService players = new PlayerService(new InMemoryPlayerRepository());
+        Player a = players.addPlayer("Lost1", 1, 0);
+        Player b = players.addPlayer("Lost2", 1, 0);
+        InMemoryMatchRepository repository = new InMemoryMatchRepository() {
+            @Override
+            public void loadInChunks(List<Player> availablePlayers, int chunkSize, Consumer<List<Match>> sink) {
+                sink.accept(loadAll(availablePlayers).subList(0, 1));
+                throw new IllegalStateException("stockage illisible");
+            }
+        };
+        repository.saveAll(List.of(new Match(1, a, b, 1, 0, START), new Match(2, b, a, 1, 0, START)));
+        MatchService matches = MatchService.loadInBackground(players, repository);
+        StreamingExporter exporter = new StreamingExporter(matches, players);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Joseph_com : ACT / ASSERT - historique et classement refusés, cause d'origine conservée
+        for (ExportFormat format : ExportFormat.values()) {
+            IOException history = assertThrows(IOException.class, () -> exporter.exportMatches(format, Channels.newChannel(out)));
+            assertEquals("stockage illisible", history.getCause().getMessage());
+            assertThrows(IOException.class, () -> exporter.exportStandings(format, Channels.newChannel(out)));
+        }
+        assertEquals(0, out.size());
+    }
+
+    // Joseph_com : Joueurs puis matchs aux IDs, scores et dates déterministes (3 matchs par jour)
+    private static void fill(PlayerService players, MatchService matches, int playerCount, int matchCount) throws Exception {
+        List<Player> roster = new ArrayList<>();
+        for (int i = 0; i < playerCount; i++) {
+            roster.add(players.addPlayer("Export" + i, 1 + i % 5, 100 * i));
+        }
+        matches.setAutoSave(false);
+        for (int id = 1; id <= matchCount; id++) {
+            Player p1 = roster.get((id - 1) % playerCount);
+            Player p2 = roster.get(id % playerCount);
+            matches.applyReplicated(id, p1.getId(), p2.getId(), id % 7, id % 4, START.plusDays(id / 3));
+        }
+        matches.setAutoSave(true);
+    }
+
+    private static byte[] export(StreamingExporter exporter, ExportFormat format, boolean history) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = history ? exporter.exportMatches(format, Channels.newChannel(out))
+                : exporter.exportStandings(format, Channels.newChannel(out));
+        assertEquals(out.size(), written);
+        return out.toByteArray();
+    }
+}
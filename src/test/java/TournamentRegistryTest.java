@@ -0,0 +1,200 @@
+package org.entreprise.tenancy;
+
+import org.entreprise.exceptions.DuplicatePlayerException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Joseph_com : Tests du registre multi-tournois (isolation, chargement paresseux, éviction).
+ */
+class TournamentRegistryTest {
+
+    @TempDir
+    Path root;
+
+    private static int addPlayer(Tournament tournament, String nickname) {
+        try {
+            return tournament.getPlayerService().addPlayer(nickname, 1, 10).getId();
+        } catch (DuplicatePlayerException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Deux tournois ont chacun leur dossier et leurs données
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Registre - les tournois sont isolés les uns des autres")
+    void testTournaments_ShouldBeIsolated() {
+        try (TournamentRegistry registry = new TournamentRegistry(root)) {
+            registry.withTournament("printemps", t -> addPlayer(t, "Alice"));
+            // Joseph_com : Même pseudo accepté dans un autre tournoi
+            registry.withTournament("automne", t -> addPlayer(t, "Alice"));
+            registry.withTournament("automne", t -> addPlayer(t, "Bob"));
+
+            assertEquals((Integer) 1, registry.withTournament("printemps", t -> t.getPlayerService().getPlayerCount()));
+            assertEquals((Integer) 2, registry.withTournament("automne", t -> t.getPlayerService().getPlayerCount()));
+            assertTrue(Files.exists(root.resolve("printemps").resolve("players.csv")));
+            assertEquals(List.of("automne", "printemps"), registry.list());
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Au-delà du budget, le moins récent est déchargé puis rechargé depuis le disque
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Registre - éviction LRU puis rechargement paresseux")
+    void testBudget_ShouldEvictLeastRecentlyUsedAndReload() {
+        try (TournamentRegistry registry = new TournamentRegistry(root, 2, Long.MAX_VALUE)) {
+            registry.withTournament("a", t -> {
+                t.getPlayerService().setAutoSave(false);
+                return addPlayer(t, "Alice");
+            });
+            registry.withTournament("b", t -> addPlayer(t, "Bob"));
+            assertEquals(2, registry.getLoadedCount());
+
+            registry.withTournament("c", t -> addPlayer(t, "Carol"));
+            assertEquals(2, registry.getLoadedCount());
+            assertFalse(registry.isLoaded("a"), "Le tournoi le moins récent doit être déchargé");
+
+            // Joseph_com : Les modifications différées ont été sauvegardées avant le déchargement
+            assertEquals((Integer) 1, registry.withTournament("a", t -> t.getPlayerService().getPlayerCount()));
+            assertTrue(registry.isLoaded("a"));
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Un tournoi en cours d'utilisation n'est jamais déchargé
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Registre - un tournoi utilisé reste chargé")
+    void testPinnedTournament_ShouldNotBeEvicted() {
+        try (TournamentRegistry registry = new TournamentRegistry(root, 1, Long.MAX_VALUE)) {
+            Tournament pinned = registry.acquire("a");
+            registry.withTournament("b", t -> addPlayer(t, "Bob"));
+            assertTrue(registry.isLoaded("a"));
+            assertFalse(registry.isLoaded("b"), "Seul le tournoi inactif peut être déchargé");
+            assertEquals(0, registry.evictIdle(Duration.ZERO));
+
+            registry.release(pinned);
+            assertEquals(1, registry.evictIdle(Duration.ZERO));
+            assertEquals(0, registry.getLoadedCount());
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Un accès concurrent à une éviction ne recharge jamais des fichiers pas encore sauvegardés
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Registre - éviction concurrente : aucune écriture différée perdue")
+    void testConcurrentEviction_ShouldNotReloadStaleData() throws Exception {
+        int writes = 300;
+        try (TournamentRegistry registry = new TournamentRegistry(root)) {
+            AtomicBoolean done = new AtomicBoolean();
+            Thread evictor = new Thread(() -> {
+                while (!done.get()) {
+                    registry.evictIdle(Duration.ZERO);
+                }
+            });
+            evictor.start();
+            try {
+                for (int i = 0; i < writes; i++) {
+                    String nickname = "Joueur" + i;
+                    registry.withTournament("a", t -> {
+                        t.getPlayerService().setAutoSave(false);
+                        return addPlayer(t, nickname);
+                    });
+                }
+            } finally {
+                done.set(true);
+                evictor.join();
+            }
+            assertEquals((Integer) writes, registry.withTournament("a", t -> t.getPlayerService().getPlayerCount()));
+        }
+        try (TournamentRegistry reopened = new TournamentRegistry(root)) {
+            assertEquals((Integer) writes, reopened.withTournament("a", t -> t.getPlayerService().getPlayerCount()));
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Un chargement lent ne bloque pas l'accès aux autres tournois
+    // ("lyon" et "nice" tombent dans la même case de la table du registre)
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Registre - un tournoi lent à charger ne bloque pas les autres")
+    void testSlowLoad_ShouldNotBlockOtherTournaments() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (TournamentRegistry registry = new TournamentRegistry(root) {
+            @Override
+            Tournament load(String name) {
+                if (name.equals("lyon")) {
+                    loading.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.load(name);
+            }
+        }) {
+            // ARRANGE : chargement de "lyon" bloqué dans un autre thread
+            CompletableFuture<Integer> slow = CompletableFuture.supplyAsync(
+                    () -> registry.withTournament("lyon", t -> addPlayer(t, "Alice")));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            try {
+                // ACT : accès à un autre tournoi pendant ce chargement
+                CompletableFuture<Integer> fast = CompletableFuture.supplyAsync(
+                        () -> registry.withTournament("nice", t -> addPlayer(t, "Bob")));
+
+                // ASSERT
+                assertEquals((Integer) 1, fast.get(5, TimeUnit.SECONDS));
+                assertTrue(registry.isLoaded("nice"));
+                assertFalse(registry.isLoaded("lyon"), "Un chargement en cours n'est pas encore un tournoi chargé");
+                assertEquals(1, registry.getLoadedCount());
+            } finally {
+                release.countDown();
+            }
+            assertEquals((Integer) 1, slow.get(5, TimeUnit.SECONDS));
+            assertEquals(2, registry.getLoadedCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Registre - nom de tournoi invalide refusé")
+    void testInvalidName_ShouldThrow() {
+        try (TournamentRegistry registry = new TournamentRegistry(root)) {
+            assertThrows(IllegalArgumentException.class, () -> registry.acquire("../data"));
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : Chaque tournoi peut choisir sa stratégie de score
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Registre - stratégie de score lue dans tournament.properties")
+    void testTournamentConfig_ShouldSelectScoringStrategy() throws Exception {
+        Files.createDirectories(root.resolve("elo"));
+        Files.writeString(root.resolve("elo").resolve(Tournament.CONFIG_FILE), "scoring.strategy=performance-rating\n");
+        try (TournamentRegistry registry = new TournamentRegistry(root)) {
+            assertEquals("performance-rating", registry.withTournament("elo",
+                    t -> t.getPlayerService().getScoreCache().getStrategy().name()));
+            assertEquals("level-x-score", registry.withTournament("classique",
+                    t -> t.getPlayerService().getScoreCache().getStrategy().name()));
+        }
+    }
+}
@@ -1,12 +1,49 @@
 package org.entreprise.service;
 
+import org.entreprise.batch.BatchCommand;
+import org.entreprise.batch.BatchReport;
+import org.entreprise.batch.BatchRunner;
+import org.entreprise.dao.InMemoryMatchRepository;
+import org.entreprise.dao.InMemoryPlayerRepository;
 import org.entreprise.exceptions.DuplicatePlayerException;
 import org.entreprise.exceptions.InvalidMatchException;
+import org.entreprise.exceptions.MatchNotFoundException;
+import org.entreprise.exceptions.PlayerNotFoundException;
+import org.entreprise.importer.ImportReport;
+import org.entreprise.importer.PlayerImporter;
 import org.entreprise.model.Match;
+import org.entreprise.model.MatchRequest;
 import org.entreprise.model.Player;
+import org.entreprise.model.PlayerRequest;
+import org.entreprise.query.AccessPath;
+import org.entreprise.query.MatchOrder;
+import org.entreprise.query.MatchQuery;
+import org.entreprise.scoring.BilinearFormula;
+import org.entreprise.stats.HeadToHeadRecord;
+import org.entreprise.stats.HeadToHeadService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -26,13 +63,12 @@ class TournamentServiceTest {
 
     // ─────────────────────────────────────────────────────────────────────────
     // Joseph_com : Initialisation avant chaque test
-    // On repart d'un état vide (les fichiers CSV du dossier data/ peuvent exister,
-    // mais les services chargent les données au démarrage)
+    // Stockage en mémoire : chaque test repart d'un tournoi vide, sans lire ni écrire dans data/
     // ─────────────────────────────────────────────────────────────────────────
     @BeforeEach
     void setUp() {
-        playerService = new PlayerService();
-        matchService  = new MatchService(playerService);
+        playerService = new PlayerService(new InMemoryPlayerRepository());
+        matchService  = new MatchService(playerService, new InMemoryMatchRepository());
     }
 
     // ─────────────────────────────────────────────────────────────────────────
@@ -145,7 +181,7 @@ class TournamentServiceTest {
     void testFindById_NotFound_ShouldThrowException() {
         // Joseph_com : ACT & ASSERT - ID inexistant (valeur très grande)
         assertThrows(
-                Playernotfoundexception.class,
+                PlayerNotFoundException.class,
                 () -> playerService.findById(999999),
                 "Une PlayerNotFoundException doit être levée pour un ID inexistant"
         );
@@ -157,7 +193,7 @@ class TournamentServiceTest {
     @Test
     @DisplayName("Création d'un match valide - le bon gagnant doit être désigné")
     void testCreateMatch_Valid_WinnerShouldBeCorrect()
-            throws DuplicatePlayerException, Playernotfoundexception, InvalidMatchException {
+            throws DuplicatePlayerException, PlayerNotFoundException, InvalidMatchException {
         // Joseph_com : ARRANGE
         String suffix = String.valueOf(System.currentTimeMillis());
         Player p1 = playerService.addPlayer("Winner_" + suffix, 5, 300);
@@ -172,4 +208,585 @@ class TournamentServiceTest {
         assertEquals(p1.getId(), match.getWinner().getId(),
                 "Le joueur 1 doit être désigné gagnant");
     }
-}
\ No newline at end of file
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : TEST 8 - Import en masse : lignes valides appliquées, erreurs rapportées
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Import en masse de matchs - lignes valides créées, erreurs par ligne")
+    void testCreateMatches_MixedRows_ShouldReportErrorsPerRow() throws DuplicatePlayerException {
+        // Joseph_com : ARRANGE
+        String suffix = String.valueOf(System.currentTimeMillis());
+        Player p1 = playerService.addPlayer("BulkA_" + suffix, 2, 10);
+        Player p2 = playerService.addPlayer("BulkB_" + suffix, 3, 20);
+        int before = matchService.getAllMatches().size();
+
+        List<MatchRequest> rows = List.of(
+                new MatchRequest(p1.getId(), p2.getId(), 3, 1),
+                new MatchRequest(p1.getId(), p1.getId(), 3, 1),     // Joseph_com : contre lui-même
+                new MatchRequest(p1.getId(), p2.getId(), -1, 4),    // Joseph_com : score négatif
+                new MatchRequest(p1.getId(), 999999, 2, 2),         // Joseph_com : joueur inconnu
+                new MatchRequest(p2.getId(), p1.getId(), 0, 5));
+
+        // Joseph_com : ACT
+        ImportReport<Match> report = matchService.createMatches(rows);
+
+        // Joseph_com : ASSERT
+        assertEquals(2, report.getImportedCount(), "Seules les 2 lignes valides doivent être créées");
+        assertEquals(List.of(1, 2, 3), report.getErrors().stream().map(e -> e.row()).toList(),
+                "Chaque ligne invalide doit être rapportée avec son index");
+        assertInstanceOf(InvalidMatchException.class, report.getErrors().get(0).cause());
+        assertInstanceOf(PlayerNotFoundException.class, report.getErrors().get(2).cause());
+        assertEquals(before + 2, matchService.getAllMatches().size());
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : TEST 9 - Import en flux de joueurs : doublons rapportés, le reste créé
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Import en flux de joueurs - doublons (existants et internes au lot) rapportés")
+    void testImportPlayers_WithDuplicates_ShouldReportDuplicatePlayerException()
+            throws DuplicatePlayerException, IOException {
+        // Joseph_com : ARRANGE - un joueur existant + un CSV avec doublons et une ligne invalide
+        String suffix = String.valueOf(System.currentTimeMillis());
+        playerService.addPlayer("Existing_" + suffix, 1, 1);
+        String csv = "nickname,level,score\n"
+                + "New1_" + suffix + ",2,20\n"
+                + "existing_" + suffix + ",3,30\n"
+                + "New2_" + suffix + ",4,40\n"
+                + "NEW1_" + suffix + ",5,50\n"
+                + "broken line\n";
+
+        // Joseph_com : ACT
+        ImportReport<Player> report = new PlayerImporter(playerService)
+                .importStream(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        // Joseph_com : ASSERT
+        assertEquals(2, report.getImportedCount(), "Seuls New1 et New2 doivent être créés");
+        assertEquals(List.of(3, 5, 6), report.getErrors().stream().map(e -> e.row()).toList(),
+                "Les erreurs doivent porter les numéros de ligne du fichier");
+        assertInstanceOf(DuplicatePlayerException.class, report.getErrors().get(0).cause());
+        assertInstanceOf(DuplicatePlayerException.class, report.getErrors().get(1).cause());
+        assertNotEquals(report.getImported().get(0).getId(), report.getImported().get(1).getId());
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : TEST 10 - Confrontations directes : cache mis à jour par createMatch
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Confrontations directes - bilan correct et cache mis à jour à chaque match")
+    void testHeadToHead_ShouldBeUpdatedIncrementally() throws Exception {
+        // Joseph_com : ARRANGE
+        String suffix = String.valueOf(System.currentTimeMillis());
+        Player p1 = playerService.addPlayer("H2hA_" + suffix, 1, 1);
+        Player p2 = playerService.addPlayer("H2hB_" + suffix, 1, 1);
+        HeadToHeadService headToHead = new HeadToHeadService(matchService, 16);
+        matchService.createMatch(p1.getId(), p2.getId(), 3, 1);
+
+        // Joseph_com : ACT - premier accès (échec de cache), nouveau match, second accès (succès)
+        HeadToHeadRecord first = headToHead.get(p1.getId(), p2.getId());
+        matchService.createMatch(p2.getId(), p1.getId(), 2, 2);
+        HeadToHeadRecord second = headToHead.get(p2.getId(), p1.getId());
+
+        // Joseph_com : ASSERT
+        assertEquals(1, first.winsA());
+        assertEquals(2, first.pointDifferential());
+        assertEquals(1, second.winsB(), "Vu de p2, la victoire de p1 est une défaite");
+        assertEquals(1, second.draws());
+        assertEquals(-2, second.pointDifferential());
+        assertEquals(1, headToHead.getCacheStats().hits());
+        assertEquals(1, headToHead.getCacheStats().misses());
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : TEST 11 - Pagination du classement : pages cohérentes avec le tri complet
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Pagination des joueurs - les pages reconstituent le classement complet")
+    void testPlayersPage_ShouldMatchFullSort() throws DuplicatePlayerException {
+        // Joseph_com : ARRANGE
+        String suffix = String.valueOf(System.currentTimeMillis());
+        for (int i = 0; i < 5; i++) {
+            playerService.addPlayer("Page" + i + "_" + suffix, 1, i * 7 % 5);
+        }
+        List<Integer> expected = playerService.getAllPlayersSortedByScore().stream()
+                .map(Player::getScore).toList();
+
+        // Joseph_com : ACT - concaténation des pages de 3
+        List<Integer> paged = new java.util.ArrayList<>();
+        for (int offset = 0; offset < playerService.getPlayerCount(); offset += 3) {
+            playerService.getPlayersPageSortedByScore(offset, 3).forEach(p -> paged.add(p.getScore()));
+        }
+
+        // Joseph_com : ASSERT
+        assertEquals(expected, paged, "Les pages doivent suivre l'ordre du tri complet");
+        assertTrue(playerService.getPlayersPageSortedByScore(playerService.getPlayerCount(), 3).isEmpty());
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : TEST 12 - Mode batch : commandes exécutées, erreurs comptées, latences mesurées
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Mode batch - exécute le script et produit le bilan")
+    void testBatchRunner_ShouldExecuteScriptAndReport() throws IOException {
+        // Joseph_com : ARRANGE
+        String suffix = String.valueOf(System.currentTimeMillis());
+        int firstId = playerService.getAllPlayers().stream().mapToInt(Player::getId).max().orElse(0) + 1;
+        String script = "# joueurs\n"
+                + "add-player BatchA_" + suffix + " 2 10\n"
+                + "add-player BatchB_" + suffix + " 3 20\n"
+                + "\n"
+                + "create-match " + firstId + " " + (firstId + 1) + " 5 3\n"
+                + "create-match " + firstId + " " + firstId + " 5 3\n"
+                + "wins " + firstId + "\n"
+                + "stats\n"
+                + "unknown-command\n";
+        StringWriter out = new StringWriter();
+
+        // Joseph_com : ACT
+        BatchReport report = new BatchRunner(playerService, matchService, out, true).run(new StringReader(script));
+
+        // Joseph_com : ASSERT
+        assertEquals(7, report.commands());
+        assertEquals(2, report.errors(), "Le match contre soi-même et la commande inconnue sont en erreur");
+        assertTrue(out.toString().contains("wins=1"), "La victoire doit être comptée : " + out);
+        assertEquals(2, report.latencies().get(BatchCommand.CREATE_MATCH).getCount());
+        assertTrue(report.throughput() > 0);
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : TEST 13 - Mode partitionné : mêmes agrégats que le calcul en série
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Mode partitionné - victoires, matchs et points identiques au mode série")
+    void testSharding_ShouldMatchSerialAggregates() throws Exception {
+        // Joseph_com : ARRANGE - quelques joueurs et matchs, dont des matchs inter-shards
+        String suffix = String.valueOf(System.currentTimeMillis());
+        Player a = playerService.addPlayer("ShardA_" + suffix, 1, 0);
+        Player b = playerService.addPlayer("ShardB_" + suffix, 1, 0);
+        Player c = playerService.addPlayer("ShardC_" + suffix, 1, 0);
+        matchService.createMatch(a.getId(), b.getId(), 3, 1);
+        List<Integer> ids = List.of(a.getId(), b.getId(), c.getId());
+        long[] serialWins = ids.stream().mapToLong(matchService::countWins).toArray();
+        long serialPoints = matchService.getTotalPointsPlayed();
+
+        // Joseph_com : ACT - passage en mode partitionné (rejeu de l'existant) puis nouveaux matchs
+        matchService.enableSharding(4);
+        try {
+            matchService.createMatches(List.of(new MatchRequest(c.getId(), a.getId(), 2, 0),
+                    new MatchRequest(b.getId(), c.getId(), 1, 1)));
+
+            // Joseph_com : ASSERT
+            assertEquals(serialWins[0], matchService.countWins(a.getId()));
+            assertEquals(serialWins[1], matchService.countWins(b.getId()));
+            assertEquals(serialWins[2] + 1, matchService.countWins(c.getId()));
+            assertEquals(serialPoints + 4, matchService.getTotalPointsPlayed());
+            assertEquals(2, matchService.getMatchesByPlayer(c.getId()).size());
+            assertEquals(2, matchService.enableSharding(4).statsFor(c.getId()).matches());
+        } finally {
+            matchService.disableSharding();
+        }
+        assertEquals(serialWins[2] + 1, matchService.countWins(c.getId()), "Le mode série doit rester cohérent");
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : TEST 14 - Requêtes : index choisi par le planificateur, filtres et pagination
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Requêtes de matchs - plan le plus sélectif, résultats filtrés et paginés")
+    void testMatchQuery_ShouldUseSelectiveIndexAndPaginate() throws Exception {
+        // Joseph_com : ARRANGE - tournoi isolé : 40 matchs sur 10 jours, dont 4 écrasants et 4 égalités
+        PlayerService players = new PlayerService(new InMemoryPlayerRepository());
+        MatchService service = new MatchService(players, new InMemoryMatchRepository());
+        Player a = players.addPlayer("QueryA", 1, 0);
+        Player b = players.addPlayer("QueryB", 2, 0);
+        Player c = players.addPlayer("QueryC", 5, 0);
+        Player d = players.addPlayer("QueryD", 9, 0);
+        Player[] roster = {a, b, c, d};
+        LocalDate start = LocalDate.of(2026, 3, 1);
+        List<MatchRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Player p1 = roster[i % 4];
+            Player p2 = roster[(i + 1 + i / 4 % 3) % 4];
+            int score2 = (i % 10 == 3) ? 20 : (i % 10 == 7) ? 0 : 1;
+            int score1 = (i % 10 == 7) ? 0 : 2;
+            requests.add(new MatchRequest(p1.getId(), p2.getId(), score1, score2, start.plusDays(i % 10)));
+        }
+        assertFalse(service.createMatches(requests).hasErrors());
+
+        // Joseph_com : ACT / ASSERT - matchs d'un joueur : index par joueur, ordre de création
+        MatchQuery ofA = MatchQuery.all().player(a.getId());
+        assertEquals(AccessPath.PLAYER, service.explain(ofA).path());
+        assertEquals(service.getMatchesByPlayer(a.getId()), service.query(ofA).toList());
+
+        // Joseph_com : Plage de deux jours : index par date, résultats triés par date
+        MatchQuery twoDays = MatchQuery.all().between(start.plusDays(2), start.plusDays(3));
+        assertEquals(AccessPath.DATE, service.explain(twoDays).path());
+        List<Match> inRange = service.query(twoDays).toList();
+        assertEquals(8, inRange.size());
+        assertEquals(start.plusDays(2), inRange.get(0).getDate());
+        assertEquals(start.plusDays(3), inRange.get(7).getDate());
+
+        // Joseph_com : Victoires écrasantes : index par écart, plus gros écarts d'abord
+        MatchQuery blowouts = MatchQuery.all().minMargin(10);
+        assertEquals(AccessPath.MARGIN, service.explain(blowouts).path());
+        assertEquals(4, service.query(blowouts).count());
+        assertEquals(4, service.query(MatchQuery.all().draws()).count());
+
+        // Joseph_com : Critère résiduel sur les niveaux, appliqué en filtre
+        long lowLevels = service.query(MatchQuery.all().levels(1, 2)).count();
+        long expected = service.getAllMatches().stream()
+                .filter(m -> m.getPlayer1().getLevel() <= 2 && m.getPlayer2().getLevel() <= 2).count();
+        assertEquals(expected, lowLevels);
+
+        // Joseph_com : Ordre imposé : l'index par date est utilisé même pour un joueur
+        MatchQuery byDate = ofA.orderBy(MatchOrder.DATE);
+        assertEquals(AccessPath.DATE, service.explain(byDate).path());
+        List<Match> sorted = service.query(byDate).toList();
+        assertEquals(service.getMatchesByPlayer(a.getId()).size(), sorted.size());
+        for (int i = 1; i < sorted.size(); i++) {
+            assertFalse(sorted.get(i).getDate().isBefore(sorted.get(i - 1).getDate()));
+        }
+
+        // Joseph_com : Pagination : les pages mises bout à bout redonnent le résultat complet
+        List<Match> all = service.query(MatchQuery.all()).toList();
+        List<Match> paged = new ArrayList<>();
+        for (int offset = 0; offset < all.size(); offset += 7) {
+            paged.addAll(service.query(MatchQuery.all().offset(offset).limit(7)).toList());
+        }
+        assertEquals(all, paged);
+        assertEquals(40, all.size());
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : TEST 15 - Correction et suppression : état dérivé ajusté par delta, journal rejoué
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Correction et suppression de matchs - agrégats, index et journal cohérents")
+    void testUpdateAndDeleteMatch_ShouldAdjustDerivedState(@TempDir Path dataDir) throws Exception {
+        // Joseph_com : ARRANGE - tournoi isolé, 3 matchs entre A et B, confrontations en cache
+        PlayerService players = new PlayerService(dataDir);
+        MatchService service = new MatchService(players, dataDir);
+        HeadToHeadService headToHead = new HeadToHeadService(service);
+        Player a = players.addPlayer("FixA", 1, 0);
+        Player b = players.addPlayer("FixB", 1, 0);
+        Match first = service.createMatch(a.getId(), b.getId(), 3, 1);
+        Match second = service.createMatch(a.getId(), b.getId(), 2, 0);
+        Match third = service.createMatch(b.getId(), a.getId(), 1, 1);
+        assertEquals(2, headToHead.get(a.getId(), b.getId()).winsA());
+        service.enableSharding(2);
+
+        try {
+            // Joseph_com : ACT - le premier résultat était inversé, le deuxième n'a pas eu lieu
+            Match corrected = service.updateMatch(first.getId(), 1, 3);
+            Match deleted = service.deleteMatch(second.getId());
+
+            // Joseph_com : ASSERT - compteurs, confrontations, shards et index à jour
+            assertEquals(first.getId(), corrected.getId());
+            assertEquals(second, deleted);
+            assertEquals(2, service.getMatchCount());
+            assertEquals(0, service.countWins(a.getId()));
+            assertEquals(1, service.countWins(b.getId()));
+            assertEquals(6, service.getTotalPointsPlayed());
+            HeadToHeadRecord record = headToHead.get(a.getId(), b.getId());
+            assertEquals(0, record.winsA());
+            assertEquals(1, record.winsB());
+            assertEquals(1, record.draws());
+            assertEquals(List.of(corrected, third), service.getMatchesByPlayer(a.getId()));
+            assertEquals(List.of(corrected, third), service.getMatchesPage(0, 10));
+            assertEquals(List.of(third), service.getMatchesPage(1, 10));
+            assertEquals(List.of(corrected), service.query(MatchQuery.all().wonBy(b.getId())).toList());
+        } finally {
+            service.disableSharding();
+        }
+        assertEquals(1, service.countWins(b.getId()), "Le mode série doit rester cohérent");
+
+        // Joseph_com : Erreurs : match supprimé ou inconnu, score négatif
+        assertThrows(MatchNotFoundException.class, () -> service.deleteMatch(second.getId()));
+        assertThrows(MatchNotFoundException.class, () -> service.updateMatch(999, 1, 0));
+        assertThrows(InvalidMatchException.class, () -> service.updateMatch(third.getId(), -1, 0));
+
+        // Joseph_com : Rechargement : le CSV n'a pas été réécrit, le journal rejoue les corrections
+        MatchService reloaded = new MatchService(new PlayerService(dataDir), dataDir);
+        assertEquals(2, reloaded.getMatchCount());
+        assertEquals(1, reloaded.countWins(b.getId()));
+        assertEquals(4, reloaded.createMatch(a.getId(), b.getId(), 5, 0).getId());
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : TEST 16 - Stockage en mémoire : rechargement sans aucun fichier
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Stockage en mémoire - un nouveau service retrouve joueurs, matchs et corrections")
+    void testInMemoryRepositories_ShouldReloadWithoutFiles() throws Exception {
+        // Joseph_com : ARRANGE - exhibition éphémère
+        InMemoryPlayerRepository playerRepository = new InMemoryPlayerRepository();
+        InMemoryMatchRepository matchRepository = new InMemoryMatchRepository();
+        PlayerService players = new PlayerService(playerRepository);
+        MatchService service = new MatchService(players, matchRepository);
+        Player a = players.addPlayer("ExhibA", 2, 10);
+        Player b = players.addPlayer("ExhibB", 3, 5);
+        Match first = service.createMatch(a.getId(), b.getId(), 3, 1);
+        Match second = service.createMatch(b.getId(), a.getId(), 2, 0);
+        service.updateMatch(first.getId(), 0, 1);
+        service.deleteMatch(second.getId());
+
+        // Joseph_com : ACT - nouveaux services sur les mêmes stockages
+        PlayerService reloadedPlayers = new PlayerService(playerRepository);
+        MatchService reloaded = new MatchService(reloadedPlayers, matchRepository);
+
+        // Joseph_com : ASSERT
+        assertEquals(2, reloadedPlayers.getPlayerCount());
+        assertEquals(1, reloaded.getMatchCount());
+        assertEquals(1, reloaded.countWins(b.getId()));
+        assertSame(reloadedPlayers.findById(a.getId()), reloaded.getAllMatches().get(0).getPlayer1());
+        reloaded.createMatch(a.getId(), b.getId(), 1, 0);
+        assertEquals(2, new MatchService(reloadedPlayers, matchRepository).getMatchCount());
+
+        // Joseph_com : ASSERT - le stockage garde des copies : une modification non sauvegardée n'y apparaît pas
+        assertNotSame(a, reloadedPlayers.findById(a.getId()));
+        players.setAutoSave(false);
+        players.updateScore(a.getId(), 99);
+        assertEquals(10, new PlayerService(playerRepository).findById(a.getId()).getScore());
+        players.flush();
+        assertEquals(99, new PlayerService(playerRepository).findById(a.getId()).getScore());
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : TEST 17 - Démarrage progressif : lectures sur l'historique partiel, écritures différées
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Chargement en arrière-plan - service utilisable avant la fin, IDs cohérents")
+    void testLoadInBackground_ShouldServePartialHistory() throws Exception {
+        // Joseph_com : ARRANGE - 4 matchs stockés, livrés en deux lots ; le second attend le signal du test
+        PlayerService players = new PlayerService(new InMemoryPlayerRepository());
+        Player a = players.addPlayer("StageA", 1, 0);
+        Player b = players.addPlayer("StageB", 1, 0);
+        LocalDate day = LocalDate.of(2025, 3, 1);
+        List<Match> history = List.of(
+                new Match(1, a, b, 3, 0, day), new Match(2, b, a, 2, 1, day),
+                new Match(3, a, b, 1, 0, day), new Match(4, a, b, 0, 2, day));
+        CountDownLatch firstChunkDelivered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        InMemoryMatchRepository repository = new InMemoryMatchRepository() {
+            @Override
+            public void loadInChunks(List<Player> availablePlayers, int chunkSize, Consumer<List<Match>> sink) {
+                List<Match> all = loadAll(availablePlayers);
+                sink.accept(all.subList(0, 2));
+                firstChunkDelivered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                sink.accept(all.subList(2, all.size()));
+            }
+        };
+        repository.saveAll(history);
+
+        // Joseph_com : ACT - démarrage, puis lecture et écriture pendant le chargement
+        MatchService service = MatchService.loadInBackground(players, repository);
+        assertTrue(firstChunkDelivered.await(5, TimeUnit.SECONDS));
+        LoadProgress partial = service.getLoadProgress();
+        int partialCount = service.getMatchCount();
+        CompletableFuture<Match> pendingWrite = CompletableFuture.supplyAsync(() -> {
+            try {
+                return service.createMatch(a.getId(), b.getId(), 5, 5);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        release.countDown();
+        service.whenHistoryLoaded().get(5, TimeUnit.SECONDS);
+        Match created = pendingWrite.get(5, TimeUnit.SECONDS);
+
+        // Joseph_com : ASSERT - premier lot servi tout de suite, écriture appliquée après l'historique complet
+        assertEquals(new LoadProgress(2, false, partial.elapsedMillis()), partial);
+        assertEquals(2, partialCount);
+        assertEquals(5, created.getId(), "L'ID doit suivre tout l'historique, pas le seul premier lot");
+        assertTrue(service.isHistoryLoaded());
+        assertTrue(service.getLoadProgress().complete());
+        assertEquals(4, service.getLoadProgress().loadedMatches());
+        assertEquals(5, service.getMatchCount());
+        assertEquals(2, service.countWins(a.getId()));
+        assertEquals(2, service.countWins(b.getId()));
+        assertEquals(List.of(1, 2, 3, 4, 5), service.getAllMatches().stream().map(Match::getId).toList());
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : TEST 18 - Import de joueurs interrompu : déjà inscrits persistés, interruption rapportée
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Import de joueurs interrompu - joueurs déjà lus persistés, erreur dans le rapport")
+    void testImportPlayers_ReadFailure_ShouldPersistAppliedRows(@TempDir Path dataDir) {
+        // Joseph_com : ARRANGE - flux qui échoue après deux lignes complètes
+        PlayerService players = new PlayerService(dataDir);
+        byte[] head = "nickname,level,score\nCut1,1,10\nCut2,2,20\n".getBytes(StandardCharsets.UTF_8);
+        InputStream failing = new SequenceInputStream(new ByteArrayInputStream(head), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("disque débranché");
+            }
+        });
+
+        // Joseph_com : ACT
+        ImportReport<Player> report = new PlayerImporter(players).importStream(failing);
+
+        // Joseph_com : ASSERT - rapport incomplet, mais les deux joueurs sont en mémoire ET sur disque
+        assertFalse(report.isComplete());
+        assertInstanceOf(IOException.class, report.getInterruption().orElseThrow());
+        assertEquals(2, report.getImportedCount());
+        PlayerService reloaded = new PlayerService(dataDir);
+        assertEquals(List.of("Cut1", "Cut2"), reloaded.getAllPlayers().stream().map(Player::getNickname).toList());
+        assertEquals(List.of(1, 2), reloaded.getAllPlayers().stream().map(Player::getId).toList());
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : TEST 19 - L'ID d'un dernier match supprimé n'est pas réattribué après un redémarrage
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Suppression du dernier match - son ID n'est jamais réattribué")
+    void testDeleteLastMatch_ShouldNotReuseIdAfterRestart(@TempDir Path dataDir) throws Exception {
+        // Joseph_com : ARRANGE - trois matchs, les deux derniers supprimés (l'un en sauvegarde différée)
+        PlayerService players = new PlayerService(dataDir);
+        MatchService service = new MatchService(players, dataDir);
+        Player a = players.addPlayer("Hwm1", 1, 0);
+        Player b = players.addPlayer("Hwm2", 2, 0);
+        service.createMatch(a.getId(), b.getId(), 1, 0);
+        service.createMatch(a.getId(), b.getId(), 2, 0);
+        service.createMatch(a.getId(), b.getId(), 3, 0);
+        service.deleteMatch(3);
+        service.setAutoSave(false);
+        service.deleteMatch(2);
+        service.flush();
+
+        // Joseph_com : ACT - redémarrage puis nouveau match
+        MatchService restarted = new MatchService(new PlayerService(dataDir), dataDir);
+        Match created = restarted.createMatch(a.getId(), b.getId(), 0, 0);
+
+        // Joseph_com : ASSERT
+        assertEquals(4, created.getId());
+        assertEquals(List.of(1, 4), restarted.getAllMatches().stream().map(Match::getId).toList());
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : TEST 20 - Chargement en échec : lecture seule, le stockage n'est jamais réécrit
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Chargement en arrière-plan échoué - écritures refusées, historique stocké intact")
+    void testLoadInBackground_Failure_ShouldRejectWrites() throws Exception {
+        // Joseph_com : ARRANGE - 3 matchs stockés ; la lecture échoue après le premier lot
+        PlayerService players = new PlayerService(new InMemoryPlayerRepository());
+        Player a = players.addPlayer("BrokenA", 1, 0);
+        Player b = players.addPlayer("BrokenB", 1, 0);
+        LocalDate day = LocalDate.of(2025, 3, 1);
+        InMemoryMatchRepository repository = new InMemoryMatchRepository() {
+            @Override
+            public void loadInChunks(List<Player> availablePlayers, int chunkSize, Consumer<List<Match>> sink) {
+                sink.accept(loadAll(availablePlayers).subList(0, 1));
+                throw new IllegalStateException("stockage illisible");
+            }
+        };
+        repository.saveAll(List.of(new Match(1, a, b, 3, 0, day), new Match(2, b, a, 2, 1, day),
+                new Match(3, a, b, 1, 0, day)));
+
+        // Joseph_com : ACT
+        MatchService service = MatchService.loadInBackground(players, repository);
+        ExecutionException failure = assertThrows(ExecutionException.class,
+                () -> service.whenHistoryLoaded().get(5, TimeUnit.SECONDS));
+
+        // Joseph_com : ASSERT - lectures sur l'historique partiel, toute écriture refusée
+        assertEquals("stockage illisible", failure.getCause().getMessage());
+        assertEquals(1, service.getMatchCount());
+        assertThrows(IllegalStateException.class, () -> service.createMatch(a.getId(), b.getId(), 1, 0));
+        assertThrows(IllegalStateException.class, () -> service.updateMatch(1, 0, 0));
+        assertThrows(IllegalStateException.class, () -> service.deleteMatch(1));
+        assertThrows(IllegalStateException.class,
+                () -> service.createMatches(List.of(new MatchRequest(a.getId(), b.getId(), 1, 0, day))));
+        service.setAutoSave(false);
+        service.setAutoSave(true);
+        service.flush();
+        assertEquals(List.of(1, 2, 3), repository.loadAll(players.getAllPlayers()).stream().map(Match::getId).toList());
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : TEST 21 - Import en masse : les joueurs importés suivent la stratégie de score du tournoi
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Import en masse - score calculé selon la stratégie du tournoi, doublons du lot refusés")
+    void testAddPlayers_ShouldUseTournamentScoringStrategy() {
+        // Joseph_com : ARRANGE - formule 2 * score brut + 5 (différente de score brut * niveau)
+        PlayerService players = new PlayerService(new InMemoryPlayerRepository());
+        players.setScoringFormula(new BilinearFormula(0, 2, 0, 5));
+
+        // Joseph_com : ACT
+        ImportReport<Player> report = players.addPlayers(List.of(
+                new PlayerRequest("Bulk1", 3, 100), new PlayerRequest("bulk1", 1, 0),
+                new PlayerRequest("Bulk2", 4, 10)).iterator());
+
+        // Joseph_com : ASSERT
+        assertEquals(2, report.getImportedCount());
+        assertEquals(1, report.getErrorCount());
+        Player imported = report.getImported().get(0);
+        assertEquals(205, imported.calculateScore());
+        assertEquals(25, report.getImported().get(1).calculateScore());
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : TEST 22 - matches.csv illisible : chargement en échec, aucune écriture sur le stockage
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("CSV des matchs illisible - chargement en échec, service en lecture seule")
+    void testLoadInBackground_UnreadableCsv_ShouldRejectWrites(@TempDir Path dataDir) throws Exception {
+        // Joseph_com : ARRANGE - matches.csv existe mais ne peut pas être lu (c'est un dossier)
+        PlayerService players = new PlayerService(dataDir);
+        Player a = players.addPlayer("Unread1", 1, 0);
+        Player b = players.addPlayer("Unread2", 1, 0);
+        Path csv = Files.createDirectory(dataDir.resolve("matches.csv"));
+
+        // Joseph_com : ACT
+        MatchService service = MatchService.loadInBackground(players, dataDir);
+        ExecutionException failure = assertThrows(ExecutionException.class,
+                () -> service.whenHistoryLoaded().get(5, TimeUnit.SECONDS));
+
+        // Joseph_com : ASSERT - erreur d'entrée/sortie remontée, écritures refusées, chargement synchrone en échec
+        assertInstanceOf(UncheckedIOException.class, failure.getCause());
+        assertThrows(IllegalStateException.class, () -> service.createMatch(a.getId(), b.getId(), 1, 0));
+        assertThrows(UncheckedIOException.class, () -> new MatchService(players, dataDir));
+        assertTrue(Files.isDirectory(csv));
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Joseph_com : TEST 23 - Lectures des joueurs pendant une réplication sur un autre thread
+    // ─────────────────────────────────────────────────────────────────────────
+    @Test
+    @DisplayName("Joueurs répliqués sur un autre thread - lectures concurrentes sans erreur")
+    void testPlayerReads_DuringReplication_ShouldStayConsistent() throws Exception {
+        // Joseph_com : ARRANGE - le "suiveur" applique 3000 joueurs pendant que le test lit en boucle
+        PlayerService players = new PlayerService(new InMemoryPlayerRepository());
+        players.setAutoSave(false);
+        CompletableFuture<Void> replication = CompletableFuture.runAsync(() -> {
+            for (int id = 1; id <= 3_000; id++) {
+                players.applyReplicated(id, "Rep" + id, 1 + id % 5, id % 97);
+            }
+        });
+
+        // Joseph_com : ACT - lectures jusqu'à la fin de la réplication
+        long reads = 0;
+        while (!replication.isDone()) {
+            List<Player> sorted = players.getAllPlayersSortedByScore();
+            for (int i = 1; i < sorted.size(); i++) {
+                assertTrue(sorted.get(i - 1).getScore() >= sorted.get(i).getScore());
+            }
+            assertTrue(players.getTotalScore() >= 0);
+            assertTrue(players.getAverageScore() >= 0);
+            players.findOptionalById(1 + (int) (reads % 3_000));
+            reads++;
+        }
+        replication.get(10, TimeUnit.SECONDS);
+
+        // Joseph_com : ASSERT
+        assertEquals(3_000, players.getAllPlayersSortedByScore().size());
+        assertEquals("Rep3000", players.findById(3_000).getNickname());
+    }
+}